@@ -47,6 +47,19 @@ function createBlobCollector(blobId: string): BlobCollector | null {
   }
 }
 
+// Reads a range of a blob straight into an ArrayBuffer and frees the blob.
+// Only provided by native on platforms that support it.
+function takeArrayBufferFromNative(options: BlobData): ?ArrayBuffer {
+  if (global.__blobArrayBufferProvider == null) {
+    return null;
+  }
+  return global.__blobArrayBufferProvider(
+    options.blobId,
+    options.offset,
+    options.size,
+  );
+}
+
 /**
  * Module to manage blobs. Wrapper around the native blob module.
  */
@@ -125,6 +138,21 @@ class BlobManager {
     });
   }
 
+  /**
+   * If blob data from native can be read into an ArrayBuffer without Base64.
+   */
+  static canTakeArrayBuffer(): boolean {
+    return !!NativeBlobModule && global.__blobArrayBufferProvider != null;
+  }
+
+  /**
+   * Read blob data from native into an ArrayBuffer and deallocate the blob.
+   * Used internally by WebSocket when binaryType is 'arraybuffer'.
+   */
+  static takeArrayBuffer(options: BlobData): ArrayBuffer {
+    return takeArrayBufferFromNative(options) ?? new ArrayBuffer(0);
+  }
+
   /**
    * Deallocate resources for a blob.
    */
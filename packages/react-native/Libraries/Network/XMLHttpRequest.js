@@ -32,6 +32,7 @@ export type ResponseType =
   | 'json'
   | 'text';
 export type Response = ?Object | string;
+export type RequestPriority = 'high' | 'normal' | 'low' | 'background';
 
 type XHRInterceptor = interface {
   requestSent(id: number, url: string, method: string, headers: Object): void,
@@ -135,6 +136,7 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
   _lowerCaseResponseHeaders: Object;
   _method: ?string = null;
   _perfKey: ?string = null;
+  _priority: ?RequestPriority = null;
   _responseType: ResponseType;
   _response: string = '';
   _sent: boolean;
@@ -486,6 +488,15 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
     return this;
   }
 
+  /**
+   * Custom extension for scheduling requests by priority. Only supported on
+   * Android, where it has to be enabled natively.
+   */
+  setPriority(priority: RequestPriority): XMLHttpRequest {
+    this._priority = priority;
+    return this;
+  }
+
   /**
    * Custom extension for setting a custom performance logger
    */
@@ -591,6 +602,7 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
         // $FlowFixMe[method-unbinding] added when improving typing for this parameters
         this.__didCreateRequest.bind(this),
         this.withCredentials,
+        this._priority,
       );
     };
     if (DEBUG_NETWORK_SEND_DELAY) {
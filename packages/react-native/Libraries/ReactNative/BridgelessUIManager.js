@@ -15,6 +15,7 @@ import type {RootTag} from '../Types/RootTagTypes';
 import {unstable_hasComponent} from '../NativeComponent/NativeComponentRegistryUnstable';
 
 let cachedConstants = null;
+const cachedViewManagerConstants: {[string]: mixed} = {};
 
 const errorMessageForMethod = (methodName: string): string =>
   "[ReactNative Architecture][JS] '" +
@@ -28,14 +29,64 @@ function nativeViewConfigsInBridgelessModeEnabled(): boolean {
 function getCachedConstants(): Object {
   if (!cachedConstants) {
     cachedConstants = global.RN$LegacyInterop_UIManager_getConstants();
+    if (lazyViewManagersEnabled(cachedConstants)) {
+      // Only the generic constants were sent, the ones of each view manager are
+      // read when they're first used.
+      defineLazyViewManagerConstants(
+        cachedConstants,
+        cachedConstants.ViewManagerNames,
+      );
+    }
   }
   return cachedConstants;
 }
 
+function lazyViewManagersEnabled(constants: Object): boolean {
+  return (
+    constants.LazyViewManagersEnabled === true &&
+    global.RN$LegacyInterop_UIManager_getConstantsForViewManager !== undefined
+  );
+}
+
+function defineLazyViewManagerConstants(
+  target: Object,
+  viewManagerNames: $ReadOnlyArray<string>,
+): void {
+  viewManagerNames.forEach(viewManagerName => {
+    Object.defineProperty(target, viewManagerName, {
+      configurable: true,
+      enumerable: true,
+      get: () => getConstantsForViewManagerFromNative(viewManagerName),
+    });
+  });
+}
+
+function getConstantsForViewManagerFromNative(viewManagerName: string): mixed {
+  if (!(viewManagerName in cachedViewManagerConstants)) {
+    cachedViewManagerConstants[viewManagerName] =
+      global.RN$LegacyInterop_UIManager_getConstantsForViewManager(
+        viewManagerName,
+      );
+  }
+  return cachedViewManagerConstants[viewManagerName];
+}
+
+function getConstantsForViewManager(viewManagerName: string): mixed {
+  if (
+    global.RN$LegacyInterop_UIManager_getConstantsForViewManager === undefined
+  ) {
+    return getCachedConstants()[viewManagerName];
+  }
+  if (cachedConstants && !lazyViewManagersEnabled(cachedConstants)) {
+    return cachedConstants[viewManagerName];
+  }
+  return getConstantsForViewManagerFromNative(viewManagerName);
+}
+
 const UIManagerJS: {[string]: $FlowFixMe} = {
   getViewManagerConfig: (viewManagerName: string): mixed => {
     if (nativeViewConfigsInBridgelessModeEnabled()) {
-      return getCachedConstants()[viewManagerName];
+      return getConstantsForViewManager(viewManagerName);
     } else {
       console.error(
         errorMessageForMethod('getViewManagerConfig') +
@@ -183,9 +234,22 @@ const UIManagerJS: {[string]: $FlowFixMe} = {
 };
 
 if (nativeViewConfigsInBridgelessModeEnabled()) {
-  Object.keys(getCachedConstants()).forEach(viewConfigName => {
-    UIManagerJS[viewConfigName] = getCachedConstants()[viewConfigName];
-  });
+  const constants = getCachedConstants();
+  if (lazyViewManagersEnabled(constants)) {
+    // Copy the generic constants, and read the ones of each view manager only
+    // when they're first used.
+    const viewManagerNames = new Set(constants.ViewManagerNames);
+    Object.keys(constants).forEach(key => {
+      if (!viewManagerNames.has(key)) {
+        UIManagerJS[key] = constants[key];
+      }
+    });
+    defineLazyViewManagerConstants(UIManagerJS, constants.ViewManagerNames);
+  } else {
+    Object.keys(constants).forEach(viewConfigName => {
+      UIManagerJS[viewConfigName] = constants[viewConfigName];
+    });
+  }
 }
 
 module.exports = UIManagerJS;
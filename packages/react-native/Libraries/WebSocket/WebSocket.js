@@ -51,15 +51,33 @@ const WEBSOCKET_EVENTS = ['close', 'error', 'message', 'open'];
 
 let nextWebSocketId = 0;
 
+type WebSocketMessage =
+  | {type: 'binary', id: number, data: string}
+  | {type: 'text', id: number, data: string}
+  | {type: 'blob', id: number, data: BlobData};
+
 type WebSocketEventDefinitions = {
   websocketOpen: [{id: number, protocol: string}],
-  websocketClosed: [{id: number, code: number, reason: string}],
-  websocketMessage: [
-    | {type: 'binary', id: number, data: string}
-    | {type: 'text', id: number, data: string}
-    | {type: 'blob', id: number, data: BlobData},
+  // `droppedCount` is only set on Android when `messageBatching` is set
+  websocketClosed: [
+    {id: number, code: number, reason: string, droppedCount?: number},
+  ],
+  websocketMessage: [WebSocketMessage],
+  // Sent instead of `websocketMessage` on Android when `messageBatching` is set
+  websocketMessages: [
+    {
+      id: number,
+      messages: Array<WebSocketMessage>,
+      queuedCount: number,
+      droppedCount: number,
+    },
   ],
-  websocketFailed: [{id: number, message: string}],
+  websocketFailed: [{id: number, message: string, droppedCount?: number}],
+};
+
+type MessageBatchingOptions = {
+  maxBatchSize?: number,
+  maxQueueSize?: number,
 };
 
 /**
@@ -98,7 +116,11 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
   constructor(
     url: string,
     protocols: ?string | ?Array<string>,
-    options: ?{headers?: {origin?: string, ...}, ...},
+    options: ?{
+      headers?: {origin?: string, ...},
+      messageBatching?: MessageBatchingOptions,
+      ...
+    },
   ) {
     super();
     this.url = url;
@@ -106,7 +128,7 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
       protocols = [protocols];
     }
 
-    const {headers = {}, ...unrecognized} = options || {};
+    const {headers = {}, messageBatching, ...unrecognized} = options || {};
 
     // Preserve deprecated backwards compatibility for the 'origin' option
     // $FlowFixMe[prop-missing]
@@ -145,7 +167,12 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
     );
     this._socketId = nextWebSocketId++;
     this._registerEvents();
-    NativeWebSocketModule.connect(url, protocols, {headers}, this._socketId);
+    NativeWebSocketModule.connect(
+      url,
+      protocols,
+      messageBatching != null ? {headers, messageBatching} : {headers},
+      this._socketId,
+    );
   }
 
   get binaryType(): ?BinaryType {
@@ -156,20 +183,31 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
     if (binaryType !== 'blob' && binaryType !== 'arraybuffer') {
       throw new Error("binaryType must be either 'blob' or 'arraybuffer'");
     }
-    if (this._binaryType === 'blob' || binaryType === 'blob') {
+    if (binaryType === 'blob') {
       invariant(
         BlobManager.isAvailable,
         'Native module BlobModule is required for blob support',
       );
-      if (binaryType === 'blob') {
-        BlobManager.addWebSocketHandler(this._socketId);
-      } else {
-        BlobManager.removeWebSocketHandler(this._socketId);
-      }
+    }
+    const usedBlobHandler = this._usesBlobHandler(this._binaryType);
+    const usesBlobHandler = this._usesBlobHandler(binaryType);
+    if (usesBlobHandler && !usedBlobHandler) {
+      BlobManager.addWebSocketHandler(this._socketId);
+    } else if (usedBlobHandler && !usesBlobHandler) {
+      BlobManager.removeWebSocketHandler(this._socketId);
     }
     this._binaryType = binaryType;
   }
 
+  // Binary messages go through the blob store when JS wants blobs, or when
+  // they can be read from it into ArrayBuffers without Base64.
+  _usesBlobHandler(binaryType: ?BinaryType): boolean {
+    return (
+      binaryType === 'blob' ||
+      (binaryType === 'arraybuffer' && BlobManager.canTakeArrayBuffer())
+    );
+  }
+
   close(code?: number, reason?: string): void {
     if (this.readyState === this.CLOSING || this.readyState === this.CLOSED) {
       return;
@@ -220,7 +258,7 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
     const closeReason = typeof reason === 'string' ? reason : '';
     NativeWebSocketModule.close(statusCode, closeReason, this._socketId);
 
-    if (BlobManager.isAvailable && this._binaryType === 'blob') {
+    if (this._usesBlobHandler(this._binaryType)) {
       BlobManager.removeWebSocketHandler(this._socketId);
     }
   }
@@ -230,22 +268,35 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
     this._subscriptions = [];
   }
 
+  _dispatchMessage(ev: WebSocketMessage): void {
+    let data: Blob | BlobData | ArrayBuffer | string = ev.data;
+    switch (ev.type) {
+      case 'binary':
+        data = base64.toByteArray(ev.data).buffer;
+        break;
+      case 'blob':
+        data =
+          this._binaryType === 'arraybuffer'
+            ? BlobManager.takeArrayBuffer(ev.data)
+            : BlobManager.createFromOptions(ev.data);
+        break;
+    }
+    this.dispatchEvent(new WebSocketEvent('message', {data}));
+  }
+
   _registerEvents(): void {
     this._subscriptions = [
       this._eventEmitter.addListener('websocketMessage', ev => {
         if (ev.id !== this._socketId) {
           return;
         }
-        let data: Blob | BlobData | ArrayBuffer | string = ev.data;
-        switch (ev.type) {
-          case 'binary':
-            data = base64.toByteArray(ev.data).buffer;
-            break;
-          case 'blob':
-            data = BlobManager.createFromOptions(ev.data);
-            break;
+        this._dispatchMessage(ev);
+      }),
+      this._eventEmitter.addListener('websocketMessages', ev => {
+        if (ev.id !== this._socketId) {
+          return;
         }
-        this.dispatchEvent(new WebSocketEvent('message', {data}));
+        ev.messages.forEach(message => this._dispatchMessage(message));
       }),
       this._eventEmitter.addListener('websocketOpen', ev => {
         if (ev.id !== this._socketId) {
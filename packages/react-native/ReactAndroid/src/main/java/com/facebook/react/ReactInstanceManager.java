@@ -86,6 +86,7 @@ import com.facebook.react.devsupport.interfaces.DevLoadingViewManager;
 import com.facebook.react.devsupport.interfaces.DevSupportManager;
 import com.facebook.react.devsupport.interfaces.PackagerStatusCallback;
 import com.facebook.react.devsupport.interfaces.RedBoxHandler;
+import com.facebook.react.fabric.FabricUIManager;
 import com.facebook.react.modules.appearance.AppearanceModule;
 import com.facebook.react.modules.appregistry.AppRegistry;
 import com.facebook.react.modules.core.DefaultHardwareBackBtnHandler;
@@ -100,7 +101,9 @@ import com.facebook.react.turbomodule.core.interfaces.TurboModuleRegistry;
 import com.facebook.react.uimanager.DisplayMetricsHolder;
 import com.facebook.react.uimanager.ReactRoot;
 import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerRegistry;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.views.imagehelper.ResourceDrawableIdHelper;
 import com.facebook.soloader.SoLoader;
@@ -181,6 +184,8 @@ public class ReactInstanceManager {
   // while true any spawned create thread should wait for proper clean up before initializing
   private volatile Boolean mHasStartedDestroying = false;
   private final MemoryPressureRouter mMemoryPressureRouter;
+  // ViewManagerRegistries of the current context, which listen to mMemoryPressureRouter
+  private final List<ViewManagerRegistry> mViewManagerRegistries = new ArrayList<>();
   private final @Nullable JSExceptionHandler mJSExceptionHandler;
   private final @Nullable JSIModulePackage mJSIModulePackage;
   private final @Nullable ReactPackageTurboModuleManagerDelegate.Builder mTMMDelegateBuilder;
@@ -287,7 +292,7 @@ public class ReactInstanceManager {
     mJSIModulePackage = jsiModulePackage;
 
     // Instantiate ReactChoreographer in UI thread.
-    ReactChoreographer.initialize();
+    ReactChoreographer.initialize(applicationContext);
     if (mUseDeveloperSupport) {
       mDevSupportManager.startInspector();
     }
@@ -1154,6 +1159,7 @@ public class ReactInstanceManager {
 
       mDevSupportManager.onNewReactContextCreated(reactContext);
       mMemoryPressureRouter.addMemoryPressureListener(catalystInstance);
+      addViewManagerRegistryMemoryPressureListeners(reactContext);
 
       ReactMarker.logMarker(ATTACH_MEASURED_ROOT_VIEWS_START);
       for (ReactRoot reactRoot : mAttachedReactRoots) {
@@ -1295,6 +1301,26 @@ public class ReactInstanceManager {
     clearReactRoot(reactRoot);
   }
 
+  /** Lets the ViewManagers trim their recyclable Views when the router reports memory pressure. */
+  private void addViewManagerRegistryMemoryPressureListeners(ReactApplicationContext reactContext) {
+    CatalystInstance catalystInstance = reactContext.getCatalystInstance();
+    if (catalystInstance.hasNativeModule(UIManagerModule.class)) {
+      UIManagerModule uiManagerModule = catalystInstance.getNativeModule(UIManagerModule.class);
+      if (uiManagerModule != null) {
+        mViewManagerRegistries.add(uiManagerModule.getViewManagerRegistry_DO_NOT_USE());
+      }
+    }
+    if (ReactFeatureFlags.enableFabricRenderer) {
+      UIManager uiManager = UIManagerHelper.getUIManager(reactContext, UIManagerType.FABRIC);
+      if (uiManager instanceof FabricUIManager) {
+        mViewManagerRegistries.add(((FabricUIManager) uiManager).getViewManagerRegistry());
+      }
+    }
+    for (ViewManagerRegistry viewManagerRegistry : mViewManagerRegistries) {
+      mMemoryPressureRouter.addMemoryPressureListener(viewManagerRegistry);
+    }
+  }
+
   @ThreadConfined(UI)
   private void tearDownReactContext(ReactContext reactContext) {
     FLog.d(ReactConstants.TAG, "ReactInstanceManager.tearDownReactContext()");
@@ -1312,6 +1338,10 @@ public class ReactInstanceManager {
     // Remove memory pressure listener before tearing down react context
     // We cannot access the CatalystInstance after destroying the ReactContext.
     mMemoryPressureRouter.removeMemoryPressureListener(reactContext.getCatalystInstance());
+    for (ViewManagerRegistry viewManagerRegistry : mViewManagerRegistries) {
+      mMemoryPressureRouter.removeMemoryPressureListener(viewManagerRegistry);
+    }
+    mViewManagerRegistries.clear();
 
     reactContext.destroy();
     mDevSupportManager.onReactInstanceDestroyed(reactContext);
@@ -1379,8 +1409,12 @@ public class ReactInstanceManager {
       TurboModuleRegistry registry = (TurboModuleRegistry) turboModuleManager;
 
       // Eagerly initialize TurboModules
-      for (String moduleName : registry.getEagerInitModuleNames()) {
-        registry.getModule(moduleName);
+      if (ReactFeatureFlags.enableParallelEagerModuleInit) {
+        turboModuleManager.createEagerInitModulesInParallel();
+      } else {
+        for (String moduleName : registry.getEagerInitModuleNames()) {
+          registry.getModule(moduleName);
+        }
       }
     }
 
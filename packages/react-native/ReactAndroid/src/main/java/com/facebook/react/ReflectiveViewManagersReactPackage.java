@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react;
+
+/**
+ * Implemented by a {@link ReactPackage} whose ViewManagers need no configuration beyond their
+ * constructor, which takes no arguments or only a {@link
+ * com.facebook.react.bridge.ReactApplicationContext}.
+ *
+ * <p>In bridgeless mode, with {@link
+ * com.facebook.react.config.ReactFeatureFlags#enableViewManagerIndexInBridgelessMode}, such
+ * ViewManagers are then created one at a time from their class, instead of by calling {@link
+ * ReactPackage#createViewManagers}. The ViewManagers of other packages are still created all at
+ * once, by their package.
+ */
+public interface ReflectiveViewManagersReactPackage {}
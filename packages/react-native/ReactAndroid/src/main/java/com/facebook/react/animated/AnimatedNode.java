@@ -23,6 +23,8 @@ import java.util.List;
   /*package*/ int mActiveIncomingNodes = 0;
   /*package*/ int mBFSColor = INITIAL_BFS_COLOR;
   /*package*/ int mTag = -1;
+  /* index in the topologically sorted nodes of NativeAnimatedNodesManager, -1 if not sorted yet */
+  /*package*/ int mTopologicalIndex = -1;
 
   public final void addChild(AnimatedNode child) {
     if (mChildren == null) {
@@ -29,12 +29,9 @@ import com.facebook.react.uimanager.common.ViewUtil;
 import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.uimanager.events.EventDispatcherListener;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Queue;
 
 /**
  * This is the main class that coordinates how native animated JS implementation drives UI changes.
@@ -47,6 +44,9 @@ import java.util.Queue;
  * we expect to reach a special type of the node: PropsAnimatedNode that is then responsible for
  * calculating property map which can be sent to native view hierarchy to update the view.
  *
+ * <p>The graph is sorted topologically whenever nodes are created, dropped, connected or
+ * disconnected, so that each frame only needs a single allocation-free pass over that order.
+ *
  * <p>IMPORTANT: This class should be accessed only from the UI Thread
  */
 public class NativeAnimatedNodesManager implements EventDispatcherListener {
@@ -62,7 +62,13 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
   private final ReactApplicationContext mReactApplicationContext;
   private int mAnimatedGraphBFSColor = 0;
   // Used to avoid allocating a new array on every frame in `runUpdates` and `onEventDispatch`.
-  private final List<AnimatedNode> mRunUpdateNodeList = new LinkedList<>();
+  private final List<AnimatedNode> mRunUpdateNodeList = new ArrayList<>();
+
+  // All nodes reachable from the graph, in topological order. Only the first
+  // `mAcyclicNodesCount` nodes are sorted, the remaining ones are part of, or depend on, a cycle.
+  private AnimatedNode[] mSortedNodes = new AnimatedNode[0];
+  private int mAcyclicNodesCount = 0;
+  private boolean mGraphChanged = false;
 
   private boolean mEventListenerInitializedForFabric = false;
   private boolean mEventListenerInitializedForNonFabric = false;
@@ -149,6 +155,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     node.mTag = tag;
     mAnimatedNodes.put(tag, node);
     mUpdatedNodes.put(tag, node);
+    mGraphChanged = true;
   }
 
   @UiThread
@@ -170,6 +177,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
   public void dropAnimatedNode(int tag) {
     mAnimatedNodes.remove(tag);
     mUpdatedNodes.remove(tag);
+    mGraphChanged = true;
   }
 
   @UiThread
@@ -375,6 +383,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
     parentNode.addChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mGraphChanged = true;
   }
 
   public void disconnectAnimatedNodes(int parentNodeTag, int childNodeTag) {
@@ -394,6 +403,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
     parentNode.removeChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mGraphChanged = true;
   }
 
   @UiThread
@@ -586,7 +596,8 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
       boolean foundAtLeastOneDriver = false;
       Event.EventAnimationDriverMatchSpec matchSpec = event.getEventAnimationDriverMatchSpec();
-      for (EventAnimationDriver driver : mEventDrivers) {
+      for (int i = 0; i < mEventDrivers.size(); i++) {
+        EventAnimationDriver driver = mEventDrivers.get(i);
         if (matchSpec.match(driver.mViewTag, driver.mEventName)) {
           foundAtLeastOneDriver = true;
           stopAnimationsForNode(driver.mValueNode);
@@ -603,16 +614,10 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
   }
 
   /**
-   * Animation loop performs two BFSes over the graph of animated nodes. We use incremented {@code
-   * mAnimatedGraphBFSColor} to mark nodes as visited in each of the BFSes which saves additional
-   * loops for clearing "visited" states.
-   *
-   * <p>First BFS starts with nodes that are in {@code mUpdatedNodes} (that is, their value have
+   * Animation loop updates the nodes that are in {@code mUpdatedNodes} (that is, their value have
    * been modified from JS in the last batch of JS operations) or directly attached to an active
-   * animation (hence linked to objects from {@code mActiveAnimations}). In that step we calculate
-   * an attribute {@code mActiveIncomingNodes}. The second BFS runs in topological order over the
-   * sub-graph of *active* nodes. This is done by adding node to the BFS queue only if all its
-   * "predecessors" have already been visited.
+   * animation (hence linked to objects from {@code mActiveAnimations}), as well as all of their
+   * descendants. See {@link #updateNodes} for details.
    */
   @UiThread
   public void runUpdates(long frameTimeNanos) {
@@ -668,75 +673,140 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
   }
 
-  @UiThread
-  private void updateNodes(List<AnimatedNode> nodes) {
-    int activeNodesCount = 0;
-    int updatedNodesCount = 0;
-
-    // STEP 1.
-    // BFS over graph of nodes. Update `mIncomingNodes` attribute for each node during that BFS.
-    // Store number of visited nodes in `activeNodesCount`. We "execute" active animations as a part
-    // of this step.
-
-    mAnimatedGraphBFSColor++; /* use new color */
+  private int nextBFSColor() {
+    mAnimatedGraphBFSColor++;
     if (mAnimatedGraphBFSColor == AnimatedNode.INITIAL_BFS_COLOR) {
       // value "0" is used as an initial color for a new node, using it in BFS may cause some nodes
       // to be skipped.
       mAnimatedGraphBFSColor++;
     }
+    return mAnimatedGraphBFSColor;
+  }
+
+  private boolean isSorted(AnimatedNode node) {
+    int index = node.mTopologicalIndex;
+    return index >= 0 && index < mSortedNodes.length && mSortedNodes[index] == node;
+  }
 
-    Queue<AnimatedNode> nodesQueue = new ArrayDeque<>();
-    for (AnimatedNode node : nodes) {
-      if (node.mBFSColor != mAnimatedGraphBFSColor) {
-        node.mBFSColor = mAnimatedGraphBFSColor;
-        activeNodesCount++;
-        nodesQueue.add(node);
+  /**
+   * Sorts all the nodes reachable from the registered nodes and from {@code roots} in topological
+   * order, using Kahn's algorithm. This only runs when the graph changed, so it is fine for it to
+   * allocate.
+   */
+  @UiThread
+  private void sortAnimatedGraph(List<AnimatedNode> roots) {
+    mGraphChanged = false;
+
+    // STEP 1.
+    // BFS over the graph to collect all nodes, starting from the registered ones and the roots,
+    // which may have been dropped while still being animated.
+    int color = nextBFSColor();
+    ArrayList<AnimatedNode> nodes = new ArrayList<>(mAnimatedNodes.size());
+    for (int i = 0; i < mAnimatedNodes.size(); i++) {
+      collectNode(mAnimatedNodes.valueAt(i), nodes, color);
+    }
+    for (int i = 0; i < roots.size(); i++) {
+      collectNode(roots.get(i), nodes, color);
+    }
+    for (int i = 0; i < nodes.size(); i++) {
+      List<AnimatedNode> children = nodes.get(i).mChildren;
+      if (children != null) {
+        for (int j = 0; j < children.size(); j++) {
+          AnimatedNode child = children.get(j);
+          collectNode(child, nodes, color);
+          child.mActiveIncomingNodes++;
+        }
       }
     }
 
-    while (!nodesQueue.isEmpty()) {
-      AnimatedNode nextNode = nodesQueue.poll();
-      if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
-          child.mActiveIncomingNodes++;
-          if (child.mBFSColor != mAnimatedGraphBFSColor) {
-            child.mBFSColor = mAnimatedGraphBFSColor;
-            activeNodesCount++;
-            nodesQueue.add(child);
+    // STEP 2.
+    // Start with the nodes without incoming edges, and append each child once all of its parents
+    // have been appended.
+    AnimatedNode[] sortedNodes = new AnimatedNode[nodes.size()];
+    int sortedCount = 0;
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
+      if (node.mActiveIncomingNodes == 0) {
+        sortedNodes[sortedCount++] = node;
+      }
+    }
+    for (int i = 0; i < sortedCount; i++) {
+      List<AnimatedNode> children = sortedNodes[i].mChildren;
+      if (children != null) {
+        for (int j = 0; j < children.size(); j++) {
+          AnimatedNode child = children.get(j);
+          child.mActiveIncomingNodes--;
+          if (child.mActiveIncomingNodes == 0) {
+            sortedNodes[sortedCount++] = child;
           }
         }
       }
     }
+    mAcyclicNodesCount = sortedCount;
 
-    // STEP 2
-    // BFS over the graph of active nodes in topological order -> visit node only when all its
-    // "predecessors" in the graph have already been visited. It is important to visit nodes in that
-    // order as they may often use values of their predecessors in order to calculate "next state"
-    // of their own. We start by determining the starting set of nodes by looking for nodes with
-    // `mActiveIncomingNodes = 0` (those can only be the ones that we start BFS in the previous
-    // step). We store number of visited nodes in this step in `updatedNodesCount`
+    // Nodes that were not reached are part of a cycle or depend on one. They are kept at the end so
+    // that `updateNodes` can report them.
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
+      if (node.mActiveIncomingNodes > 0) {
+        node.mActiveIncomingNodes = 0;
+        sortedNodes[sortedCount++] = node;
+      }
+    }
 
-    mAnimatedGraphBFSColor++;
-    if (mAnimatedGraphBFSColor == AnimatedNode.INITIAL_BFS_COLOR) {
-      // see reasoning for this check a few lines above
-      mAnimatedGraphBFSColor++;
+    for (int i = 0; i < sortedNodes.length; i++) {
+      sortedNodes[i].mTopologicalIndex = i;
+    }
+    mSortedNodes = sortedNodes;
+  }
+
+  private static void collectNode(AnimatedNode node, List<AnimatedNode> nodes, int color) {
+    if (node.mBFSColor != color) {
+      node.mBFSColor = color;
+      node.mActiveIncomingNodes = 0;
+      nodes.add(node);
+    }
+  }
+
+  /**
+   * Updates {@code nodes} and all of their descendants, visiting each node only once all of its
+   * "predecessors" in the graph have already been visited. It is important to visit nodes in that
+   * order as they may often use values of their predecessors in order to calculate "next state" of
+   * their own.
+   *
+   * <p>Nodes to update are marked with a new {@code mAnimatedGraphBFSColor}, which saves additional
+   * loops for clearing "visited" states. Since the graph is already sorted, a single pass over the
+   * sorted nodes starting from the first marked one is enough, and no memory is allocated.
+   */
+  @UiThread
+  private void updateNodes(List<AnimatedNode> nodes) {
+    for (int i = 0; !mGraphChanged && i < nodes.size(); i++) {
+      mGraphChanged = !isSorted(nodes.get(i));
+    }
+    if (mGraphChanged) {
+      sortAnimatedGraph(nodes);
     }
 
-    // find nodes with zero "incoming nodes", those can be either nodes from `mUpdatedNodes` or
-    // ones connected to active animations
-    for (AnimatedNode node : nodes) {
-      if (node.mActiveIncomingNodes == 0 && node.mBFSColor != mAnimatedGraphBFSColor) {
-        node.mBFSColor = mAnimatedGraphBFSColor;
-        updatedNodesCount++;
-        nodesQueue.add(node);
+    int color = nextBFSColor();
+    int firstIndex = mSortedNodes.length;
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
+      if (node.mBFSColor != color) {
+        node.mBFSColor = color;
+        firstIndex = Math.min(firstIndex, node.mTopologicalIndex);
       }
     }
 
-    // Run main "update" loop
-    int cyclesDetected = 0;
-    while (!nodesQueue.isEmpty()) {
-      AnimatedNode nextNode = nodesQueue.poll();
+    int skippedNodesCount = 0;
+    for (int i = firstIndex; i < mSortedNodes.length; i++) {
+      AnimatedNode nextNode = mSortedNodes[i];
+      if (nextNode.mBFSColor != color) {
+        continue;
+      }
+      if (i >= mAcyclicNodesCount) {
+        skippedNodesCount++;
+        continue;
+      }
       try {
         nextNode.update();
         if (nextNode instanceof PropsAnimatedNode) {
@@ -758,59 +828,35 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
         ((ValueAnimatedNode) nextNode).onValueUpdate();
       }
       if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
-          child.mActiveIncomingNodes--;
-          if (child.mBFSColor != mAnimatedGraphBFSColor && child.mActiveIncomingNodes == 0) {
-            child.mBFSColor = mAnimatedGraphBFSColor;
-            updatedNodesCount++;
-            nodesQueue.add(child);
-          } else if (child.mBFSColor == mAnimatedGraphBFSColor) {
-            cyclesDetected++;
-          }
+        for (int j = 0; j < nextNode.mChildren.size(); j++) {
+          nextNode.mChildren.get(j).mBFSColor = color;
         }
       }
     }
 
-    // Verify that we've visited *all* active nodes. Throw otherwise as this could mean there is a
-    // cycle in animated node graph, or that the graph is only partially set up. We also take
-    // advantage of the fact that all active nodes are visited in the step above so that all the
-    // nodes properties `mActiveIncomingNodes` are set to zero.
-    // In Fabric there can be race conditions between the JS thread setting up or tearing down
-    // animated nodes, and Fabric executing them on the UI thread, leading to temporary inconsistent
-    // states.
-    if (activeNodesCount != updatedNodesCount) {
+    // Nodes that are part of a cycle, or depend on one, can't be updated. In Fabric there can be
+    // race conditions between the JS thread setting up or tearing down animated nodes, and Fabric
+    // executing them on the UI thread, leading to temporary inconsistent states.
+    if (skippedNodesCount > 0) {
       if (mWarnedAboutGraphTraversal) {
         return;
       }
       mWarnedAboutGraphTraversal = true;
 
       // Before crashing or logging soft exception, log details about current graph setup
-      FLog.e(TAG, "Detected animation cycle or disconnected graph. ");
-      for (AnimatedNode node : nodes) {
-        FLog.e(TAG, node.prettyPrintWithChildren());
+      FLog.e(TAG, "Detected animation cycle. ");
+      for (int i = 0; i < nodes.size(); i++) {
+        FLog.e(TAG, nodes.get(i).prettyPrintWithChildren());
       }
 
       // If we're running only in non-Fabric, we still throw an exception.
       // In Fabric, it seems that animations enter an inconsistent state fairly often.
-      // We detect if the inconsistency is due to a cycle (a fatal error for which we must crash)
-      // or disconnected regions, indicating a partially-set-up animation graph, which is not
-      // fatal and can stay a warning.
-      String reason =
-          cyclesDetected > 0 ? "cycles (" + cyclesDetected + ")" : "disconnected regions";
       IllegalStateException ex =
           new IllegalStateException(
-              "Looks like animated nodes graph has "
-                  + reason
-                  + ", there are "
-                  + activeNodesCount
-                  + " but toposort visited only "
-                  + updatedNodesCount);
-      if (mEventListenerInitializedForFabric && cyclesDetected == 0) {
-        // TODO T71377544: investigate these SoftExceptions and see if we can remove entirely
-        // or fix the root cause
-        ReactSoftExceptionLogger.logSoftException(TAG, new ReactNoCrashSoftException(ex));
-      } else if (mEventListenerInitializedForFabric) {
+              "Looks like animated nodes graph has cycles, "
+                  + skippedNodesCount
+                  + " active nodes could not be sorted topologically");
+      if (mEventListenerInitializedForFabric) {
         // TODO T71377544: investigate these SoftExceptions and see if we can remove entirely
         // or fix the root cause
         ReactSoftExceptionLogger.logSoftException(TAG, new ReactNoCrashSoftException(ex));
@@ -14,7 +14,9 @@ import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.UIManager;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.IllegalViewOperationException;
+import com.facebook.react.uimanager.ViewProps;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.uimanager.common.ViewUtil;
 import java.util.HashMap;
@@ -30,7 +32,12 @@ import java.util.Map;
   private int mConnectedViewTag = -1;
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropNodeMapping;
-  private final JavaOnlyMap mPropMap;
+  private final String[] mPropNames;
+  private final int[] mPropNodeTags;
+  private JavaOnlyMap mPropMap;
+  // StyleAnimatedNode.DIRECT_PROP_* flags of the props that have ever been set directly on the view
+  private int mDirectProps = 0;
+  private boolean mHasPropMapUpdates = false;
   @Nullable private UIManager mUIManager;
 
   PropsAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
@@ -42,6 +49,14 @@ import java.util.Map;
       int nodeIndex = props.getInt(propKey);
       mPropNodeMapping.put(propKey, nodeIndex);
     }
+    mPropNames = new String[mPropNodeMapping.size()];
+    mPropNodeTags = new int[mPropNodeMapping.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
+      mPropNames[i] = entry.getKey();
+      mPropNodeTags[i] = entry.getValue();
+      i++;
+    }
     mPropMap = new JavaOnlyMap();
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
@@ -86,6 +101,16 @@ import java.util.Map;
     while (it.hasNextKey()) {
       mPropMap.putNull(it.nextKey());
     }
+    if ((mDirectProps & StyleAnimatedNode.DIRECT_PROP_OPACITY) != 0) {
+      mPropMap.putNull(ViewProps.OPACITY);
+    }
+    if ((mDirectProps & StyleAnimatedNode.DIRECT_PROP_TRANSFORM) != 0) {
+      mPropMap.putNull(ViewProps.TRANSFORM);
+    }
+    if ((mDirectProps & StyleAnimatedNode.DIRECT_PROP_BACKGROUND_COLOR) != 0) {
+      mPropMap.putNull(ViewProps.BACKGROUND_COLOR);
+    }
+    mDirectProps = 0;
 
     mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
   }
@@ -94,32 +119,71 @@ import java.util.Map;
     if (mConnectedViewTag == -1) {
       return;
     }
-    for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
-      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
+    @Nullable
+    View view = ReactFeatureFlags.enableNativeAnimatedDirectViewUpdates ? getConnectedView() : null;
+    int directProps = collectViewUpdates(view);
+    if (isInPropMap(directProps, StyleAnimatedNode.DIRECT_PROP_OPACITY, ViewProps.OPACITY)
+        || isInPropMap(directProps, StyleAnimatedNode.DIRECT_PROP_TRANSFORM, ViewProps.TRANSFORM)
+        || isInPropMap(
+            directProps,
+            StyleAnimatedNode.DIRECT_PROP_BACKGROUND_COLOR,
+            ViewProps.BACKGROUND_COLOR)) {
+      // A prop that used to be updated through UIManager is now set directly. Start from a new map
+      // so that its stale value doesn't get sent again.
+      mPropMap = new JavaOnlyMap();
+      directProps = collectViewUpdates(view);
+    }
+    mDirectProps |= directProps;
+
+    if (mHasPropMapUpdates) {
+      mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
+    }
+  }
+
+  private boolean isInPropMap(int directProps, int directProp, String propName) {
+    return (directProps & directProp) != 0 && mPropMap.hasKey(propName);
+  }
+
+  /**
+   * Collects the values of all props into {@code mPropMap}, except the ones that are set directly
+   * on {@code view}, and updates {@code mHasPropMapUpdates}.
+   *
+   * @return the StyleAnimatedNode.DIRECT_PROP_* flags of the props that were set on the view
+   */
+  private int collectViewUpdates(@Nullable View view) {
+    int directProps = 0;
+    mHasPropMapUpdates = false;
+    for (int i = 0; i < mPropNames.length; i++) {
+      String propKey = mPropNames[i];
+      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(mPropNodeTags[i]);
       if (node == null) {
         throw new IllegalArgumentException("Mapped property node does not exist");
       } else if (node instanceof StyleAnimatedNode) {
-        ((StyleAnimatedNode) node).collectViewUpdates(mPropMap);
+        StyleAnimatedNode styleNode = (StyleAnimatedNode) node;
+        int styleDirectProps = styleNode.collectViewUpdates(mPropMap, view);
+        directProps |= styleDirectProps;
+        mHasPropMapUpdates |= Integer.bitCount(styleDirectProps) < styleNode.getPropCount();
+        continue;
       } else if (node instanceof ValueAnimatedNode) {
         Object animatedObject = ((ValueAnimatedNode) node).getAnimatedObject();
         if (animatedObject instanceof Integer) {
-          mPropMap.putInt(entry.getKey(), (Integer) animatedObject);
+          mPropMap.putInt(propKey, (Integer) animatedObject);
         } else if (animatedObject instanceof String) {
-          mPropMap.putString(entry.getKey(), (String) animatedObject);
+          mPropMap.putString(propKey, (String) animatedObject);
         } else {
-          mPropMap.putDouble(entry.getKey(), ((ValueAnimatedNode) node).getValue());
+          mPropMap.putDouble(propKey, ((ValueAnimatedNode) node).getValue());
         }
       } else if (node instanceof ColorAnimatedNode) {
-        mPropMap.putInt(entry.getKey(), ((ColorAnimatedNode) node).getColor());
+        mPropMap.putInt(propKey, ((ColorAnimatedNode) node).getColor());
       } else if (node instanceof ObjectAnimatedNode) {
-        ((ObjectAnimatedNode) node).collectViewUpdates(entry.getKey(), mPropMap);
+        ((ObjectAnimatedNode) node).collectViewUpdates(propKey, mPropMap);
       } else {
         throw new IllegalArgumentException(
             "Unsupported type of node used in property node " + node.getClass());
       }
+      mHasPropMapUpdates = true;
     }
-
-    mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
+    return directProps;
   }
 
   public View getConnectedView() {
@@ -7,10 +7,15 @@
 
 package com.facebook.react.animated;
 
+import android.view.View;
 import androidx.annotation.Nullable;
+import com.facebook.react.R;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.uimanager.BaseViewManager;
+import com.facebook.react.uimanager.ViewProps;
+import com.facebook.react.views.view.ReactViewGroup;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,8 +24,19 @@ import java.util.Map;
  */
 /*package*/ class StyleAnimatedNode extends AnimatedNode {
 
+  // Style props that can be set directly on the view, see collectViewUpdates(JavaOnlyMap, View)
+  /*package*/ static final int DIRECT_PROP_OPACITY = 1;
+  /*package*/ static final int DIRECT_PROP_TRANSFORM = 1 << 1;
+  /*package*/ static final int DIRECT_PROP_BACKGROUND_COLOR = 1 << 2;
+
+  // Only used on the UI thread
+  private static final double[] sTransformMatrix = new double[16];
+  private static final double[] sHelperMatrix = new double[16];
+
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropMapping;
+  private final String[] mPropNames;
+  private final int[] mPropNodeTags;
 
   StyleAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableMap style = config.getMap("style");
@@ -31,34 +47,89 @@ import java.util.Map;
       int nodeIndex = style.getInt(propKey);
       mPropMapping.put(propKey, nodeIndex);
     }
+    mPropNames = new String[mPropMapping.size()];
+    mPropNodeTags = new int[mPropMapping.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
+      mPropNames[i] = entry.getKey();
+      mPropNodeTags[i] = entry.getValue();
+      i++;
+    }
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
 
+  /*package*/ int getPropCount() {
+    return mPropNames.length;
+  }
+
   public void collectViewUpdates(JavaOnlyMap propsMap) {
-    for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
-      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
+    collectViewUpdates(propsMap, null);
+  }
+
+  /**
+   * Same as {@link #collectViewUpdates(JavaOnlyMap)}, except that opacity, transform and
+   * backgroundColor are set directly on {@code view} when it is not null and they can be. Those are
+   * plain render properties of the view, so this skips the whole prop update path.
+   *
+   * @return the DIRECT_PROP_* flags of the props that were set on the view
+   */
+  public int collectViewUpdates(JavaOnlyMap propsMap, @Nullable View view) {
+    int directProps = 0;
+    for (int i = 0; i < mPropNames.length; i++) {
+      String propKey = mPropNames[i];
+      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(mPropNodeTags[i]);
       if (node == null) {
         throw new IllegalArgumentException("Mapped style node does not exist");
       } else if (node instanceof TransformAnimatedNode) {
-        ((TransformAnimatedNode) node).collectViewUpdates(propsMap);
+        TransformAnimatedNode transformNode = (TransformAnimatedNode) node;
+        if (view != null
+            && transformNode.canComputeMatrix()
+            && view.getTag(R.id.transform_origin) == null) {
+          transformNode.computeMatrix(sTransformMatrix, sHelperMatrix);
+          BaseViewManager.applyTransformMatrix(view, sTransformMatrix);
+          if (view instanceof ReactViewGroup) {
+            // Same as ReactViewManager#setTransformProperty
+            ((ReactViewGroup) view).setBackfaceVisibilityDependantOpacity();
+          }
+          directProps |= DIRECT_PROP_TRANSFORM;
+        } else {
+          transformNode.collectViewUpdates(propsMap);
+        }
       } else if (node instanceof ValueAnimatedNode) {
         Object animatedObject = ((ValueAnimatedNode) node).getAnimatedObject();
         if (animatedObject instanceof Integer) {
-          propsMap.putInt(entry.getKey(), (Integer) animatedObject);
+          propsMap.putInt(propKey, (Integer) animatedObject);
         } else if (animatedObject instanceof String) {
-          propsMap.putString(entry.getKey(), (String) animatedObject);
+          propsMap.putString(propKey, (String) animatedObject);
+        } else if (view != null && ViewProps.OPACITY.equals(propKey)) {
+          float opacity = (float) ((ValueAnimatedNode) node).getValue();
+          if (view instanceof ReactViewGroup) {
+            // Same as ReactViewManager#setOpacity
+            ((ReactViewGroup) view).setOpacityIfPossible(opacity);
+          } else {
+            view.setAlpha(opacity);
+          }
+          directProps |= DIRECT_PROP_OPACITY;
         } else {
-          propsMap.putDouble(entry.getKey(), ((ValueAnimatedNode) node).getValue());
+          propsMap.putDouble(propKey, ((ValueAnimatedNode) node).getValue());
         }
       } else if (node instanceof ColorAnimatedNode) {
-        propsMap.putInt(entry.getKey(), ((ColorAnimatedNode) node).getColor());
+        int color = ((ColorAnimatedNode) node).getColor();
+        // Other views may handle background colors in their ViewManager, e.g. with borders.
+        if (view instanceof ReactViewGroup && ViewProps.BACKGROUND_COLOR.equals(propKey)) {
+          view.setBackgroundColor(color);
+          directProps |= DIRECT_PROP_BACKGROUND_COLOR;
+        } else {
+          propsMap.putInt(propKey, color);
+        }
       } else if (node instanceof ObjectAnimatedNode) {
-        ((ObjectAnimatedNode) node).collectViewUpdates(entry.getKey(), propsMap);
+        ((ObjectAnimatedNode) node).collectViewUpdates(propKey, propsMap);
       } else {
         throw new IllegalArgumentException(
             "Unsupported type of node used in property node " + node.getClass());
       }
     }
+    return directProps;
   }
 
   public String prettyPrint() {
@@ -11,6 +11,7 @@ import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.uimanager.MatrixMathHelper;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +35,7 @@ import java.util.List;
 
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final List<TransformConfig> mTransformConfigs;
+  private final boolean mCanComputeMatrix;
 
   TransformAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableArray transforms = config.getArray("transforms");
@@ -55,34 +57,121 @@ import java.util.List;
       }
     }
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
+
+    boolean canComputeMatrix = true;
+    for (int i = 0; i < mTransformConfigs.size(); i++) {
+      canComputeMatrix &= isSupportedByComputeMatrix(mTransformConfigs.get(i).mProperty);
+    }
+    mCanComputeMatrix = canComputeMatrix;
+  }
+
+  private double getValue(TransformConfig transformConfig) {
+    if (transformConfig instanceof AnimatedTransformConfig) {
+      int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
+      AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
+      if (node == null) {
+        throw new IllegalArgumentException("Mapped style node does not exist");
+      } else if (node instanceof ValueAnimatedNode) {
+        return ((ValueAnimatedNode) node).getValue();
+      } else {
+        throw new IllegalArgumentException(
+            "Unsupported type of node used as a transform child " + "node " + node.getClass());
+      }
+    }
+    return ((StaticTransformConfig) transformConfig).mValue;
   }
 
   public void collectViewUpdates(JavaOnlyMap propsMap) {
     List<JavaOnlyMap> transforms = new ArrayList<>(mTransformConfigs.size());
 
     for (TransformConfig transformConfig : mTransformConfigs) {
-      double value;
-      if (transformConfig instanceof AnimatedTransformConfig) {
-        int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
-        AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
-        if (node == null) {
-          throw new IllegalArgumentException("Mapped style node does not exist");
-        } else if (node instanceof ValueAnimatedNode) {
-          value = ((ValueAnimatedNode) node).getValue();
-        } else {
-          throw new IllegalArgumentException(
-              "Unsupported type of node used as a transform child " + "node " + node.getClass());
-        }
-      } else {
-        value = ((StaticTransformConfig) transformConfig).mValue;
-      }
-
-      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, value));
+      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, getValue(transformConfig)));
     }
 
     propsMap.putArray("transform", JavaOnlyArray.from(transforms));
   }
 
+  private static boolean isSupportedByComputeMatrix(String property) {
+    switch (property) {
+      case "perspective":
+      case "rotateX":
+      case "rotateY":
+      case "rotate":
+      case "rotateZ":
+      case "scale":
+      case "scaleX":
+      case "scaleY":
+      case "translateX":
+      case "translateY":
+      case "skewX":
+      case "skewY":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** Whether {@link #computeMatrix} supports all the transforms of this node. */
+  public boolean canComputeMatrix() {
+    return mCanComputeMatrix;
+  }
+
+  /**
+   * Computes the transform matrix without going through a transform array, the same way as {@link
+   * com.facebook.react.uimanager.TransformHelper#processTransform} does for a view without
+   * transform origin. Angles are in radians, as sent by Animated.js.
+   */
+  public void computeMatrix(double[] result, double[] helperMatrix) {
+    MatrixMathHelper.resetIdentityMatrix(result);
+    for (int i = 0; i < mTransformConfigs.size(); i++) {
+      TransformConfig transformConfig = mTransformConfigs.get(i);
+      double value = getValue(transformConfig);
+
+      MatrixMathHelper.resetIdentityMatrix(helperMatrix);
+      switch (transformConfig.mProperty) {
+        case "perspective":
+          MatrixMathHelper.applyPerspective(helperMatrix, value);
+          break;
+        case "rotateX":
+          MatrixMathHelper.applyRotateX(helperMatrix, value);
+          break;
+        case "rotateY":
+          MatrixMathHelper.applyRotateY(helperMatrix, value);
+          break;
+        case "rotate":
+        case "rotateZ":
+          MatrixMathHelper.applyRotateZ(helperMatrix, value);
+          break;
+        case "scale":
+          MatrixMathHelper.applyScaleX(helperMatrix, value);
+          MatrixMathHelper.applyScaleY(helperMatrix, value);
+          break;
+        case "scaleX":
+          MatrixMathHelper.applyScaleX(helperMatrix, value);
+          break;
+        case "scaleY":
+          MatrixMathHelper.applyScaleY(helperMatrix, value);
+          break;
+        case "translateX":
+          MatrixMathHelper.applyTranslate2D(helperMatrix, value, 0d);
+          break;
+        case "translateY":
+          MatrixMathHelper.applyTranslate2D(helperMatrix, 0d, value);
+          break;
+        case "skewX":
+          MatrixMathHelper.applySkewX(helperMatrix, value);
+          break;
+        case "skewY":
+          MatrixMathHelper.applySkewY(helperMatrix, value);
+          break;
+        default:
+          throw new IllegalStateException(
+              "Unsupported transform type: " + transformConfig.mProperty);
+      }
+      MatrixMathHelper.multiplyInto(result, result, helperMatrix);
+    }
+  }
+
   @Override
   public String prettyPrint() {
     return "TransformAnimatedNode["
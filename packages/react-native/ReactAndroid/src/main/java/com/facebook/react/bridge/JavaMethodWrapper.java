@@ -14,6 +14,7 @@ import androidx.annotation.Nullable;
 import com.facebook.debug.holder.PrinterHolder;
 import com.facebook.debug.tags.ReactDebugOverlayTags;
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -205,6 +206,7 @@ class JavaMethodWrapper implements NativeModule.NativeMethod {
   private boolean mArgumentsProcessed = false;
   private @Nullable ArgumentExtractor[] mArgumentExtractors;
   private @Nullable String mSignature;
+  private @Nullable String mTraceName;
   private @Nullable Object[] mArguments;
   private @Nullable int mJSArgumentsNeeded;
 
@@ -226,8 +228,9 @@ class JavaMethodWrapper implements NativeModule.NativeMethod {
     if (mArgumentsProcessed) {
       return;
     }
+    mTraceName = mModuleWrapper.getName() + "." + mMethod.getName();
     SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "processArguments")
-        .arg("method", mModuleWrapper.getName() + "." + mMethod.getName())
+        .arg("method", mTraceName)
         .flush();
     try {
       mArgumentsProcessed = true;
@@ -325,10 +328,17 @@ class JavaMethodWrapper implements NativeModule.NativeMethod {
 
   @Override
   public void invoke(JSInstance jsInstance, ReadableArray parameters) {
-    String traceName = mModuleWrapper.getName() + "." + mMethod.getName();
-    SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod")
-        .arg("method", traceName)
-        .flush();
+    if (!mArgumentsProcessed) {
+      processArguments();
+    }
+    String traceName = assertNotNull(mTraceName);
+    // This is called for every JS to Java call, so avoid building the trace section for nothing.
+    boolean isTracing = Systrace.isTracing(TRACE_TAG_REACT_JAVA_BRIDGE);
+    if (isTracing) {
+      SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod")
+          .arg("method", traceName)
+          .flush();
+    }
     if (DEBUG) {
       PrinterHolder.getPrinter()
           .logMessage(
@@ -338,9 +348,6 @@ class JavaMethodWrapper implements NativeModule.NativeMethod {
               mMethod.getName());
     }
     try {
-      if (!mArgumentsProcessed) {
-        processArguments();
-      }
       if (mArguments == null || mArgumentExtractors == null) {
         throw new Error("processArguments failed");
       }
@@ -381,7 +388,9 @@ class JavaMethodWrapper implements NativeModule.NativeMethod {
         throw new RuntimeException(createInvokeExceptionMessage(traceName), ite);
       }
     } finally {
-      SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+      if (isTracing) {
+        SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+      }
     }
   }
 
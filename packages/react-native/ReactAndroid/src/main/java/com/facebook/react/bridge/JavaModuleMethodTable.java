@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.bridge;
+
+import androidx.annotation.Nullable;
+import java.lang.reflect.Method;
+
+/**
+ * Dispatch table of the {@link ReactMethod}s declared by a java module class. The annotation
+ * processor {@code com.facebook.react.processing.ReactMethodProcessor} generates a subclass per
+ * module class, named {@code <classname>$$MethodTable}, that invokes the methods directly instead
+ * of through reflection. {@link JavaModuleWrapper} uses it when it's present.
+ *
+ * <p>Method ids are the indices in the arrays passed to the constructor.
+ */
+public abstract class JavaModuleMethodTable<T extends NativeModule> {
+  private final String[] mNames;
+  private final String[] mTypes;
+  private final String[] mSignatures;
+  private final int[] mJSArgumentCounts;
+
+  protected JavaModuleMethodTable(
+      String[] names, String[] types, String[] signatures, int[] jsArgumentCounts) {
+    mNames = names;
+    mTypes = types;
+    mSignatures = signatures;
+    mJSArgumentCounts = jsArgumentCounts;
+  }
+
+  public final int getMethodCount() {
+    return mNames.length;
+  }
+
+  public final String getName(int methodId) {
+    return mNames[methodId];
+  }
+
+  /** Returns one of the {@code BaseJavaModule.METHOD_TYPE_*} types. */
+  public final String getType(int methodId) {
+    return mTypes[methodId];
+  }
+
+  /** Returns the signature of the method, in the format used by the C++ MethodInvoker. */
+  public final String getSignature(int methodId) {
+    return mSignatures[methodId];
+  }
+
+  /**
+   * Returns the reflected method, which synchronous methods still need because they're invoked
+   * from C++.
+   */
+  public final Method getMethod(Class<?> moduleClass, int methodId) {
+    try {
+      return moduleClass.getDeclaredMethod(mNames[methodId], getParameterTypes(methodId));
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("Method table out of date for " + moduleClass.getName(), e);
+    }
+  }
+
+  public final void invoke(
+      T module, @Nullable JSInstance jsInstance, int methodId, ReadableArray arguments) {
+    if (mJSArgumentCounts[methodId] != arguments.size()) {
+      throw new NativeArgumentsParseException(
+          module.getName()
+              + "."
+              + mNames[methodId]
+              + " got "
+              + arguments.size()
+              + " arguments, expected "
+              + mJSArgumentCounts[methodId]);
+    }
+    invokeMethod(module, jsInstance, methodId, arguments);
+  }
+
+  /**
+   * Extracts the arguments and calls the method. Exceptions thrown while extracting arguments are
+   * wrapped with {@link #createParseException}.
+   */
+  protected abstract void invokeMethod(
+      T module, @Nullable JSInstance jsInstance, int methodId, ReadableArray arguments);
+
+  protected abstract Class<?>[] getParameterTypes(int methodId);
+
+  protected final NativeArgumentsParseException createParseException(
+      T module, int methodId, RuntimeException e) {
+    return new NativeArgumentsParseException(
+        e.getMessage()
+            + " (constructing arguments for "
+            + module.getName()
+            + "."
+            + mNames[methodId]
+            + ")",
+        e);
+  }
+
+  protected static @Nullable Callback createCallback(
+      @Nullable JSInstance jsInstance, ReadableArray arguments, int index) {
+    if (arguments.isNull(index)) {
+      return null;
+    }
+    return new CallbackImpl(jsInstance, (int) arguments.getDouble(index));
+  }
+
+  protected static Promise createPromise(
+      @Nullable JSInstance jsInstance, ReadableArray arguments, int index) {
+    return new PromiseImpl(
+        createCallback(jsInstance, arguments, index),
+        createCallback(jsInstance, arguments, index + 1));
+  }
+}
@@ -13,6 +13,7 @@ import static com.facebook.react.bridge.ReactMarkerConstants.GET_CONSTANTS_END;
 import static com.facebook.react.bridge.ReactMarkerConstants.GET_CONSTANTS_START;
 import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
 
+import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.turbomodule.core.interfaces.TurboModule;
@@ -20,6 +21,7 @@ import com.facebook.systrace.Systrace;
 import com.facebook.systrace.SystraceMessage;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +48,10 @@ class JavaModuleWrapper {
   private final ArrayList<MethodDescriptor> mDescs;
   private static final String TAG = JavaModuleWrapper.class.getSimpleName();
 
+  // Method tables by module class, including null for the classes without one
+  @GuardedBy("sMethodTables")
+  private static final Map<Class<?>, JavaModuleMethodTable<?>> sMethodTables = new HashMap<>();
+
   public JavaModuleWrapper(JSInstance jsInstance, ModuleHolder moduleHolder) {
     mJSInstance = jsInstance;
     mModuleHolder = moduleHolder;
@@ -77,6 +83,11 @@ class JavaModuleWrapper {
       // module.
       classForMethods = superClass;
     }
+    if (addTableMethods(classForMethods)) {
+      Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
+      return;
+    }
+
     Method[] targetMethods = classForMethods.getDeclaredMethods();
 
     for (Method targetMethod : targetMethods) {
@@ -105,6 +116,51 @@ class JavaModuleWrapper {
     Systrace.endSection(TRACE_TAG_REACT_JAVA_BRIDGE);
   }
 
+  /** Adds the methods of the generated method table of the module class, if it has one. */
+  private <T extends NativeModule> boolean addTableMethods(Class<T> classForMethods) {
+    JavaModuleMethodTable<T> methodTable = findMethodTable(classForMethods);
+    if (methodTable == null) {
+      return false;
+    }
+    for (int methodId = 0; methodId < methodTable.getMethodCount(); methodId++) {
+      MethodDescriptor md = new MethodDescriptor();
+      md.name = methodTable.getName(methodId);
+      md.type = methodTable.getType(methodId);
+      if (md.type == BaseJavaModule.METHOD_TYPE_SYNC) {
+        md.signature = methodTable.getSignature(methodId);
+        md.method = methodTable.getMethod(classForMethods, methodId);
+      }
+      mMethods.add(new TableMethod<>(methodTable, classForMethods, methodId));
+      mDescs.add(md);
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable <T extends NativeModule> JavaModuleMethodTable<T> findMethodTable(
+      Class<T> cls) {
+    synchronized (sMethodTables) {
+      if (sMethodTables.containsKey(cls)) {
+        return (JavaModuleMethodTable<T>) sMethodTables.get(cls);
+      }
+    }
+    String clsName = cls.getName();
+    JavaModuleMethodTable<T> methodTable;
+    try {
+      Class<?> tableClass = Class.forName(clsName + "$$MethodTable");
+      // The table generated for a class handles instances of that class
+      methodTable = (JavaModuleMethodTable<T>) tableClass.newInstance();
+    } catch (ClassNotFoundException e) {
+      methodTable = null;
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to instantiate method table for " + clsName, e);
+    }
+    synchronized (sMethodTables) {
+      sMethodTables.put(cls, methodTable);
+    }
+    return methodTable;
+  }
+
   @DoNotStrip
   public List<MethodDescriptor> getMethodDescriptors() {
     if (mDescs.isEmpty()) {
@@ -148,4 +204,41 @@ class JavaModuleWrapper {
 
     mMethods.get(methodId).invoke(mJSInstance, parameters);
   }
+
+  /** Invokes a method through the generated method table of the module. */
+  private class TableMethod<T extends NativeModule> implements NativeModule.NativeMethod {
+    private final JavaModuleMethodTable<T> mMethodTable;
+    private final Class<T> mModuleClass;
+    private final int mMethodId;
+    private final String mTraceName;
+
+    TableMethod(JavaModuleMethodTable<T> methodTable, Class<T> moduleClass, int methodId) {
+      mMethodTable = methodTable;
+      mModuleClass = moduleClass;
+      mMethodId = methodId;
+      mTraceName = getName() + "." + methodTable.getName(methodId);
+    }
+
+    @Override
+    public void invoke(JSInstance jsInstance, ReadableArray parameters) {
+      boolean isTracing = Systrace.isTracing(TRACE_TAG_REACT_JAVA_BRIDGE);
+      if (isTracing) {
+        SystraceMessage.beginSection(TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod")
+            .arg("method", mTraceName)
+            .flush();
+      }
+      try {
+        mMethodTable.invoke(mModuleClass.cast(getModule()), jsInstance, mMethodId, parameters);
+      } finally {
+        if (isTracing) {
+          SystraceMessage.endSection(TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+        }
+      }
+    }
+
+    @Override
+    public String getType() {
+      return mMethodTable.getType(mMethodId);
+    }
+  }
 }
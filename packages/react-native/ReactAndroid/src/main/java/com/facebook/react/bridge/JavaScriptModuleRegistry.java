@@ -9,7 +9,9 @@ package com.facebook.react.bridge;
 
 import androidx.annotation.Nullable;
 import com.facebook.react.common.build.ReactBuildConfig;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.HashMap;
@@ -20,8 +22,23 @@ import java.util.Set;
  * Class responsible for holding all the {@link JavaScriptModule}s. Uses Java proxy objects to
  * dispatch method calls on JavaScriptModules to the bridge using the corresponding module and
  * method ids so the proper function is executed in JavaScript.
+ *
+ * <p>When the build generated a {@code <interfacename>$$JavaScriptModuleStub} for a module with
+ * {@code com.facebook.react.processing.JavaScriptModuleProcessor}, that stub is used instead of a
+ * proxy. It writes the arguments straight into a {@link WritableNativeArray}, without reflection or
+ * an intermediate {@code Object[]}.
  */
 public final class JavaScriptModuleRegistry {
+  /** Calls a function of a JavaScript module, used by the generated module stubs. */
+  public interface FunctionCaller {
+    void callFunction(String module, String method, NativeArray arguments);
+  }
+
+  private static final String STUB_SUFFIX = "$$JavaScriptModuleStub";
+
+  // Stub constructors by module interface, null for modules without a generated stub
+  private static final HashMap<Class<?>, Constructor<?>> sStubConstructors = new HashMap<>();
+
   private final HashMap<Class<? extends JavaScriptModule>, JavaScriptModule> mModuleInstances;
 
   public JavaScriptModuleRegistry() {
@@ -35,6 +52,13 @@ public final class JavaScriptModuleRegistry {
       return (T) module;
     }
 
+    JavaScriptModule generatedModule =
+        createGeneratedModule(moduleInterface, instance::callFunction);
+    if (generatedModule != null) {
+      mModuleInstances.put(moduleInterface, generatedModule);
+      return (T) generatedModule;
+    }
+
     JavaScriptModule interfaceProxy =
         (JavaScriptModule)
             Proxy.newProxyInstance(
@@ -45,6 +69,43 @@ public final class JavaScriptModuleRegistry {
     return (T) interfaceProxy;
   }
 
+  /**
+   * Returns a new instance of the generated stub of {@code moduleInterface}, or null if the build
+   * didn't generate one.
+   */
+  public static @Nullable <T extends JavaScriptModule> T createGeneratedModule(
+      Class<T> moduleInterface, FunctionCaller functionCaller) {
+    Constructor<?> constructor = findStubConstructor(moduleInterface);
+    if (constructor == null) {
+      return null;
+    }
+    try {
+      return moduleInterface.cast(constructor.newInstance(functionCaller));
+    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      throw new RuntimeException("Unable to instantiate stub for " + moduleInterface.getName(), e);
+    }
+  }
+
+  private static @Nullable Constructor<?> findStubConstructor(Class<?> moduleInterface) {
+    synchronized (sStubConstructors) {
+      if (sStubConstructors.containsKey(moduleInterface)) {
+        return sStubConstructors.get(moduleInterface);
+      }
+      Constructor<?> constructor;
+      try {
+        constructor =
+            Class.forName(moduleInterface.getName() + STUB_SUFFIX)
+                .getConstructor(FunctionCaller.class);
+      } catch (ClassNotFoundException e) {
+        constructor = null;
+      } catch (NoSuchMethodException e) {
+        throw new RuntimeException("Invalid stub for " + moduleInterface.getName(), e);
+      }
+      sStubConstructors.put(moduleInterface, constructor);
+      return constructor;
+    }
+  }
+
   private static class JavaScriptModuleInvocationHandler implements InvocationHandler {
     private final CatalystInstance mCatalystInstance;
     private final Class<? extends JavaScriptModule> mModuleInterface;
@@ -15,7 +15,14 @@
 -keepnames class * extends com.facebook.react.uimanager.ViewManager
 -keepnames class * extends com.facebook.react.uimanager.ReactShadowNode
 -keep class **$$PropsSetter
+-keep class **$$MethodTable
+-keep class **$$JavaScriptModuleStub { public <init>(...); }
 -keep class **$$ReactModuleInfoProvider
+-if class * implements com.facebook.react.ReflectiveViewManagersReactPackage
+-keepclassmembers class * extends com.facebook.react.uimanager.ViewManager {
+  public <init>();
+  public <init>(com.facebook.react.bridge.ReactApplicationContext);
+}
 -keep class com.facebook.react.bridge.ReadableType { *; }
 
 -keepnames class com.facebook.quicklog.QuickPerformanceLogger {
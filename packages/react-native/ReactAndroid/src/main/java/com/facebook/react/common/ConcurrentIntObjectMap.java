@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Thread-safe map from int keys to non-null object values. Like a ConcurrentHashMap<Integer, V> but
+ * without boxing the key on every lookup.
+ *
+ * <p>Keys are spread across a fixed number of lock-striped segments. Each segment is an
+ * open-addressing table with linear probing and backward-shift deletion, so lookups don't allocate
+ * and removals don't leave tombstones behind. Readers and writers only contend when they hit the
+ * same segment.
+ */
+public class ConcurrentIntObjectMap<V> {
+
+  /** Receives each mapping when iterating with {@link #forEach}. */
+  public interface EntryVisitor<V> {
+    void visit(int key, V value);
+  }
+
+  private static final int SEGMENT_COUNT = 16;
+  private static final int SEGMENT_MASK = SEGMENT_COUNT - 1;
+  private static final int MIN_SEGMENT_CAPACITY = 16;
+
+  private final Segment[] mSegments = new Segment[SEGMENT_COUNT];
+
+  public ConcurrentIntObjectMap() {
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      mSegments[i] = new Segment();
+    }
+  }
+
+  public @Nullable V get(int key) {
+    int hash = hash(key);
+    return (V) segmentFor(hash).get(key, hash);
+  }
+
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /** Maps {@code key} to {@code value}, returning the previous value if there was one. */
+  public @Nullable V put(int key, V value) {
+    if (value == null) {
+      throw new NullPointerException("ConcurrentIntObjectMap does not support null values");
+    }
+    int hash = hash(key);
+    return (V) segmentFor(hash).put(key, hash, value);
+  }
+
+  /** Removes the mapping for {@code key}, returning the removed value if there was one. */
+  public @Nullable V remove(int key) {
+    int hash = hash(key);
+    return (V) segmentFor(hash).remove(key, hash);
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment segment : mSegments) {
+      synchronized (segment) {
+        size += segment.mSize;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Visits every mapping. Each segment is copied under its lock and then visited without holding
+   * it, so the visitor may safely call back into this map; concurrent updates to segments that have
+   * not been visited yet may or may not be observed.
+   */
+  public void forEach(EntryVisitor<V> visitor) {
+    for (Segment segment : mSegments) {
+      int[] keys;
+      Object[] values;
+      synchronized (segment) {
+        if (segment.mSize == 0) {
+          continue;
+        }
+        keys = segment.mKeys.clone();
+        values = segment.mValues.clone();
+      }
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          visitor.visit(keys[i], (V) values[i]);
+        }
+      }
+    }
+  }
+
+  private Segment segmentFor(int hash) {
+    // The low bits index into the segment's table, so use the high bits to pick the segment.
+    return mSegments[(hash >>> 28) & SEGMENT_MASK];
+  }
+
+  private static int hash(int key) {
+    // Finalization step of MurmurHash3, react tags are mostly sequential.
+    key ^= key >>> 16;
+    key *= 0x85ebca6b;
+    key ^= key >>> 13;
+    key *= 0xc2b2ae35;
+    key ^= key >>> 16;
+    return key;
+  }
+
+  private static final class Segment {
+    private int[] mKeys = new int[MIN_SEGMENT_CAPACITY];
+    // A null value marks a free slot.
+    private Object[] mValues = new Object[MIN_SEGMENT_CAPACITY];
+    private int mSize = 0;
+
+    synchronized @Nullable Object get(int key, int hash) {
+      int mask = mKeys.length - 1;
+      for (int index = hash & mask; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          return mValues[index];
+        }
+      }
+      return null;
+    }
+
+    synchronized @Nullable Object put(int key, int hash, Object value) {
+      int mask = mKeys.length - 1;
+      int index = hash & mask;
+      for (; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          Object previous = mValues[index];
+          mValues[index] = value;
+          return previous;
+        }
+      }
+      mKeys[index] = key;
+      mValues[index] = value;
+      if (++mSize * 2 > mKeys.length) {
+        resize(mKeys.length << 1);
+      }
+      return null;
+    }
+
+    synchronized @Nullable Object remove(int key, int hash) {
+      int mask = mKeys.length - 1;
+      int index = hash & mask;
+      for (; mValues[index] != null; index = (index + 1) & mask) {
+        if (mKeys[index] == key) {
+          Object previous = mValues[index];
+          mValues[index] = null;
+          mSize--;
+          shiftBack(index, mask);
+          return previous;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Moves entries that follow the freed slot back so that every remaining entry is still
+     * reachable from its home slot without a gap in its probe sequence.
+     */
+    private void shiftBack(int freeIndex, int mask) {
+      int index = (freeIndex + 1) & mask;
+      while (mValues[index] != null) {
+        int home = hash(mKeys[index]) & mask;
+        // Move the entry if its home slot is cyclically outside (freeIndex, index].
+        boolean canMove =
+            freeIndex <= index
+                ? home <= freeIndex || home > index
+                : home <= freeIndex && home > index;
+        if (canMove) {
+          mKeys[freeIndex] = mKeys[index];
+          mValues[freeIndex] = mValues[index];
+          mValues[index] = null;
+          freeIndex = index;
+        }
+        index = (index + 1) & mask;
+      }
+    }
+
+    private void resize(int newCapacity) {
+      int[] oldKeys = mKeys;
+      Object[] oldValues = mValues;
+      mKeys = new int[newCapacity];
+      mValues = new Object[newCapacity];
+      int mask = newCapacity - 1;
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] != null) {
+          int index = hash(oldKeys[i]) & mask;
+          while (mValues[index] != null) {
+            index = (index + 1) & mask;
+          }
+          mKeys[index] = oldKeys[i];
+          mValues[index] = oldValues[i];
+        }
+      }
+    }
+  }
+}
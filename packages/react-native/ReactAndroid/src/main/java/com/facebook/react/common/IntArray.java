@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+/** Object wrapping an auto-expanding int[]. Like an ArrayList<Integer> but without the autoboxing. */
+public class IntArray {
+
+  private static final double INNER_ARRAY_GROWTH_FACTOR = 1.8;
+
+  private int[] mArray;
+  private int mLength;
+
+  public static IntArray createWithInitialCapacity(int initialCapacity) {
+    return new IntArray(initialCapacity);
+  }
+
+  private IntArray(int initialCapacity) {
+    mArray = new int[initialCapacity];
+    mLength = 0;
+  }
+
+  public void add(int value) {
+    growArrayIfNeeded();
+    mArray[mLength++] = value;
+  }
+
+  public int get(int index) {
+    if (index >= mLength) {
+      throw new IndexOutOfBoundsException("" + index + " >= " + mLength);
+    }
+    return mArray[index];
+  }
+
+  public void set(int index, int value) {
+    if (index >= mLength) {
+      throw new IndexOutOfBoundsException("" + index + " >= " + mLength);
+    }
+    mArray[index] = value;
+  }
+
+  public int size() {
+    return mLength;
+  }
+
+  public boolean isEmpty() {
+    return mLength == 0;
+  }
+
+  /** Removes and returns the *last* item of the array, so it can be used as a stack. */
+  public int pop() {
+    if (mLength == 0) {
+      throw new IndexOutOfBoundsException("Trying to pop from an empty array");
+    }
+    return mArray[--mLength];
+  }
+
+  public void addAll(IntArray other) {
+    for (int i = 0; i < other.mLength; i++) {
+      add(other.mArray[i]);
+    }
+  }
+
+  public void clear() {
+    mLength = 0;
+  }
+
+  /** Removes the *last* n items of the array all at once. */
+  public void dropTail(int n) {
+    if (n > mLength) {
+      throw new IndexOutOfBoundsException(
+          "Trying to drop " + n + " items from array of length " + mLength);
+    }
+    mLength -= n;
+  }
+
+  private void growArrayIfNeeded() {
+    if (mLength == mArray.length) {
+      // If the initial capacity was 1 we need to ensure it at least grows by 1.
+      int newSize = Math.max(mLength + 1, (int) (mLength * INNER_ARRAY_GROWTH_FACTOR));
+      int[] newArray = new int[newSize];
+      System.arraycopy(mArray, 0, newArray, 0, mLength);
+      mArray = newArray;
+    }
+  }
+}
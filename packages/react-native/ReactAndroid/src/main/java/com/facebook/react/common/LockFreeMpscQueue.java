@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Multi-producer, single-consumer queue backed by a fixed-size lock-free ring. Any thread may call
+ * {@link #offer}, but only one thread at a time may call {@link #poll}.
+ *
+ * <p>Each ring slot carries a sequence number that tells producers whether the slot is free and
+ * the consumer whether it has been published, so producers only contend on a single CAS of the
+ * tail index. If the ring is full, elements are appended to a synchronized overflow list instead of
+ * being dropped; the consumer drains the overflow after the ring. Ordering between elements in the
+ * ring and in the overflow list is therefore not guaranteed.
+ */
+public class LockFreeMpscQueue<T> {
+
+  private final AtomicReferenceArray<T> mBuffer;
+  private final AtomicLongArray mSequences;
+  private final int mMask;
+  private final AtomicLong mTail = new AtomicLong();
+  private final ArrayList<T> mOverflow = new ArrayList<>();
+  private volatile boolean mHasOverflow = false;
+  private int mOverflowDrainIndex = 0;
+  // Only ever touched by the consumer.
+  private long mHead = 0;
+
+  /** @param capacity ring capacity, rounded up to the next power of two */
+  public LockFreeMpscQueue(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    mBuffer = new AtomicReferenceArray<>(size);
+    mSequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      mSequences.set(i, i);
+    }
+    mMask = size - 1;
+  }
+
+  /** Enqueues {@code element}. Safe to call from any thread. */
+  public void offer(T element) {
+    while (true) {
+      long position = mTail.get();
+      int index = (int) (position & mMask);
+      long diff = mSequences.get(index) - position;
+      if (diff == 0) {
+        if (mTail.compareAndSet(position, position + 1)) {
+          mBuffer.lazySet(index, element);
+          // Publishes the element to the consumer.
+          mSequences.set(index, position + 1);
+          return;
+        }
+      } else if (diff < 0) {
+        // The consumer hasn't freed this slot yet: the ring is full.
+        synchronized (mOverflow) {
+          mOverflow.add(element);
+          mHasOverflow = true;
+        }
+        return;
+      }
+      // Another producer claimed this position, retry with the new tail.
+    }
+  }
+
+  /**
+   * Dequeues the next published element, or returns null if there is none. Must only be called
+   * from the consumer thread.
+   */
+  public @Nullable T poll() {
+    int index = (int) (mHead & mMask);
+    if (mSequences.get(index) == mHead + 1) {
+      T element = mBuffer.get(index);
+      mBuffer.lazySet(index, null);
+      // Frees the slot for the producer that will wrap around to it.
+      mSequences.set(index, mHead + mMask + 1);
+      mHead++;
+      return element;
+    }
+    return mHasOverflow ? pollOverflow() : null;
+  }
+
+  /**
+   * Returns the number of elements offered but not polled yet, including the ones still being
+   * published. Must only be called from the consumer thread.
+   */
+  public int size() {
+    int size = (int) (mTail.get() - mHead);
+    if (mHasOverflow) {
+      synchronized (mOverflow) {
+        size += mOverflow.size() - mOverflowDrainIndex;
+      }
+    }
+    return size;
+  }
+
+  private @Nullable T pollOverflow() {
+    synchronized (mOverflow) {
+      if (mOverflowDrainIndex < mOverflow.size()) {
+        return mOverflow.get(mOverflowDrainIndex++);
+      }
+      mOverflow.clear();
+      mOverflowDrainIndex = 0;
+      mHasOverflow = false;
+      return null;
+    }
+  }
+}
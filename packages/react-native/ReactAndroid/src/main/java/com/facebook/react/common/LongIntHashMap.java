@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to int values. Like a HashMap<Long, Integer> but without
+ * the autoboxing, and clearing it does not release the backing arrays so it can be reused every
+ * frame without allocating. Not thread safe.
+ */
+public class LongIntHashMap {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] mKeys;
+  private int[] mValues;
+  private boolean[] mOccupied;
+  private int mMask;
+  private int mSize;
+
+  public LongIntHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    // Keep the load factor at or below 0.5 so that probe sequences stay short.
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /** Returns the value mapped to {@code key}, or {@code defaultValue} if there is none. */
+  public int get(long key, int defaultValue) {
+    int index = hash(key) & mMask;
+    while (mOccupied[index]) {
+      if (mKeys[index] == key) {
+        return mValues[index];
+      }
+      index = (index + 1) & mMask;
+    }
+    return defaultValue;
+  }
+
+  public void put(long key, int value) {
+    int index = hash(key) & mMask;
+    while (mOccupied[index]) {
+      if (mKeys[index] == key) {
+        mValues[index] = value;
+        return;
+      }
+      index = (index + 1) & mMask;
+    }
+    mOccupied[index] = true;
+    mKeys[index] = key;
+    mValues[index] = value;
+    if (++mSize * 2 > mKeys.length) {
+      rehash(mKeys.length << 1);
+    }
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /** Removes all mappings while keeping the current capacity. */
+  public void clear() {
+    if (mSize == 0) {
+      return;
+    }
+    Arrays.fill(mOccupied, false);
+    mSize = 0;
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mValues = new int[capacity];
+    mOccupied = new boolean[capacity];
+    mMask = capacity - 1;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldKeys = mKeys;
+    int[] oldValues = mValues;
+    boolean[] oldOccupied = mOccupied;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldOccupied[i]) {
+        int index = hash(oldKeys[i]) & mMask;
+        while (mOccupied[index]) {
+          index = (index + 1) & mMask;
+        }
+        mOccupied[index] = true;
+        mKeys[index] = oldKeys[i];
+        mValues[index] = oldValues[i];
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    // Finalization step of MurmurHash3, spreads view tags and event type ids across all bits.
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+}
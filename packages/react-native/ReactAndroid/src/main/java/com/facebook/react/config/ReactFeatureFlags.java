@@ -85,9 +85,18 @@ public class ReactFeatureFlags {
 
   public static boolean dispatchPointerEvents = false;
 
-  /** Feature Flag to enable a cache of Spannable objects used by TextLayoutManagerMapBuffer */
+  /**
+   * Feature Flag to enable the cache of Spannable and Layout objects shared by TextLayoutManager
+   * and TextLayoutManagerMapBuffer, see {@link com.facebook.react.views.text.TextLayoutCache}
+   */
   public static boolean enableTextSpannableCache = false;
 
+  /**
+   * Feature Flag to precompute the text measured by Fabric on background threads, so that it isn't
+   * measured again when mounted. Requires {@link #enableTextSpannableCache} and Android P+.
+   */
+  public static boolean enableTextPrecompute = false;
+
   /** Feature Flag to enable the pending event queue in fabric before mounting views */
   public static boolean enableFabricPendingEventQueue = false;
 
@@ -165,4 +174,59 @@ public class ReactFeatureFlags {
 
   /** Enables Stable API for TurboModule (removal of ReactModule, ReactModuleInfoProvider). */
   public static boolean enableTurboModuleStableAPI = false;
+
+  /**
+   * Allows large mount item batches to yield when the frame budget is spent and resume on the next
+   * frame, instead of blocking the UI thread until the whole commit is mounted.
+   */
+  public static boolean enableInterruptibleMountItems = false;
+
+  /**
+   * In debug builds, throw when a ViewManager or shadow node has @ReactProp setters that can only
+   * be updated through reflection, because no generated $$PropsSetter class covers them.
+   */
+  public static boolean enforceGeneratedPropSetters = false;
+
+  /**
+   * Lets native animated props write opacity, transform and backgroundColor directly to the
+   * connected View instead of going through UIManager, skipping ViewManager prop setters that
+   * override them.
+   */
+  public static boolean enableNativeAnimatedDirectViewUpdates = false;
+
+  /**
+   * Only requests frames for JS timers when one is about to fire, and otherwise sleeps until the
+   * next timer is due, instead of polling for expired timers on every frame.
+   */
+  public static boolean enableOnDemandTimerFrames = false;
+
+  /**
+   * Adds a shared {@link com.facebook.react.modules.network.MemoryCacheInterceptor} to the default
+   * networking client, which serves small cacheable GET responses from memory and coalesces
+   * identical GET requests in flight.
+   */
+  public static boolean enableNetworkMemoryCache = false;
+
+  /**
+   * Schedules networking requests by the priority JS gives them, through a {@link
+   * com.facebook.react.modules.network.RequestScheduler} in front of OkHttp's dispatcher.
+   */
+  public static boolean enableNetworkRequestPriorities = false;
+
+  /**
+   * Creates the eager init TurboModules on background threads while the JS bundle loads, in
+   * parallel when they don't depend on each other, instead of one after the other before loading
+   * it.
+   */
+  public static boolean enableParallelEagerModuleInit = false;
+
+  /**
+   * In bridgeless mode, creates the ViewManagers of packages that don't implement {@link
+   * com.facebook.react.ViewManagerOnDemandReactPackage} one at a time, from an index that is built
+   * on first launch and persisted, instead of creating the ViewManagers of every package whenever
+   * one of them is needed. Only packages that implement {@link
+   * com.facebook.react.ReflectiveViewManagersReactPackage} have their ViewManagers created one at a
+   * time.
+   */
+  public static boolean enableViewManagerIndexInBridgelessMode = false;
 }
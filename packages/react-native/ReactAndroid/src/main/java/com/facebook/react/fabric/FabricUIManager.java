@@ -229,7 +229,14 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     mReactApplicationContext.addLifecycleEventListener(this);
 
     mViewManagerRegistry = viewManagerRegistry;
-    mReactApplicationContext.registerComponentCallbacks(viewManagerRegistry);
+  }
+
+  /**
+   * Returns the registry of the ViewManagers used by this UIManager. Its host registers it with its
+   * {@link com.facebook.react.MemoryPressureRouter}, which delivers trims to it.
+   */
+  public ViewManagerRegistry getViewManagerRegistry() {
+    return mViewManagerRegistry;
   }
 
   // TODO (T47819352): Rename this to startSurface for consistency with xplat/iOS
@@ -435,7 +442,6 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
     mEventDispatcher.removeBatchEventDispatchedListener(mBatchEventDispatchedListener);
     mEventDispatcher.unregisterEventEmitter(FABRIC);
 
-    mReactApplicationContext.unregisterComponentCallbacks(mViewManagerRegistry);
     mViewManagerRegistry.invalidate();
 
     // Remove lifecycle listeners (onHostResume, onHostPause) since the FabricUIManager is going
@@ -1300,7 +1306,7 @@ public class FabricUIManager implements UIManager, LifecycleEventListener {
 
       try {
         mMountItemDispatcher.dispatchPreMountItems(frameTimeNanos);
-        mMountItemDispatcher.tryDispatchMountItems();
+        mMountItemDispatcher.tryDispatchMountItems(frameTimeNanos);
       } catch (Exception ex) {
         FLog.e(TAG, "Exception thrown when executing UIFrameGuarded", ex);
         stop();
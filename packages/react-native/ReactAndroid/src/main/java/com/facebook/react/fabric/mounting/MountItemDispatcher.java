@@ -24,8 +24,11 @@ import com.facebook.react.bridge.ReactIgnorableMountingException;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.RetryableMountingLayerException;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.fabric.mounting.mountitems.DispatchCommandMountItem;
+import com.facebook.react.fabric.mounting.mountitems.InterruptibleMountItem;
 import com.facebook.react.fabric.mounting.mountitems.MountItem;
+import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.systrace.Systrace;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -33,11 +36,18 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Executes mount items on the UI thread: view commands first, then the mount items of commits, and
+ * view preallocation only during the first half of a frame.
+ *
+ * <p>When {@link ReactFeatureFlags#enableInterruptibleMountItems} is on and dispatch is driven by a
+ * frame, large batches may yield once the mounting budget of the frame is spent, and resume on the
+ * next frame. Frame budgets are derived from the frame interval of the display, as reported by
+ * {@link ReactChoreographer}, so they scale with 90Hz and 120Hz displays.
+ */
 public class MountItemDispatcher {
 
   private static final String TAG = "MountItemDispatcher";
-  private static final int FRAME_TIME_MS = 16;
-  private static final int MAX_TIME_IN_FRAME_FOR_NON_BATCHED_OPERATIONS_MS = 8;
 
   private final MountingManager mMountingManager;
   private final ItemDispatchListener mItemDispatchListener;
@@ -52,10 +62,24 @@ public class MountItemDispatcher {
   @NonNull
   private final ConcurrentLinkedQueue<MountItem> mPreMountItems = new ConcurrentLinkedQueue<>();
 
+  // Mount items that did not finish within the previous frame, in order. They are executed before
+  // any newer mount item.
+  @ThreadConfined(UI)
+  private final List<MountItem> mYieldedMountItems = new ArrayList<>();
+
   private boolean mInDispatch = false;
+  private boolean mDidYield = false;
   private int mReDispatchCounter = 0;
   private long mBatchedExecutionTime = 0L;
   private long mRunStartTime = 0L;
+  private long mMountItemsDeadlineNanos = Long.MAX_VALUE;
+
+  // Mounting budget metrics, only written on the UI thread.
+  private volatile long mMeasuredFrameCount = 0;
+  private volatile long mOverBudgetFrameCount = 0;
+  private volatile long mTotalBudgetOverrunNanos = 0;
+  private volatile long mMaxBudgetOverrunNanos = 0;
+  private volatile long mYieldCount = 0;
 
   public MountItemDispatcher(MountingManager mountingManager, ItemDispatchListener listener) {
     mMountingManager = mountingManager;
@@ -92,6 +116,46 @@ public class MountItemDispatcher {
     mViewCommandMountItems.add(mountItem);
   }
 
+  /**
+   * Like {@link #tryDispatchMountItems()}, but as part of the frame starting at {@code
+   * frameTimeNanos}: interruptible mount items may yield once the mounting budget of the frame is
+   * spent, and the time spent mounting is recorded in the mounting budget metrics.
+   */
+  @UiThread
+  @ThreadConfined(UI)
+  public boolean tryDispatchMountItems(long frameTimeNanos) {
+    // Don't reenter, see tryDispatchMountItems(). The outer dispatch owns the deadline and records
+    // the frame.
+    if (mInDispatch) {
+      return false;
+    }
+
+    // Leave the last quarter of the frame for layout and drawing.
+    long mountBudgetNanos = ReactChoreographer.getInstance().getFrameIntervalNanos() * 3 / 4;
+    if (ReactFeatureFlags.enableInterruptibleMountItems) {
+      mMountItemsDeadlineNanos = frameTimeNanos + mountBudgetNanos;
+    }
+    long mountStartNanos = System.nanoTime();
+    try {
+      return tryDispatchMountItems();
+    } finally {
+      mMountItemsDeadlineNanos = Long.MAX_VALUE;
+      recordFrameBudget(System.nanoTime() - mountStartNanos - mountBudgetNanos);
+    }
+  }
+
+  /** @param overrunNanos time spent mounting beyond the mounting budget of the frame */
+  private void recordFrameBudget(long overrunNanos) {
+    mMeasuredFrameCount++;
+    if (overrunNanos > 0) {
+      mOverBudgetFrameCount++;
+      mTotalBudgetOverrunNanos += overrunNanos;
+      if (overrunNanos > mMaxBudgetOverrunNanos) {
+        mMaxBudgetOverrunNanos = overrunNanos;
+      }
+    }
+  }
+
   /**
    * Try to dispatch MountItems. Returns true if any items were dispatched, false otherwise. A
    * `false` return value doesn't indicate errors, it may just indicate there was no work to be
@@ -115,6 +179,7 @@ public class MountItemDispatcher {
     }
 
     final boolean didDispatchItems;
+    mDidYield = false;
     try {
       didDispatchItems = dispatchMountItems();
     } catch (Throwable e) {
@@ -129,8 +194,9 @@ public class MountItemDispatcher {
     // NativeAnimatedModule relies on this for executing any animations that may have been scheduled
     mItemDispatchListener.didDispatchMountItems();
 
-    // Decide if we want to try reentering
-    if (mReDispatchCounter < 10 && didDispatchItems) {
+    // Decide if we want to try reentering. If we yielded, the frame budget is spent and the rest
+    // of the work will be picked up on the next frame.
+    if (mReDispatchCounter < 10 && didDispatchItems && !mDidYield) {
       // Executing twice in a row is normal. Only log after that point.
       if (mReDispatchCounter > 2) {
         ReactSoftExceptionLogger.logSoftException(
@@ -266,13 +332,22 @@ public class MountItemDispatcher {
 
       long batchedExecutionStartTime = SystemClock.uptimeMillis();
 
-      for (MountItem mountItem : mountItemsToDispatch) {
+      for (int index = 0; index < mountItemsToDispatch.size(); index++) {
+        MountItem mountItem = mountItemsToDispatch.get(index);
         if (ENABLE_FABRIC_LOGS) {
           printMountItem(mountItem, "dispatchMountItems: Executing mountItem");
         }
 
         try {
-          executeOrEnqueue(mountItem);
+          if (!executeOrEnqueueUntil(mountItem, mMountItemsDeadlineNanos)) {
+            // Out of time: keep this item and every item after it, in order, for the next frame.
+            mYieldedMountItems.addAll(
+                mountItemsToDispatch.subList(index, mountItemsToDispatch.size()));
+            mountItemsToDispatch = new ArrayList<>(mountItemsToDispatch.subList(0, index));
+            mDidYield = true;
+            mYieldCount++;
+            break;
+          }
         } catch (Throwable e) {
           // If there's an exception, we want to log diagnostics in prod and rethrow.
           FLog.e(TAG, "dispatchMountItems: caught exception, displaying mount state", e);
@@ -345,6 +420,11 @@ public class MountItemDispatcher {
   }
 
   private void executeOrEnqueue(MountItem item) {
+    executeOrEnqueueUntil(item, Long.MAX_VALUE);
+  }
+
+  /** @return false if {@code item} is interruptible and did not finish before the deadline */
+  private boolean executeOrEnqueueUntil(MountItem item, long deadlineNanos) {
     if (mMountingManager.isWaitingForViewAttach(item.getSurfaceId())) {
       if (ENABLE_FABRIC_LOGS) {
         FLog.e(
@@ -355,9 +435,12 @@ public class MountItemDispatcher {
       SurfaceMountingManager surfaceMountingManager =
           mMountingManager.getSurfaceManager(item.getSurfaceId());
       surfaceMountingManager.executeOnViewAttach(item);
+    } else if (deadlineNanos != Long.MAX_VALUE && item instanceof InterruptibleMountItem) {
+      return ((InterruptibleMountItem) item).executeUntil(mMountingManager, deadlineNanos);
     } else {
       item.execute(mMountingManager);
     }
+    return true;
   }
 
   @Nullable
@@ -379,10 +462,13 @@ public class MountItemDispatcher {
     return result;
   }
 
-  /** Detect if we still have processing time left in this frame. */
+  /**
+   * Detect if we still have processing time left in this frame. Non-batched operations may only
+   * use the first half of the frame.
+   */
   private static boolean haveExceededNonBatchedFrameTime(long frameTimeNanos) {
-    long timeLeftInFrame = FRAME_TIME_MS - ((System.nanoTime() - frameTimeNanos) / 1000000);
-    return timeLeftInFrame < MAX_TIME_IN_FRAME_FOR_NON_BATCHED_OPERATIONS_MS;
+    long frameIntervalNanos = ReactChoreographer.getInstance().getFrameIntervalNanos();
+    return System.nanoTime() - frameTimeNanos > frameIntervalNanos / 2;
   }
 
   @UiThread
@@ -394,7 +480,16 @@ public class MountItemDispatcher {
   @UiThread
   @ThreadConfined(UI)
   private List<MountItem> getAndResetMountItems() {
-    return drainConcurrentItemQueue(mMountItems);
+    List<MountItem> mountItems = drainConcurrentItemQueue(mMountItems);
+    if (mYieldedMountItems.isEmpty()) {
+      return mountItems;
+    }
+    List<MountItem> result = new ArrayList<>(mYieldedMountItems);
+    mYieldedMountItems.clear();
+    if (mountItems != null) {
+      result.addAll(mountItems);
+    }
+    return result;
   }
 
   private Collection<MountItem> getAndResetPreMountItems() {
@@ -409,6 +504,33 @@ public class MountItemDispatcher {
     return mRunStartTime;
   }
 
+  /** Number of frames for which {@link #tryDispatchMountItems(long)} was called. */
+  public long getMeasuredFrameCount() {
+    return mMeasuredFrameCount;
+  }
+
+  /**
+   * Number of frames in which mounting took longer than its budget, three quarters of the frame
+   * interval. Time spent before mounting, e.g. on view preallocation, isn't counted.
+   */
+  public long getOverBudgetFrameCount() {
+    return mOverBudgetFrameCount;
+  }
+
+  /** Total time spent mounting beyond the budget, summed over all over-budget frames. */
+  public long getTotalBudgetOverrunNanos() {
+    return mTotalBudgetOverrunNanos;
+  }
+
+  public long getMaxBudgetOverrunNanos() {
+    return mMaxBudgetOverrunNanos;
+  }
+
+  /** Number of times a mount item yielded to resume on a later frame. */
+  public long getYieldCount() {
+    return mYieldCount;
+  }
+
   private static void printMountItem(MountItem mountItem, String prefix) {
     // If a MountItem description is split across multiple lines, it's because it's a
     // compound MountItem. Log each line separately.
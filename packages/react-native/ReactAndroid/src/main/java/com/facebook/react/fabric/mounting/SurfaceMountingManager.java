@@ -10,6 +10,7 @@ package com.facebook.react.fabric.mounting;
 import static com.facebook.infer.annotation.ThreadConfined.ANY;
 import static com.facebook.infer.annotation.ThreadConfined.UI;
 
+import android.util.SparseBooleanArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewParent;
@@ -29,6 +30,8 @@ import com.facebook.react.bridge.RetryableMountingLayerException;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.ConcurrentIntObjectMap;
+import com.facebook.react.common.IntArray;
 import com.facebook.react.common.build.ReactBuildConfig;
 import com.facebook.react.common.mapbuffer.ReadableMapBuffer;
 import com.facebook.react.config.ReactFeatureFlags;
@@ -54,11 +57,8 @@ import com.facebook.react.views.view.ReactMapBufferViewManager;
 import com.facebook.react.views.view.ReactViewManagerWrapper;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class SurfaceMountingManager {
@@ -72,8 +72,8 @@ public class SurfaceMountingManager {
   @Nullable private ThemedReactContext mThemedReactContext;
 
   // These are all non-null, until StopSurface is called
-  private ConcurrentHashMap<Integer, ViewState> mTagToViewState =
-      new ConcurrentHashMap<>(); // any thread
+  private ConcurrentIntObjectMap<ViewState> mTagToViewState =
+      new ConcurrentIntObjectMap<>(); // any thread
   private ConcurrentLinkedQueue<MountItem> mOnViewAttachItems = new ConcurrentLinkedQueue<>();
   private JSResponderHandler mJSResponderHandler;
   private ViewManagerRegistry mViewManagerRegistry;
@@ -84,10 +84,10 @@ public class SurfaceMountingManager {
   // removed asynchronously. Guaranteed to be disconnected
   // from the viewport and these tags will not be reused in the future.
   @ThreadConfined(UI)
-  private final Stack<Integer> mReactTagsToRemove = new Stack<>();
+  private final IntArray mReactTagsToRemove = IntArray.createWithInitialCapacity(16);
 
   @ThreadConfined(UI)
-  private final Set<Integer> mErroneouslyReaddedReactTags = new HashSet<>();
+  private final SparseBooleanArray mErroneouslyReaddedReactTags = new SparseBooleanArray();
 
   @ThreadConfined(UI)
   private RemoveDeleteTreeUIFrameCallback mRemoveDeleteTreeUIFrameCallback;
@@ -281,35 +281,41 @@ public class SurfaceMountingManager {
     // Reset all StateWrapper objects
     // Since this can happen on any thread, is it possible to race between StateWrapper destruction
     // and some accesses from View classes in the UI thread?
-    for (ViewState viewState : mTagToViewState.values()) {
-      if (viewState.mStateWrapper != null) {
-        viewState.mStateWrapper.destroyState();
-        viewState.mStateWrapper = null;
-      }
-      if (viewState.mEventEmitter != null) {
-        viewState.mEventEmitter.destroy();
-        viewState.mEventEmitter = null;
-      }
-    }
+    mTagToViewState.forEach(
+        (tag, viewState) -> {
+          if (viewState.mStateWrapper != null) {
+            viewState.mStateWrapper.destroyState();
+            viewState.mStateWrapper = null;
+          }
+          if (viewState.mEventEmitter != null) {
+            viewState.mEventEmitter.destroy();
+            viewState.mEventEmitter = null;
+          }
+        });
 
     Runnable runnable =
         () -> {
           if (ReactFeatureFlags.fixStoppedSurfaceTagSetLeak) {
-            mTagSetForStoppedSurface = new SparseArrayCompat<>();
-            for (Map.Entry<Integer, ViewState> entry : mTagToViewState.entrySet()) {
-              // Using this as a placeholder value in the map. We're using SparseArrayCompat
-              // since it can efficiently represent the list of pending tags
-              mTagSetForStoppedSurface.put(entry.getKey(), this);
-
-              // We must call `onDropViewInstance` on all remaining Views
-              onViewStateDeleted(entry.getValue());
-            }
+            SparseArrayCompat<Object> tagSetForStoppedSurface = new SparseArrayCompat<>();
+            mTagToViewState.forEach(
+                (tag, viewState) -> {
+                  // Using this as a placeholder value in the map. We're using SparseArrayCompat
+                  // since it can efficiently represent the list of pending tags
+                  tagSetForStoppedSurface.put(tag, this);
+
+                  // We must call `onDropViewInstance` on all remaining Views
+                  onViewStateDeleted(viewState);
+                });
+            mTagSetForStoppedSurface = tagSetForStoppedSurface;
           } else {
-            for (ViewState viewState : mTagToViewState.values()) {
-              // We must call `onDropViewInstance` on all remaining Views
-              onViewStateDeleted(viewState);
-            }
-            mTagSetForStoppedSurfaceLegacy = mTagToViewState.keySet();
+            Set<Integer> tagSetForStoppedSurfaceLegacy = new HashSet<>();
+            mTagToViewState.forEach(
+                (tag, viewState) -> {
+                  tagSetForStoppedSurfaceLegacy.add(tag);
+                  // We must call `onDropViewInstance` on all remaining Views
+                  onViewStateDeleted(viewState);
+                });
+            mTagSetForStoppedSurfaceLegacy = tagSetForStoppedSurfaceLegacy;
           }
 
           // Evict all views from cache and memory
@@ -403,7 +409,7 @@ public class SurfaceMountingManager {
       if (viewParent instanceof ViewGroup) {
         ((ViewGroup) viewParent).removeView(view);
       }
-      mErroneouslyReaddedReactTags.add(tag);
+      mErroneouslyReaddedReactTags.put(tag, true);
     }
 
     try {
@@ -447,7 +453,7 @@ public class SurfaceMountingManager {
     }
 
     // This is "impossible". See comments above.
-    if (mErroneouslyReaddedReactTags.contains(tag)) {
+    if (mErroneouslyReaddedReactTags.get(tag)) {
       ReactSoftExceptionLogger.logSoftException(
           TAG,
           new IllegalViewOperationException(
@@ -778,12 +784,12 @@ public class SurfaceMountingManager {
     // Since this current function and the Runnable both run on the UI thread, there is
     // no race condition here.
     runDeferredTagRemovalAndDeletion();
-    mReactTagsToRemove.push(tag);
+    mReactTagsToRemove.add(tag);
   }
 
   @UiThread
   private void runDeferredTagRemovalAndDeletion() {
-    if (mReactTagsToRemove.empty()) {
+    if (mReactTagsToRemove.isEmpty()) {
       if (mRemoveDeleteTreeUIFrameCallback == null) {
         mRemoveDeleteTreeUIFrameCallback = new RemoveDeleteTreeUIFrameCallback(mThemedReactContext);
       }
@@ -1259,7 +1265,7 @@ public class SurfaceMountingManager {
   }
 
   private @Nullable ViewState getNullableViewState(int tag) {
-    ConcurrentHashMap<Integer, ViewState> viewStates = mTagToViewState;
+    ConcurrentIntObjectMap<ViewState> viewStates = mTagToViewState;
     if (viewStates == null) {
       return null;
     }
@@ -1277,21 +1283,22 @@ public class SurfaceMountingManager {
 
   public void printSurfaceState() {
     FLog.e(TAG, "Views created for surface {%d}:", getSurfaceId());
-    for (ViewState viewState : mTagToViewState.values()) {
-      String viewManagerName =
-          viewState.mViewManager != null ? viewState.mViewManager.getName() : null;
-      @Nullable View view = viewState.mView;
-      @Nullable View parent = view != null ? (View) view.getParent() : null;
-      @Nullable Integer parentTag = parent != null ? parent.getId() : null;
-
-      FLog.e(
-          TAG,
-          "<%s id=%d parentTag=%s isRoot=%b />",
-          viewManagerName,
-          viewState.mReactTag,
-          parentTag,
-          viewState.mIsRoot);
-    }
+    mTagToViewState.forEach(
+        (tag, viewState) -> {
+          String viewManagerName =
+              viewState.mViewManager != null ? viewState.mViewManager.getName() : null;
+          @Nullable View view = viewState.mView;
+          @Nullable View parent = view != null ? (View) view.getParent() : null;
+          @Nullable Integer parentTag = parent != null ? parent.getId() : null;
+
+          FLog.e(
+              TAG,
+              "<%s id=%d parentTag=%s isRoot=%b />",
+              viewManagerName,
+              viewState.mReactTag,
+              parentTag,
+              viewState.mIsRoot);
+        });
   }
 
   @AnyThread
@@ -1411,8 +1418,12 @@ public class SurfaceMountingManager {
   }
 
   private class RemoveDeleteTreeUIFrameCallback extends GuardedFrameCallback {
-    private static final long FRAME_TIME_MS = 16;
-    private static final long MAX_TIME_IN_FRAME = 9;
+    // Fraction of the frame interval, out of 16, that deletion may use. Originally 7ms of a 16ms
+    // frame.
+    private static final long FRAME_SIXTEENTHS_FOR_DELETION = 7;
+
+    // Scratch buffer for the children of the view being deleted, reused across frames.
+    private final IntArray mLocalChildren = IntArray.createWithInitialCapacity(16);
 
     private RemoveDeleteTreeUIFrameCallback(@NonNull ReactContext reactContext) {
       super(reactContext);
@@ -1423,8 +1434,9 @@ public class SurfaceMountingManager {
      * for this to take up to 15ms since it executes after all other important UI work.
      */
     private boolean haveExceededNonBatchedFrameTime(long frameTimeNanos) {
-      long timeLeftInFrame = FRAME_TIME_MS - ((System.nanoTime() - frameTimeNanos) / 1000000);
-      return timeLeftInFrame < MAX_TIME_IN_FRAME;
+      long frameIntervalNanos = ReactChoreographer.getInstance().getFrameIntervalNanos();
+      return System.nanoTime() - frameTimeNanos
+          > frameIntervalNanos * FRAME_SIXTEENTHS_FOR_DELETION / 16;
     }
 
     @Override
@@ -1432,14 +1444,14 @@ public class SurfaceMountingManager {
     @ThreadConfined(UI)
     public void doFrameGuarded(long frameTimeNanos) {
       int deletedViews = 0;
-      Stack<Integer> localChildren = new Stack<>();
+      IntArray localChildren = mLocalChildren;
       try {
-        while (!mReactTagsToRemove.empty()) {
+        while (!mReactTagsToRemove.isEmpty()) {
           int reactTag = mReactTagsToRemove.pop();
           deletedViews++;
 
           // This is "impossible". See comments above.
-          if (mErroneouslyReaddedReactTags.contains(reactTag)) {
+          if (mErroneouslyReaddedReactTags.get(reactTag)) {
             ReactSoftExceptionLogger.logSoftException(
                 TAG,
                 new IllegalViewOperationException(
@@ -1469,7 +1481,7 @@ public class SurfaceMountingManager {
               while ((nextChild = ((ViewGroup) thisView).getChildAt(numChildren)) != null) {
                 int childId = nextChild.getId();
                 childrenAreManaged = childrenAreManaged || getNullableViewState(childId) != null;
-                localChildren.push(nextChild.getId());
+                localChildren.add(nextChild.getId());
                 numChildren++;
               }
               // Removing all at once is more efficient than removing one-by-one
@@ -1519,7 +1531,7 @@ public class SurfaceMountingManager {
           }
         }
       } finally {
-        if (!mReactTagsToRemove.empty()) {
+        if (!mReactTagsToRemove.isEmpty()) {
           ReactChoreographer.getInstance()
               .postFrameCallback(ReactChoreographer.CallbackType.IDLE_EVENT, this);
         } else {
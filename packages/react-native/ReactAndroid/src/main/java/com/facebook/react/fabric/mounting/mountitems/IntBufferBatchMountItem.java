@@ -32,9 +32,13 @@ import com.facebook.systrace.Systrace;
  *
  * <p>The purpose of encapsulating the array of MountItems this way, is to reduce the amount of
  * allocations in C++ and JNI round-trips.
+ *
+ * <p>Large batches can be executed across several frames with {@link #executeUntil}: execution
+ * stops between two instructions once the deadline has passed, and resumes from there on the next
+ * call.
  */
 @DoNotStrip
-final class IntBufferBatchMountItem implements BatchMountItem {
+final class IntBufferBatchMountItem implements BatchMountItem, InterruptibleMountItem {
   static final String TAG = IntBufferBatchMountItem.class.getSimpleName();
 
   static final int INSTRUCTION_FLAG_MULTIPLE = 1;
@@ -51,6 +55,9 @@ final class IntBufferBatchMountItem implements BatchMountItem {
   static final int INSTRUCTION_UPDATE_OVERFLOW_INSET = 1024;
   static final int INSTRUCTION_REMOVE_DELETE_TREE = 2048;
 
+  // Reading the clock for every instruction would be more expensive than most instructions.
+  private static final int DEADLINE_CHECK_INTERVAL = 16;
+
   private final int mSurfaceId;
   private final int mCommitNumber;
 
@@ -60,6 +67,13 @@ final class IntBufferBatchMountItem implements BatchMountItem {
   private final int mIntBufferLen;
   private final int mObjBufferLen;
 
+  // Where to resume if a previous call to executeUntil ran out of time. These are only accessed on
+  // the UI thread.
+  private int mIntBufferPosition = 0;
+  private int mObjBufferPosition = 0;
+  private int mPendingType = 0;
+  private int mPendingInstructions = 0;
+
   IntBufferBatchMountItem(int surfaceId, int[] intBuf, Object[] objBuf, int commitNumber) {
     mSurfaceId = surfaceId;
     mCommitNumber = commitNumber;
@@ -71,17 +85,17 @@ final class IntBufferBatchMountItem implements BatchMountItem {
     mObjBufferLen = mObjBuffer != null ? mObjBuffer.length : 0;
   }
 
-  private void beginMarkers(String reason) {
+  private void beginMarkers(String reason, boolean isFirstSlice) {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "FabricUIManager::" + reason);
 
-    if (mCommitNumber > 0) {
+    if (isFirstSlice && mCommitNumber > 0) {
       ReactMarker.logFabricMarker(
           ReactMarkerConstants.FABRIC_BATCH_EXECUTION_START, null, mCommitNumber);
     }
   }
 
-  private void endMarkers() {
-    if (mCommitNumber > 0) {
+  private void endMarkers(boolean isLastSlice) {
+    if (isLastSlice && mCommitNumber > 0) {
       ReactMarker.logFabricMarker(
           ReactMarkerConstants.FABRIC_BATCH_EXECUTION_END, null, mCommitNumber);
     }
@@ -99,93 +113,117 @@ final class IntBufferBatchMountItem implements BatchMountItem {
 
   @Override
   public void execute(@NonNull MountingManager mountingManager) {
+    executeUntil(mountingManager, Long.MAX_VALUE);
+  }
+
+  @Override
+  public boolean executeUntil(@NonNull MountingManager mountingManager, long deadlineNanos) {
     SurfaceMountingManager surfaceMountingManager = mountingManager.getSurfaceManager(mSurfaceId);
     if (surfaceMountingManager == null) {
       FLog.e(
           TAG,
           "Skipping batch of MountItems; no SurfaceMountingManager found for [%d].",
           mSurfaceId);
-      return;
+      return true;
     }
     if (surfaceMountingManager.isStopped()) {
       FLog.e(TAG, "Skipping batch of MountItems; was stopped [%d].", mSurfaceId);
-      return;
+      return true;
     }
     if (ENABLE_FABRIC_LOGS) {
       FLog.d(TAG, "Executing IntBufferBatchMountItem on surface [%d]", mSurfaceId);
     }
 
-    beginMarkers("mountViews");
-
-    int i = 0, j = 0;
-    while (i < mIntBufferLen) {
-      int rawType = mIntBuffer[i++];
-      int type = rawType & ~INSTRUCTION_FLAG_MULTIPLE;
-      int numInstructions = ((rawType & INSTRUCTION_FLAG_MULTIPLE) != 0 ? mIntBuffer[i++] : 1);
-      for (int k = 0; k < numInstructions; k++) {
-        if (type == INSTRUCTION_CREATE) {
-          String componentName = getFabricComponentName((String) mObjBuffer[j++]);
-          surfaceMountingManager.createView(
-              componentName,
-              mIntBuffer[i++],
-              mObjBuffer[j++],
-              castToState(mObjBuffer[j++]),
-              castToEventEmitter(mObjBuffer[j++]),
-              mIntBuffer[i++] == 1);
-        } else if (type == INSTRUCTION_DELETE) {
-          surfaceMountingManager.deleteView(mIntBuffer[i++]);
-        } else if (type == INSTRUCTION_INSERT) {
-          int tag = mIntBuffer[i++];
-          int parentTag = mIntBuffer[i++];
-          surfaceMountingManager.addViewAt(parentTag, tag, mIntBuffer[i++]);
-        } else if (type == INSTRUCTION_REMOVE) {
-          surfaceMountingManager.removeViewAt(mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
-        } else if (type == INSTRUCTION_REMOVE_DELETE_TREE) {
-          surfaceMountingManager.removeDeleteTreeAt(
-              mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
-        } else if (type == INSTRUCTION_UPDATE_PROPS) {
-          surfaceMountingManager.updateProps(mIntBuffer[i++], mObjBuffer[j++]);
-        } else if (type == INSTRUCTION_UPDATE_STATE) {
-          surfaceMountingManager.updateState(mIntBuffer[i++], castToState(mObjBuffer[j++]));
-        } else if (type == INSTRUCTION_UPDATE_LAYOUT) {
-          int reactTag = mIntBuffer[i++];
-          int parentTag = mIntBuffer[i++];
-          int x = mIntBuffer[i++];
-          int y = mIntBuffer[i++];
-          int width = mIntBuffer[i++];
-          int height = mIntBuffer[i++];
-          int displayType = mIntBuffer[i++];
-
-          surfaceMountingManager.updateLayout(
-              reactTag, parentTag, x, y, width, height, displayType);
-
-        } else if (type == INSTRUCTION_UPDATE_PADDING) {
-          surfaceMountingManager.updatePadding(
-              mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
-        } else if (type == INSTRUCTION_UPDATE_OVERFLOW_INSET) {
-          int reactTag = mIntBuffer[i++];
-          int overflowInsetLeft = mIntBuffer[i++];
-          int overflowInsetTop = mIntBuffer[i++];
-          int overflowInsetRight = mIntBuffer[i++];
-          int overflowInsetBottom = mIntBuffer[i++];
-
-          surfaceMountingManager.updateOverflowInset(
-              reactTag,
-              overflowInsetLeft,
-              overflowInsetTop,
-              overflowInsetRight,
-              overflowInsetBottom);
-        } else if (type == INSTRUCTION_UPDATE_EVENT_EMITTER) {
-          surfaceMountingManager.updateEventEmitter(
-              mIntBuffer[i++], castToEventEmitter(mObjBuffer[j++]));
-        } else {
-          throw new IllegalArgumentException(
-              "Invalid type argument to IntBufferBatchMountItem: " + type + " at index: " + i);
-        }
+    int i = mIntBufferPosition, j = mObjBufferPosition;
+    int type = mPendingType;
+    int remainingInstructions = mPendingInstructions;
+    int executedInstructions = 0;
+    boolean isFirstSlice = i == 0 && remainingInstructions == 0;
+
+    beginMarkers(isFirstSlice ? "mountViews" : "mountViews (resumed)", isFirstSlice);
+
+    while (remainingInstructions > 0 || i < mIntBufferLen) {
+      if (remainingInstructions == 0) {
+        int rawType = mIntBuffer[i++];
+        type = rawType & ~INSTRUCTION_FLAG_MULTIPLE;
+        remainingInstructions = ((rawType & INSTRUCTION_FLAG_MULTIPLE) != 0 ? mIntBuffer[i++] : 1);
+        continue;
+      }
+
+      if (deadlineNanos != Long.MAX_VALUE
+          && ++executedInstructions % DEADLINE_CHECK_INTERVAL == 0
+          && System.nanoTime() >= deadlineNanos) {
+        mIntBufferPosition = i;
+        mObjBufferPosition = j;
+        mPendingType = type;
+        mPendingInstructions = remainingInstructions;
+        endMarkers(false);
+        return false;
+      }
+
+      remainingInstructions--;
+      if (type == INSTRUCTION_CREATE) {
+        String componentName = getFabricComponentName((String) mObjBuffer[j++]);
+        surfaceMountingManager.createView(
+            componentName,
+            mIntBuffer[i++],
+            mObjBuffer[j++],
+            castToState(mObjBuffer[j++]),
+            castToEventEmitter(mObjBuffer[j++]),
+            mIntBuffer[i++] == 1);
+      } else if (type == INSTRUCTION_DELETE) {
+        surfaceMountingManager.deleteView(mIntBuffer[i++]);
+      } else if (type == INSTRUCTION_INSERT) {
+        int tag = mIntBuffer[i++];
+        int parentTag = mIntBuffer[i++];
+        surfaceMountingManager.addViewAt(parentTag, tag, mIntBuffer[i++]);
+      } else if (type == INSTRUCTION_REMOVE) {
+        surfaceMountingManager.removeViewAt(mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
+      } else if (type == INSTRUCTION_REMOVE_DELETE_TREE) {
+        surfaceMountingManager.removeDeleteTreeAt(
+            mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
+      } else if (type == INSTRUCTION_UPDATE_PROPS) {
+        surfaceMountingManager.updateProps(mIntBuffer[i++], mObjBuffer[j++]);
+      } else if (type == INSTRUCTION_UPDATE_STATE) {
+        surfaceMountingManager.updateState(mIntBuffer[i++], castToState(mObjBuffer[j++]));
+      } else if (type == INSTRUCTION_UPDATE_LAYOUT) {
+        int reactTag = mIntBuffer[i++];
+        int parentTag = mIntBuffer[i++];
+        int x = mIntBuffer[i++];
+        int y = mIntBuffer[i++];
+        int width = mIntBuffer[i++];
+        int height = mIntBuffer[i++];
+        int displayType = mIntBuffer[i++];
+
+        surfaceMountingManager.updateLayout(reactTag, parentTag, x, y, width, height, displayType);
+
+      } else if (type == INSTRUCTION_UPDATE_PADDING) {
+        surfaceMountingManager.updatePadding(
+            mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++], mIntBuffer[i++]);
+      } else if (type == INSTRUCTION_UPDATE_OVERFLOW_INSET) {
+        int reactTag = mIntBuffer[i++];
+        int overflowInsetLeft = mIntBuffer[i++];
+        int overflowInsetTop = mIntBuffer[i++];
+        int overflowInsetRight = mIntBuffer[i++];
+        int overflowInsetBottom = mIntBuffer[i++];
+
+        surfaceMountingManager.updateOverflowInset(
+            reactTag, overflowInsetLeft, overflowInsetTop, overflowInsetRight, overflowInsetBottom);
+      } else if (type == INSTRUCTION_UPDATE_EVENT_EMITTER) {
+        surfaceMountingManager.updateEventEmitter(
+            mIntBuffer[i++], castToEventEmitter(mObjBuffer[j++]));
+      } else {
+        throw new IllegalArgumentException(
+            "Invalid type argument to IntBufferBatchMountItem: " + type + " at index: " + i);
       }
     }
 
-    endMarkers();
+    // Reset so that the batch can be executed again from the start, like before it was resumable.
+    mIntBufferPosition = 0;
+    mObjBufferPosition = 0;
+    mPendingInstructions = 0;
+    endMarkers(true);
+    return true;
   }
 
   @Override
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.fabric.mounting.mountitems;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+import com.facebook.react.fabric.mounting.MountingManager;
+
+/** A {@link MountItem} whose execution can be split across several frames. */
+public interface InterruptibleMountItem extends MountItem {
+
+  /**
+   * Executes this item until it is complete or {@code deadlineNanos}, in the {@link
+   * System#nanoTime()} time base, has passed. Calling this again after it returned false resumes
+   * execution where it stopped. Each call makes progress, even if the deadline has already passed.
+   *
+   * @return true once the whole item has been executed
+   */
+  @UiThread
+  boolean executeUntil(@NonNull MountingManager mountingManager, long deadlineNanos);
+}
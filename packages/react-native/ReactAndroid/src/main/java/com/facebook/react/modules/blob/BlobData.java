@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob;
+
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import okio.BufferedSink;
+
+/**
+ * Immutable data of a blob, as stored by a {@link BlobStore}.
+ *
+ * <p>Data is reference counted, so that it can be shared between blobs without being copied, e.g.
+ * by the blobs created from parts of other blobs. It is created with one reference, owned by its
+ * creator, and freed once the last reference is released.
+ */
+public abstract class BlobData {
+
+  private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+  private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+  /** Returns the size of the data, in bytes. */
+  public abstract long getSize();
+
+  /**
+   * Reads the data starting at {@code position} into {@code dst}, until {@code dst} is full or the
+   * end of the data is reached.
+   *
+   * @throws IOException if the data can't be read, e.g. because it was freed meanwhile
+   */
+  public abstract void read(long position, ByteBuffer dst) throws IOException;
+
+  /** Writes {@code size} bytes of the data, starting at {@code offset}, to {@code sink}. */
+  public void writeTo(BufferedSink sink, long offset, long size) throws IOException {
+    byte[] chunk = new byte[(int) Math.min(COPY_BUFFER_SIZE, size)];
+    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+    long position = offset;
+    long end = offset + size;
+    while (position < end) {
+      buffer.clear();
+      buffer.limit((int) Math.min(chunk.length, end - position));
+      read(position, buffer);
+      if (buffer.position() == 0) {
+        throw new IOException("Unexpected end of blob data at " + position);
+      }
+      sink.write(chunk, 0, buffer.position());
+      position += buffer.position();
+    }
+  }
+
+  /**
+   * Returns the file holding this data, contiguously from {@link #getFileOffset()}, if there is
+   * one. It can be read directly, but must not be modified.
+   */
+  public @Nullable File getFile() {
+    return null;
+  }
+
+  /** Returns the position of this data in {@link #getFile()}. */
+  public long getFileOffset() {
+    return 0;
+  }
+
+  /** Adds a reference to the data, which must be released with {@link #release()}. */
+  public final void retain() {
+    if (mRefCount.getAndIncrement() <= 0) {
+      throw new IllegalStateException("Blob data was already freed");
+    }
+  }
+
+  /** Releases a reference to the data, and frees it when it was the last one. */
+  public final void release() {
+    int refCount = mRefCount.decrementAndGet();
+    if (refCount == 0) {
+      free();
+    } else if (refCount < 0) {
+      throw new IllegalStateException("Blob data was released too many times");
+    }
+  }
+
+  /** Frees the resources held by the data, once it isn't referenced anymore. */
+  protected abstract void free();
+}
@@ -13,6 +13,7 @@ import android.net.Uri;
 import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
 import com.facebook.fbreact.specs.NativeBlobModuleSpec;
 import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.Arguments;
@@ -21,30 +22,35 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.common.ReactConstants;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.network.NetworkingModule;
 import com.facebook.react.modules.websocket.WebSocketModule;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
 import okio.ByteString;
 
 @ReactModule(name = NativeBlobModuleSpec.NAME)
 public class BlobModule extends NativeBlobModuleSpec {
 
-  private final Map<String, byte[]> mBlobs = new HashMap<>();
+  private static final String BLOB_DIRECTORY_NAME = "blobs";
+
+  private final BlobStore mBlobStore;
 
   private final WebSocketModule.ContentHandler mWebSocketContentHandler =
       new WebSocketModule.ContentHandler() {
@@ -113,10 +119,15 @@ public class BlobModule extends NativeBlobModuleSpec {
             type = "application/octet-stream";
           }
           ReadableMap blob = data.getMap("blob");
-          String blobId = blob.getString("blobId");
-          byte[] bytes = resolve(blobId, blob.getInt("offset"), blob.getInt("size"));
-
-          return RequestBody.create(MediaType.parse(type), bytes);
+          MediaType mediaType = MediaType.parse(type);
+          // Stream the body from the store, so that it doesn't have to be copied to the heap. The
+          // data is acquired until the request ends, since JS may release the blob meanwhile.
+          BlobData blobData = mBlobStore.acquire(blob.getString("blobId"));
+          if (blobData == null) {
+            return RequestBody.create(mediaType, new byte[0]);
+          }
+          return new BlobRequestBody(
+              mediaType, blobData, blob.getInt("offset"), blob.getInt("size"));
         }
       };
 
@@ -129,17 +140,22 @@ public class BlobModule extends NativeBlobModuleSpec {
 
         @Override
         public WritableMap toResponseData(ResponseBody body) throws IOException {
-          byte[] data = body.bytes();
-          WritableMap blob = Arguments.createMap();
-          blob.putString("blobId", store(data));
-          blob.putInt("offset", 0);
-          blob.putInt("size", data.length);
-          return blob;
+          return storeResponseBody(body);
         }
       };
 
   public BlobModule(ReactApplicationContext reactContext) {
+    this(
+        reactContext,
+        new DefaultBlobStore(
+            new File(reactContext.getCacheDir(), BLOB_DIRECTORY_NAME),
+            DefaultBlobStore.DEFAULT_MEMORY_BUDGET));
+  }
+
+  /** Creates a module keeping the data of its blobs in {@code blobStore}. */
+  public BlobModule(ReactApplicationContext reactContext, BlobStore blobStore) {
     super(reactContext);
+    mBlobStore = blobStore;
   }
 
   @Override
@@ -169,16 +185,39 @@ public class BlobModule extends NativeBlobModuleSpec {
   }
 
   public void store(byte[] data, String blobId) {
-    synchronized (mBlobs) {
-      mBlobs.put(blobId, data);
+    mBlobStore.put(blobId, mBlobStore.create(data));
+  }
+
+  /** Returns the store holding the data of the blobs. */
+  public BlobStore getBlobStore() {
+    return mBlobStore;
+  }
+
+  /**
+   * Stores a response body as a new blob, and returns the JS blob payload for it. The body is
+   * streamed into the store, which keeps large bodies in files, so that the whole body is never
+   * held on the Java heap.
+   */
+  /* package */ WritableMap storeResponseBody(ResponseBody body) throws IOException {
+    BlobData data = mBlobStore.create(body.source());
+    if (data.getSize() > Integer.MAX_VALUE) {
+      data.release();
+      throw new IOException("Response body is too large for a blob: " + data.getSize() + " bytes");
     }
+    String blobId = UUID.randomUUID().toString();
+    int size = (int) data.getSize();
+    mBlobStore.put(blobId, data);
+
+    WritableMap blob = Arguments.createMap();
+    blob.putString("blobId", blobId);
+    blob.putInt("offset", 0);
+    blob.putInt("size", size);
+    return blob;
   }
 
   @DoNotStrip
   public void remove(String blobId) {
-    synchronized (mBlobs) {
-      mBlobs.remove(blobId);
-    }
+    mBlobStore.remove(blobId);
   }
 
   public @Nullable byte[] resolve(Uri uri) {
@@ -197,21 +236,65 @@ public class BlobModule extends NativeBlobModuleSpec {
   }
 
   public @Nullable byte[] resolve(String blobId, int offset, int size) {
-    synchronized (mBlobs) {
-      byte[] data = mBlobs.get(blobId);
-      if (data == null) {
-        return null;
-      }
+    BlobData data = mBlobStore.acquire(blobId);
+    if (data == null) {
+      return null;
+    }
+    try {
       if (size == -1) {
-        size = data.length - offset;
+        size = (int) data.getSize() - offset;
       }
-      if (offset > 0 || size != data.length) {
-        data = Arrays.copyOfRange(data, offset, offset + size);
+      byte[] bytes = new byte[size];
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      data.read(offset, buffer);
+      if (buffer.hasRemaining()) {
+        throw new IOException("Blob " + blobId + " is smaller than " + (offset + size) + " bytes");
+      }
+      return bytes;
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Could not read blob " + blobId, e);
+      return null;
+    } finally {
+      data.release();
+    }
+  }
+
+  /**
+   * Reads a range of a blob into a {@link ByteString}, which shares the buffer it was read into
+   * instead of copying it once more.
+   */
+  /* package */ @Nullable ByteString readByteString(String blobId, int offset, int size) {
+    BlobData data = mBlobStore.acquire(blobId);
+    if (data == null) {
+      return null;
+    }
+    try {
+      if (size == -1) {
+        size = (int) data.getSize() - offset;
       }
-      return data;
+      Buffer buffer = new Buffer();
+      data.writeTo(buffer, offset, size);
+      return buffer.snapshot();
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Could not read blob " + blobId, e);
+      return null;
+    } finally {
+      data.release();
     }
   }
 
+  /**
+   * Returns a range of the data of a blob, like {@link #resolve(String, int, int)}, and removes the
+   * blob. JS uses it through JSI to read binary WebSocket messages into ArrayBuffers without
+   * Base64.
+   */
+  @DoNotStrip
+  public @Nullable byte[] takeBytes(String blobId, int offset, int size) {
+    byte[] bytes = resolve(blobId, offset, size);
+    remove(blobId);
+    return bytes;
+  }
+
   public @Nullable byte[] resolve(ReadableMap blob) {
     return resolve(blob.getString("blobId"), blob.getInt("offset"), blob.getInt("size"));
   }
@@ -330,46 +413,97 @@ public class BlobModule extends NativeBlobModuleSpec {
     WebSocketModule webSocketModule = getWebSocketModule("sendOverSocket");
 
     if (webSocketModule != null) {
-      byte[] data = resolve(blob.getString("blobId"), blob.getInt("offset"), blob.getInt("size"));
-
-      if (data != null) {
-        webSocketModule.sendBinary(ByteString.of(data), id);
-      } else {
-        webSocketModule.sendBinary((ByteString) null, id);
-      }
+      webSocketModule.sendBinary(
+          readByteString(blob.getString("blobId"), blob.getInt("offset"), blob.getInt("size")),
+          id);
     }
   }
 
   @Override
   public void createFromParts(ReadableArray parts, String blobId) {
-    int totalBlobSize = 0;
-    ArrayList<byte[]> partList = new ArrayList<>(parts.size());
-    for (int i = 0; i < parts.size(); i++) {
-      ReadableMap part = parts.getMap(i);
-      switch (part.getString("type")) {
-        case "blob":
-          ReadableMap blob = part.getMap("data");
-          totalBlobSize += blob.getInt("size");
-          partList.add(i, resolve(blob));
-          break;
-        case "string":
-          byte[] bytes = part.getString("data").getBytes(Charset.forName("UTF-8"));
-          totalBlobSize += bytes.length;
-          partList.add(i, bytes);
-          break;
-        default:
-          throw new IllegalArgumentException("Invalid type for blob: " + part.getString("type"));
+    // Blob parts are referenced rather than copied.
+    ArrayList<CompositeBlobData.Part> partList = new ArrayList<>(parts.size());
+    ArrayList<BlobData> ownedData = new ArrayList<>();
+    try {
+      for (int i = 0; i < parts.size(); i++) {
+        ReadableMap part = parts.getMap(i);
+        switch (part.getString("type")) {
+          case "blob":
+            ReadableMap blob = part.getMap("data");
+            BlobData blobData = mBlobStore.acquire(blob.getString("blobId"));
+            if (blobData == null) {
+              throw new IllegalArgumentException(
+                  "Invalid blob part: " + blob.getString("blobId") + " does not exist");
+            }
+            ownedData.add(blobData);
+            partList.add(
+                new CompositeBlobData.Part(blobData, blob.getInt("offset"), blob.getInt("size")));
+            break;
+          case "string":
+            byte[] bytes = part.getString("data").getBytes(StandardCharsets.UTF_8);
+            BlobData stringData = mBlobStore.create(bytes);
+            ownedData.add(stringData);
+            partList.add(new CompositeBlobData.Part(stringData, 0, bytes.length));
+            break;
+          default:
+            throw new IllegalArgumentException("Invalid type for blob: " + part.getString("type"));
+        }
+      }
+      mBlobStore.put(blobId, new CompositeBlobData(partList));
+    } finally {
+      // The composite data holds its own references to the parts.
+      for (BlobData data : ownedData) {
+        data.release();
       }
     }
-    ByteBuffer buffer = ByteBuffer.allocate(totalBlobSize);
-    for (byte[] bytes : partList) {
-      buffer.put(bytes);
-    }
-    store(buffer.array(), blobId);
   }
 
   @Override
   public void release(String blobId) {
     remove(blobId);
   }
+
+  /**
+   * Writes a range of blob data, as many times as OkHttp needs to. The data is released when
+   * {@link NetworkingModule} closes the body, once the request has ended.
+   */
+  /* package */ static class BlobRequestBody extends RequestBody implements Closeable {
+    private final @Nullable MediaType mMediaType;
+    private final BlobData mBlobData;
+    private final long mOffset;
+    private final long mSize;
+    private final AtomicBoolean mReleased = new AtomicBoolean();
+
+    BlobRequestBody(@Nullable MediaType mediaType, BlobData blobData, long offset, long size) {
+      mMediaType = mediaType;
+      mBlobData = blobData;
+      mOffset = offset;
+      mSize = size;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return mMediaType;
+    }
+
+    @Override
+    public long contentLength() {
+      return mSize;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      if (mReleased.get()) {
+        throw new IOException("Request body was already closed");
+      }
+      mBlobData.writeTo(sink, mOffset, mSize);
+    }
+
+    @Override
+    public void close() {
+      if (mReleased.compareAndSet(false, true)) {
+        mBlobData.release();
+      }
+    }
+  }
 }
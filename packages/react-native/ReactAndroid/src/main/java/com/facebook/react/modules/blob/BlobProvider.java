@@ -10,6 +10,7 @@ package com.facebook.react.modules.blob;
 import android.content.ContentProvider;
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.ParcelFileDescriptor;
@@ -17,17 +18,25 @@ import androidx.annotation.Nullable;
 import com.facebook.react.ReactApplication;
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.bridge.ReactContext;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okio.BufferedSink;
+import okio.Okio;
 
 public final class BlobProvider extends ContentProvider {
 
   private static final int PIPE_CAPACITY = 65536;
+  private static final long KEEP_ALIVE_SECONDS = 30;
 
-  private ExecutorService executor = Executors.newSingleThreadExecutor();
+  private static @Nullable ExecutorService sExecutor;
 
   @Override
   public boolean onCreate() {
@@ -62,6 +71,22 @@ public final class BlobProvider extends ContentProvider {
 
   @Override
   public ParcelFileDescriptor openFile(Uri uri, String mode) throws FileNotFoundException {
+    AssetFileDescriptor descriptor = openBlob(uri, mode, false);
+    return descriptor != null ? descriptor.getParcelFileDescriptor() : null;
+  }
+
+  /**
+   * Like {@link #openFile}, but a range of a blob held in a file is opened directly, as that file
+   * with an offset and a length.
+   */
+  @Override
+  public @Nullable AssetFileDescriptor openAssetFile(Uri uri, String mode)
+      throws FileNotFoundException {
+    return openBlob(uri, mode, true);
+  }
+
+  private @Nullable AssetFileDescriptor openBlob(Uri uri, String mode, boolean allowFileRange)
+      throws FileNotFoundException {
     if (!mode.equals("r")) {
       throw new FileNotFoundException("Cannot open " + uri.toString() + " in mode '" + mode + "'");
     }
@@ -78,10 +103,67 @@ public final class BlobProvider extends ContentProvider {
       throw new RuntimeException("No blob module associated with BlobProvider");
     }
 
-    final byte[] data = blobModule.resolve(uri);
+    String blobId = uri.getLastPathSegment();
+    BlobData data = blobId != null ? blobModule.getBlobStore().acquire(blobId) : null;
     if (data == null) {
       throw new FileNotFoundException("Cannot open " + uri.toString() + ", blob not found.");
     }
+    try {
+      return openBlob(data, uri, allowFileRange);
+    } finally {
+      data.release();
+    }
+  }
+
+  private static @Nullable AssetFileDescriptor openBlob(
+      BlobData data, Uri uri, boolean allowFileRange) throws FileNotFoundException {
+    long offset = 0;
+    long size = -1;
+    String offsetParam = uri.getQueryParameter("offset");
+    if (offsetParam != null) {
+      offset = Long.parseLong(offsetParam, 10);
+    }
+    String sizeParam = uri.getQueryParameter("size");
+    if (sizeParam != null) {
+      size = Long.parseLong(sizeParam, 10);
+    }
+    if (size == -1) {
+      size = data.getSize() - offset;
+    }
+    if (offset < 0 || size < 0 || offset + size > data.getSize()) {
+      throw new FileNotFoundException("Cannot open " + uri.toString() + ", invalid range.");
+    }
+
+    return openBlob(data, offset, size, allowFileRange);
+  }
+
+  /**
+   * Opens a range of blob data for reading. Data held in a file is opened directly, which gives the
+   * reader a seekable descriptor and no copies. Other data is written to a pipe.
+   *
+   * @param allowFileRange whether the returned descriptor may cover only part of a file. Otherwise
+   *     only whole files are opened directly.
+   */
+  /* package */ static @Nullable AssetFileDescriptor openBlob(
+      final BlobData data, final long offset, final long size, boolean allowFileRange)
+      throws FileNotFoundException {
+    File file = data.getFile();
+    if (file != null) {
+      long fileOffset = data.getFileOffset() + offset;
+      // The descriptors stay valid even if the blob is released and its file deleted.
+      if (fileOffset == 0 && size == file.length()) {
+        // A whole file is opened without a declared length, since ContentResolver's
+        // openFileDescriptor() rejects any descriptor with one.
+        return new AssetFileDescriptor(
+            ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY),
+            0,
+            AssetFileDescriptor.UNKNOWN_LENGTH);
+      }
+      if (allowFileRange) {
+        return new AssetFileDescriptor(
+            ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY), fileOffset, size);
+      }
+    }
 
     ParcelFileDescriptor[] pipe;
     try {
@@ -92,11 +174,11 @@ public final class BlobProvider extends ContentProvider {
     ParcelFileDescriptor readSide = pipe[0];
     final ParcelFileDescriptor writeSide = pipe[1];
 
-    if (data.length <= PIPE_CAPACITY) {
+    if (size <= PIPE_CAPACITY) {
       // If the blob length is less than or equal to pipe capacity (64 KB),
       // we can write the data synchronously to the pipe buffer.
       try (OutputStream outputStream = new ParcelFileDescriptor.AutoCloseOutputStream(writeSide)) {
-        outputStream.write(data);
+        writeBlob(data, offset, size, outputStream);
       } catch (IOException exception) {
         return null;
       }
@@ -106,20 +188,67 @@ public final class BlobProvider extends ContentProvider {
       // Writing from a separate thread allows us to return the read side descriptor
       // immediately so that both writer and reader can work concurrently.
       // Reading from the pipe empties the buffer and allows the next chunks to be written.
-      Runnable writer =
-          new Runnable() {
-            public void run() {
-              try (OutputStream outputStream =
-                  new ParcelFileDescriptor.AutoCloseOutputStream(writeSide)) {
-                outputStream.write(data);
-              } catch (IOException exception) {
-                // no-op
-              }
-            }
-          };
-      executor.submit(writer);
+      writeBlobAsync(data, offset, size, new ParcelFileDescriptor.AutoCloseOutputStream(writeSide));
     }
 
-    return readSide;
+    return new AssetFileDescriptor(readSide, 0, AssetFileDescriptor.UNKNOWN_LENGTH);
+  }
+
+  /**
+   * Writes a range of blob data to {@code outputStream} on a shared pool of threads, and closes the
+   * stream once done. The data is retained until then, so that it can be released meanwhile.
+   *
+   * <p>Each write gets a thread of its own, since a reader that stops reading blocks the thread
+   * writing to its pipe. Idle threads are kept for a while and reused.
+   */
+  /* package */ static void writeBlobAsync(
+      final BlobData data, final long offset, final long size, final OutputStream outputStream) {
+    data.retain();
+    getExecutor()
+        .execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                try (OutputStream stream = outputStream) {
+                  writeBlob(data, offset, size, stream);
+                } catch (IOException exception) {
+                  // The reader closed its side of the pipe.
+                } finally {
+                  data.release();
+                }
+              }
+            });
+  }
+
+  /** Writes a range of blob data to {@code outputStream}, one bounded chunk at a time. */
+  private static void writeBlob(BlobData data, long offset, long size, OutputStream outputStream)
+      throws IOException {
+    BufferedSink sink = Okio.buffer(Okio.sink(outputStream));
+    data.writeTo(sink, offset, size);
+    sink.flush();
+  }
+
+  private static synchronized ExecutorService getExecutor() {
+    if (sExecutor == null) {
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              0,
+              Integer.MAX_VALUE,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new SynchronousQueue<Runnable>(),
+              new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                  Thread thread = new Thread(runnable, "blob_provider_" + mCount.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+      sExecutor = executor;
+    }
+    return sExecutor;
   }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob;
+
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import okio.BufferedSource;
+
+/**
+ * Storage engine for the blobs of {@link BlobModule}. Implementations must be thread safe.
+ *
+ * <p>See {@link DefaultBlobStore} for the default implementation.
+ */
+public interface BlobStore {
+
+  /**
+   * Creates data holding {@code bytes}, with one reference owned by the caller. The array must not
+   * be modified afterwards, since it may be used as is.
+   */
+  BlobData create(byte[] bytes);
+
+  /**
+   * Creates data holding everything read from {@code source} until it is exhausted, with one
+   * reference owned by the caller.
+   */
+  BlobData create(BufferedSource source) throws IOException;
+
+  /**
+   * Stores {@code data} as the blob {@code blobId}, replacing any previous blob with that id. The
+   * store takes over the caller's reference to the data.
+   */
+  void put(String blobId, BlobData data);
+
+  /**
+   * Returns the data of a blob with a reference owned by the caller, or null if there is none. The
+   * caller must release it once done, and the data stays readable until then even if the blob is
+   * removed meanwhile.
+   */
+  @Nullable
+  BlobData acquire(String blobId);
+
+  /** Removes a blob, and releases the store's reference to its data. */
+  void remove(String blobId);
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob;
+
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import okio.BufferedSink;
+
+/**
+ * Blob data made of ranges of other blob data, which are referenced rather than copied. Used for
+ * slices and for blobs created from parts.
+ */
+/* package */ final class CompositeBlobData extends BlobData {
+
+  /** A range of some blob data. */
+  /* package */ static final class Part {
+    final BlobData mData;
+    final long mOffset;
+    final long mSize;
+
+    Part(BlobData data, long offset, long size) {
+      if (offset < 0 || size < 0 || offset + size > data.getSize()) {
+        throw new IllegalArgumentException(
+            "Invalid range " + offset + "+" + size + " of blob data of size " + data.getSize());
+      }
+      mData = data;
+      mOffset = offset;
+      mSize = size;
+    }
+  }
+
+  private final Part[] mParts;
+  // Position of each part within this data
+  private final long[] mPositions;
+  private final long mSize;
+
+  /** Creates data referencing {@code parts}, which are retained until this data is freed. */
+  CompositeBlobData(List<Part> parts) {
+    mParts = parts.toArray(new Part[0]);
+    mPositions = new long[mParts.length];
+    long size = 0;
+    for (int i = 0; i < mParts.length; i++) {
+      mPositions[i] = size;
+      size += mParts[i].mSize;
+      mParts[i].mData.retain();
+    }
+    mSize = size;
+  }
+
+  @Override
+  public long getSize() {
+    return mSize;
+  }
+
+  private int findPart(long position) {
+    int low = 0;
+    int high = mParts.length - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (mPositions[mid] <= position) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public void read(long position, ByteBuffer dst) throws IOException {
+    if (mParts.length == 0) {
+      return;
+    }
+    int limit = dst.limit();
+    try {
+      for (int i = findPart(position); i < mParts.length && dst.hasRemaining(); i++) {
+        Part part = mParts[i];
+        long partPosition = Math.max(0, position - mPositions[i]);
+        long available = part.mSize - partPosition;
+        if (available <= 0) {
+          continue;
+        }
+        dst.limit((int) Math.min(limit, dst.position() + available));
+        part.mData.read(part.mOffset + partPosition, dst);
+        dst.limit(limit);
+      }
+    } finally {
+      dst.limit(limit);
+    }
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink, long offset, long size) throws IOException {
+    long end = offset + size;
+    for (int i = findPart(offset); i < mParts.length && mPositions[i] < end; i++) {
+      Part part = mParts[i];
+      long start = Math.max(offset, mPositions[i]) - mPositions[i];
+      long length = Math.min(end, mPositions[i] + part.mSize) - mPositions[i] - start;
+      if (length > 0) {
+        part.mData.writeTo(sink, part.mOffset + start, length);
+      }
+    }
+  }
+
+  @Override
+  public @Nullable File getFile() {
+    // A slice of a file is still contiguous in that file
+    return mParts.length == 1 ? mParts[0].mData.getFile() : null;
+  }
+
+  @Override
+  public long getFileOffset() {
+    return mParts.length == 1 ? mParts[0].mData.getFileOffset() + mParts[0].mOffset : 0;
+  }
+
+  @Override
+  protected void free() {
+    for (Part part : mParts) {
+      part.mData.release();
+    }
+  }
+}
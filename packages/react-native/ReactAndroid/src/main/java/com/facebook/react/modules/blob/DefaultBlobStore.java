@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob;
+
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Default {@link BlobStore}, which keeps most blob data off the Java heap.
+ *
+ * <p>Data is held in direct byte buffers as long as the memory they use stays within a budget, and
+ * spilled to files in a private directory past it. Data read from streams larger than {@link
+ * #MAX_IN_MEMORY_SOURCE_SIZE} always goes to a file, since it's usually downloaded content that is
+ * read sequentially, if at all. Data up to {@link #MAX_HEAP_DATA_SIZE} is kept on the heap as is,
+ * since allocating a direct buffer costs more than the data itself for e.g. small WebSocket frames.
+ *
+ * <p>Blobs are spread over several independently locked maps, so that threads storing and reading
+ * different blobs don't contend on a single lock.
+ */
+public class DefaultBlobStore implements BlobStore {
+
+  /** Default budget for the data held in memory, in bytes. */
+  public static final long DEFAULT_MEMORY_BUDGET = 32 * 1024 * 1024;
+
+  private static final long MAX_IN_MEMORY_SOURCE_SIZE = 256 * 1024;
+  private static final int MAX_HEAP_DATA_SIZE = 4 * 1024;
+  // Must be a power of two
+  private static final int STRIPE_COUNT = 16;
+
+  // Directories already cleared of the files of previous processes
+  private static final Set<File> sPreparedDirectories = new HashSet<>();
+
+  private final Map<String, BlobData>[] mStripes;
+  private final File mDirectory;
+  private final long mMemoryBudget;
+  private final AtomicLong mMemoryUsed = new AtomicLong();
+
+  /**
+   * @param directory directory for the data spilled to disk. It may be shared with other stores of
+   *     the same process. Files left in it by previous processes are deleted when it is first used.
+   * @param memoryBudget maximum number of bytes held in memory
+   */
+  @SuppressWarnings("unchecked")
+  public DefaultBlobStore(File directory, long memoryBudget) {
+    mDirectory = directory;
+    mMemoryBudget = memoryBudget;
+    mStripes = new Map[STRIPE_COUNT];
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      mStripes[i] = new HashMap<>();
+    }
+  }
+
+  /** Returns the number of bytes currently held in memory. */
+  public long getMemoryUsed() {
+    return mMemoryUsed.get();
+  }
+
+  @Override
+  public BlobData create(byte[] bytes) {
+    if (reserveMemory(bytes.length)) {
+      if (bytes.length <= MAX_HEAP_DATA_SIZE) {
+        return new MemoryBlobData(ByteBuffer.wrap(bytes), true);
+      }
+      ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+      buffer.put(bytes);
+      buffer.flip();
+      return new MemoryBlobData(buffer, true);
+    }
+    File file = null;
+    try {
+      file = newFile();
+      try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+        sink.write(bytes);
+      }
+      return new FileBlobData(file, bytes.length);
+    } catch (IOException e) {
+      if (file != null) {
+        file.delete();
+      }
+      // Keeping the data on the heap is better than losing it.
+      FLog.w(ReactConstants.TAG, "Could not spill blob data to disk", e);
+      return new MemoryBlobData(ByteBuffer.wrap(bytes), false);
+    }
+  }
+
+  @Override
+  public BlobData create(BufferedSource source) throws IOException {
+    if (!source.request(MAX_IN_MEMORY_SOURCE_SIZE + 1)) {
+      long size = source.getBuffer().size();
+      if (size <= MAX_HEAP_DATA_SIZE && reserveMemory(size)) {
+        return new MemoryBlobData(ByteBuffer.wrap(source.readByteArray()), true);
+      }
+      if (reserveMemory(size)) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try {
+          while (buffer.hasRemaining() && source.read(buffer) != -1) {}
+        } catch (IOException e) {
+          mMemoryUsed.addAndGet(-size);
+          throw e;
+        }
+        buffer.flip();
+        return new MemoryBlobData(buffer, true);
+      }
+    }
+    File file = newFile();
+    long size;
+    try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+      size = sink.writeAll(source);
+    } catch (IOException e) {
+      file.delete();
+      throw e;
+    }
+    return new FileBlobData(file, size);
+  }
+
+  @Override
+  public void put(String blobId, BlobData data) {
+    BlobData previous;
+    Map<String, BlobData> stripe = getStripe(blobId);
+    synchronized (stripe) {
+      previous = stripe.put(blobId, data);
+    }
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  @Override
+  public @Nullable BlobData acquire(String blobId) {
+    Map<String, BlobData> stripe = getStripe(blobId);
+    synchronized (stripe) {
+      // The store's own reference is only released after the blob left the stripe.
+      BlobData data = stripe.get(blobId);
+      if (data != null) {
+        data.retain();
+      }
+      return data;
+    }
+  }
+
+  @Override
+  public void remove(String blobId) {
+    BlobData data;
+    Map<String, BlobData> stripe = getStripe(blobId);
+    synchronized (stripe) {
+      data = stripe.remove(blobId);
+    }
+    if (data != null) {
+      data.release();
+    }
+  }
+
+  private Map<String, BlobData> getStripe(String blobId) {
+    return mStripes[blobId.hashCode() & (STRIPE_COUNT - 1)];
+  }
+
+  private boolean reserveMemory(long size) {
+    while (true) {
+      long used = mMemoryUsed.get();
+      if (used + size > mMemoryBudget) {
+        return false;
+      }
+      if (mMemoryUsed.compareAndSet(used, used + size)) {
+        return true;
+      }
+    }
+  }
+
+  private File newFile() throws IOException {
+    prepareDirectory(mDirectory);
+    return new File(mDirectory, UUID.randomUUID().toString());
+  }
+
+  private static void prepareDirectory(File directory) throws IOException {
+    synchronized (sPreparedDirectories) {
+      if (sPreparedDirectories.contains(directory)) {
+        return;
+      }
+      // Files left by a previous process are not referenced anymore, but the files of other stores
+      // of this process may be, so this only happens once per process.
+      File[] staleFiles = directory.listFiles();
+      if (staleFiles != null) {
+        for (File file : staleFiles) {
+          file.delete();
+        }
+      }
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("Could not create blob directory " + directory);
+      }
+      sPreparedDirectories.add(directory);
+    }
+  }
+
+  /**
+   * Data held in a byte buffer, which is direct unless the data is small or couldn't be spilled to
+   * disk.
+   */
+  private final class MemoryBlobData extends BlobData {
+    private final long mSize;
+    private final boolean mReserved;
+    private volatile @Nullable ByteBuffer mBuffer;
+
+    MemoryBlobData(ByteBuffer buffer, boolean reserved) {
+      mBuffer = buffer;
+      mSize = buffer.remaining();
+      mReserved = reserved;
+    }
+
+    @Override
+    public long getSize() {
+      return mSize;
+    }
+
+    @Override
+    public void read(long position, ByteBuffer dst) throws IOException {
+      ByteBuffer buffer = mBuffer;
+      if (buffer == null) {
+        throw new IOException("Blob data was freed");
+      }
+      if (position >= mSize) {
+        return;
+      }
+      // Duplicate the buffer, since its position can't be shared between threads.
+      ByteBuffer src = buffer.duplicate();
+      src.position((int) position);
+      src.limit((int) Math.min(mSize, position + dst.remaining()));
+      dst.put(src);
+    }
+
+    @Override
+    protected void free() {
+      mBuffer = null;
+      if (mReserved) {
+        mMemoryUsed.addAndGet(-mSize);
+      }
+    }
+  }
+
+  /**
+   * Data held in a file, read with positional reads rather than mapped, since a mapping can't be
+   * released before it's garbage collected and would keep the file's space allocated until then.
+   */
+  private static final class FileBlobData extends BlobData {
+    private final File mFile;
+    private final long mSize;
+
+    FileBlobData(File file, long size) {
+      mFile = file;
+      mSize = size;
+    }
+
+    @Override
+    public long getSize() {
+      return mSize;
+    }
+
+    @Override
+    public void read(long position, ByteBuffer dst) throws IOException {
+      try (FileInputStream stream = new FileInputStream(mFile)) {
+        FileChannel channel = stream.getChannel();
+        while (dst.hasRemaining() && position < mSize) {
+          int read = channel.read(dst, position);
+          if (read == -1) {
+            break;
+          }
+          position += read;
+        }
+      }
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink, long offset, long size) throws IOException {
+      try (FileInputStream stream = new FileInputStream(mFile)) {
+        stream.getChannel().position(offset);
+        sink.write(Okio.source(stream), size);
+      }
+    }
+
+    @Override
+    public File getFile() {
+      return mFile;
+    }
+
+    @Override
+    protected void free() {
+      mFile.delete();
+    }
+  }
+}
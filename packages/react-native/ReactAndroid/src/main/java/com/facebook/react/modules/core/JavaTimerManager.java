@@ -7,6 +7,8 @@
 
 package com.facebook.react.modules.core;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import com.facebook.proguard.annotations.DoNotStrip;
@@ -15,8 +17,10 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.SystemClock;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.devsupport.interfaces.DevSupportManager;
 import com.facebook.react.jstasks.HeadlessJsTaskContext;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -25,6 +29,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * This class is the native implementation for JS timer execution on Android. It schedules JS timers
  * to be invoked on frame boundaries using {@link ReactChoreographer}.
  *
+ * <p>With {@link ReactFeatureFlags#enableOnDemandTimerFrames}, frames are only requested when a
+ * timer is due by the next frame. Otherwise the manager sleeps, and a wake-up is posted on the main
+ * thread for one frame before the next timer is due.
+ *
  * <p>This is used by the NativeModule {@link TimingModule}.
  */
 public class JavaTimerManager {
@@ -36,12 +44,15 @@ public class JavaTimerManager {
   // TODO: Lower frame duration on devices that are too slow to run consistently
   // at 60 fps.
   private static final float FRAME_DURATION_MS = 1000.f / 60.f;
+  // Cancelled timers are purged from the queue once there are this many and they're the majority.
+  private static final int MIN_CANCELLED_TIMERS_TO_PURGE = 32;
 
   private static class Timer {
     private final int mCallbackID;
     private final boolean mRepeat;
     private final int mInterval;
     private long mTargetTime;
+    private boolean mCancelled;
 
     private Timer(int callbackID, long initialTargetTime, int duration, boolean repeat) {
       mCallbackID = callbackID;
@@ -67,6 +78,10 @@ public class JavaTimerManager {
       synchronized (mTimerGuard) {
         while (!mTimers.isEmpty() && mTimers.peek().mTargetTime < frameTimeMillis) {
           Timer timer = mTimers.poll();
+          if (timer.mCancelled) {
+            mCancelledTimerCount--;
+            continue;
+          }
           if (mTimersToCall == null) {
             mTimersToCall = Arguments.createArray();
           }
@@ -85,7 +100,28 @@ public class JavaTimerManager {
         mTimersToCall = null;
       }
 
-      mReactChoreographer.postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, this);
+      if (ReactFeatureFlags.enableOnDemandTimerFrames) {
+        scheduleTimerFrameCallback(frameTimeMillis);
+      } else {
+        mReactChoreographer.postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, this);
+      }
+    }
+  }
+
+  /** Posts the timer frame callback once the manager is woken up from sleeping. */
+  private class WakeUpRunnable implements Runnable {
+    @Override
+    public void run() {
+      // There may be several wake-ups posted, only the first one is needed.
+      mHandler.removeCallbacks(this);
+      synchronized (mTimerGuard) {
+        if (!mSleeping) {
+          return;
+        }
+        mSleeping = false;
+      }
+      mReactChoreographer.postFrameCallback(
+          ReactChoreographer.CallbackType.TIMERS_EVENTS, mTimerFrameCallback);
     }
   }
 
@@ -162,6 +198,14 @@ public class JavaTimerManager {
   private final AtomicBoolean isRunningTasks = new AtomicBoolean(false);
   private final TimerFrameCallback mTimerFrameCallback = new TimerFrameCallback();
   private final IdleFrameCallback mIdleFrameCallback = new IdleFrameCallback();
+  private final Handler mHandler = new Handler(Looper.getMainLooper());
+  private final WakeUpRunnable mWakeUpRunnable = new WakeUpRunnable();
+  // Guarded by mTimerGuard
+  private int mCancelledTimerCount = 0;
+  // Whether the timer frame callback isn't posted until a wake-up, guarded by mTimerGuard
+  private boolean mSleeping = false;
+  // Target time of the timer the manager is sleeping until, guarded by mTimerGuard
+  private long mSleepingUntil = Long.MAX_VALUE;
   private @Nullable IdleCallbackRunnable mCurrentIdleCallbackRunnable;
   private boolean mFrameCallbackPosted = false;
   private boolean mFrameIdleCallbackPosted = false;
@@ -264,12 +308,61 @@ public class JavaTimerManager {
     HeadlessJsTaskContext headlessJsTaskContext =
         HeadlessJsTaskContext.getInstance(mReactApplicationContext);
     if (mFrameCallbackPosted && isPaused.get() && !headlessJsTaskContext.hasActiveTasks()) {
-      mReactChoreographer.removeFrameCallback(
-          ReactChoreographer.CallbackType.TIMERS_EVENTS, mTimerFrameCallback);
+      boolean wasSleeping;
+      synchronized (mTimerGuard) {
+        wasSleeping = mSleeping;
+        mSleeping = false;
+      }
+      if (wasSleeping) {
+        mHandler.removeCallbacks(mWakeUpRunnable);
+      } else {
+        mReactChoreographer.removeFrameCallback(
+            ReactChoreographer.CallbackType.TIMERS_EVENTS, mTimerFrameCallback);
+      }
       mFrameCallbackPosted = false;
     }
   }
 
+  /**
+   * Called on the UI thread after a timer frame, to post the timer frame callback again if a timer
+   * is due by the next frame, or to sleep until one frame before the next timer is due.
+   */
+  private void scheduleTimerFrameCallback(long frameTimeMillis) {
+    long frameIntervalMillis = Math.max(1, mReactChoreographer.getFrameIntervalNanos() / 1000000);
+    long nextTargetTime;
+    boolean sleep;
+    synchronized (mTimerGuard) {
+      Timer nextTimer = peekTimer();
+      nextTargetTime = nextTimer != null ? nextTimer.mTargetTime : Long.MAX_VALUE;
+      sleep = nextTargetTime - frameIntervalMillis > frameTimeMillis;
+      mSleeping = sleep;
+      mSleepingUntil = nextTargetTime;
+    }
+    if (!sleep) {
+      mReactChoreographer.postFrameCallback(
+          ReactChoreographer.CallbackType.TIMERS_EVENTS, mTimerFrameCallback);
+    } else if (nextTargetTime != Long.MAX_VALUE) {
+      postWakeUp(nextTargetTime, frameIntervalMillis);
+    }
+  }
+
+  private void postWakeUp(long targetTime, long frameIntervalMillis) {
+    long nowMillis = SystemClock.nanoTime() / 1000000;
+    long delayMillis = Math.max(0, targetTime - frameIntervalMillis - nowMillis);
+    mHandler.postDelayed(mWakeUpRunnable, delayMillis);
+  }
+
+  /** Returns the next timer to fire, after dropping the cancelled timers at the queue head. */
+  private @Nullable Timer peekTimer() {
+    Timer timer = mTimers.peek();
+    while (timer != null && timer.mCancelled) {
+      mTimers.poll();
+      mCancelledTimerCount--;
+      timer = mTimers.peek();
+    }
+    return timer;
+  }
+
   private void setChoreographerIdleCallback() {
     if (!mFrameIdleCallbackPosted) {
       mReactChoreographer.postFrameCallback(
@@ -298,9 +391,18 @@ public class JavaTimerManager {
   public void createTimer(final int callbackID, final long delay, final boolean repeat) {
     long initialTargetTime = SystemClock.nanoTime() / 1000000 + delay;
     Timer timer = new Timer(callbackID, initialTargetTime, (int) delay, repeat);
+    boolean wakeUp = false;
     synchronized (mTimerGuard) {
       mTimers.add(timer);
       mTimerIdsToTimers.put(callbackID, timer);
+      if (mSleeping && initialTargetTime < mSleepingUntil) {
+        mSleepingUntil = initialTargetTime;
+        wakeUp = true;
+      }
+    }
+    if (wakeUp) {
+      postWakeUp(
+          initialTargetTime, Math.max(1, mReactChoreographer.getFrameIntervalNanos() / 1000000));
     }
   }
 
@@ -353,7 +455,23 @@ public class JavaTimerManager {
         return;
       }
       mTimerIdsToTimers.remove(timerId);
-      mTimers.remove(timer);
+      // Removing a timer from the middle of the queue takes linear time, so it's only marked as
+      // cancelled and dropped when it reaches the head of the queue, or once most timers are
+      // cancelled.
+      timer.mCancelled = true;
+      mCancelledTimerCount++;
+      if (mCancelledTimerCount >= MIN_CANCELLED_TIMERS_TO_PURGE
+          && mCancelledTimerCount * 2 > mTimers.size()) {
+        ArrayList<Timer> timers = new ArrayList<>(mTimers.size() - mCancelledTimerCount);
+        for (Timer queuedTimer : mTimers) {
+          if (!queuedTimer.mCancelled) {
+            timers.add(queuedTimer);
+          }
+        }
+        mTimers.clear();
+        mTimers.addAll(timers);
+        mCancelledTimerCount = 0;
+      }
     }
   }
 
@@ -388,7 +506,7 @@ public class JavaTimerManager {
    */
   /* package */ boolean hasActiveTimersInRange(long rangeMs) {
     synchronized (mTimerGuard) {
-      Timer nextTimer = mTimers.peek();
+      Timer nextTimer = peekTimer();
       if (nextTimer == null) {
         // Timers queue is empty
         return false;
@@ -408,6 +526,6 @@ public class JavaTimerManager {
   }
 
   private static boolean isTimerInRange(Timer timer, long rangeMs) {
-    return !timer.mRepeat && timer.mInterval < rangeMs;
+    return !timer.mCancelled && !timer.mRepeat && timer.mInterval < rangeMs;
   }
 }
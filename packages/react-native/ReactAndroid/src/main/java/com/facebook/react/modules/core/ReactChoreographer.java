@@ -7,6 +7,9 @@
 
 package com.facebook.react.modules.core;
 
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.view.Display;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
@@ -53,6 +56,8 @@ public class ReactChoreographer {
     }
   }
 
+  private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
   private static ReactChoreographer sInstance;
 
   public static void initialize() {
@@ -61,6 +66,15 @@ public class ReactChoreographer {
     }
   }
 
+  /**
+   * Like {@link #initialize()}, but also follows the refresh rate of the default display of {@code
+   * context}, see {@link #getFrameIntervalNanos()}.
+   */
+  public static void initialize(Context context) {
+    initialize();
+    sInstance.observeDisplayRefreshRate(context.getApplicationContext());
+  }
+
   public static ReactChoreographer getInstance() {
     Assertions.assertNotNull(sInstance, "ReactChoreographer needs to be initialized.");
     return sInstance;
@@ -77,6 +91,9 @@ public class ReactChoreographer {
   private int mTotalCallbacks = 0;
   private boolean mHasPostedCallback = false;
 
+  private volatile long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+  private @Nullable DisplayManager mDisplayManager;
+
   private ReactChoreographer() {
     mReactChoreographerDispatcher = new ReactChoreographerDispatcher();
     mCallbackQueues = new ArrayDeque[CallbackType.values().length];
@@ -146,6 +163,58 @@ public class ReactChoreographer {
     }
   }
 
+  /**
+   * Returns the time between two display frames, e.g. ~8.3ms on a 120Hz display. This follows the
+   * refresh rate of the default display once {@link #initialize(Context)} was called, and defaults
+   * to 60Hz otherwise. Safe to call from any thread.
+   */
+  public long getFrameIntervalNanos() {
+    return mFrameIntervalNanos;
+  }
+
+  private void observeDisplayRefreshRate(final Context context) {
+    UiThreadUtil.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            if (mDisplayManager != null) {
+              return;
+            }
+            mDisplayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+            if (mDisplayManager == null) {
+              return;
+            }
+            // The refresh rate changes e.g. when the system lowers it to save power
+            mDisplayManager.registerDisplayListener(
+                new DisplayManager.DisplayListener() {
+                  @Override
+                  public void onDisplayAdded(int displayId) {}
+
+                  @Override
+                  public void onDisplayRemoved(int displayId) {}
+
+                  @Override
+                  public void onDisplayChanged(int displayId) {
+                    if (displayId == Display.DEFAULT_DISPLAY) {
+                      updateFrameInterval();
+                    }
+                  }
+                },
+                null);
+            updateFrameInterval();
+          }
+        });
+  }
+
+  /** Must only be called from the UI thread. */
+  private void updateFrameInterval() {
+    Display display =
+        mDisplayManager != null ? mDisplayManager.getDisplay(Display.DEFAULT_DISPLAY) : null;
+    float refreshRate = display != null ? display.getRefreshRate() : 0;
+    mFrameIntervalNanos =
+        refreshRate > 0 ? (long) (1000000000L / refreshRate) : DEFAULT_FRAME_INTERVAL_NANOS;
+  }
+
   /**
    * This method reads and writes on mHasPostedCallback and it should be called from another method
    * that already has the lock mCallbackQueuesLock.
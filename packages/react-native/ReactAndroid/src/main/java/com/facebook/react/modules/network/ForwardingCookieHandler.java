@@ -63,6 +63,8 @@ public class ForwardingCookieHandler extends CookieHandler {
   }
 
   public void clearCookies(final Callback callback) {
+    // Responses held in memory may depend on the cookies that were sent
+    OkHttpClientProvider.evictMemoryCache();
     CookieManager cookieManager = getCookieManager();
     if (cookieManager != null) {
       cookieManager.removeAllCookies(value -> callback.invoke(value));
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Application interceptor that keeps small GET responses in memory, in front of the client's disk
+ * {@link okhttp3.Cache}, and coalesces identical GET requests in flight onto a single network
+ * request.
+ *
+ * <p>Only cacheable responses with a {@code Content-Length} of at most the entry size limit are
+ * read into memory, and shared with coalesced requests; any other response is returned untouched,
+ * and the requests that waited for it go to the network themselves.
+ *
+ * <p>Responses are kept in memory while they're fresh according to their {@code max-age}. If a
+ * revalidation client was set, they're still served for the {@code stale-while-revalidate} period
+ * after that, while they're refreshed in the background with that client. Requests with a {@code
+ * no-cache} or {@code no-store} Cache-Control header, or with credentials, bypass the interceptor
+ * entirely.
+ *
+ * <p>Since the interceptor runs before the cookie jar, and doesn't implement {@code Vary}, responses
+ * that set cookies, vary, are private, or were received for a request that sent cookies aren't kept.
+ * {@link #evictAll()} should be called when cookies are cleared, e.g. on logout.
+ *
+ * <p>An instance should be shared by all the clients that use it, e.g. created once and added in
+ * {@link OkHttpClientFactory} or {@link CustomClientBuilder}:
+ *
+ * <pre>
+ *   builder.addInterceptor(memoryCacheInterceptor);
+ * </pre>
+ */
+public class MemoryCacheInterceptor implements Interceptor {
+
+  /** Default budget for the responses held in memory, in bytes. */
+  public static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+  /** Default size of the largest response body held in memory, in bytes. */
+  public static final long DEFAULT_MAX_ENTRY_SIZE = 256 * 1024;
+
+  private static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate=";
+  // Lets a waiting request notice that it was canceled
+  private static final long COALESCED_POLL_INTERVAL_MS = 100;
+
+  private final long mMaxSize;
+  private final long mMaxEntrySize;
+
+  // All guarded by this
+  private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, InFlightRequest> mInFlightRequests = new HashMap<>();
+  private final Set<String> mRevalidations = new HashSet<>();
+  private long mSize;
+
+  private volatile @Nullable OkHttpClient mRevalidationClient;
+
+  private final AtomicLong mHitCount = new AtomicLong();
+  private final AtomicLong mMissCount = new AtomicLong();
+  private final AtomicLong mCoalescedCount = new AtomicLong();
+
+  public MemoryCacheInterceptor() {
+    this(DEFAULT_MAX_SIZE, DEFAULT_MAX_ENTRY_SIZE);
+  }
+
+  /**
+   * @param maxSize maximum number of bytes of response bodies held in memory
+   * @param maxEntrySize maximum size of a response body held in memory, or shared between
+   *     coalesced requests
+   */
+  public MemoryCacheInterceptor(long maxSize, long maxEntrySize) {
+    mMaxSize = maxSize;
+    mMaxEntrySize = Math.min(maxSize, maxEntrySize);
+  }
+
+  /**
+   * Sets the client that refreshes stale responses in the background. It should share the cache and
+   * the cookie jar of the clients using the interceptor, but not the interceptor itself, nor any
+   * interceptor specific to a request, e.g. one reporting its progress.
+   */
+  public void setRevalidationClient(@Nullable OkHttpClient revalidationClient) {
+    mRevalidationClient = revalidationClient;
+  }
+
+  /** Returns the number of requests served from memory. */
+  public long getHitCount() {
+    return mHitCount.get();
+  }
+
+  /** Returns the number of requests that went through to the next interceptors. */
+  public long getMissCount() {
+    return mMissCount.get();
+  }
+
+  /** Returns the number of requests served with the response of an identical request in flight. */
+  public long getCoalescedCount() {
+    return mCoalescedCount.get();
+  }
+
+  /** Drops all the responses held in memory. */
+  public synchronized void evictAll() {
+    mEntries.clear();
+    mSize = 0;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    CacheControl cacheControl = request.cacheControl();
+    if (!"GET".equals(request.method())
+        || cacheControl.noCache()
+        || cacheControl.noStore()
+        || request.header("Authorization") != null
+        || request.header("Cookie") != null) {
+      return chain.proceed(request);
+    }
+
+    String key = getKey(request);
+    OkHttpClient revalidationClient = mRevalidationClient;
+    Entry entry;
+    @Nullable Call revalidation = null;
+    InFlightRequest inFlightRequest;
+    boolean isLeader = false;
+    synchronized (this) {
+      entry = mEntries.get(key);
+      long now = System.currentTimeMillis();
+      if (entry != null && now >= entry.mFreshUntil) {
+        if (now < entry.mStaleUntil && revalidationClient != null) {
+          if (mRevalidations.add(key)) {
+            revalidation = revalidationClient.newCall(request);
+          }
+        } else {
+          entry = null;
+        }
+      }
+      inFlightRequest = mInFlightRequests.get(key);
+      if (entry == null && inFlightRequest == null) {
+        inFlightRequest = new InFlightRequest();
+        mInFlightRequests.put(key, inFlightRequest);
+        isLeader = true;
+      }
+    }
+
+    if (entry != null) {
+      mHitCount.incrementAndGet();
+      if (revalidation != null) {
+        revalidation.enqueue(new RevalidationCallback(key));
+      }
+      return entry.newResponse(request);
+    }
+
+    if (!isLeader) {
+      Entry shared = inFlightRequest.await(chain.call());
+      if (shared != null) {
+        mCoalescedCount.incrementAndGet();
+        return shared.newResponse(request);
+      }
+      // The response couldn't be shared, so this request makes its own.
+      mMissCount.incrementAndGet();
+      return chain.proceed(request);
+    }
+
+    mMissCount.incrementAndGet();
+    Entry result = null;
+    try {
+      Response response = chain.proceed(request);
+      try {
+        result = readEntry(response);
+      } catch (IOException e) {
+        response.close();
+        throw e;
+      }
+      return result != null ? result.newResponse(request) : response;
+    } finally {
+      synchronized (this) {
+        mInFlightRequests.remove(key);
+        if (result != null && result.mStaleUntil > System.currentTimeMillis()) {
+          put(key, result);
+        }
+      }
+      inFlightRequest.complete(result);
+    }
+  }
+
+  private void put(String key, Entry entry) {
+    Entry previous = mEntries.put(key, entry);
+    if (previous != null) {
+      mSize -= previous.mBytes.length;
+    }
+    mSize += entry.mBytes.length;
+    Iterator<Entry> iterator = mEntries.values().iterator();
+    while (mSize > mMaxSize && iterator.hasNext()) {
+      mSize -= iterator.next().mBytes.length;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Reads the body of a successful response if it can be held in memory, i.e. it's cacheable and
+   * declares a length small enough. Otherwise returns null without reading anything, leaving the
+   * response as is, so that e.g. a streamed response isn't held back.
+   */
+  private @Nullable Entry readEntry(Response response) throws IOException {
+    ResponseBody body = response.body();
+    if (response.code() != 200
+        || body == null
+        || body.contentLength() < 0
+        || body.contentLength() > mMaxEntrySize
+        || !isCacheable(response)
+        || !isShareable(response)) {
+      return null;
+    }
+    return new Entry(response, body.contentType(), body.bytes());
+  }
+
+  /** Whether the response may be served from memory for some time, according to its headers. */
+  private static boolean isCacheable(Response response) {
+    CacheControl cacheControl = response.cacheControl();
+    if (cacheControl.noStore() || cacheControl.noCache() || cacheControl.maxAgeSeconds() < 0) {
+      return false;
+    }
+    long lifetimeSeconds =
+        cacheControl.maxAgeSeconds()
+            - getAgeSeconds(response)
+            + getStaleWhileRevalidateSeconds(response);
+    return response.receivedResponseAtMillis() + TimeUnit.SECONDS.toMillis(lifetimeSeconds)
+        > System.currentTimeMillis();
+  }
+
+  /**
+   * Whether the response is the same for every request with the same URL and headers, as far as we
+   * can tell without implementing {@code Vary} or seeing the cookies added by the cookie jar.
+   */
+  private static boolean isShareable(Response response) {
+    if (response.header("Set-Cookie") != null
+        || response.header("Vary") != null
+        || response.cacheControl().isPrivate()) {
+      return false;
+    }
+    Response networkResponse = response.networkResponse();
+    if (networkResponse != null) {
+      Request networkRequest = networkResponse.request();
+      return networkRequest.header("Cookie") == null
+          && networkRequest.header("Authorization") == null;
+    }
+    return true;
+  }
+
+  private static String getKey(Request request) {
+    StringBuilder key = new StringBuilder(request.url().toString());
+    Headers headers = request.headers();
+    for (int i = 0; i < headers.size(); i++) {
+      key.append('\n').append(headers.name(i)).append(':').append(headers.value(i));
+    }
+    return key.toString();
+  }
+
+  /** Returns the number of seconds of the stale-while-revalidate directive, or 0. */
+  private static long getStaleWhileRevalidateSeconds(Response response) {
+    for (String value : response.headers("Cache-Control")) {
+      for (String directive : value.split(",")) {
+        directive = directive.trim().toLowerCase(Locale.ROOT);
+        if (directive.startsWith(STALE_WHILE_REVALIDATE)) {
+          try {
+            return Math.max(
+                0, Long.parseLong(directive.substring(STALE_WHILE_REVALIDATE.length())));
+          } catch (NumberFormatException e) {
+            return 0;
+          }
+        }
+      }
+    }
+    return 0;
+  }
+
+  private static long getAgeSeconds(Response response) {
+    String age = response.header("Age");
+    if (age == null) {
+      return 0;
+    }
+    try {
+      return Math.max(0, Long.parseLong(age.trim()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /** A response held in memory, without its body, along with the bytes of its body. */
+  private static final class Entry {
+    final Response mResponse;
+    final @Nullable MediaType mContentType;
+    final byte[] mBytes;
+    final long mFreshUntil;
+    final long mStaleUntil;
+
+    Entry(Response response, @Nullable MediaType contentType, byte[] bytes) {
+      mResponse =
+          response
+              .newBuilder()
+              .body(null)
+              .networkResponse(null)
+              .cacheResponse(null)
+              .priorResponse(null)
+              .build();
+      mContentType = contentType;
+      mBytes = bytes;
+      // Responses served by the disk cache keep the time they were first received at.
+      long receivedAt = response.receivedResponseAtMillis();
+      CacheControl cacheControl = response.cacheControl();
+      if (cacheControl.noStore() || cacheControl.noCache() || cacheControl.maxAgeSeconds() < 0) {
+        mFreshUntil = receivedAt;
+        mStaleUntil = receivedAt;
+      } else {
+        mFreshUntil =
+            receivedAt
+                + TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds() - getAgeSeconds(response));
+        mStaleUntil =
+            mFreshUntil + TimeUnit.SECONDS.toMillis(getStaleWhileRevalidateSeconds(response));
+      }
+    }
+
+    Response newResponse(Request request) {
+      return mResponse
+          .newBuilder()
+          .request(request)
+          .body(ResponseBody.create(mContentType, mBytes))
+          .build();
+    }
+  }
+
+  /** Lets identical requests wait for the response of the one that went to the network. */
+  private static final class InFlightRequest {
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+    private volatile @Nullable Entry mEntry;
+
+    void complete(@Nullable Entry entry) {
+      mEntry = entry;
+      mLatch.countDown();
+    }
+
+    @Nullable
+    Entry await(Call call) throws IOException {
+      try {
+        while (!mLatch.await(COALESCED_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+          if (call.isCanceled()) {
+            throw new IOException("Canceled");
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      return mEntry;
+    }
+  }
+
+  private final class RevalidationCallback implements Callback {
+    private final String mKey;
+
+    RevalidationCallback(String key) {
+      mKey = key;
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+      // Keep serving the stale response until it expires, or another revalidation succeeds.
+      synchronized (MemoryCacheInterceptor.this) {
+        mRevalidations.remove(mKey);
+      }
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) {
+      Entry entry;
+      try {
+        entry = readEntry(response);
+      } catch (IOException e) {
+        onFailure(call, e);
+        return;
+      } finally {
+        response.close();
+      }
+      synchronized (MemoryCacheInterceptor.this) {
+        mRevalidations.remove(mKey);
+        if (entry != null && entry.mStaleUntil > System.currentTimeMillis()) {
+          put(mKey, entry);
+        } else {
+          // The response can't be served from memory anymore, e.g. it's not cacheable anymore.
+          Entry previous = mEntries.remove(mKey);
+          if (previous != null) {
+            mSize -= previous.mBytes.length;
+          }
+        }
+      }
+    }
+  }
+}
@@ -21,7 +21,9 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.network.OkHttpCallUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -44,6 +46,7 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.BufferedSource;
 import okio.ByteString;
 import okio.GzipSource;
 import okio.Okio;
@@ -69,7 +72,11 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     /** Returns if the handler should be used for a JS body payload. */
     boolean supports(ReadableMap map);
 
-    /** Returns the {@link RequestBody} for the JS body payload. */
+    /**
+     * Returns the {@link RequestBody} for the JS body payload. If it implements {@link Closeable},
+     * it's closed once the request succeeds, fails or is aborted, and not when it's written, since
+     * OkHttp may write it again on retries and redirects.
+     */
     RequestBody toRequestBody(ReadableMap map, String contentType);
   }
 
@@ -89,9 +96,11 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   private static final String REQUEST_BODY_KEY_URI = "uri";
   private static final String REQUEST_BODY_KEY_FORMDATA = "formData";
   private static final String REQUEST_BODY_KEY_BASE64 = "base64";
+  private static final String REQUEST_PRIORITY_KEY = "priority";
   private static final String USER_AGENT_HEADER_NAME = "user-agent";
   private static final int CHUNK_TIMEOUT_NS = 100 * 1000000; // 100ms
-  private static final int MAX_CHUNK_SIZE_BETWEEN_FLUSHES = 8 * 1024; // 8K
+  private static final int MAX_CHUNK_SIZE_BETWEEN_FLUSHES = 256 * 1024; // 256K
+  private static final int READ_BUFFER_SIZE = 8 * 1024; // 8K
 
   private static @Nullable com.facebook.react.modules.network.CustomClientBuilder
       customClientBuilder = null;
@@ -101,6 +110,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   private final @Nullable String mDefaultUserAgent;
   private final CookieJarContainer mCookieJarContainer;
   private final Set<Integer> mRequestIds;
+  private final @Nullable RequestScheduler mRequestScheduler;
   private final List<RequestBodyHandler> mRequestBodyHandlers = new ArrayList<>();
   private final List<UriHandler> mUriHandlers = new ArrayList<>();
   private final List<ResponseHandler> mResponseHandlers = new ArrayList<>();
@@ -126,6 +136,8 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mShuttingDown = false;
     mDefaultUserAgent = defaultUserAgent;
     mRequestIds = new HashSet<>();
+    mRequestScheduler =
+        ReactFeatureFlags.enableNetworkRequestPriorities ? new RequestScheduler() : null;
   }
 
   /**
@@ -426,14 +438,13 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
         return;
       }
       String uri = data.getString(REQUEST_BODY_KEY_URI);
-      InputStream fileInputStream =
-          RequestBodyUtil.getFileInputStream(getReactApplicationContext(), uri);
-      if (fileInputStream == null) {
+      requestBody =
+          RequestBodyUtil.create(getReactApplicationContext(), MediaType.parse(contentType), uri);
+      if (requestBody == null) {
         ResponseUtil.onRequestError(
             reactApplicationContext, requestId, "Could not retrieve file for uri " + uri, null);
         return;
       }
-      requestBody = RequestBodyUtil.create(MediaType.parse(contentType), fileInputStream);
     } else if (data.hasKey(REQUEST_BODY_KEY_FORMDATA)) {
       if (contentType == null) {
         contentType = "multipart/form-data";
@@ -450,114 +461,130 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
       requestBody = RequestBodyUtil.getEmptyBody(method);
     }
 
-    requestBuilder.method(method, wrapRequestBodyWithProgressEmitter(requestBody, requestId));
+    final @Nullable Closeable requestBodyResource =
+        requestBody instanceof Closeable ? (Closeable) requestBody : null;
+    try {
+      requestBuilder.method(method, wrapRequestBodyWithProgressEmitter(requestBody, requestId));
+    } catch (RuntimeException e) {
+      closeQuietly(requestBodyResource);
+      throw e;
+    }
+
+    RequestScheduler.Priority priority =
+        RequestScheduler.Priority.fromString(
+            data != null && data.hasKey(REQUEST_PRIORITY_KEY)
+                ? data.getString(REQUEST_PRIORITY_KEY)
+                : null);
 
     addRequest(requestId);
-    client
-        .newCall(requestBuilder.build())
-        .enqueue(
-            new Callback() {
-              @Override
-              public void onFailure(Call call, IOException e) {
-                if (mShuttingDown) {
-                  return;
-                }
-                removeRequest(requestId);
-                String errorMessage =
-                    e.getMessage() != null
-                        ? e.getMessage()
-                        : "Error while executing request: " + e.getClass().getSimpleName();
-                ResponseUtil.onRequestError(reactApplicationContext, requestId, errorMessage, e);
+    enqueueRequest(
+        client,
+        requestBuilder.build(),
+        priority,
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            closeQuietly(requestBodyResource);
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            String errorMessage =
+                e.getMessage() != null
+                    ? e.getMessage()
+                    : "Error while executing request: " + e.getClass().getSimpleName();
+            ResponseUtil.onRequestError(reactApplicationContext, requestId, errorMessage, e);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            // The request body has been written for the last time once the response is received.
+            closeQuietly(requestBodyResource);
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            // Before we touch the body send headers to JS
+            ResponseUtil.onResponseReceived(
+                reactApplicationContext,
+                requestId,
+                response.code(),
+                translateHeaders(response.headers()),
+                response.request().url().toString());
+
+            try {
+              // OkHttp implements something called transparent gzip, which mean that it will
+              // automatically add the Accept-Encoding gzip header and handle decoding
+              // internally.
+              // The issue is that it won't handle decoding if the user provides a
+              // Accept-Encoding
+              // header. This is also undesirable considering that iOS does handle the decoding
+              // even
+              // when the header is provided. To make sure this works in all cases, handle gzip
+              // body
+              // here also. This works fine since OKHttp will remove the Content-Encoding header
+              // if
+              // it used transparent gzip.
+              // See
+              // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
+              ResponseBody responseBody = response.body();
+              if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
+                  && responseBody != null) {
+                GzipSource gzipSource = new GzipSource(responseBody.source());
+                String contentType = response.header("Content-Type");
+                responseBody =
+                    ResponseBody.create(
+                        contentType != null ? MediaType.parse(contentType) : null,
+                        -1L,
+                        Okio.buffer(gzipSource));
               }
 
-              @Override
-              public void onResponse(Call call, Response response) throws IOException {
-                if (mShuttingDown) {
+              // Check if a handler is registered
+              for (ResponseHandler handler : mResponseHandlers) {
+                if (handler.supports(responseType)) {
+                  WritableMap res = handler.toResponseData(responseBody);
+                  ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
+                  ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
                   return;
                 }
-                removeRequest(requestId);
-                // Before we touch the body send headers to JS
-                ResponseUtil.onResponseReceived(
-                    reactApplicationContext,
-                    requestId,
-                    response.code(),
-                    translateHeaders(response.headers()),
-                    response.request().url().toString());
-
-                try {
-                  // OkHttp implements something called transparent gzip, which mean that it will
-                  // automatically add the Accept-Encoding gzip header and handle decoding
-                  // internally.
-                  // The issue is that it won't handle decoding if the user provides a
-                  // Accept-Encoding
-                  // header. This is also undesirable considering that iOS does handle the decoding
-                  // even
-                  // when the header is provided. To make sure this works in all cases, handle gzip
-                  // body
-                  // here also. This works fine since OKHttp will remove the Content-Encoding header
-                  // if
-                  // it used transparent gzip.
-                  // See
-                  // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
-                  ResponseBody responseBody = response.body();
-                  if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
-                      && responseBody != null) {
-                    GzipSource gzipSource = new GzipSource(responseBody.source());
-                    String contentType = response.header("Content-Type");
-                    responseBody =
-                        ResponseBody.create(
-                            contentType != null ? MediaType.parse(contentType) : null,
-                            -1L,
-                            Okio.buffer(gzipSource));
-                  }
-
-                  // Check if a handler is registered
-                  for (ResponseHandler handler : mResponseHandlers) {
-                    if (handler.supports(responseType)) {
-                      WritableMap res = handler.toResponseData(responseBody);
-                      ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
-                      ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                      return;
-                    }
-                  }
+              }
 
-                  // If JS wants progress updates during the download, and it requested a text
-                  // response,
-                  // periodically send response data updates to JS.
-                  if (useIncrementalUpdates && responseType.equals("text")) {
-                    readWithProgress(requestId, responseBody);
-                    ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                    return;
-                  }
+              // If JS wants progress updates during the download, and it requested a text
+              // response,
+              // periodically send response data updates to JS.
+              if (useIncrementalUpdates && responseType.equals("text")) {
+                readWithProgress(requestId, responseBody);
+                ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+                return;
+              }
 
-                  // Otherwise send the data in one big chunk, in the format that JS requested.
-                  String responseString = "";
-                  if (responseType.equals("text")) {
-                    try {
-                      responseString = responseBody.string();
-                    } catch (IOException e) {
-                      if (response.request().method().equalsIgnoreCase("HEAD")) {
-                        // The request is an `HEAD` and the body is empty,
-                        // the OkHttp will produce an exception.
-                        // Ignore the exception to not invalidate the request in the
-                        // Javascript layer.
-                        // Introduced to fix issue #7463.
-                      } else {
-                        ResponseUtil.onRequestError(
-                            reactApplicationContext, requestId, e.getMessage(), e);
-                      }
-                    }
-                  } else if (responseType.equals("base64")) {
-                    responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
-                  }
-                  ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
-                  ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+              // Otherwise send the data in one big chunk, in the format that JS requested.
+              String responseString = "";
+              if (responseType.equals("text")) {
+                try {
+                  responseString = responseBody.string();
                 } catch (IOException e) {
-                  ResponseUtil.onRequestError(
-                      reactApplicationContext, requestId, e.getMessage(), e);
+                  if (response.request().method().equalsIgnoreCase("HEAD")) {
+                    // The request is an `HEAD` and the body is empty,
+                    // the OkHttp will produce an exception.
+                    // Ignore the exception to not invalidate the request in the
+                    // Javascript layer.
+                    // Introduced to fix issue #7463.
+                  } else {
+                    ResponseUtil.onRequestError(
+                        reactApplicationContext, requestId, e.getMessage(), e);
+                  }
                 }
+              } else if (responseType.equals("base64")) {
+                responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
               }
-            });
+              ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
+              ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+            } catch (IOException e) {
+              ResponseUtil.onRequestError(reactApplicationContext, requestId, e.getMessage(), e);
+            }
+          }
+        });
   }
 
   private RequestBody wrapRequestBodyWithProgressEmitter(
@@ -584,15 +611,31 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
         });
   }
 
+  private void enqueueRequest(
+      OkHttpClient client,
+      Request request,
+      RequestScheduler.Priority priority,
+      Callback callback) {
+    if (mRequestScheduler != null) {
+      mRequestScheduler.enqueue(client, request, priority, callback);
+    } else {
+      client.newCall(request).enqueue(callback);
+    }
+  }
+
+  /**
+   * Reads the response body, and sends its text to JS incrementally. Decoded text accumulates until
+   * {@link #MAX_CHUNK_SIZE_BETWEEN_FLUSHES} bytes were read or {@link #CHUNK_TIMEOUT_NS} elapsed
+   * since the last event, so that a fast download results in a few large events rather than one
+   * per read. Text is also sent whenever the next read would block, so that a slow stream such as
+   * server-sent events is not held back until more data arrives.
+   */
   private void readWithProgress(int requestId, ResponseBody responseBody) throws IOException {
-    long totalBytesRead = -1;
+    ProgressResponseBody progressResponseBody = null;
     long contentLength = -1;
-    try {
-      ProgressResponseBody progressResponseBody = (ProgressResponseBody) responseBody;
-      totalBytesRead = progressResponseBody.totalBytesRead();
+    if (responseBody instanceof ProgressResponseBody) {
+      progressResponseBody = (ProgressResponseBody) responseBody;
       contentLength = progressResponseBody.contentLength();
-    } catch (ClassCastException e) {
-      // Ignore
     }
 
     Charset charset =
@@ -601,18 +644,39 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
             : responseBody.contentType().charset(StandardCharsets.UTF_8);
 
     ProgressiveStringDecoder streamDecoder = new ProgressiveStringDecoder(charset);
-    InputStream inputStream = responseBody.byteStream();
+    BufferedSource source = responseBody.source();
+    InputStream inputStream = source.inputStream();
     try {
-      byte[] buffer = new byte[MAX_CHUNK_SIZE_BETWEEN_FLUSHES];
+      byte[] buffer = new byte[READ_BUFFER_SIZE];
       int read;
+      int bytesSinceFlush = 0;
+      long lastFlush = System.nanoTime();
       final ReactApplicationContext reactApplicationContext =
           getReactApplicationContextIfActiveOrWarn();
       while ((read = inputStream.read(buffer)) != -1) {
+        streamDecoder.append(buffer, read);
+        bytesSinceFlush += read;
+        long now = System.nanoTime();
+        if (streamDecoder.getDecodedLength() > 0
+            && (bytesSinceFlush >= MAX_CHUNK_SIZE_BETWEEN_FLUSHES
+                || shouldDispatch(now, lastFlush)
+                || source.getBuffer().size() == 0)) {
+          ResponseUtil.onIncrementalDataReceived(
+              reactApplicationContext,
+              requestId,
+              streamDecoder.takeDecoded(),
+              totalBytesRead(progressResponseBody),
+              contentLength);
+          bytesSinceFlush = 0;
+          lastFlush = now;
+        }
+      }
+      if (streamDecoder.getDecodedLength() > 0) {
         ResponseUtil.onIncrementalDataReceived(
             reactApplicationContext,
             requestId,
-            streamDecoder.decodeNext(buffer, read),
-            totalBytesRead,
+            streamDecoder.takeDecoded(),
+            totalBytesRead(progressResponseBody),
             contentLength);
       }
     } finally {
@@ -620,6 +684,21 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     }
   }
 
+  private static long totalBytesRead(@Nullable ProgressResponseBody progressResponseBody) {
+    return progressResponseBody == null ? -1 : progressResponseBody.totalBytesRead();
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      FLog.w(TAG, "Failed to close request body", e);
+    }
+  }
+
   private static boolean shouldDispatch(long now, long last) {
     return last + CHUNK_TIMEOUT_NS < now;
   }
@@ -667,6 +746,9 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
+        if (mRequestScheduler != null) {
+          mRequestScheduler.cancelTag(Integer.valueOf(requestId));
+        }
         OkHttpCallUtil.cancelTag(mClient, Integer.valueOf(requestId));
       }
     }.execute();
@@ -727,9 +809,10 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
           return null;
         }
         String fileContentUriStr = bodyPart.getString(REQUEST_BODY_KEY_URI);
-        InputStream fileInputStream =
-            RequestBodyUtil.getFileInputStream(getReactApplicationContext(), fileContentUriStr);
-        if (fileInputStream == null) {
+        RequestBody partBody =
+            RequestBodyUtil.create(
+                getReactApplicationContext(), partContentType, fileContentUriStr);
+        if (partBody == null) {
           ResponseUtil.onRequestError(
               reactApplicationContext,
               requestId,
@@ -737,7 +820,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
               null);
           return null;
         }
-        multipartBuilder.addPart(headers, RequestBodyUtil.create(partContentType, fileInputStream));
+        multipartBuilder.addPart(headers, partBody);
       } else {
         ResponseUtil.onRequestError(
             reactApplicationContext, requestId, "Unrecognized FormData part.", null);
@@ -9,6 +9,7 @@ package com.facebook.react.modules.network;
 
 import android.content.Context;
 import androidx.annotation.Nullable;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.io.File;
 import java.util.concurrent.TimeUnit;
 import okhttp3.Cache;
@@ -26,10 +27,26 @@ public class OkHttpClientProvider {
   // User-provided OkHttpClient factory
   private static @Nullable OkHttpClientFactory sFactory;
 
+  // Memory cache shared by the default clients, see ReactFeatureFlags.enableNetworkMemoryCache
+  private static @Nullable MemoryCacheInterceptor sMemoryCacheInterceptor;
+
   public static void setOkHttpClientFactory(OkHttpClientFactory factory) {
     sFactory = factory;
   }
 
+  /**
+   * Drops the responses held in memory by the default clients, see {@link MemoryCacheInterceptor}.
+   */
+  public static void evictMemoryCache() {
+    MemoryCacheInterceptor memoryCacheInterceptor;
+    synchronized (OkHttpClientProvider.class) {
+      memoryCacheInterceptor = sMemoryCacheInterceptor;
+    }
+    if (memoryCacheInterceptor != null) {
+      memoryCacheInterceptor.evictAll();
+    }
+  }
+
   public static OkHttpClient getOkHttpClient() {
     if (sClient == null) {
       sClient = createClient();
@@ -69,15 +86,38 @@ public class OkHttpClientProvider {
   }
 
   public static OkHttpClient.Builder createClientBuilder(Context context, int cacheSize) {
+    MemoryCacheInterceptor memoryCacheInterceptor = null;
+    if (ReactFeatureFlags.enableNetworkMemoryCache) {
+      synchronized (OkHttpClientProvider.class) {
+        if (sMemoryCacheInterceptor == null) {
+          sMemoryCacheInterceptor = new MemoryCacheInterceptor();
+        }
+        memoryCacheInterceptor = sMemoryCacheInterceptor;
+      }
+    }
+    return createClientBuilder(context, cacheSize, memoryCacheInterceptor);
+  }
+
+  /**
+   * @param cacheSize size of the disk cache in bytes, or 0 to disable it
+   * @param memoryCacheInterceptor memory cache in front of the disk cache, which should be shared
+   *     by all the clients created with it
+   */
+  public static OkHttpClient.Builder createClientBuilder(
+      Context context, int cacheSize, @Nullable MemoryCacheInterceptor memoryCacheInterceptor) {
     OkHttpClient.Builder client = createClientBuilder();
 
-    if (cacheSize == 0) {
-      return client;
+    if (cacheSize != 0) {
+      File cacheDirectory = new File(context.getCacheDir(), "http-cache");
+      client.cache(new Cache(cacheDirectory, cacheSize));
     }
 
-    File cacheDirectory = new File(context.getCacheDir(), "http-cache");
-    Cache cache = new Cache(cacheDirectory, cacheSize);
+    if (memoryCacheInterceptor != null) {
+      // Shares the cache, cookie jar and connections, without the interceptors added later
+      memoryCacheInterceptor.setRevalidationClient(client.build());
+      client.addInterceptor(memoryCacheInterceptor);
+    }
 
-    return client.cache(cache);
+    return client;
   }
 }
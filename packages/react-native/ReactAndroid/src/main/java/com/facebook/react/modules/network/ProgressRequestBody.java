@@ -10,15 +10,19 @@ package com.facebook.react.modules.network;
 import java.io.IOException;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import okio.Buffer;
 import okio.BufferedSink;
+import okio.ForwardingSink;
 import okio.Okio;
 import okio.Sink;
 
 public class ProgressRequestBody extends RequestBody {
 
+  private static final long UNKNOWN_CONTENT_LENGTH = -2;
+
   private final RequestBody mRequestBody;
   private final ProgressListener mProgressListener;
-  private long mContentLength = 0L;
+  private long mContentLength = UNKNOWN_CONTENT_LENGTH;
 
   public ProgressRequestBody(RequestBody requestBody, ProgressListener progressListener) {
     mRequestBody = requestBody;
@@ -32,48 +36,51 @@ public class ProgressRequestBody extends RequestBody {
 
   @Override
   public long contentLength() throws IOException {
-    if (mContentLength == 0) {
+    if (mContentLength == UNKNOWN_CONTENT_LENGTH) {
       mContentLength = mRequestBody.contentLength();
     }
     return mContentLength;
   }
 
+  @Override
+  public boolean isOneShot() {
+    return mRequestBody.isOneShot();
+  }
+
   @Override
   public void writeTo(BufferedSink sink) throws IOException {
     // In 99% of cases, this method is called strictly once.
     // The only case when it is called more than once is internal okhttp upload re-try.
-    // We need to re-create CountingOutputStream in this case as progress should be re-evaluated.
-    BufferedSink sinkWrapper = Okio.buffer(outputStreamSink(sink));
-
-    // contentLength changes for input streams, since we're using inputStream.available(),
-    // so get the length before writing to the sink
-    contentLength();
+    // We need to re-create the counting sink in this case as progress should be re-evaluated.
+    // Get the length before writing to the sink, so that every update reports the same one.
+    CountingSink countingSink = new CountingSink(sink, contentLength());
+    BufferedSink sinkWrapper = Okio.buffer(countingSink);
 
     mRequestBody.writeTo(sinkWrapper);
     sinkWrapper.flush();
+    if (countingSink.mBytesWritten != countingSink.mContentLength) {
+      // The length was unknown, let the listener know the upload is done anyway.
+      mProgressListener.onProgress(countingSink.mBytesWritten, countingSink.mContentLength, true);
+    }
   }
 
-  private Sink outputStreamSink(BufferedSink sink) {
-    return Okio.sink(
-        new CountingOutputStream(sink.outputStream()) {
-          @Override
-          public void write(byte[] data, int offset, int byteCount) throws IOException {
-            super.write(data, offset, byteCount);
-            sendProgressUpdate();
-          }
+  /**
+   * Counts the bytes written to the underlying sink. Segments are moved to it rather than copied.
+   */
+  private class CountingSink extends ForwardingSink {
+    private final long mContentLength;
+    private long mBytesWritten;
 
-          @Override
-          public void write(int data) throws IOException {
-            super.write(data);
-            sendProgressUpdate();
-          }
+    CountingSink(Sink delegate, long contentLength) {
+      super(delegate);
+      mContentLength = contentLength;
+    }
 
-          private void sendProgressUpdate() throws IOException {
-            long bytesWritten = getCount();
-            long contentLength = contentLength();
-            mProgressListener.onProgress(
-                bytesWritten, contentLength, bytesWritten == contentLength);
-          }
-        });
+    @Override
+    public void write(Buffer source, long byteCount) throws IOException {
+      super.write(source, byteCount);
+      mBytesWritten += byteCount;
+      mProgressListener.onProgress(mBytesWritten, mContentLength, mBytesWritten == mContentLength);
+    }
   }
 }
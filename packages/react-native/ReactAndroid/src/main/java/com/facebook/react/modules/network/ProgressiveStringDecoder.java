@@ -7,33 +7,45 @@
 
 package com.facebook.react.modules.network;
 
-import com.facebook.common.logging.FLog;
-import com.facebook.react.common.ReactConstants;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 /**
  * Class to decode encoded strings from byte array chunks. As in different encodings single
  * character could take up to 4 characters byte array passed to decode could have parts of the
  * characters which can't be correctly decoded.
  *
- * <p>This class is designed in assumption that original byte stream is correctly formatted string
- * in given encoding. Otherwise some parts of the data won't be decoded.
+ * <p>Chunks are decoded straight into a reusable char buffer, which can accumulate the characters
+ * of several chunks before they're taken as a single String. The bytes of a partial character at
+ * the end of a chunk are kept until the next chunk completes it.
+ *
+ * <p>Malformed or unmappable input is replaced with the charset's replacement character.
  */
 public class ProgressiveStringDecoder {
 
   private static final String EMPTY_STRING = "";
+  private static final int INITIAL_CAPACITY = 8 * 1024;
+  // Large enough for the bytes of any partial character
+  private static final int REMAINDER_CAPACITY = 16;
 
   private final CharsetDecoder mDecoder;
-
-  private byte[] remainder = null;
+  // Bytes of a partial character, in read mode
+  private final ByteBuffer mRemainder = ByteBuffer.allocate(REMAINDER_CAPACITY);
+  // Decoded characters, in write mode
+  private CharBuffer mDecoded = CharBuffer.allocate(INITIAL_CAPACITY);
 
   /** @param charset expected charset of the data */
   public ProgressiveStringDecoder(Charset charset) {
-    mDecoder = charset.newDecoder();
+    mDecoder =
+        charset
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    mRemainder.flip();
   }
 
   /**
@@ -44,43 +56,61 @@ public class ProgressiveStringDecoder {
    * @return
    */
   public String decodeNext(byte[] data, int length) {
-    byte[] decodeData;
+    append(data, length);
+    return takeDecoded();
+  }
 
-    if (remainder != null) {
-      decodeData = new byte[remainder.length + length];
-      System.arraycopy(remainder, 0, decodeData, 0, remainder.length);
-      System.arraycopy(data, 0, decodeData, remainder.length, length);
-      length += remainder.length;
-    } else {
-      decodeData = data;
+  /** Decodes {@code length} bytes of {@code data}, and adds them to the decoded characters. */
+  public void append(byte[] data, int length) {
+    int offset = 0;
+    // Complete the partial character one byte at a time, so that no byte of the data is copied
+    // past it.
+    while (mRemainder.hasRemaining() && offset < length) {
+      mRemainder.compact();
+      mRemainder.put(data[offset++]);
+      mRemainder.flip();
+      decode(mRemainder);
+    }
+    if (offset == length) {
+      return;
     }
 
-    ByteBuffer decodeBuffer = ByteBuffer.wrap(decodeData, 0, length);
-    CharBuffer result = null;
-    boolean decoded = false;
-    int remainderLength = 0;
-    while (!decoded && (remainderLength < 4)) {
-      try {
-        result = mDecoder.decode(decodeBuffer);
-        decoded = true;
-      } catch (CharacterCodingException e) {
-        remainderLength++;
-        decodeBuffer = ByteBuffer.wrap(decodeData, 0, length - remainderLength);
-      }
+    ByteBuffer input = ByteBuffer.wrap(data, offset, length - offset);
+    decode(input);
+    if (input.hasRemaining()) {
+      mRemainder.clear();
+      mRemainder.put(input);
+      mRemainder.flip();
     }
-    boolean hasRemainder = decoded && remainderLength > 0;
-    if (hasRemainder) {
-      remainder = new byte[remainderLength];
-      System.arraycopy(decodeData, length - remainderLength, remainder, 0, remainderLength);
-    } else {
-      remainder = null;
+  }
+
+  private void decode(ByteBuffer input) {
+    while (true) {
+      CoderResult result = mDecoder.decode(input, mDecoded, false);
+      if (result.isOverflow()) {
+        CharBuffer decoded = CharBuffer.allocate(mDecoded.capacity() * 2);
+        mDecoded.flip();
+        decoded.put(mDecoded);
+        mDecoded = decoded;
+      } else {
+        // Underflow: the input is consumed, except for a partial character.
+        return;
+      }
     }
+  }
+
+  /** Returns the number of decoded characters not taken yet. */
+  public int getDecodedLength() {
+    return mDecoded.position();
+  }
 
-    if (!decoded) {
-      FLog.w(ReactConstants.TAG, "failed to decode string from byte array");
+  /** Returns the decoded characters as a String, and clears them. */
+  public String takeDecoded() {
+    if (mDecoded.position() == 0) {
       return EMPTY_STRING;
-    } else {
-      return new String(result.array(), 0, result.length());
     }
+    String result = new String(mDecoded.array(), 0, mDecoded.position());
+    mDecoded.clear();
+    return result;
   }
 }
@@ -8,25 +8,20 @@
 package com.facebook.react.modules.network;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.net.Uri;
-import android.os.Build;
 import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.common.ReactConstants;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.util.zip.GZIPOutputStream;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
@@ -42,8 +37,6 @@ import okio.Source;
 /*package*/ class RequestBodyUtil {
 
   private static final String CONTENT_ENCODING_GZIP = "gzip";
-  private static final String NAME = "RequestBodyUtil";
-  private static final String TEMP_FILE_SUFFIX = "temp";
 
   /** Returns whether encode type indicates the body needs to be gzip-ed. */
   public static boolean isGzipEncoding(@Nullable final String encodingType) {
@@ -51,67 +44,53 @@ import okio.Source;
   }
 
   /**
-   * Returns the input stream for a file given by its contentUri. Returns null if the file has not
-   * been found or if an error as occurred.
+   * Creates a RequestBody for a file given by its contentUri. The file is only opened when the body
+   * is written, and read in segments from Okio's pool as it's sent, so that it's never held in
+   * memory, and so that the body can be written again if OkHttp retries the request. Remote files
+   * are streamed from the network in the same way. Returns null if the file has not been found or
+   * if an error as occurred.
    */
-  public static @Nullable InputStream getFileInputStream(
-      Context context, String fileContentUriStr) {
+  public static @Nullable RequestBody create(
+      Context context, @Nullable MediaType mediaType, String fileContentUriStr) {
     try {
       Uri fileContentUri = Uri.parse(fileContentUriStr);
 
       if (fileContentUri.getScheme().startsWith("http")) {
-        return getDownloadFileInputStream(context, fileContentUri);
+        return new UriRequestBody(context, mediaType, fileContentUri, -1);
       }
 
       if (fileContentUriStr.startsWith("data:")) {
-        byte[] decodedDataUrString = Base64.decode(fileContentUriStr.split(",")[1], Base64.DEFAULT);
-        Bitmap bitMap =
-            BitmapFactory.decodeByteArray(decodedDataUrString, 0, decodedDataUrString.length);
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        bitMap.compress(Bitmap.CompressFormat.PNG, 0, bytes);
-        return new ByteArrayInputStream(bytes.toByteArray());
+        return RequestBody.create(mediaType, decodeDataUri(fileContentUriStr));
       }
 
-      return context.getContentResolver().openInputStream(fileContentUri);
+      // Check that the file exists, and get its exact size for the Content-Length header and the
+      // upload progress.
+      long contentLength;
+      try (AssetFileDescriptor fileDescriptor =
+          context.getContentResolver().openAssetFileDescriptor(fileContentUri, "r")) {
+        if (fileDescriptor == null) {
+          throw new FileNotFoundException(fileContentUriStr);
+        }
+        contentLength = fileDescriptor.getLength();
+        if (contentLength == AssetFileDescriptor.UNKNOWN_LENGTH) {
+          // -1 if it's not a regular file, in which case the body is sent chunked.
+          contentLength = fileDescriptor.getParcelFileDescriptor().getStatSize();
+        }
+      }
+      return new UriRequestBody(context, mediaType, fileContentUri, contentLength);
     } catch (Exception e) {
       FLog.e(ReactConstants.TAG, "Could not retrieve file for contentUri " + fileContentUriStr, e);
       return null;
     }
   }
 
-  /**
-   * Download and cache a file locally. This should be used when document picker returns a URI that
-   * points to a file on the network. Returns input stream for the downloaded file.
-   */
-  private static InputStream getDownloadFileInputStream(Context context, Uri uri)
-      throws IOException {
-    final File outputDir = context.getApplicationContext().getCacheDir();
-    final File file = File.createTempFile(NAME, TEMP_FILE_SUFFIX, outputDir);
-    file.deleteOnExit();
-
-    final URL url = new URL(uri.toString());
-    final InputStream is = url.openStream();
-    try {
-      final ReadableByteChannel channel = Channels.newChannel(is);
-      try {
-        final FileOutputStream stream = new FileOutputStream(file);
-        try {
-          long maxBytes = Long.MAX_VALUE;
-          if (Build.VERSION.SDK_INT <= Build.VERSION_CODES.M) {
-            // Old version of Android internally cast value to integer
-            maxBytes = (long) Integer.MAX_VALUE;
-          }
-          stream.getChannel().transferFrom(channel, 0, maxBytes);
-          return new FileInputStream(file);
-        } finally {
-          stream.close();
-        }
-      } finally {
-        channel.close();
-      }
-    } finally {
-      is.close();
-    }
+  private static byte[] decodeDataUri(String dataUriStr) {
+    byte[] decodedDataUrString = Base64.decode(dataUriStr.split(",")[1], Base64.DEFAULT);
+    Bitmap bitMap =
+        BitmapFactory.decodeByteArray(decodedDataUrString, 0, decodedDataUrString.length);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bitMap.compress(Bitmap.CompressFormat.PNG, 0, bytes);
+    return bytes.toByteArray();
   }
 
   /** Creates a RequestBody from a mediaType and gzip-ed body string */
@@ -142,36 +121,6 @@ import okio.Source;
     }
   }
 
-  /** Creates a RequestBody from a mediaType and inputStream given. */
-  public static RequestBody create(final MediaType mediaType, final InputStream inputStream) {
-    return new RequestBody() {
-      @Override
-      public MediaType contentType() {
-        return mediaType;
-      }
-
-      @Override
-      public long contentLength() {
-        try {
-          return inputStream.available();
-        } catch (IOException e) {
-          return 0;
-        }
-      }
-
-      @Override
-      public void writeTo(BufferedSink sink) throws IOException {
-        Source source = null;
-        try {
-          source = Okio.source(inputStream);
-          sink.writeAll(source);
-        } finally {
-          closeQuietly(source);
-        }
-      }
-    };
-  }
-
   /** Creates a ProgressRequestBody that can be used for showing uploading progress */
   public static ProgressRequestBody createProgressRequest(
       RequestBody requestBody, ProgressListener listener) {
@@ -186,4 +135,51 @@ import okio.Source;
       return null;
     }
   }
+
+  /** A RequestBody that opens the file given by its uri each time it's written. */
+  private static class UriRequestBody extends RequestBody {
+    private final Context mContext;
+    private final @Nullable MediaType mMediaType;
+    private final Uri mUri;
+    private final long mContentLength;
+
+    UriRequestBody(Context context, @Nullable MediaType mediaType, Uri uri, long contentLength) {
+      mContext = context.getApplicationContext();
+      mMediaType = mediaType;
+      mUri = uri;
+      mContentLength = contentLength;
+    }
+
+    @Override
+    public @Nullable MediaType contentType() {
+      return mMediaType;
+    }
+
+    @Override
+    public long contentLength() {
+      return mContentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      InputStream inputStream =
+          mUri.getScheme().startsWith("http")
+              ? new URL(mUri.toString()).openStream()
+              : mContext.getContentResolver().openInputStream(mUri);
+      if (inputStream == null) {
+        throw new FileNotFoundException("Could not open " + mUri);
+      }
+      Source source = Okio.source(inputStream);
+      try {
+        if (mContentLength == -1) {
+          sink.writeAll(source);
+        } else {
+          // The file could have changed since its length was sent.
+          sink.write(source, mContentLength);
+        }
+      } finally {
+        closeQuietly(source);
+      }
+    }
+  }
 }
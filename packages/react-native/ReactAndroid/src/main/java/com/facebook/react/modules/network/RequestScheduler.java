@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Holds requests back from OkHttp's {@link Dispatcher} until they can run, and hands them over by
+ * priority rather than in FIFO order.
+ *
+ * <p>Requests are only handed over while the dispatcher's limits of concurrent requests, overall
+ * and per host, aren't reached, so that they never queue up in the dispatcher behind requests of a
+ * lower priority. The last slot of each host is kept for requests of {@link Priority#NORMAL} and
+ * higher priorities, and the number of concurrent requests of each priority can be limited too.
+ *
+ * <p>To prevent starvation, waiting requests age: their priority is raised by one level for each
+ * aging interval they've waited for.
+ */
+public class RequestScheduler {
+
+  /** Priority of a request, from the highest to the lowest. */
+  public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW,
+    BACKGROUND;
+
+    /** Returns the priority with the given name, or {@link #NORMAL} if there's none. */
+    public static Priority fromString(@Nullable String name) {
+      if (name != null) {
+        for (Priority priority : values()) {
+          if (priority.name().equals(name.toUpperCase(Locale.ROOT))) {
+            return priority;
+          }
+        }
+      }
+      return NORMAL;
+    }
+  }
+
+  public static final long DEFAULT_AGING_INTERVAL_MS = 2000;
+
+  private static final int PRIORITY_COUNT = Priority.values().length;
+
+  // All guarded by this
+  private final int[] mMaxConcurrentRequests = new int[PRIORITY_COUNT];
+  private final int[] mRunningRequests = new int[PRIORITY_COUNT];
+  private final Map<String, Integer> mRunningRequestsPerHost = new HashMap<>();
+  private final List<ScheduledCall> mPendingCalls = new ArrayList<>();
+  private long mAgingIntervalMs = DEFAULT_AGING_INTERVAL_MS;
+  private int mRunningRequestCount;
+
+  public RequestScheduler() {
+    for (int i = 0; i < PRIORITY_COUNT; i++) {
+      mMaxConcurrentRequests[i] = Integer.MAX_VALUE;
+    }
+    mMaxConcurrentRequests[Priority.LOW.ordinal()] = 4;
+    mMaxConcurrentRequests[Priority.BACKGROUND.ordinal()] = 2;
+  }
+
+  /** Sets the maximum number of requests of the given priority running at once. */
+  public void setMaxConcurrentRequests(Priority priority, int maxConcurrentRequests) {
+    if (maxConcurrentRequests < 1) {
+      throw new IllegalArgumentException("maxConcurrentRequests < 1: " + maxConcurrentRequests);
+    }
+    synchronized (this) {
+      mMaxConcurrentRequests[priority.ordinal()] = maxConcurrentRequests;
+    }
+    promoteCalls();
+  }
+
+  /** Sets how long a request waits for before its priority is raised by one level. */
+  public synchronized void setAgingIntervalMs(long agingIntervalMs) {
+    if (agingIntervalMs < 1) {
+      throw new IllegalArgumentException("agingIntervalMs < 1: " + agingIntervalMs);
+    }
+    mAgingIntervalMs = agingIntervalMs;
+  }
+
+  /** Schedules a request, whose {@code callback} is called as if it was enqueued in OkHttp. */
+  public void enqueue(OkHttpClient client, Request request, Priority priority, Callback callback) {
+    ScheduledCall scheduledCall =
+        new ScheduledCall(client.newCall(request), client.dispatcher(), priority, callback, now());
+    synchronized (this) {
+      mPendingCalls.add(scheduledCall);
+    }
+    promoteCalls();
+  }
+
+  /**
+   * Cancels the waiting requests with the given tag. Their callback fails as it does for requests
+   * canceled in OkHttp. Requests already handed over have to be canceled in the dispatcher.
+   */
+  public void cancelTag(Object tag) {
+    List<ScheduledCall> canceledCalls = new ArrayList<>();
+    synchronized (this) {
+      Iterator<ScheduledCall> iterator = mPendingCalls.iterator();
+      while (iterator.hasNext()) {
+        ScheduledCall scheduledCall = iterator.next();
+        if (tag.equals(scheduledCall.mCall.request().tag())) {
+          iterator.remove();
+          canceledCalls.add(scheduledCall);
+        }
+      }
+    }
+    for (ScheduledCall scheduledCall : canceledCalls) {
+      scheduledCall.mCall.cancel();
+      scheduledCall.mCallback.onFailure(scheduledCall.mCall, new IOException("Canceled"));
+    }
+  }
+
+  /** Returns the number of requests waiting to be handed over to OkHttp. */
+  public synchronized int getPendingRequestCount() {
+    return mPendingCalls.size();
+  }
+
+  private void promoteCalls() {
+    List<ScheduledCall> readyCalls = new ArrayList<>();
+    synchronized (this) {
+      long now = now();
+      ScheduledCall next;
+      while ((next = nextReadyCall(now)) != null) {
+        mPendingCalls.remove(next);
+        updateRunningRequests(next, 1);
+        readyCalls.add(next);
+      }
+    }
+    for (ScheduledCall scheduledCall : readyCalls) {
+      scheduledCall.mCall.enqueue(new ScheduledCallback(scheduledCall));
+    }
+  }
+
+  /** Returns the waiting request that can run with the highest priority, the oldest first. */
+  private @Nullable ScheduledCall nextReadyCall(long now) {
+    ScheduledCall best = null;
+    int bestRank = Integer.MAX_VALUE;
+    for (ScheduledCall scheduledCall : mPendingCalls) {
+      if (!canRun(scheduledCall)) {
+        continue;
+      }
+      long aging = (now - scheduledCall.mScheduledAtMs) / mAgingIntervalMs;
+      int rank = (int) Math.max(0, scheduledCall.mPriority.ordinal() - aging);
+      if (rank < bestRank) {
+        best = scheduledCall;
+        bestRank = rank;
+      }
+    }
+    return best;
+  }
+
+  private boolean canRun(ScheduledCall scheduledCall) {
+    int priority = scheduledCall.mPriority.ordinal();
+    if (mRunningRequests[priority] >= mMaxConcurrentRequests[priority]
+        || mRunningRequestCount >= scheduledCall.mDispatcher.getMaxRequests()) {
+      return false;
+    }
+    int maxRequestsPerHost = scheduledCall.mDispatcher.getMaxRequestsPerHost();
+    if (scheduledCall.mPriority.compareTo(Priority.NORMAL) > 0) {
+      maxRequestsPerHost = Math.max(1, maxRequestsPerHost - 1);
+    }
+    Integer hostRequests = mRunningRequestsPerHost.get(scheduledCall.mHost);
+    return hostRequests == null || hostRequests < maxRequestsPerHost;
+  }
+
+  private void updateRunningRequests(ScheduledCall scheduledCall, int delta) {
+    mRunningRequests[scheduledCall.mPriority.ordinal()] += delta;
+    mRunningRequestCount += delta;
+    Integer hostRequests = mRunningRequestsPerHost.get(scheduledCall.mHost);
+    int count = (hostRequests == null ? 0 : hostRequests) + delta;
+    if (count == 0) {
+      mRunningRequestsPerHost.remove(scheduledCall.mHost);
+    } else {
+      mRunningRequestsPerHost.put(scheduledCall.mHost, count);
+    }
+  }
+
+  private void onFinished(ScheduledCall scheduledCall) {
+    synchronized (this) {
+      updateRunningRequests(scheduledCall, -1);
+    }
+    promoteCalls();
+  }
+
+  private static long now() {
+    return System.nanoTime() / 1000000;
+  }
+
+  private static final class ScheduledCall {
+    final Call mCall;
+    final Dispatcher mDispatcher;
+    final Priority mPriority;
+    final Callback mCallback;
+    final String mHost;
+    final long mScheduledAtMs;
+
+    ScheduledCall(
+        Call call,
+        Dispatcher dispatcher,
+        Priority priority,
+        Callback callback,
+        long scheduledAtMs) {
+      mCall = call;
+      mDispatcher = dispatcher;
+      mPriority = priority;
+      mCallback = callback;
+      mHost = call.request().url().host();
+      mScheduledAtMs = scheduledAtMs;
+    }
+  }
+
+  /** Releases the slot of a request once its callback returns, as OkHttp does. */
+  private final class ScheduledCallback implements Callback {
+    private final ScheduledCall mScheduledCall;
+
+    ScheduledCallback(ScheduledCall scheduledCall) {
+      mScheduledCall = scheduledCall;
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+      try {
+        mScheduledCall.mCallback.onFailure(call, e);
+      } finally {
+        onFinished(mScheduledCall);
+      }
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) throws IOException {
+      try {
+        mScheduledCall.mCallback.onResponse(call, response);
+      } finally {
+        onFinished(mScheduledCall);
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.websocket;
+
+import com.facebook.react.bridge.WritableMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces the messages received by a WebSocket into batches, so that a burst of messages results
+ * in a few calls into JS instead of one per message.
+ *
+ * <p>Messages are queued by the socket's reader thread, and flushed on {@code flushExecutor}, which
+ * is the JS queue thread: batches are sent at most once per JS tick, each with up to {@code
+ * maxBatchSize} messages. If JS falls behind and {@code maxQueueSize} messages are queued, the
+ * reader thread is blocked until the queue is flushed, which in turn stops reading from the
+ * network.
+ */
+/* package */ final class WebSocketMessageBatcher {
+
+  /** Sends a batch of messages to JS, along with the counters of the batcher. */
+  interface Sender {
+    void sendBatch(List<WritableMap> messages, long queuedMessageCount, long droppedMessageCount);
+  }
+
+  private final int mMaxBatchSize;
+  private final int mMaxQueueSize;
+  private final Executor mFlushExecutor;
+  private final Sender mSender;
+  private final Runnable mFlushRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          flush();
+        }
+      };
+
+  // All guarded by this
+  private final ArrayDeque<WritableMap> mQueue = new ArrayDeque<>();
+  private boolean mFlushScheduled;
+  private boolean mClosed;
+  private long mQueuedMessageCount;
+  private long mDroppedMessageCount;
+
+  WebSocketMessageBatcher(
+      int maxBatchSize, int maxQueueSize, Executor flushExecutor, Sender sender) {
+    if (maxBatchSize < 1 || maxQueueSize < maxBatchSize) {
+      throw new IllegalArgumentException(
+          "Invalid batch size " + maxBatchSize + " for queue size " + maxQueueSize);
+    }
+    mMaxBatchSize = maxBatchSize;
+    mMaxQueueSize = maxQueueSize;
+    mFlushExecutor = flushExecutor;
+    mSender = sender;
+  }
+
+  /**
+   * Queues a message, blocking while the queue is full. The message is dropped if the batcher is
+   * closed meanwhile, or if the thread is interrupted.
+   */
+  void enqueue(WritableMap message) {
+    boolean scheduleFlush = false;
+    synchronized (this) {
+      try {
+        while (!mClosed && mQueue.size() >= mMaxQueueSize) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        mDroppedMessageCount++;
+        return;
+      }
+      if (mClosed) {
+        mDroppedMessageCount++;
+        return;
+      }
+      mQueue.add(message);
+      mQueuedMessageCount++;
+      if (!mFlushScheduled) {
+        mFlushScheduled = true;
+        scheduleFlush = true;
+      }
+    }
+    if (scheduleFlush) {
+      mFlushExecutor.execute(mFlushRunnable);
+    }
+  }
+
+  /**
+   * Sends all the queued messages. Batches are sent while holding the lock, so that another thread
+   * flushing the queue before sending an event of its own can't overtake them.
+   */
+  synchronized void flush() {
+    mFlushScheduled = false;
+    while (!mQueue.isEmpty()) {
+      List<WritableMap> batch = new ArrayList<>(Math.min(mQueue.size(), mMaxBatchSize));
+      while (!mQueue.isEmpty() && batch.size() < mMaxBatchSize) {
+        batch.add(mQueue.poll());
+      }
+      mSender.sendBatch(batch, mQueuedMessageCount, mDroppedMessageCount);
+    }
+    notifyAll();
+  }
+
+  /**
+   * Drops the queued messages and any message queued later, and unblocks the reader thread.
+   *
+   * @return the number of messages dropped so far, including the ones that were still queued
+   */
+  synchronized long close() {
+    mClosed = true;
+    mDroppedMessageCount += mQueue.size();
+    mQueue.clear();
+    notifyAll();
+    return mDroppedMessageCount;
+  }
+}
@@ -16,6 +16,7 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.module.annotations.ReactModule;
@@ -28,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -38,6 +40,9 @@ import okio.ByteString;
 
 @ReactModule(name = NativeWebSocketModuleSpec.NAME)
 public final class WebSocketModule extends NativeWebSocketModuleSpec {
+  private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  private static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+
   public interface ContentHandler {
     void onMessage(String text, WritableMap params);
 
@@ -46,6 +51,7 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
 
   private final Map<Integer, WebSocket> mWebSocketConnections = new ConcurrentHashMap<>();
   private final Map<Integer, ContentHandler> mContentHandlers = new ConcurrentHashMap<>();
+  private final Map<Integer, WebSocketMessageBatcher> mMessageBatchers = new ConcurrentHashMap<>();
 
   private ForwardingCookieHandler mCookieHandler;
 
@@ -73,6 +79,10 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
     }
     mWebSocketConnections.clear();
     mContentHandlers.clear();
+    for (WebSocketMessageBatcher batcher : mMessageBatchers.values()) {
+      batcher.close();
+    }
+    mMessageBatchers.clear();
   }
 
   private void sendEvent(String eventName, WritableMap params) {
@@ -82,6 +92,77 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
     }
   }
 
+  /**
+   * Sends a message event, or queues it in a batch if the socket was opened with the {@code
+   * messageBatching} option.
+   */
+  private void sendMessageEvent(int id, WritableMap params) {
+    WebSocketMessageBatcher batcher = mMessageBatchers.get(id);
+    if (batcher != null) {
+      batcher.enqueue(params);
+    } else {
+      sendEvent("websocketMessage", params);
+    }
+  }
+
+  /**
+   * Sends the messages still queued for a socket, so that they're received before it's closed, and
+   * adds the number of messages that were dropped to {@code params} if they were batched.
+   */
+  private void flushMessageBatcher(int id, WritableMap params) {
+    WebSocketMessageBatcher batcher = mMessageBatchers.remove(id);
+    if (batcher != null) {
+      batcher.flush();
+      params.putDouble("droppedCount", batcher.close());
+    }
+  }
+
+  /** Returns false, after reporting the socket as failed, if the options are invalid. */
+  private boolean createMessageBatcher(final int id, ReadableMap options) {
+    int maxBatchSize =
+        options.hasKey("maxBatchSize") ? options.getInt("maxBatchSize") : DEFAULT_MAX_BATCH_SIZE;
+    int maxQueueSize =
+        options.hasKey("maxQueueSize")
+            ? options.getInt("maxQueueSize")
+            : Math.max(DEFAULT_MAX_QUEUE_SIZE, maxBatchSize);
+    if (maxBatchSize < 1 || maxQueueSize < maxBatchSize) {
+      notifyWebSocketFailed(
+          id,
+          "Invalid messageBatching options: maxBatchSize must be at least 1, and maxQueueSize at"
+              + " least maxBatchSize");
+      return false;
+    }
+    final ReactApplicationContext reactApplicationContext = getReactApplicationContext();
+    WebSocketMessageBatcher batcher =
+        new WebSocketMessageBatcher(
+            maxBatchSize,
+            maxQueueSize,
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                reactApplicationContext.runOnJSQueueThread(command);
+              }
+            },
+            new WebSocketMessageBatcher.Sender() {
+              @Override
+              public void sendBatch(
+                  List<WritableMap> messages, long queuedMessageCount, long droppedMessageCount) {
+                WritableArray array = Arguments.createArray();
+                for (WritableMap message : messages) {
+                  array.pushMap(message);
+                }
+                WritableMap params = Arguments.createMap();
+                params.putInt("id", id);
+                params.putArray("messages", array);
+                params.putDouble("queuedCount", queuedMessageCount);
+                params.putDouble("droppedCount", droppedMessageCount);
+                sendEvent("websocketMessages", params);
+              }
+            });
+    mMessageBatchers.put(id, batcher);
+    return true;
+  }
+
   public void setContentHandler(final int id, final ContentHandler contentHandler) {
     if (contentHandler != null) {
       mContentHandlers.put(id, contentHandler);
@@ -136,6 +217,14 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
       }
     }
 
+    if (options != null
+        && options.hasKey("messageBatching")
+        && options.getType("messageBatching").equals(ReadableType.Map)) {
+      if (!createMessageBatcher(id, options.getMap("messageBatching"))) {
+        return;
+      }
+    }
+
     if (!hasOriginHeader) {
       builder.addHeader("origin", getDefaultOrigin(url));
     }
@@ -179,12 +268,17 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
             params.putInt("id", id);
             params.putInt("code", code);
             params.putString("reason", reason);
+            flushMessageBatcher(id, params);
             sendEvent("websocketClosed", params);
           }
 
           @Override
           public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-            notifyWebSocketFailed(id, t.getMessage());
+            WritableMap params = Arguments.createMap();
+            params.putInt("id", id);
+            params.putString("message", t.getMessage());
+            flushMessageBatcher(id, params);
+            sendEvent("websocketFailed", params);
           }
 
           @Override
@@ -199,7 +293,7 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
             } else {
               params.putString("data", text);
             }
-            sendEvent("websocketMessage", params);
+            sendMessageEvent(id, params);
           }
 
           @Override
@@ -217,7 +311,7 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
               params.putString("data", text);
             }
 
-            sendEvent("websocketMessage", params);
+            sendMessageEvent(id, params);
           }
         });
 
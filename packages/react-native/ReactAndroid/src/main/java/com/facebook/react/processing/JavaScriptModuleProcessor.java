@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.JavaScriptModuleRegistry;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * This annotation processor finds the interfaces extending {@link JavaScriptModule} and generates a
+ * class per interface that is named {@code <interfacename>$$JavaScriptModuleStub}. This class
+ * implements the interface by pushing the arguments of each call into a {@link
+ * WritableNativeArray}, with typed pushes where the parameter type is known, and passing them to a
+ * {@link JavaScriptModuleRegistry.FunctionCaller}. {@link JavaScriptModuleRegistry} uses it instead
+ * of a {@link java.lang.reflect.Proxy} when it's present.
+ *
+ * <p>Interfaces that are private, generic, or that declare generic or non-void methods, are
+ * skipped.
+ *
+ * <p>Like {@link ReactPropertyProcessor}, this processor is only run by the Buck build: the Gradle
+ * build excludes this package, so modules built with Gradle keep using proxies, and the Gradle
+ * unit tests exercise {@link JavaScriptModuleRegistry} with a hand-written stub.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class JavaScriptModuleProcessor extends AbstractProcessor {
+  private static final TypeName STRING_TYPE = TypeName.get(String.class);
+  private static final ClassName FUNCTION_CALLER_TYPE =
+      ClassName.get(JavaScriptModuleRegistry.FunctionCaller.class);
+
+  @SuppressFieldNotInitialized private Filer mFiler;
+  @SuppressFieldNotInitialized private Messager mMessager;
+  @SuppressFieldNotInitialized private Elements mElements;
+  @SuppressFieldNotInitialized private Types mTypes;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+    mElements = processingEnv.getElementUtils();
+    mTypes = processingEnv.getTypeUtils();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeMirror jsModuleType = mElements.getTypeElement(JavaScriptModule.class.getName()).asType();
+    List<TypeElement> interfaces = new ArrayList<>();
+    findModuleInterfaces(
+        ElementFilter.typesIn(roundEnv.getRootElements()), jsModuleType, interfaces);
+
+    for (TypeElement moduleInterface : interfaces) {
+      try {
+        List<ExecutableElement> methods = getMethods(moduleInterface);
+        if (methods != null) {
+          generateCode(moduleInterface, methods);
+        }
+      } catch (IOException e) {
+        mMessager.printMessage(ERROR, e.getMessage(), moduleInterface);
+      }
+    }
+
+    // Other processors may handle the annotations of these classes too
+    return false;
+  }
+
+  private void findModuleInterfaces(
+      List<TypeElement> types, TypeMirror jsModuleType, List<TypeElement> interfaces) {
+    for (TypeElement type : types) {
+      if (type.getModifiers().contains(PRIVATE)) {
+        continue;
+      }
+      if (type.getKind() == ElementKind.INTERFACE
+          && type.getTypeParameters().isEmpty()
+          && !mTypes.isSameType(type.asType(), jsModuleType)
+          && mTypes.isAssignable(type.asType(), jsModuleType)) {
+        interfaces.add(type);
+      }
+      findModuleInterfaces(
+          ElementFilter.typesIn(type.getEnclosedElements()), jsModuleType, interfaces);
+    }
+  }
+
+  /** Returns the methods to implement, or null if the interface can't be implemented. */
+  private @Nullable List<ExecutableElement> getMethods(TypeElement moduleInterface) {
+    List<ExecutableElement> methods = new ArrayList<>();
+    for (ExecutableElement method :
+        ElementFilter.methodsIn(mElements.getAllMembers(moduleInterface))) {
+      if (!method.getModifiers().contains(ABSTRACT)
+          || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+        // Default and static methods, and the methods of Object
+        continue;
+      }
+      if (!method.getTypeParameters().isEmpty()
+          || method.getReturnType().getKind() != TypeKind.VOID) {
+        return null;
+      }
+      methods.add(method);
+    }
+    return methods;
+  }
+
+  private void generateCode(TypeElement moduleInterface, List<ExecutableElement> methods)
+      throws IOException {
+    ClassName interfaceName = ClassName.get(moduleInterface);
+    String stubClassName =
+        getClassName(moduleInterface, interfaceName.packageName()) + "$$JavaScriptModuleStub";
+
+    TypeSpec.Builder stubClass =
+        TypeSpec.classBuilder(stubClassName)
+            .addSuperinterface(interfaceName)
+            .addModifiers(PUBLIC)
+            .addField(FUNCTION_CALLER_TYPE, "mFunctionCaller", PRIVATE, FINAL)
+            .addMethod(
+                MethodSpec.constructorBuilder()
+                    .addModifiers(PUBLIC)
+                    .addParameter(FUNCTION_CALLER_TYPE, "functionCaller")
+                    .addStatement("mFunctionCaller = functionCaller")
+                    .build());
+
+    String jsModuleName = getJSModuleName(moduleInterface);
+    for (ExecutableElement method : methods) {
+      stubClass.addMethod(generateMethod(jsModuleName, method));
+    }
+
+    JavaFile javaFile =
+        JavaFile.builder(interfaceName.packageName(), stubClass.build())
+            .addFileComment("Generated by " + getClass().getName())
+            .build();
+
+    javaFile.writeTo(mFiler);
+  }
+
+  private MethodSpec generateMethod(String jsModuleName, ExecutableElement method) {
+    String methodName = method.getSimpleName().toString();
+    MethodSpec.Builder builder =
+        MethodSpec.methodBuilder(methodName)
+            .addModifiers(PUBLIC)
+            .addAnnotation(Override.class)
+            .returns(TypeName.VOID);
+
+    CodeBlock.Builder code = CodeBlock.builder();
+    code.addStatement("$T args = new $T()", WritableNativeArray.class, WritableNativeArray.class);
+    List<? extends VariableElement> parameters = method.getParameters();
+    for (int i = 0; i < parameters.size(); i++) {
+      TypeMirror parameterType = parameters.get(i).asType();
+      String parameterName = "p" + i;
+      builder.addParameter(TypeName.get(parameterType), parameterName);
+      code.addStatement(getPush(parameterType, parameterName));
+    }
+    code.addStatement("mFunctionCaller.callFunction($S, $S, args)", jsModuleName, methodName);
+
+    return builder.addCode(code.build()).build();
+  }
+
+  /** Pushes the parameter the same way {@link Arguments#fromJavaArgs} would. */
+  private CodeBlock getPush(TypeMirror parameterType, String parameterName) {
+    TypeName typeName = TypeName.get(parameterType);
+    if (typeName.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("args.pushBoolean($L)", parameterName);
+    } else if (typeName.equals(TypeName.INT)
+        || typeName.equals(TypeName.DOUBLE)
+        || typeName.equals(TypeName.FLOAT)) {
+      return CodeBlock.of("args.pushDouble($L)", parameterName);
+    } else if (typeName.equals(STRING_TYPE)) {
+      return CodeBlock.of("args.pushString($L)", parameterName);
+    } else if (isAssignable(parameterType, ReadableMap.class)) {
+      return CodeBlock.of("args.pushMap($L)", parameterName);
+    } else if (isAssignable(parameterType, ReadableArray.class)) {
+      return CodeBlock.of("args.pushArray($L)", parameterName);
+    }
+    // Boxed primitives and Object, whose type is only known at runtime
+    return CodeBlock.of("$T.pushJavaArg(args, $L)", Arguments.class, parameterName);
+  }
+
+  private boolean isAssignable(TypeMirror type, Class<?> cls) {
+    return type.getKind() == TypeKind.DECLARED
+        && mTypes.isAssignable(type, mElements.getTypeElement(cls.getName()).asType());
+  }
+
+  private static String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  /** Same as {@link JavaScriptModuleRegistry#getJSModuleName}. */
+  private static String getJSModuleName(TypeElement moduleInterface) {
+    String name = moduleInterface.getSimpleName().toString();
+    int dollarSignIndex = name.lastIndexOf('$');
+    if (dollarSignIndex != -1) {
+      name = name.substring(dollarSignIndex + 1);
+    }
+    return name;
+  }
+}
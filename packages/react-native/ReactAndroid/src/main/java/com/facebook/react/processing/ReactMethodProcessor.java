@@ -0,0 +1,445 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.processing;
+
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.BaseJavaModule;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.Dynamic;
+import com.facebook.react.bridge.DynamicFromArray;
+import com.facebook.react.bridge.JSInstance;
+import com.facebook.react.bridge.JavaModuleMethodTable;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UnexpectedNativeTypeException;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * This annotation processor finds the methods of java modules annotated with {@link ReactMethod}
+ * and generates a class per module class that is named {@code <classname>$$MethodTable}. This class
+ * extends {@link JavaModuleMethodTable}: it holds the names, types and signatures of the methods,
+ * and invokes them with a {@code switch} on the method id instead of reflection.
+ *
+ * <p>As with the reflection used at runtime, a table only covers the methods declared by the class
+ * itself. Classes that are private, or that declare private methods, are skipped.
+ *
+ * <p>Like {@link ReactPropertyProcessor}, this processor is only run by the Buck build: the Gradle
+ * build excludes this package, so modules built with Gradle keep using reflection, and the Gradle
+ * unit tests exercise {@link JavaModuleMethodTable} with hand-written tables.
+ */
+@SupportedAnnotationTypes("com.facebook.react.bridge.ReactMethod")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class ReactMethodProcessor extends AbstractProcessor {
+  private static final Map<TypeName, Character> PARAM_TYPES;
+  private static final Map<TypeName, Character> RETURN_TYPES;
+
+  private static final TypeName CALLBACK_TYPE = TypeName.get(Callback.class);
+  private static final TypeName PROMISE_TYPE = TypeName.get(Promise.class);
+  private static final TypeName DYNAMIC_TYPE = TypeName.get(Dynamic.class);
+  private static final TypeName STRING_TYPE = TypeName.get(String.class);
+  private static final TypeName READABLE_MAP_TYPE = TypeName.get(ReadableMap.class);
+  private static final TypeName READABLE_ARRAY_TYPE = TypeName.get(ReadableArray.class);
+
+  private static final ClassName METHOD_TABLE_TYPE = ClassName.get(JavaModuleMethodTable.class);
+  private static final TypeName CLASS_ARRAY_TYPE =
+      ArrayTypeName.of(
+          ParameterizedTypeName.get(
+              ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)));
+
+  @SuppressFieldNotInitialized private Filer mFiler;
+  @SuppressFieldNotInitialized private Messager mMessager;
+  @SuppressFieldNotInitialized private Types mTypes;
+
+  static {
+    // Keep these in sync with JavaMethodWrapper
+    Map<TypeName, Character> commonTypes = new HashMap<>();
+    commonTypes.put(TypeName.BOOLEAN, 'z');
+    commonTypes.put(TypeName.BOOLEAN.box(), 'Z');
+    commonTypes.put(TypeName.INT, 'i');
+    commonTypes.put(TypeName.INT.box(), 'I');
+    commonTypes.put(TypeName.DOUBLE, 'd');
+    commonTypes.put(TypeName.DOUBLE.box(), 'D');
+    commonTypes.put(TypeName.FLOAT, 'f');
+    commonTypes.put(TypeName.FLOAT.box(), 'F');
+    commonTypes.put(STRING_TYPE, 'S');
+
+    PARAM_TYPES = new HashMap<>(commonTypes);
+    PARAM_TYPES.put(CALLBACK_TYPE, 'X');
+    PARAM_TYPES.put(PROMISE_TYPE, 'P');
+    PARAM_TYPES.put(READABLE_MAP_TYPE, 'M');
+    PARAM_TYPES.put(READABLE_ARRAY_TYPE, 'A');
+    PARAM_TYPES.put(DYNAMIC_TYPE, 'Y');
+
+    RETURN_TYPES = new HashMap<>(commonTypes);
+    RETURN_TYPES.put(TypeName.VOID, 'v');
+    RETURN_TYPES.put(TypeName.get(WritableMap.class), 'M');
+    RETURN_TYPES.put(TypeName.get(WritableArray.class), 'A');
+  }
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+    mTypes = processingEnv.getTypeUtils();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    // Methods in declaration order, by class
+    Map<TypeElement, List<ExecutableElement>> classes = new LinkedHashMap<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(ReactMethod.class)) {
+      if (element.getKind() != ElementKind.METHOD) {
+        continue;
+      }
+      TypeElement classType = (TypeElement) element.getEnclosingElement();
+      List<ExecutableElement> methods = classes.get(classType);
+      if (methods == null) {
+        methods = new ArrayList<>();
+        classes.put(classType, methods);
+      }
+      methods.add((ExecutableElement) element);
+    }
+
+    TypeMirror nativeModuleType =
+        processingEnv.getElementUtils().getTypeElement(NativeModule.class.getName()).asType();
+    for (Map.Entry<TypeElement, List<ExecutableElement>> entry : classes.entrySet()) {
+      TypeElement classType = entry.getKey();
+      if (!mTypes.isAssignable(mTypes.erasure(classType.asType()), nativeModuleType)) {
+        continue;
+      }
+      if (shouldSkipClass(classType, entry.getValue())) {
+        warning(classType, "Class was skipped. Classes and @ReactMethod need to be non-private.");
+        continue;
+      }
+      try {
+        List<MethodInfo> methods = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ExecutableElement method : entry.getValue()) {
+          MethodInfo methodInfo = new MethodInfo(method);
+          if (!names.add(methodInfo.mName)) {
+            // JS sees a function as an object regardless of its number of params.
+            throw new ReactMethodException(
+                "Method overloading is not supported: " + methodInfo.mName, method);
+          }
+          methods.add(methodInfo);
+        }
+        generateCode(classType, methods);
+      } catch (IOException e) {
+        error(e.getMessage());
+      } catch (ReactMethodException e) {
+        error(e.element, e.getMessage());
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean shouldSkipClass(TypeElement classType, List<ExecutableElement> methods) {
+    for (ExecutableElement method : methods) {
+      if (method.getModifiers().contains(PRIVATE)) {
+        return true;
+      }
+    }
+    Element element = classType;
+    while (element instanceof TypeElement) {
+      TypeElement typeElement = (TypeElement) element;
+      if (typeElement.getModifiers().contains(PRIVATE)
+          || (typeElement.getNestingKind() != NestingKind.TOP_LEVEL
+              && typeElement.getNestingKind() != NestingKind.MEMBER)) {
+        return true;
+      }
+      element = typeElement.getEnclosingElement();
+    }
+    return false;
+  }
+
+  private void generateCode(TypeElement classType, List<MethodInfo> methods) throws IOException {
+    ClassName className = ClassName.get(classType);
+    TypeName moduleType = TypeName.get(mTypes.erasure(classType.asType()));
+
+    String tableClassName = getClassName(classType, className.packageName()) + "$$MethodTable";
+    TypeSpec tableClass =
+        TypeSpec.classBuilder(tableClassName)
+            .superclass(ParameterizedTypeName.get(METHOD_TABLE_TYPE, moduleType))
+            .addModifiers(PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "{$S, $S}", "unchecked", "rawtypes")
+                    .build())
+            .addMethod(generateConstructor(methods))
+            .addMethod(generateInvokeMethod(moduleType, methods))
+            .addMethod(generateGetParameterTypes(methods))
+            .build();
+
+    JavaFile javaFile =
+        JavaFile.builder(className.packageName(), tableClass)
+            .addFileComment("Generated by " + getClass().getName())
+            .build();
+
+    javaFile.writeTo(mFiler);
+  }
+
+  private static String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  private static MethodSpec generateConstructor(List<MethodInfo> methods) {
+    CodeBlock.Builder names = CodeBlock.builder();
+    CodeBlock.Builder types = CodeBlock.builder();
+    CodeBlock.Builder signatures = CodeBlock.builder();
+    CodeBlock.Builder jsArgumentCounts = CodeBlock.builder();
+    for (int i = 0; i < methods.size(); i++) {
+      String separator = i == 0 ? "" : ", ";
+      MethodInfo method = methods.get(i);
+      names.add("$L$S", separator, method.mName);
+      types.add("$L$S", separator, method.mType);
+      signatures.add("$L$S", separator, method.mSignature);
+      jsArgumentCounts.add("$L$L", separator, method.mJSArgumentCount);
+    }
+
+    return MethodSpec.constructorBuilder()
+        .addModifiers(PUBLIC)
+        .addStatement(
+            "super(new String[] {$L}, new String[] {$L}, new String[] {$L}, new int[] {$L})",
+            names.build(),
+            types.build(),
+            signatures.build(),
+            jsArgumentCounts.build())
+        .build();
+  }
+
+  private static MethodSpec generateInvokeMethod(TypeName moduleType, List<MethodInfo> methods) {
+    CodeBlock.Builder builder = CodeBlock.builder();
+    builder.beginControlFlow("switch (methodId)");
+    for (int methodId = 0; methodId < methods.size(); methodId++) {
+      MethodInfo method = methods.get(methodId);
+      builder.add("case $L: {\n", methodId).indent();
+      for (int i = 0; i < method.mParameterTypes.size(); i++) {
+        builder.addStatement("$T p$L", method.mParameterTypes.get(i), i);
+      }
+      if (!method.mParameterTypes.isEmpty()) {
+        builder.beginControlFlow("try");
+        int jsArgumentIndex = 0;
+        for (int i = 0; i < method.mParameterTypes.size(); i++) {
+          TypeName parameterType = method.mParameterTypes.get(i);
+          builder.addStatement("p$L = $L", i, getArgumentExtractor(parameterType, jsArgumentIndex));
+          jsArgumentIndex += parameterType.equals(PROMISE_TYPE) ? 2 : 1;
+        }
+        builder
+            .nextControlFlow(
+                "catch ($T | $T e)",
+                UnexpectedNativeTypeException.class,
+                NullPointerException.class)
+            .addStatement("throw createParseException(module, methodId, e)")
+            .endControlFlow();
+      }
+      CodeBlock.Builder arguments = CodeBlock.builder();
+      for (int i = 0; i < method.mParameterTypes.size(); i++) {
+        arguments.add("$Lp$L", i == 0 ? "" : ", ", i);
+      }
+      builder.addStatement("module.$L($L)", method.mName, arguments.build());
+      builder.addStatement("return").unindent().add("}\n");
+    }
+    builder
+        .add("default:\n")
+        .indent()
+        .addStatement(
+            "throw new $T($S + methodId)", IllegalArgumentException.class, "Unknown method id ")
+        .unindent()
+        .endControlFlow();
+
+    return MethodSpec.methodBuilder("invokeMethod")
+        .addModifiers(PROTECTED)
+        .addAnnotation(Override.class)
+        .addParameter(moduleType, "module")
+        .addParameter(JSInstance.class, "jsInstance")
+        .addParameter(TypeName.INT, "methodId")
+        .addParameter(READABLE_ARRAY_TYPE, "arguments")
+        .returns(TypeName.VOID)
+        .addCode(builder.build())
+        .build();
+  }
+
+  private static CodeBlock getArgumentExtractor(TypeName parameterType, int index) {
+    TypeName type = parameterType.isBoxedPrimitive() ? parameterType.unbox() : parameterType;
+    if (type.equals(TypeName.BOOLEAN)) {
+      return CodeBlock.of("arguments.getBoolean($L)", index);
+    } else if (type.equals(TypeName.INT)) {
+      return CodeBlock.of("(int) arguments.getDouble($L)", index);
+    } else if (type.equals(TypeName.DOUBLE)) {
+      return CodeBlock.of("arguments.getDouble($L)", index);
+    } else if (type.equals(TypeName.FLOAT)) {
+      return CodeBlock.of("(float) arguments.getDouble($L)", index);
+    } else if (type.equals(STRING_TYPE)) {
+      return CodeBlock.of("arguments.getString($L)", index);
+    } else if (type.equals(READABLE_MAP_TYPE)) {
+      return CodeBlock.of("arguments.getMap($L)", index);
+    } else if (type.equals(READABLE_ARRAY_TYPE)) {
+      return CodeBlock.of("arguments.getArray($L)", index);
+    } else if (type.equals(DYNAMIC_TYPE)) {
+      return CodeBlock.of("$T.create(arguments, $L)", DynamicFromArray.class, index);
+    } else if (type.equals(CALLBACK_TYPE)) {
+      return CodeBlock.of("createCallback(jsInstance, arguments, $L)", index);
+    } else if (type.equals(PROMISE_TYPE)) {
+      return CodeBlock.of("createPromise(jsInstance, arguments, $L)", index);
+    }
+    throw new IllegalArgumentException("Unknown argument type " + parameterType);
+  }
+
+  private static MethodSpec generateGetParameterTypes(List<MethodInfo> methods) {
+    CodeBlock.Builder builder = CodeBlock.builder();
+    builder.beginControlFlow("switch (methodId)");
+    for (int methodId = 0; methodId < methods.size(); methodId++) {
+      CodeBlock.Builder types = CodeBlock.builder();
+      List<TypeName> parameterTypes = methods.get(methodId).mParameterTypes;
+      for (int i = 0; i < parameterTypes.size(); i++) {
+        types.add("$L$T.class", i == 0 ? "" : ", ", parameterTypes.get(i));
+      }
+      builder
+          .add("case $L:\n", methodId)
+          .indent()
+          .addStatement("return new Class<?>[] {$L}", types.build())
+          .unindent();
+    }
+    builder
+        .add("default:\n")
+        .indent()
+        .addStatement(
+            "throw new $T($S + methodId)", IllegalArgumentException.class, "Unknown method id ")
+        .unindent()
+        .endControlFlow();
+
+    return MethodSpec.methodBuilder("getParameterTypes")
+        .addModifiers(PROTECTED)
+        .addAnnotation(Override.class)
+        .addParameter(TypeName.INT, "methodId")
+        .returns(CLASS_ARRAY_TYPE)
+        .addCode(builder.build())
+        .build();
+  }
+
+  private void error(Element element, String message) {
+    mMessager.printMessage(ERROR, message, element);
+  }
+
+  private void error(String message) {
+    mMessager.printMessage(ERROR, message);
+  }
+
+  private void warning(Element element, String message) {
+    mMessager.printMessage(WARNING, message, element);
+  }
+
+  private static class MethodInfo {
+    final String mName;
+    final String mType;
+    final String mSignature;
+    final int mJSArgumentCount;
+    final List<TypeName> mParameterTypes = new ArrayList<>();
+
+    MethodInfo(ExecutableElement method) throws ReactMethodException {
+      mName = method.getSimpleName().toString();
+      boolean isSync = method.getAnnotation(ReactMethod.class).isBlockingSynchronousMethod();
+
+      StringBuilder signature = new StringBuilder();
+      if (isSync) {
+        Character returnType = RETURN_TYPES.get(TypeName.get(method.getReturnType()));
+        if (returnType == null) {
+          throw new ReactMethodException("Unknown return type " + method.getReturnType(), method);
+        }
+        signature.append(returnType).append('.');
+      } else {
+        signature.append("v.");
+      }
+
+      int jsArgumentCount = 0;
+      List<? extends VariableElement> parameters = method.getParameters();
+      for (int i = 0; i < parameters.size(); i++) {
+        VariableElement parameter = parameters.get(i);
+        TypeName parameterType = TypeName.get(parameter.asType());
+        Character typeChar = PARAM_TYPES.get(parameterType);
+        if (typeChar == null) {
+          throw new ReactMethodException("Unknown argument type " + parameter.asType(), parameter);
+        }
+        if (parameterType.equals(PROMISE_TYPE) && i != parameters.size() - 1) {
+          throw new ReactMethodException("Promise must be used as last parameter only", parameter);
+        }
+        signature.append(typeChar);
+        mParameterTypes.add(parameterType);
+        jsArgumentCount += parameterType.equals(PROMISE_TYPE) ? 2 : 1;
+      }
+
+      mSignature = signature.toString();
+      mJSArgumentCount = jsArgumentCount;
+      if (isSync) {
+        mType = BaseJavaModule.METHOD_TYPE_SYNC;
+      } else if (!mParameterTypes.isEmpty()
+          && mParameterTypes.get(mParameterTypes.size() - 1).equals(PROMISE_TYPE)) {
+        mType = BaseJavaModule.METHOD_TYPE_PROMISE;
+      } else {
+        mType = BaseJavaModule.METHOD_TYPE_ASYNC;
+      }
+    }
+  }
+
+  private static class ReactMethodException extends Exception {
+    public final Element element;
+
+    public ReactMethodException(String message, Element element) {
+      super(message);
+      this.element = element;
+    }
+  }
+}
@@ -7,7 +7,6 @@
 
 package com.facebook.react.processing;
 
-import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.tools.Diagnostic.Kind.ERROR;
@@ -22,6 +21,7 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 import com.facebook.yoga.YogaValue;
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
@@ -29,7 +29,6 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
-import com.squareup.javapoet.TypeVariableName;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -53,6 +52,7 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -63,6 +63,10 @@ import javax.lang.model.util.Types;
  * shadow node/view manager that is named {@code <classname>$$PropsSetter}. This class contains
  * methods to retrieve the name and type of all methods and a way to set these properties without
  * reflection.
+ *
+ * <p>Setters are also generated for abstract and generic classes, using the erasure of their view
+ * type, so that subclasses compiled without this processor only need reflection for the properties
+ * they declare themselves.
  */
 @SupportedAnnotationTypes("com.facebook.react.uimanager.annotations.ReactPropertyHolder")
 @SupportedSourceVersion(SourceVersion.RELEASE_7)
@@ -189,8 +193,12 @@ public class ReactPropertyProcessor extends AbstractProcessor {
   }
 
   private ClassInfo parseClass(ClassName className, TypeElement typeElement) {
-    TypeName targetType = getTargetType(typeElement.asType());
-    TypeName viewType = isShadowNodeType(targetType) ? null : targetType;
+    TypeMirror targetType = getTargetType(typeElement.asType());
+    // Generic view types are replaced by their erasure, e.g. View for ViewManager<T extends View>.
+    TypeName viewType =
+        isShadowNodeType(TypeName.get(targetType))
+            ? null
+            : TypeName.get(mTypes.erasure(targetType));
 
     ClassInfo classInfo = new ClassInfo(className, typeElement, viewType);
     findProperties(classInfo, typeElement);
@@ -229,15 +237,15 @@ public class ReactPropertyProcessor extends AbstractProcessor {
     }
   }
 
-  private TypeName getTargetType(TypeMirror mirror) {
+  private TypeMirror getTargetType(TypeMirror mirror) {
     TypeName typeName = TypeName.get(mirror);
     if (typeName instanceof ParameterizedTypeName) {
       ParameterizedTypeName parameterizedTypeName = (ParameterizedTypeName) typeName;
       if (parameterizedTypeName.rawType.equals(VIEW_MANAGER_TYPE)) {
-        return parameterizedTypeName.typeArguments.get(0);
+        return ((DeclaredType) mirror).getTypeArguments().get(0);
       }
     } else if (isShadowNodeType(typeName)) {
-      return SHADOW_NODE_IMPL_TYPE;
+      return mirror;
     } else if (typeName.equals(TypeName.OBJECT)) {
       throw new IllegalArgumentException("Could not find target type " + typeName);
     }
@@ -266,6 +274,10 @@ public class ReactPropertyProcessor extends AbstractProcessor {
         TypeSpec.classBuilder(holderClassName)
             .addSuperinterface(superType)
             .addModifiers(PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "{$S, $S}", "unchecked", "rawtypes")
+                    .build())
             .addMethod(generateSetPropertySpec(classInfo, properties))
             .addMethod(getMethods)
             .build();
@@ -470,9 +482,7 @@ public class ReactPropertyProcessor extends AbstractProcessor {
   }
 
   private static boolean shouldIgnoreClass(ClassInfo classInfo) {
-    return classInfo.mElement.getModifiers().contains(PRIVATE)
-        || classInfo.mElement.getModifiers().contains(ABSTRACT)
-        || classInfo.mViewType instanceof TypeVariableName;
+    return classInfo.mElement.getModifiers().contains(PRIVATE);
   }
 
   private static boolean shouldWarnClass(ClassInfo classInfo) {
@@ -31,6 +31,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 
@@ -45,6 +47,8 @@ class BridgelessReactContext extends ReactApplicationContext implements EventDis
 
   private final ReactHostImpl mReactHost;
   private final AtomicReference<String> mSourceURL = new AtomicReference<>();
+  private final Map<Class<? extends JavaScriptModule>, JavaScriptModule> mJSModules =
+      new ConcurrentHashMap<>();
   private final String TAG = this.getClass().getSimpleName();
 
   BridgelessReactContext(Context context, ReactHostImpl host) {
@@ -132,13 +136,29 @@ class BridgelessReactContext extends ReactApplicationContext implements EventDis
         && mInteropModuleRegistry.shouldReturnInteropModule(jsInterface)) {
       return mInteropModuleRegistry.getInteropModule(jsInterface);
     }
-    JavaScriptModule interfaceProxy =
-        (JavaScriptModule)
-            Proxy.newProxyInstance(
-                jsInterface.getClassLoader(),
-                new Class[] {jsInterface},
-                new BridgelessJSModuleInvocationHandler(mReactHost, jsInterface));
-    return (T) interfaceProxy;
+    JavaScriptModule module = mJSModules.get(jsInterface);
+    if (module == null) {
+      module = createJSModule(jsInterface);
+      JavaScriptModule previousModule = mJSModules.putIfAbsent(jsInterface, module);
+      if (previousModule != null) {
+        module = previousModule;
+      }
+    }
+    return jsInterface.cast(module);
+  }
+
+  private JavaScriptModule createJSModule(Class<? extends JavaScriptModule> jsInterface) {
+    JavaScriptModule generatedModule =
+        JavaScriptModuleRegistry.createGeneratedModule(
+            jsInterface, mReactHost::callFunctionOnModule);
+    if (generatedModule != null) {
+      return generatedModule;
+    }
+    return (JavaScriptModule)
+        Proxy.newProxyInstance(
+            jsInterface.getClassLoader(),
+            new Class[] {jsInterface},
+            new BridgelessJSModuleInvocationHandler(mReactHost, jsInterface));
   }
 
   @Override
@@ -58,6 +58,7 @@ import com.facebook.react.runtime.internal.bolts.Continuation;
 import com.facebook.react.runtime.internal.bolts.Task;
 import com.facebook.react.runtime.internal.bolts.TaskCompletionSource;
 import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.ViewManagerRegistry;
 import com.facebook.react.uimanager.events.BlackHoleEventDispatcher;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.views.imagehelper.ResourceDrawableIdHelper;
@@ -129,6 +130,8 @@ public class ReactHostImpl implements ReactHost {
   private final int mId = mCounter.getAndIncrement();
   private @Nullable JSEngineResolutionAlgorithm mJSEngineResolutionAlgorithm = null;
   private MemoryPressureListener mMemoryPressureListener;
+  // Registry of the ViewManagers of the current instance, which listens to mMemoryPressureRouter
+  private @Nullable ViewManagerRegistry mViewManagerRegistry;
   private @Nullable DefaultHardwareBackBtnHandler mDefaultHardwareBackBtnHandler;
 
   private final Set<Function0<Unit>> mBeforeDestroyListeners =
@@ -943,6 +946,10 @@ public class ReactHostImpl implements ReactHost {
                       mMemoryPressureListener = createMemoryPressureListener(instance);
                     }
                     mMemoryPressureRouter.addMemoryPressureListener(mMemoryPressureListener);
+                    ViewManagerRegistry viewManagerRegistry =
+                        instance.getUIManager().getViewManagerRegistry();
+                    mMemoryPressureRouter.addMemoryPressureListener(viewManagerRegistry);
+                    mViewManagerRegistry = viewManagerRegistry;
 
                     log(method, "Loading JS Bundle");
                     instance.loadJSBundle(bundleLoader);
@@ -1062,6 +1069,10 @@ public class ReactHostImpl implements ReactHost {
                       mMemoryPressureListener = createMemoryPressureListener(instance);
                     }
                     mMemoryPressureRouter.addMemoryPressureListener(mMemoryPressureListener);
+                    ViewManagerRegistry viewManagerRegistry =
+                        instance.getUIManager().getViewManagerRegistry();
+                    mMemoryPressureRouter.addMemoryPressureListener(viewManagerRegistry);
+                    mViewManagerRegistry = viewManagerRegistry;
 
                     log(method, "Loading JS Bundle");
                     instance.loadJSBundle(bundleLoader);
@@ -1353,6 +1364,7 @@ public class ReactHostImpl implements ReactHost {
 
                     log(method, "Removing memory pressure listener");
                     mMemoryPressureRouter.removeMemoryPressureListener(mMemoryPressureListener);
+                    removeViewManagerRegistryMemoryPressureListener();
 
                     final ReactContext reactContext = mBridgelessReactContextRef.getNullable();
                     if (reactContext != null) {
@@ -1622,6 +1634,7 @@ public class ReactHostImpl implements ReactHost {
 
     synchronized (mReactInstanceTaskRef) {
       mMemoryPressureRouter.removeMemoryPressureListener(mMemoryPressureListener);
+      removeViewManagerRegistryMemoryPressureListener();
       oldDestroyReactInstanceAndContext(method, reason);
 
       return callAfterGetOrCreateReactInstance(
@@ -1638,6 +1651,15 @@ public class ReactHostImpl implements ReactHost {
     }
   }
 
+  /** Stops routing memory pressure to the ViewManagers of the current instance. */
+  private void removeViewManagerRegistryMemoryPressureListener() {
+    ViewManagerRegistry viewManagerRegistry = mViewManagerRegistry;
+    if (viewManagerRegistry != null) {
+      mMemoryPressureRouter.removeMemoryPressureListener(viewManagerRegistry);
+      mViewManagerRegistry = null;
+    }
+  }
+
   /** Destroy the specified instance and context. */
   private void oldDestroy(String reason, @Nullable Exception ex) {
     final String method = "oldDestroy()";
@@ -95,6 +95,8 @@ final class ReactInstance {
   private final FabricUIManager mFabricUIManager;
   private final JavaTimerManager mJavaTimerManager;
   private final Map<String, ViewManager> mViewManagers = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Object>> mViewManagerConstants = new ConcurrentHashMap<>();
+  private final @Nullable ViewManagerIndex mViewManagerIndex;
 
   @DoNotStrip @Nullable private ComponentNameResolverManager mComponentNameResolverManager;
   @DoNotStrip @Nullable private UIConstantsProviderManager mUIConstantsProviderManager;
@@ -136,7 +138,7 @@ final class ReactInstance {
     MessageQueueThread nativeModulesMessageQueueThread =
         mQueueConfiguration.getNativeModulesQueueThread();
 
-    ReactChoreographer.initialize();
+    ReactChoreographer.initialize(mBridgelessReactContext);
     if (useDevSupport) {
       devSupportManager.startInspector();
     }
@@ -209,6 +211,18 @@ final class ReactInstance {
             bridgelessReactContext.getDevSupportManager(),
             bridgelessReactContext.getDefaultHardwareBackBtnHandler()));
 
+    if (ReactFeatureFlags.enableViewManagerIndexInBridgelessMode) {
+      List<ReactPackage> eagerPackages = new ArrayList<>();
+      for (ReactPackage reactPackage : mReactPackages) {
+        if (!(reactPackage instanceof ViewManagerOnDemandReactPackage)) {
+          eagerPackages.add(reactPackage);
+        }
+      }
+      mViewManagerIndex = new ViewManagerIndex(mBridgelessReactContext, eagerPackages);
+    } else {
+      mViewManagerIndex = null;
+    }
+
     TurboModuleManagerDelegate turboModuleManagerDelegate =
         mDelegate
             .getTurboModuleManagerDelegateBuilder()
@@ -225,8 +239,12 @@ final class ReactInstance {
             getNativeMethodCallInvokerHolder());
 
     // Eagerly initialize TurboModules
-    for (String moduleName : mTurboModuleManager.getEagerInitModuleNames()) {
-      mTurboModuleManager.getModule(moduleName);
+    if (ReactFeatureFlags.enableParallelEagerModuleInit) {
+      mTurboModuleManager.createEagerInitModulesInParallel();
+    } else {
+      for (String moduleName : mTurboModuleManager.getEagerInitModuleNames()) {
+        mTurboModuleManager.getModule(moduleName);
+      }
     }
 
     Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -246,10 +264,21 @@ final class ReactInstance {
               // 2. genericBubblingEventTypes.
               // 3. genericDirectEventTypes.
               // We want to match this beahavior.
-              (UIConstantsProvider)
-                  () -> {
-                    return getUIManagerConstants();
-                  });
+              new UIConstantsProvider() {
+                @Override
+                public NativeMap getConstants() {
+                  return getUIManagerConstants();
+                }
+
+                @Override
+                public @Nullable NativeMap getConstantsForViewManager(String viewManagerName) {
+                  // Like getConstants(), which leaves out view managers without constants
+                  Map<String, Object> constants = getViewManagerConstants(viewManagerName);
+                  return constants != null && !constants.isEmpty()
+                      ? Arguments.makeNativeMap(constants)
+                      : null;
+                }
+              });
     }
 
     // Set up Fabric
@@ -514,6 +543,14 @@ final class ReactInstance {
       }
     }
 
+    if (mViewManagerIndex != null) {
+      ViewManager viewManager = mViewManagerIndex.createViewManager(viewManagerName);
+      if (viewManager != null) {
+        mViewManagers.put(viewManagerName, viewManager);
+      }
+      return viewManager;
+    }
+
     // Once a view manager is not found in all react packages via lazy loading, fall back to default
     // implementation: eagerly initialize all view managers
     for (ReactPackage reactPackage : packages) {
@@ -546,10 +583,38 @@ final class ReactInstance {
         }
       }
     }
+    if (mViewManagerIndex != null) {
+      uniqueNames.addAll(mViewManagerIndex.getViewManagerNames());
+    }
     return uniqueNames;
   }
 
+  /** Computes the constants of a ViewManager the first time they're needed. */
+  private @Nullable Map<String, Object> getViewManagerConstants(String viewManagerName) {
+    Map<String, Object> constants = mViewManagerConstants.get(viewManagerName);
+    if (constants == null) {
+      ViewManager viewManager = createViewManager(viewManagerName);
+      if (viewManager == null) {
+        return null;
+      }
+      constants = UIManagerModule.createConstantsForViewManager(viewManager);
+      mViewManagerConstants.put(viewManagerName, constants);
+    }
+    return constants;
+  }
+
   private @NonNull NativeMap getUIManagerConstants() {
+    if (mViewManagerIndex != null) {
+      // Only the generic constants and the names of the view managers, so that none of them is
+      // created here. JS reads the constants of each one with getConstantsForViewManager when it's
+      // first used.
+      Map<String, Object> constants =
+          UIManagerModule.createConstants(new ArrayList<>(), new HashMap<>(), new HashMap<>());
+      constants.put("ViewManagerNames", new ArrayList<>(getViewManagerNames()));
+      constants.put("LazyViewManagersEnabled", true);
+      return Arguments.makeNativeMap(constants);
+    }
+
     List<ViewManager> viewManagers = new ArrayList<ViewManager>();
     boolean canLoadViewManagersLazily = true;
 
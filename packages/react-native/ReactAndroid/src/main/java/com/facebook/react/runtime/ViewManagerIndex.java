@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.runtime;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.ReactPackage;
+import com.facebook.react.ReflectiveViewManagersReactPackage;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.uimanager.ViewManager;
+import com.facebook.systrace.Systrace;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Index of the ViewManagers of packages that don't implement {@link
+ * com.facebook.react.ViewManagerOnDemandReactPackage}, by name, so that they can be created one at
+ * a time instead of through {@link ReactPackage#createViewManagers}.
+ *
+ * <p>The index is built the first time it's needed, by creating the ViewManagers of every package
+ * once, and persisted until the app is updated or the list of packages changes. The ViewManagers
+ * of packages that implement {@link ReflectiveViewManagersReactPackage} are then created from their
+ * class, when it has a public constructor without arguments or with a {@link
+ * ReactApplicationContext}. The ViewManagers of other packages, which may configure them, are
+ * created all at once by their package the first time one of them is needed.
+ */
+class ViewManagerIndex {
+  private static final String SHARED_PREFS_NAME = "com.facebook.react.runtime.ViewManagerIndex";
+  private static final String KEY_INDEX = "index";
+  private static final String KEY_FINGERPRINT = "fingerprint";
+  private static final String KEY_VIEW_MANAGERS = "viewManagers";
+  private static final String KEY_NAME = "name";
+  private static final String KEY_PACKAGE = "package";
+  private static final String KEY_CLASS = "class";
+  private static final String KEY_CONSTRUCTOR = "constructor";
+
+  /* package */ static final String CONSTRUCTOR_NONE = "none";
+  /* package */ static final String CONSTRUCTOR_NO_ARGS = "noArgs";
+  /* package */ static final String CONSTRUCTOR_CONTEXT = "context";
+
+  private static class Entry {
+    final String mPackageName;
+    final String mClassName;
+    final String mConstructor;
+
+    Entry(String packageName, String className, String constructor) {
+      mPackageName = packageName;
+      mClassName = className;
+      mConstructor = constructor;
+    }
+  }
+
+  private final ReactApplicationContext mReactContext;
+  private final Map<String, ReactPackage> mPackages = new LinkedHashMap<>();
+
+  @GuardedBy("this")
+  private @Nullable Map<String, Entry> mEntries;
+
+  // ViewManagers that were created while building the index, or with the rest of their package
+  @GuardedBy("this")
+  private final Map<String, ViewManager> mCreatedViewManagers = new HashMap<>();
+
+  /**
+   * @param packages the packages that don't implement {@link
+   *     com.facebook.react.ViewManagerOnDemandReactPackage}.
+   */
+  ViewManagerIndex(ReactApplicationContext reactContext, List<ReactPackage> packages) {
+    mReactContext = reactContext;
+    for (ReactPackage reactPackage : packages) {
+      // Packages of the same class are told apart by their position
+      String packageName = reactPackage.getClass().getName();
+      String packageKey = packageName;
+      for (int i = 1; mPackages.containsKey(packageKey); i++) {
+        packageKey = packageName + "#" + i;
+      }
+      mPackages.put(packageKey, reactPackage);
+    }
+  }
+
+  synchronized Collection<String> getViewManagerNames() {
+    return new ArrayList<>(getEntries().keySet());
+  }
+
+  synchronized @Nullable ViewManager createViewManager(String viewManagerName) {
+    Entry entry = getEntries().get(viewManagerName);
+    if (entry == null) {
+      return null;
+    }
+    ViewManager viewManager = mCreatedViewManagers.remove(viewManagerName);
+    if (viewManager != null) {
+      return viewManager;
+    }
+
+    viewManager = createFromClass(viewManagerName, entry);
+    if (viewManager != null) {
+      return viewManager;
+    }
+
+    ReactPackage reactPackage = mPackages.get(entry.mPackageName);
+    if (reactPackage == null) {
+      return null;
+    }
+    for (ViewManager packageViewManager : reactPackage.createViewManagers(mReactContext)) {
+      mCreatedViewManagers.put(packageViewManager.getName(), packageViewManager);
+    }
+    return mCreatedViewManagers.remove(viewManagerName);
+  }
+
+  private @Nullable ViewManager createFromClass(String viewManagerName, Entry entry) {
+    if (CONSTRUCTOR_NONE.equals(entry.mConstructor)) {
+      return null;
+    }
+    try {
+      Class<?> viewManagerClass = Class.forName(entry.mClassName);
+      ViewManager viewManager =
+          CONSTRUCTOR_CONTEXT.equals(entry.mConstructor)
+              ? (ViewManager)
+                  viewManagerClass
+                      .getConstructor(ReactApplicationContext.class)
+                      .newInstance(mReactContext)
+              : (ViewManager) viewManagerClass.getConstructor().newInstance();
+      if (viewManagerName.equals(viewManager.getName())) {
+        return viewManager;
+      }
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      FLog.w(ReactConstants.TAG, "Unable to create ViewManager " + viewManagerName, e);
+    }
+    return null;
+  }
+
+  @GuardedBy("this")
+  private Map<String, Entry> getEntries() {
+    if (mEntries == null) {
+      String fingerprint = getFingerprint();
+      SharedPreferences prefs =
+          mReactContext.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE);
+      mEntries = readEntries(prefs.getString(KEY_INDEX, null), fingerprint);
+      if (mEntries == null) {
+        mEntries = buildEntries();
+        String index = writeEntries(mEntries, fingerprint);
+        if (index != null) {
+          prefs.edit().putString(KEY_INDEX, index).apply();
+        }
+      }
+    }
+    return mEntries;
+  }
+
+  @GuardedBy("this")
+  private Map<String, Entry> buildEntries() {
+    Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "ViewManagerIndex.buildEntries");
+    try {
+      Map<String, Entry> entries = new LinkedHashMap<>();
+      for (Map.Entry<String, ReactPackage> reactPackage : mPackages.entrySet()) {
+        for (ViewManager viewManager :
+            reactPackage.getValue().createViewManagers(mReactContext)) {
+          String viewManagerName = viewManager.getName();
+          entries.put(
+              viewManagerName,
+              new Entry(
+                  reactPackage.getKey(),
+                  viewManager.getClass().getName(),
+                  reactPackage.getValue() instanceof ReflectiveViewManagersReactPackage
+                      ? getConstructor(viewManager.getClass())
+                      : CONSTRUCTOR_NONE));
+          mCreatedViewManagers.put(viewManagerName, viewManager);
+        }
+      }
+      return entries;
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /* package */ static String getConstructor(Class<?> viewManagerClass) {
+    int modifiers = viewManagerClass.getModifiers();
+    if (!Modifier.isPublic(modifiers)
+        || Modifier.isAbstract(modifiers)
+        || viewManagerClass.isAnonymousClass()
+        || (viewManagerClass.isMemberClass() && !Modifier.isStatic(modifiers))) {
+      return CONSTRUCTOR_NONE;
+    }
+    try {
+      viewManagerClass.getConstructor();
+      return CONSTRUCTOR_NO_ARGS;
+    } catch (NoSuchMethodException e) {
+      // Try the next constructor
+    }
+    try {
+      viewManagerClass.getConstructor(ReactApplicationContext.class);
+      return CONSTRUCTOR_CONTEXT;
+    } catch (NoSuchMethodException e) {
+      return CONSTRUCTOR_NONE;
+    }
+  }
+
+  /**
+   * Identifies the code that built the index: the index is rebuilt when the app is updated or its
+   * packages change.
+   */
+  private String getFingerprint() {
+    StringBuilder fingerprint = new StringBuilder();
+    try {
+      fingerprint.append(
+          mReactContext
+              .getPackageManager()
+              .getPackageInfo(mReactContext.getPackageName(), 0)
+              .lastUpdateTime);
+    } catch (PackageManager.NameNotFoundException e) {
+      fingerprint.append(0);
+    }
+    for (String packageName : mPackages.keySet()) {
+      fingerprint.append(',').append(packageName);
+    }
+    return fingerprint.toString();
+  }
+
+  private static @Nullable Map<String, Entry> readEntries(
+      @Nullable String index, String fingerprint) {
+    if (index == null) {
+      return null;
+    }
+    try {
+      JSONObject json = new JSONObject(index);
+      if (!fingerprint.equals(json.getString(KEY_FINGERPRINT))) {
+        return null;
+      }
+      JSONArray viewManagers = json.getJSONArray(KEY_VIEW_MANAGERS);
+      Map<String, Entry> entries = new LinkedHashMap<>();
+      for (int i = 0; i < viewManagers.length(); i++) {
+        JSONObject viewManager = viewManagers.getJSONObject(i);
+        entries.put(
+            viewManager.getString(KEY_NAME),
+            new Entry(
+                viewManager.getString(KEY_PACKAGE),
+                viewManager.getString(KEY_CLASS),
+                viewManager.getString(KEY_CONSTRUCTOR)));
+      }
+      return entries;
+    } catch (JSONException e) {
+      FLog.w(ReactConstants.TAG, "Unable to read the ViewManager index", e);
+      return null;
+    }
+  }
+
+  private static @Nullable String writeEntries(Map<String, Entry> entries, String fingerprint) {
+    try {
+      JSONArray viewManagers = new JSONArray();
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        viewManagers.put(
+            new JSONObject()
+                .put(KEY_NAME, entry.getKey())
+                .put(KEY_PACKAGE, entry.getValue().mPackageName)
+                .put(KEY_CLASS, entry.getValue().mClassName)
+                .put(KEY_CONSTRUCTOR, entry.getValue().mConstructor));
+      }
+      return new JSONObject()
+          .put(KEY_FINGERPRINT, fingerprint)
+          .put(KEY_VIEW_MANAGERS, viewManagers)
+          .toString();
+    } catch (JSONException e) {
+      FLog.w(ReactConstants.TAG, "Unable to write the ViewManager index", e);
+      return null;
+    }
+  }
+}
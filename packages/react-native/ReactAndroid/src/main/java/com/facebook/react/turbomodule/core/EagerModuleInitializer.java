@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.turbomodule.core;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.ReactSoftExceptionLogger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates eager init modules on an executor, in parallel when they don't depend on each other.
+ *
+ * <p>A module is only scheduled once the eager modules it depends on are created, so that it
+ * doesn't hold an executor thread while waiting for them. Modules in or behind a dependency cycle
+ * are scheduled right away, as if they had no dependencies. A module that fails to be created is
+ * reported to {@link ReactSoftExceptionLogger}, and its dependents are created anyway.
+ */
+class EagerModuleInitializer {
+  private static final String TAG = "EagerModuleInitializer";
+  private static final long KEEP_ALIVE_SECONDS = 10;
+
+  private static @Nullable Executor sDefaultExecutor;
+
+  interface ModuleCreator {
+    void createModule(String moduleName);
+  }
+
+  private final Executor mExecutor;
+  private final ModuleCreator mModuleCreator;
+
+  // All guarded by this
+  private final Map<String, Integer> mPendingDependencyCounts = new HashMap<>();
+  private final Map<String, List<String>> mDependents = new HashMap<>();
+
+  EagerModuleInitializer(Executor executor, ModuleCreator moduleCreator) {
+    mExecutor = executor;
+    mModuleCreator = moduleCreator;
+  }
+
+  /**
+   * Schedules the creation of {@code moduleNames}, and returns without waiting for it.
+   * Dependencies on modules that aren't in {@code moduleNames} are ignored.
+   */
+  void start(
+      Collection<String> moduleNames, Map<String, ? extends Collection<String>> dependencies) {
+    Set<String> modules = new LinkedHashSet<>(moduleNames);
+    List<String> readyModules = new ArrayList<>();
+    synchronized (this) {
+      for (String moduleName : modules) {
+        Collection<String> moduleDependencies = dependencies.get(moduleName);
+        int pendingCount = 0;
+        if (moduleDependencies != null) {
+          for (String dependency : new LinkedHashSet<>(moduleDependencies)) {
+            if (modules.contains(dependency) && !dependency.equals(moduleName)) {
+              getDependents(dependency).add(moduleName);
+              pendingCount++;
+            }
+          }
+        }
+        mPendingDependencyCounts.put(moduleName, pendingCount);
+      }
+      for (String moduleName : findReadyModules(modules)) {
+        readyModules.add(moduleName);
+        mPendingDependencyCounts.remove(moduleName);
+      }
+    }
+    for (String moduleName : readyModules) {
+      schedule(moduleName);
+    }
+  }
+
+  /**
+   * Returns the modules without pending dependencies, and the ones that would never get there
+   * because they're in or behind a dependency cycle.
+   */
+  @GuardedBy("this")
+  private List<String> findReadyModules(Set<String> modules) {
+    List<String> readyModules = new ArrayList<>();
+    Map<String, Integer> pendingCounts = new HashMap<>(mPendingDependencyCounts);
+    List<String> sortedModules = new ArrayList<>();
+    for (String moduleName : modules) {
+      if (pendingCounts.get(moduleName) == 0) {
+        readyModules.add(moduleName);
+        sortedModules.add(moduleName);
+      }
+    }
+    for (int i = 0; i < sortedModules.size(); i++) {
+      for (String dependent : getDependents(sortedModules.get(i))) {
+        int pendingCount = pendingCounts.get(dependent) - 1;
+        pendingCounts.put(dependent, pendingCount);
+        if (pendingCount == 0) {
+          sortedModules.add(dependent);
+        }
+      }
+    }
+    if (sortedModules.size() < modules.size()) {
+      for (String moduleName : modules) {
+        if (pendingCounts.get(moduleName) > 0) {
+          FLog.w(TAG, "Module \"" + moduleName + "\" is in or behind a dependency cycle");
+          readyModules.add(moduleName);
+        }
+      }
+    }
+    return readyModules;
+  }
+
+  @GuardedBy("this")
+  private List<String> getDependents(String moduleName) {
+    List<String> dependents = mDependents.get(moduleName);
+    if (dependents == null) {
+      dependents = new ArrayList<>();
+      mDependents.put(moduleName, dependents);
+    }
+    return dependents;
+  }
+
+  private void schedule(final String moduleName) {
+    mExecutor.execute(
+        () -> {
+          try {
+            mModuleCreator.createModule(moduleName);
+          } catch (Throwable e) {
+            // Nothing would catch it on an executor thread, and the module can still be created
+            // without its eager initialization
+            ReactSoftExceptionLogger.logSoftException(
+                TAG,
+                new IllegalStateException(
+                    "Unable to create eager init module \"" + moduleName + "\"", e));
+          } finally {
+            onModuleCreated(moduleName);
+          }
+        });
+  }
+
+  private void onModuleCreated(String moduleName) {
+    List<String> readyModules = new ArrayList<>();
+    synchronized (this) {
+      List<String> dependents = mDependents.remove(moduleName);
+      if (dependents == null) {
+        return;
+      }
+      for (String dependent : dependents) {
+        Integer pendingCount = mPendingDependencyCounts.get(dependent);
+        if (pendingCount == null) {
+          // Already scheduled because of a cycle
+          continue;
+        }
+        if (pendingCount == 1) {
+          mPendingDependencyCounts.remove(dependent);
+          readyModules.add(dependent);
+        } else {
+          mPendingDependencyCounts.put(dependent, pendingCount - 1);
+        }
+      }
+    }
+    for (String readyModule : readyModules) {
+      schedule(readyModule);
+    }
+  }
+
+  /** Returns a shared executor, with a few threads that stop when idle. */
+  static synchronized Executor getDefaultExecutor() {
+    if (sDefaultExecutor == null) {
+      int threadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+      final AtomicInteger threadIndex = new AtomicInteger();
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              threadCount,
+              threadCount,
+              KEEP_ALIVE_SECONDS,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              runnable ->
+                  new Thread(runnable, "eager_module_init_" + threadIndex.incrementAndGet()));
+      executor.allowCoreThreadTimeOut(true);
+      sDefaultExecutor = executor;
+    }
+    return sDefaultExecutor;
+  }
+}
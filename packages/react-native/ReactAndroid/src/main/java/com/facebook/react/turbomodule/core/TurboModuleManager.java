@@ -17,6 +17,8 @@ import com.facebook.proguard.annotations.DoNotStrip;
 import com.facebook.react.bridge.CxxModuleWrapper;
 import com.facebook.react.bridge.JSIModule;
 import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactMarker;
+import com.facebook.react.bridge.ReactMarkerConstants;
 import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.RuntimeExecutor;
@@ -27,8 +29,12 @@ import com.facebook.react.turbomodule.core.interfaces.TurboModuleRegistry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * This is the main class and entry point for TurboModules. Note that this is a hybrid class, and
@@ -59,6 +65,12 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
   @SuppressWarnings("unused")
   private final HybridData mHybridData;
 
+  // Name of the module being created on the current thread, to infer dependencies between modules
+  private static final ThreadLocal<String> sCreatingModuleName = new ThreadLocal<>();
+
+  // Modules requested by each module while it was created, by any instance in this process
+  private static final Map<String, Set<String>> sObservedDependencies = new ConcurrentHashMap<>();
+
   public TurboModuleManager(
       RuntimeExecutor runtimeExecutor,
       @Nullable final TurboModuleManagerDelegate delegate,
@@ -122,6 +134,48 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
     return mEagerInitModuleNames;
   }
 
+  /**
+   * Creates the eager init modules on background threads and returns without waiting for them, so
+   * that they're created while the JS bundle loads. Modules that don't depend on each other are
+   * created in parallel.
+   *
+   * <p>Dependencies come from {@link
+   * TurboModuleManagerDelegate#getEagerInitModuleDependencies}, and
+   * from the modules a module requested while it was created before in this process. Modules are
+   * still ready before their first use: {@link #getModule} waits for a module being created, and
+   * creates it on the calling thread if it hasn't been scheduled yet.
+   */
+  public void createEagerInitModulesInParallel() {
+    createEagerInitModulesInParallel(EagerModuleInitializer.getDefaultExecutor());
+  }
+
+  /* package */ void createEagerInitModulesInParallel(Executor executor) {
+    Map<String, Set<String>> dependencies = new HashMap<>();
+    for (String moduleName : mEagerInitModuleNames) {
+      Set<String> moduleDependencies = new HashSet<>();
+      if (mDelegate != null) {
+        moduleDependencies.addAll(mDelegate.getEagerInitModuleDependencies(moduleName));
+      }
+      Set<String> observedDependencies = sObservedDependencies.get(moduleName);
+      if (observedDependencies != null) {
+        moduleDependencies.addAll(observedDependencies);
+      }
+      dependencies.put(moduleName, moduleDependencies);
+    }
+
+    new EagerModuleInitializer(
+            executor,
+            moduleName -> {
+              synchronized (mModuleCleanupLock) {
+                if (mModuleCleanupStarted) {
+                  return;
+                }
+              }
+              getModule(moduleName);
+            })
+        .start(mEagerInitModuleNames, dependencies);
+  }
+
   // used from TurboModuleManager.cpp
   @SuppressWarnings("unused")
   @DoNotStrip
@@ -232,6 +286,16 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
    */
   @Nullable
   public NativeModule getModule(String moduleName) {
+    String creatingModuleName = sCreatingModuleName.get();
+    if (creatingModuleName != null && !creatingModuleName.equals(moduleName)) {
+      Set<String> dependencies = sObservedDependencies.get(creatingModuleName);
+      if (dependencies == null) {
+        dependencies = ConcurrentHashMap.newKeySet();
+        sObservedDependencies.put(creatingModuleName, dependencies);
+      }
+      dependencies.add(moduleName);
+    }
+
     ModuleHolder moduleHolder;
 
     synchronized (mModuleCleanupLock) {
@@ -301,8 +365,50 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
     }
 
     if (shouldCreateModule) {
+      ReactMarker.logMarker(
+          ReactMarkerConstants.CREATE_MODULE_START, moduleName, moduleHolder.getModuleId());
+      String previousCreatingModuleName = sCreatingModuleName.get();
+      sCreatingModuleName.set(moduleName);
+      try {
+        return createModule(moduleName, moduleHolder);
+      } finally {
+        sCreatingModuleName.set(previousCreatingModuleName);
+        ReactMarker.logMarker(
+            ReactMarkerConstants.CREATE_MODULE_END, moduleName, moduleHolder.getModuleId());
+      }
+    }
+
+    synchronized (moduleHolder) {
+      boolean wasInterrupted = false;
+      while (moduleHolder.isCreatingModule()) {
+        try {
+          // Wait until TurboModule is created and initialized
+          moduleHolder.wait();
+        } catch (InterruptedException e) {
+          wasInterrupted = true;
+        }
+      }
+
+      if (wasInterrupted) {
+        /*
+         * TurboModules should ideally be quick to create and initialize. Therefore,
+         * we wait until the TurboModule is done initializing before re-interrupting the
+         * current thread.
+         */
+        Thread.currentThread().interrupt();
+      }
+
+      return moduleHolder.getModule();
+    }
+  }
+
+  @Nullable
+  private NativeModule createModule(String moduleName, ModuleHolder moduleHolder) {
+    NativeModule nativeModule = null;
+    boolean isInitialized = false;
+    try {
       TurboModulePerfLogger.moduleCreateConstructStart(moduleName, moduleHolder.getModuleId());
-      NativeModule nativeModule = mTurboModuleProvider.getModule(moduleName);
+      nativeModule = mTurboModuleProvider.getModule(moduleName);
 
       if (nativeModule == null) {
         nativeModule = mLegacyModuleProvider.getModule(moduleName);
@@ -332,38 +438,25 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
                 + isTurboModule(moduleName)
                 + ".");
       }
+      isInitialized = true;
 
       TurboModulePerfLogger.moduleCreateSetUpEnd(moduleName, moduleHolder.getModuleId());
+    } finally {
+      /*
+       * Threads waiting on this module must be woken up even if its constructor or initialize()
+       * throws. They then get null, as for a module that doesn't exist, rather than a module that
+       * isn't initialized.
+       */
       synchronized (moduleHolder) {
+        if (!isInitialized) {
+          moduleHolder.setModule(null);
+        }
         moduleHolder.endCreatingModule();
         moduleHolder.notifyAll();
       }
-
-      return nativeModule;
     }
 
-    synchronized (moduleHolder) {
-      boolean wasInterrupted = false;
-      while (moduleHolder.isCreatingModule()) {
-        try {
-          // Wait until TurboModule is created and initialized
-          moduleHolder.wait();
-        } catch (InterruptedException e) {
-          wasInterrupted = true;
-        }
-      }
-
-      if (wasInterrupted) {
-        /*
-         * TurboModules should ideally be quick to create and initialize. Therefore,
-         * we wait until the TurboModule is done initializing before re-interrupting the
-         * current thread.
-         */
-        Thread.currentThread().interrupt();
-      }
-
-      return moduleHolder.getModule();
-    }
+    return nativeModule;
   }
 
   /** Which NativeModules have been created? */
@@ -475,7 +568,7 @@ public class TurboModuleManager implements JSIModule, TurboModuleRegistry {
       return mModuleId;
     }
 
-    void setModule(@NonNull NativeModule module) {
+    void setModule(@Nullable NativeModule module) {
       mModule = module;
     }
 
@@ -57,6 +57,14 @@ public abstract class TurboModuleManagerDelegate {
     return new ArrayList<>();
   }
 
+  /**
+   * Which eager init modules does the eager init module `moduleName` use while it's created? They're
+   * created before it when eager init modules are created in parallel.
+   */
+  public List<String> getEagerInitModuleDependencies(String moduleName) {
+    return new ArrayList<>();
+  }
+
   /** Can the TurboModule system create legacy modules? */
   public boolean unstable_shouldEnableLegacyModuleInterop() {
     return false;
@@ -498,14 +498,23 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
       return;
     }
 
-    sMatrixDecompositionContext.reset();
     TransformHelper.processTransform(
         transforms,
         sTransformDecompositionArray,
         PixelUtil.toDIPFromPixel(view.getWidth()),
         PixelUtil.toDIPFromPixel(view.getHeight()),
         transformOrigin);
-    MatrixMathHelper.decomposeMatrix(sTransformDecompositionArray, sMatrixDecompositionContext);
+    applyTransformMatrix(view, sTransformDecompositionArray);
+  }
+
+  /**
+   * Sets the translation, rotation, scale and camera distance of {@code view} from a 4x4 transform
+   * matrix, such as the ones computed by {@link TransformHelper#processTransform}. Must be called
+   * on the UI thread.
+   */
+  public static void applyTransformMatrix(@NonNull View view, double[] transformMatrix) {
+    sMatrixDecompositionContext.reset();
+    MatrixMathHelper.decomposeMatrix(transformMatrix, sMatrixDecompositionContext);
     view.setTranslationX(
         PixelUtil.toPixelFromDIP(
             sanitizeFloatPropertyValue((float) sMatrixDecompositionContext.translation[0])));
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.content.ComponentCallbacks2;
+import android.util.SparseArray;
+import android.view.View;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import java.util.ArrayDeque;
+
+/**
+ * Bounded, per-surface pool of recyclable Views for a single {@link ViewManager}. Since there is
+ * one ViewManager per component name, this is effectively a pool keyed by surface and component.
+ *
+ * <p>All methods must be called on the UI thread, except the statistics getters which may be read
+ * from any thread (values may be slightly stale).
+ */
+public class RecyclableViewPool<T extends View> {
+
+  private final int mMaxSizePerSurface;
+  private final SparseArray<ArrayDeque<T>> mViewsBySurface = new SparseArray<>();
+
+  private volatile long mHitCount = 0;
+  private volatile long mMissCount = 0;
+  private volatile long mEvictionCount = 0;
+  private volatile long mCreationTimeNs = 0;
+
+  public RecyclableViewPool(int maxSizePerSurface) {
+    mMaxSizePerSurface = maxSizePerSurface;
+  }
+
+  /** Returns a previously released View for {@code surfaceId}, or null if there is none. */
+  @UiThread
+  public @Nullable T acquire(int surfaceId) {
+    ArrayDeque<T> views = mViewsBySurface.get(surfaceId);
+    T view = views != null ? views.pollLast() : null;
+    if (view != null) {
+      mHitCount++;
+    } else {
+      mMissCount++;
+    }
+    return view;
+  }
+
+  /**
+   * Records how long it took to create a View after a miss, used to estimate creation time saved by
+   * hits.
+   */
+  @UiThread
+  public void recordCreationTime(long durationNs) {
+    mCreationTimeNs += durationNs;
+  }
+
+  /**
+   * Returns {@code view} to the pool. Returns false, and drops the View, if the pool for this
+   * surface is full.
+   */
+  @UiThread
+  public boolean release(int surfaceId, T view) {
+    ArrayDeque<T> views = mViewsBySurface.get(surfaceId);
+    if (views == null) {
+      views = new ArrayDeque<>();
+      mViewsBySurface.put(surfaceId, views);
+    }
+    if (views.size() >= mMaxSizePerSurface) {
+      mEvictionCount++;
+      return false;
+    }
+    views.addLast(view);
+    return true;
+  }
+
+  @UiThread
+  public void onSurfaceStopped(int surfaceId) {
+    ArrayDeque<T> views = mViewsBySurface.get(surfaceId);
+    if (views != null) {
+      mEvictionCount += views.size();
+      mViewsBySurface.remove(surfaceId);
+    }
+  }
+
+  /**
+   * Evicts pooled Views according to a {@link ComponentCallbacks2} trim level. While the app is in
+   * the foreground and memory is only getting low, up to half of each surface's pool capacity is
+   * kept since those Views are likely to be reused soon; any other level empties the pool. Trimming
+   * twice at the same level evicts nothing more.
+   */
+  @UiThread
+  public void trimMemory(int level) {
+    boolean keepHalf =
+        level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE
+            || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+    int maxKept = keepHalf ? mMaxSizePerSurface / 2 : 0;
+    for (int i = 0; i < mViewsBySurface.size(); i++) {
+      ArrayDeque<T> views = mViewsBySurface.valueAt(i);
+      int toEvict = Math.max(0, views.size() - maxKept);
+      for (int j = 0; j < toEvict; j++) {
+        // Evict the least recently released Views first.
+        views.pollFirst();
+      }
+      mEvictionCount += toEvict;
+    }
+  }
+
+  public long getHitCount() {
+    return mHitCount;
+  }
+
+  public long getMissCount() {
+    return mMissCount;
+  }
+
+  public long getEvictionCount() {
+    return mEvictionCount;
+  }
+
+  /** Ratio of acquisitions served from the pool, between 0 and 1. */
+  public double getHitRate() {
+    long hits = mHitCount;
+    long total = hits + mMissCount;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Estimated time saved by recycling, computed as the number of hits times the average time it
+   * took to create a View on a miss.
+   */
+  public long getEstimatedCreationTimeSavedNs() {
+    long misses = mMissCount;
+    return misses == 0 ? 0 : mHitCount * (mCreationTimeNs / misses);
+  }
+}
@@ -7,6 +7,7 @@
 
 package com.facebook.react.uimanager;
 
+import androidx.annotation.Nullable;
 import com.facebook.proguard.annotations.DoNotStripAny;
 import com.facebook.react.bridge.NativeMap;
 
@@ -15,4 +16,9 @@ public interface UIConstantsProvider {
 
   /* Returns UIManager's constants. */
   NativeMap getConstants();
+
+  /* Returns the constants of a single ViewManager, or null if there's no such ViewManager. */
+  default @Nullable NativeMap getConstantsForViewManager(String viewManagerName) {
+    return null;
+  }
 }
@@ -246,6 +246,24 @@ public class UIManagerModule extends ReactContextBaseJavaModule
     }
   }
 
+  /**
+   * Returns the constants of a single ViewManager, as {@link #createConstants(List, Map, Map)}
+   * would include them under its name, without the generic event types.
+   */
+  public static Map<String, Object> createConstantsForViewManager(ViewManager viewManager) {
+    SystraceMessage.beginSection(
+            Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "UIManagerModule.createConstantsForViewManager")
+        .arg("ViewManager", viewManager.getName())
+        .arg("Lazy", true)
+        .flush();
+    try {
+      return UIManagerModuleConstantsHelper.createConstantsForViewManager(
+          viewManager, null, null, null, null);
+    } finally {
+      SystraceMessage.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE).flush();
+    }
+  }
+
   @ReactMethod(isBlockingSynchronousMethod = true)
   public @Nullable WritableMap getConstantsForViewManager(@Nullable String viewManagerName) {
     ViewManager targetView =
@@ -24,9 +24,7 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.annotations.ReactPropGroup;
 import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 import com.facebook.yoga.YogaMeasureMode;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
 
 /**
  * Class responsible for knowing how to create and update catalyst Views of a given type. It is also
@@ -39,28 +37,37 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
 
   private static final String NAME = ViewManager.class.getSimpleName();
 
+  private static final int DEFAULT_MAX_RECYCLABLE_VIEWS_PER_SURFACE = 256;
+
   /**
-   * For View recycling: we store a Stack of unused, dead Views. This is null by default, and when
-   * null signals that View Recycling is disabled. `enableViewRecycling` must be explicitly called
-   * in a concrete constructor to enable View Recycling per ViewManager.
+   * For View recycling: we store a bounded pool of unused, dead Views per surface. This is null by
+   * default, and when null signals that View Recycling is disabled. `setupViewRecycling` must be
+   * explicitly called in a concrete constructor to enable View Recycling per ViewManager.
    */
-  @Nullable private HashMap<Integer, Stack<T>> mRecyclableViews = null;
+  @Nullable private RecyclableViewPool<T> mRecyclableViews = null;
 
-  /** Call in constructor of concrete ViewManager class to enable. */
+  /**
+   * Call in constructor of concrete ViewManager class to enable. ViewManagers that opt in must
+   * override {@link #prepareToRecycleView} to reset every prop they set back to its default value,
+   * since recycled Views only receive the props that differ from those defaults.
+   */
   protected void setupViewRecycling() {
     if (ReactFeatureFlags.enableViewRecycling) {
-      mRecyclableViews = new HashMap<>();
+      mRecyclableViews = new RecyclableViewPool<>(getMaxRecyclableViewsPerSurface());
     }
   }
 
-  private @Nullable Stack<T> getRecyclableViewStack(int surfaceId) {
-    if (mRecyclableViews == null) {
-      return null;
-    }
-    if (!mRecyclableViews.containsKey(surfaceId)) {
-      mRecyclableViews.put(surfaceId, new Stack<T>());
-    }
-    return mRecyclableViews.get(surfaceId);
+  /**
+   * Maximum number of recyclable Views kept for each surface. Views dropped while the pool is full
+   * are left to the garbage collector.
+   */
+  protected int getMaxRecyclableViewsPerSurface() {
+    return DEFAULT_MAX_RECYCLABLE_VIEWS_PER_SURFACE;
+  }
+
+  /** @return the recycling pool, with its hit/miss counters, or null if recycling is disabled. */
+  public @Nullable RecyclableViewPool<T> getRecyclableViewPool() {
+    return mRecyclableViews;
   }
 
   /**
@@ -169,9 +176,16 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
       @Nullable ReactStylesDiffMap initialProps,
       @Nullable StateWrapper stateWrapper) {
     T view = null;
-    @Nullable Stack<T> recyclableViews = getRecyclableViewStack(reactContext.getSurfaceId());
-    if (recyclableViews != null && !recyclableViews.empty()) {
-      view = recycleView(reactContext, recyclableViews.pop());
+    @Nullable RecyclableViewPool<T> recyclableViews = mRecyclableViews;
+    @Nullable
+    T recyclableView =
+        recyclableViews != null ? recyclableViews.acquire(reactContext.getSurfaceId()) : null;
+    if (recyclableView != null) {
+      view = recycleView(reactContext, recyclableView);
+    } else if (recyclableViews != null) {
+      long creationStartNs = System.nanoTime();
+      view = createViewInstance(reactContext);
+      recyclableViews.recordCreationTime(System.nanoTime() - creationStartNs);
     } else {
       view = createViewInstance(reactContext);
     }
@@ -216,9 +230,9 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
     // View recycling
     ThemedReactContext themedReactContext = (ThemedReactContext) viewContext;
     int surfaceId = themedReactContext.getSurfaceId();
-    @Nullable Stack<T> recyclableViews = getRecyclableViewStack(surfaceId);
+    @Nullable RecyclableViewPool<T> recyclableViews = mRecyclableViews;
     if (recyclableViews != null) {
-      recyclableViews.push(prepareToRecycleView(themedReactContext, view));
+      recyclableViews.release(surfaceId, prepareToRecycleView(themedReactContext, view));
     }
   }
 
@@ -458,16 +472,19 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode>
    */
   public void onSurfaceStopped(int surfaceId) {
     if (mRecyclableViews != null) {
-      mRecyclableViews.remove(surfaceId);
+      mRecyclableViews.onSurfaceStopped(surfaceId);
     }
   }
 
-  /** With even slight memory pressure, we immediately evict all recyclable Views. */
-  /* package */ void trimMemory() {
-    // Wipe out all existing recyclable Views, but do not disable View Recycling entirely.
+  /**
+   * Evicts recyclable Views under memory pressure. See {@link RecyclableViewPool#trimMemory} for
+   * how much is evicted at each level.
+   */
+  /* package */ void trimMemory(int level) {
+    // Evict existing recyclable Views, but do not disable View Recycling entirely.
     // We only take any action if View Recycling is already enabled.
     if (mRecyclableViews != null) {
-      mRecyclableViews = new HashMap<>();
+      mRecyclableViews.trimMemory(level);
     }
   }
 }
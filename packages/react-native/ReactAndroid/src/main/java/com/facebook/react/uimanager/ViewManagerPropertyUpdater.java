@@ -8,7 +8,10 @@
 package com.facebook.react.uimanager;
 
 import android.view.View;
+import androidx.annotation.Nullable;
 import com.facebook.common.logging.FLog;
+import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.react.config.ReactFeatureFlags;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -83,7 +86,7 @@ public class ViewManagerPropertyUpdater {
     if (setter == null) {
       setter = findGeneratedSetter(managerClass);
       if (setter == null) {
-        setter = new FallbackViewManagerSetter<>(managerClass);
+        setter = createFallbackManagerSetter(managerClass);
       }
       VIEW_MANAGER_SETTER_MAP.put(managerClass, setter);
     }
@@ -98,7 +101,7 @@ public class ViewManagerPropertyUpdater {
     if (setter == null) {
       setter = findGeneratedSetter(nodeClass);
       if (setter == null) {
-        setter = new FallbackShadowNodeSetter<>(nodeClass);
+        setter = createFallbackNodeSetter(nodeClass);
       }
       SHADOW_NODE_SETTER_MAP.put(nodeClass, setter);
     }
@@ -106,14 +109,80 @@ public class ViewManagerPropertyUpdater {
     return setter;
   }
 
-  private static <T> T findGeneratedSetter(Class<?> cls) {
+  /**
+   * Creates a setter for a ViewManager class without a generated setter. The generated setter of
+   * the closest parent class is reused when there is one, so that reflection is only needed for
+   * the props declared by the classes in between, usually a single app or library class.
+   */
+  private static <T extends ViewManager, V extends View>
+      ViewManagerSetter<T, V> createFallbackManagerSetter(
+          Class<? extends ViewManager> managerClass) {
+    for (Class<?> cls = managerClass.getSuperclass();
+        cls != null && ViewManager.class.isAssignableFrom(cls);
+        cls = cls.getSuperclass()) {
+      ViewManagerSetter<T, V> parentSetter = findGeneratedSetter(cls);
+      if (parentSetter != null) {
+        Map<String, ViewManagersPropertyCache.PropSetter> propSetters =
+            ViewManagersPropertyCache.getDeclaredPropSettersForViewManagerClass(managerClass, cls);
+        if (propSetters.isEmpty()) {
+          return parentSetter;
+        }
+        onReflectionFallback(managerClass, propSetters);
+        return new FallbackViewManagerSetter<>(propSetters, parentSetter);
+      }
+    }
+    Map<String, ViewManagersPropertyCache.PropSetter> propSetters =
+        ViewManagersPropertyCache.getNativePropSettersForViewManagerClass(managerClass);
+    onReflectionFallback(managerClass, propSetters);
+    return new FallbackViewManagerSetter<>(propSetters, null);
+  }
+
+  /** Same as {@link #createFallbackManagerSetter}, for shadow nodes. */
+  private static <T extends ReactShadowNode> ShadowNodeSetter<T> createFallbackNodeSetter(
+      Class<? extends ReactShadowNode> nodeClass) {
+    for (Class<?> cls = nodeClass.getSuperclass();
+        cls != null && ReactShadowNode.class.isAssignableFrom(cls);
+        cls = cls.getSuperclass()) {
+      ShadowNodeSetter<T> parentSetter = findGeneratedSetter(cls);
+      if (parentSetter != null) {
+        Map<String, ViewManagersPropertyCache.PropSetter> propSetters =
+            ViewManagersPropertyCache.getDeclaredPropSettersForShadowNodeClass(nodeClass, cls);
+        if (propSetters.isEmpty()) {
+          return parentSetter;
+        }
+        onReflectionFallback(nodeClass, propSetters);
+        return new FallbackShadowNodeSetter<>(propSetters, parentSetter);
+      }
+    }
+    Map<String, ViewManagersPropertyCache.PropSetter> propSetters =
+        ViewManagersPropertyCache.getNativePropSettersForShadowNodeClass(nodeClass);
+    onReflectionFallback(nodeClass, propSetters);
+    return new FallbackShadowNodeSetter<>(propSetters, null);
+  }
+
+  private static void onReflectionFallback(
+      Class<?> cls, Map<String, ViewManagersPropertyCache.PropSetter> propSetters) {
+    if (propSetters.isEmpty()) {
+      return;
+    }
+    String message =
+        "Could not find generated setter for "
+            + cls
+            + ", updating these props through reflection: "
+            + propSetters.keySet();
+    if (ReactBuildConfig.DEBUG && ReactFeatureFlags.enforceGeneratedPropSetters) {
+      throw new IllegalStateException(message);
+    }
+    FLog.w(TAG, message);
+  }
+
+  private static @Nullable <T> T findGeneratedSetter(Class<?> cls) {
     String clsName = cls.getName();
     try {
       Class<?> setterClass = Class.forName(clsName + "$$PropsSetter");
       //noinspection unchecked
       return (T) setterClass.newInstance();
     } catch (ClassNotFoundException e) {
-      FLog.w(TAG, "Could not find generated setter for " + cls);
       return null;
     } catch (InstantiationException | IllegalAccessException e) {
       throw new RuntimeException("Unable to instantiate methods getter for " + clsName, e);
@@ -123,10 +192,13 @@ public class ViewManagerPropertyUpdater {
   private static class FallbackViewManagerSetter<T extends ViewManager, V extends View>
       implements ViewManagerSetter<T, V> {
     private final Map<String, ViewManagersPropertyCache.PropSetter> mPropSetters;
+    private final @Nullable ViewManagerSetter<T, V> mParentSetter;
 
-    private FallbackViewManagerSetter(Class<? extends ViewManager> viewManagerClass) {
-      mPropSetters =
-          ViewManagersPropertyCache.getNativePropSettersForViewManagerClass(viewManagerClass);
+    private FallbackViewManagerSetter(
+        Map<String, ViewManagersPropertyCache.PropSetter> propSetters,
+        @Nullable ViewManagerSetter<T, V> parentSetter) {
+      mPropSetters = propSetters;
+      mParentSetter = parentSetter;
     }
 
     @Override
@@ -134,11 +206,16 @@ public class ViewManagerPropertyUpdater {
       ViewManagersPropertyCache.PropSetter setter = mPropSetters.get(name);
       if (setter != null) {
         setter.updateViewProp(manager, v, value);
+      } else if (mParentSetter != null) {
+        mParentSetter.setProperty(manager, v, name, value);
       }
     }
 
     @Override
     public void getProperties(Map<String, String> props) {
+      if (mParentSetter != null) {
+        mParentSetter.getProperties(props);
+      }
       for (ViewManagersPropertyCache.PropSetter setter : mPropSetters.values()) {
         props.put(setter.getPropName(), setter.getPropType());
       }
@@ -148,22 +225,30 @@ public class ViewManagerPropertyUpdater {
   private static class FallbackShadowNodeSetter<T extends ReactShadowNode>
       implements ShadowNodeSetter<T> {
     private final Map<String, ViewManagersPropertyCache.PropSetter> mPropSetters;
+    private final @Nullable ShadowNodeSetter<T> mParentSetter;
 
-    private FallbackShadowNodeSetter(Class<? extends ReactShadowNode> shadowNodeClass) {
-      mPropSetters =
-          ViewManagersPropertyCache.getNativePropSettersForShadowNodeClass(shadowNodeClass);
+    private FallbackShadowNodeSetter(
+        Map<String, ViewManagersPropertyCache.PropSetter> propSetters,
+        @Nullable ShadowNodeSetter<T> parentSetter) {
+      mPropSetters = propSetters;
+      mParentSetter = parentSetter;
     }
 
     @Override
-    public void setProperty(ReactShadowNode node, String name, Object value) {
+    public void setProperty(T node, String name, Object value) {
       ViewManagersPropertyCache.PropSetter setter = mPropSetters.get(name);
       if (setter != null) {
         setter.updateShadowNodeProp(node, value);
+      } else if (mParentSetter != null) {
+        mParentSetter.setProperty(node, name, value);
       }
     }
 
     @Override
     public void getProperties(Map<String, String> props) {
+      if (mParentSetter != null) {
+        mParentSetter.getProperties(props);
+      }
       for (ViewManagersPropertyCache.PropSetter setter : mPropSetters.values()) {
         props.put(setter.getPropName(), setter.getPropType());
       }
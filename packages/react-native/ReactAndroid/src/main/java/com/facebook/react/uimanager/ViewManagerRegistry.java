@@ -10,6 +10,7 @@ package com.facebook.react.uimanager;
 import android.content.ComponentCallbacks2;
 import android.content.res.Configuration;
 import androidx.annotation.Nullable;
+import com.facebook.react.bridge.MemoryPressureListener;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.MapBuilder;
 import java.util.ArrayList;
@@ -20,7 +21,7 @@ import java.util.Map;
  * Class that stores the mapping between native view name used in JS and the corresponding instance
  * of {@link ViewManager}.
  */
-public final class ViewManagerRegistry implements ComponentCallbacks2 {
+public final class ViewManagerRegistry implements ComponentCallbacks2, MemoryPressureListener {
 
   private final Map<String, ViewManager> mViewManagers;
   private final @Nullable ViewManagerResolver mViewManagerResolver;
@@ -137,6 +138,12 @@ public final class ViewManagerRegistry implements ComponentCallbacks2 {
   /** ComponentCallbacks2 method. */
   @Override
   public void onTrimMemory(int level) {
+    handleMemoryPressure(level);
+  }
+
+  /** MemoryPressureListener method, evicts recyclable Views held by the ViewManagers. */
+  @Override
+  public void handleMemoryPressure(final int level) {
     final List<ViewManager> viewManagers;
     synchronized (this) {
       viewManagers = new ArrayList<>(mViewManagers.values());
@@ -146,7 +153,7 @@ public final class ViewManagerRegistry implements ComponentCallbacks2 {
           @Override
           public void run() {
             for (ViewManager viewManager : viewManagers) {
-              viewManager.trimMemory();
+              viewManager.trimMemory(level);
             }
           }
         };
@@ -164,6 +171,6 @@ public final class ViewManagerRegistry implements ComponentCallbacks2 {
   /** ComponentCallbacks2 method. */
   @Override
   public void onLowMemory() {
-    this.onTrimMemory(0);
+    this.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
   }
 }
@@ -417,6 +417,40 @@ import java.util.Map;
     return props;
   }
 
+  /**
+   * Returns map from property name to setter instances for the property setters declared in the
+   * given {@link ViewManager} class and its parent classes, stopping before {@code ancestorClass}.
+   * The result is not cached.
+   */
+  /*package*/ static Map<String, PropSetter> getDeclaredPropSettersForViewManagerClass(
+      Class<? extends ViewManager> cls, Class<?> ancestorClass) {
+    if (cls == ancestorClass || cls == ViewManager.class) {
+      return new HashMap<>();
+    }
+    Map<String, PropSetter> props =
+        getDeclaredPropSettersForViewManagerClass(
+            (Class<? extends ViewManager>) cls.getSuperclass(), ancestorClass);
+    extractPropSettersFromViewManagerClassDefinition(cls, props);
+    return props;
+  }
+
+  /**
+   * Returns map from property name to setter instances for the property setters declared in the
+   * given {@link ReactShadowNode} subclass and its parent classes, stopping before {@code
+   * ancestorClass}. The result is not cached.
+   */
+  /*package*/ static Map<String, PropSetter> getDeclaredPropSettersForShadowNodeClass(
+      Class<? extends ReactShadowNode> cls, Class<?> ancestorClass) {
+    if (cls == null || cls == ancestorClass) {
+      return new HashMap<>();
+    }
+    Map<String, PropSetter> props =
+        getDeclaredPropSettersForShadowNodeClass(
+            (Class<? extends ReactShadowNode>) cls.getSuperclass(), ancestorClass);
+    extractPropSettersFromShadowNodeClassDefinition(cls, props);
+    return props;
+  }
+
   private static PropSetter createPropSetter(
       ReactProp annotation, Method method, Class<?> propTypeClass) {
     if (propTypeClass == Dynamic.class) {
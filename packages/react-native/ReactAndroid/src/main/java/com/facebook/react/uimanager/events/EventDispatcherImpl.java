@@ -7,17 +7,17 @@
 
 package com.facebook.react.uimanager.events;
 
-import android.util.LongSparseArray;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.LockFreeMpscQueue;
+import com.facebook.react.common.LongIntHashMap;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.modules.core.ChoreographerCompat;
 import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.systrace.Systrace;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
@@ -53,6 +53,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p>Event Cookie Composition: VIEW_TAG_MASK = 0x00000000ffffffff EVENT_TYPE_ID_MASK =
  * 0x0000ffff00000000 COALESCING_KEY_MASK = 0xffff000000000000
+ *
+ * <p>== Threading ==
+ *
+ * <p>Events may be dispatched from any thread. They are staged in a lock-free multi-producer queue
+ * that is drained only by the UI thread frame callback, so producers never block each other or the
+ * UI thread. Coalescing and the hand-off to the JS thread reuse preallocated primitive structures
+ * so that steady-state dispatch does not allocate per frame.
  */
 public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListener {
 
@@ -81,13 +88,16 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
         }
       };
 
-  private final Object mEventsStagingLock = new Object();
+  private static final int EVENT_STAGING_CAPACITY = 1024;
+  private static final int NO_EVENT_IDX = -1;
+
   private final Object mEventsToDispatchLock = new Object();
   private final ReactApplicationContext mReactContext;
-  private final LongSparseArray<Integer> mEventCookieToLastEventIdx = new LongSparseArray<>();
+  private final LongIntHashMap mEventCookieToLastEventIdx = new LongIntHashMap();
   private final Map<String, Short> mEventNameToEventId = MapBuilder.newHashMap();
   private final DispatchEventsRunnable mDispatchEventsRunnable = new DispatchEventsRunnable();
-  private final ArrayList<Event> mEventStaging = new ArrayList<>();
+  private final LockFreeMpscQueue<Event> mEventStaging =
+      new LockFreeMpscQueue<>(EVENT_STAGING_CAPACITY);
   private final CopyOnWriteArrayList<EventDispatcherListener> mListeners =
       new CopyOnWriteArrayList<>();
   private final CopyOnWriteArrayList<BatchEventDispatchedListener> mPostEventDispatchListeners =
@@ -116,11 +126,9 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
       listener.onEventDispatch(event);
     }
 
-    synchronized (mEventsStagingLock) {
-      mEventStaging.add(event);
-      Systrace.startAsyncFlow(
-          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, event.getEventName(), event.getUniqueID());
-    }
+    Systrace.startAsyncFlow(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, event.getEventName(), event.getUniqueID());
+    mEventStaging.offer(event);
     maybePostFrameCallbackFromNonUI();
   }
 
@@ -194,50 +202,51 @@ public class EventDispatcherImpl implements EventDispatcher, LifecycleEventListe
    * dispatched at once. Otherwise, a JS runnable enqueued in a previous frame could run while the
    * UI thread is in the process of adding UI events and we might incorrectly send one event this
    * frame and another from this frame during the next.
+   *
+   * <p>The staging queue is only ever drained here, on the UI thread, so it needs no lock. Only the
+   * events staged when this starts are moved, so that producers can't keep it going; later events,
+   * and events still being published by another thread, are picked up on the next frame.
    */
   private void moveStagedEventsToDispatchQueue() {
-    synchronized (mEventsStagingLock) {
-      synchronized (mEventsToDispatchLock) {
-        for (int i = 0; i < mEventStaging.size(); i++) {
-          Event event = mEventStaging.get(i);
-
-          if (!event.canCoalesce()) {
-            addEventToEventsToDispatch(event);
-            continue;
-          }
-
-          long eventCookie =
-              getEventCookie(event.getViewTag(), event.getEventName(), event.getCoalescingKey());
-
-          Event eventToAdd = null;
-          Event eventToDispose = null;
-          Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
+    synchronized (mEventsToDispatchLock) {
+      int stagedEventCount = mEventStaging.size();
+      Event event;
+      while (stagedEventCount-- > 0 && (event = mEventStaging.poll()) != null) {
+        if (!event.canCoalesce()) {
+          addEventToEventsToDispatch(event);
+          continue;
+        }
 
-          if (lastEventIdx == null) {
-            eventToAdd = event;
+        long eventCookie =
+            getEventCookie(event.getViewTag(), event.getEventName(), event.getCoalescingKey());
+
+        Event eventToAdd = null;
+        Event eventToDispose = null;
+        int lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie, NO_EVENT_IDX);
+
+        if (lastEventIdx == NO_EVENT_IDX) {
+          eventToAdd = event;
+          mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+        } else {
+          Event lastEvent = mEventsToDispatch[lastEventIdx];
+          Event coalescedEvent = event.coalesce(lastEvent);
+          if (coalescedEvent != lastEvent) {
+            eventToAdd = coalescedEvent;
             mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
+            eventToDispose = lastEvent;
+            mEventsToDispatch[lastEventIdx] = null;
           } else {
-            Event lastEvent = mEventsToDispatch[lastEventIdx];
-            Event coalescedEvent = event.coalesce(lastEvent);
-            if (coalescedEvent != lastEvent) {
-              eventToAdd = coalescedEvent;
-              mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
-              eventToDispose = lastEvent;
-              mEventsToDispatch[lastEventIdx] = null;
-            } else {
-              eventToDispose = event;
-            }
+            eventToDispose = event;
           }
+        }
 
-          if (eventToAdd != null) {
-            addEventToEventsToDispatch(eventToAdd);
-          }
-          if (eventToDispose != null) {
-            eventToDispose.dispose();
-          }
+        if (eventToAdd != null) {
+          addEventToEventsToDispatch(eventToAdd);
+        }
+        if (eventToDispose != null) {
+          eventToDispose.dispose();
         }
       }
-      mEventStaging.clear();
     }
   }
 
@@ -13,7 +13,9 @@ import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.text.Layout;
+import android.text.PrecomputedText;
 import android.text.Spannable;
+import android.text.SpannableString;
 import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.method.LinkMovementMethod;
@@ -369,8 +371,24 @@ public class ReactTextView extends AppCompatTextView implements ReactCompoundVie
     if (getLayoutParams() == null) {
       setLayoutParams(EMPTY_LAYOUT_PARAMS);
     }
+    // Apply the break strategy first, since text precomputed in the background can only be
+    // displayed if it was measured with the same parameters as this view.
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+      if (getBreakStrategy() != update.getTextBreakStrategy()) {
+        setBreakStrategy(update.getTextBreakStrategy());
+      }
+    }
     Spannable spannable = update.getText();
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P
+        && spannable instanceof PrecomputedText
+        && !((PrecomputedText) spannable).getParams().equals(getTextMetricsParams())) {
+      // Parameters don't match (e.g. a different font size on this view), TextView would throw.
+      spannable = new SpannableString(spannable);
+    }
     if (mLinkifyMaskType > 0) {
+      // The text may be shared with other views through the text layout cache, so the links are
+      // added to a copy.
+      spannable = new SpannableString(spannable);
       Linkify.addLinks(spannable, mLinkifyMaskType);
       setMovementMethod(LinkMovementMethod.getInstance());
     }
@@ -399,11 +417,6 @@ public class ReactTextView extends AppCompatTextView implements ReactCompoundVie
     if (nextTextAlign != getGravityHorizontal()) {
       setGravityHorizontal(nextTextAlign);
     }
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-      if (getBreakStrategy() != update.getTextBreakStrategy()) {
-        setBreakStrategy(update.getTextBreakStrategy());
-      }
-    }
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
       if (getJustificationMode() != update.getJustificationMode()) {
         setJustificationMode(update.getJustificationMode());
@@ -18,6 +18,7 @@ import com.facebook.react.bridge.ReadableNativeMap;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.common.mapbuffer.MapBuffer;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.uimanager.IViewManagerWithChildren;
 import com.facebook.react.uimanager.ReactAccessibilityDelegate;
@@ -148,6 +149,7 @@ public class ReactTextViewManager
         TextLayoutManager.getOrCreateSpannableForText(
             view.getContext(), attributedString, mReactTextViewManagerCallback);
     view.setSpanned(spanned);
+    Spannable precomputedText = getPrecomputedText(view, attributedString);
 
     int textBreakStrategy =
         TextAttributeProps.getTextBreakStrategy(
@@ -156,7 +158,7 @@ public class ReactTextViewManager
         Build.VERSION.SDK_INT < Build.VERSION_CODES.O ? 0 : view.getJustificationMode();
 
     return new ReactTextUpdate(
-        spanned,
+        precomputedText != null ? precomputedText : spanned,
         state.hasKey("mostRecentEventCount") ? state.getInt("mostRecentEventCount") : -1,
         false, // TODO add this into local Data
         TextAttributeProps.getTextAlignment(
@@ -173,6 +175,7 @@ public class ReactTextViewManager
         TextLayoutManagerMapBuffer.getOrCreateSpannableForText(
             view.getContext(), attributedString, mReactTextViewManagerCallback);
     view.setSpanned(spanned);
+    Spannable precomputedText = getPrecomputedText(view, attributedString);
 
     int textBreakStrategy =
         TextAttributeProps.getTextBreakStrategy(
@@ -181,7 +184,7 @@ public class ReactTextViewManager
         Build.VERSION.SDK_INT < Build.VERSION_CODES.O ? 0 : view.getJustificationMode();
 
     return new ReactTextUpdate(
-        spanned,
+        precomputedText != null ? precomputedText : spanned,
         -1, // UNUSED FOR TEXT
         false, // TODO add this into local Data
         TextAttributeProps.getTextAlignment(
@@ -190,6 +193,29 @@ public class ReactTextViewManager
         TextAttributeProps.getJustificationMode(props, currentJustificationMode));
   }
 
+  private static boolean shouldUsePrecomputedText(ReactTextView view) {
+    if (!ReactFeatureFlags.enableTextPrecompute
+        || Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+      return false;
+    }
+    TextPrecomputer.maybeCaptureParams(view);
+    return true;
+  }
+
+  private static @Nullable Spannable getPrecomputedText(
+      ReactTextView view, ReadableMap attributedString) {
+    return shouldUsePrecomputedText(view)
+        ? TextLayoutManager.getPrecomputedText(attributedString)
+        : null;
+  }
+
+  private static @Nullable Spannable getPrecomputedText(
+      ReactTextView view, MapBuffer attributedString) {
+    return shouldUsePrecomputedText(view)
+        ? TextLayoutManagerMapBuffer.getPrecomputedText(attributedString)
+        : null;
+  }
+
   @Override
   public @Nullable Map getExportedCustomDirectEventTypeConstants() {
     @Nullable
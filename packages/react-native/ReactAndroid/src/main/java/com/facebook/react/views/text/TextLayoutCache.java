@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.Spannable;
+import android.text.TextPaint;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.facebook.yoga.YogaMeasureMode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the {@link Spannable}s and {@link Layout}s built from attributed strings, shared by
+ * {@link TextLayoutManager} and {@link TextLayoutManagerMapBuffer}.
+ *
+ * <p>Entries are keyed by the content hash precomputed in C++ for every attributed string, and
+ * confirmed with the attributed string's own {@code equals}. Each entry holds the Spannable, its
+ * boring metrics and the last few Layouts built for it under different constraints.
+ *
+ * <p>The cache is split into independently locked LRU shards to avoid contention between threads
+ * measuring text concurrently, and is bounded by an estimate of the memory retained by its entries
+ * rather than by a number of entries, since attributed strings vary widely in size.
+ */
+public final class TextLayoutCache {
+
+  private static final long DEFAULT_MAX_SIZE_BYTES = 4 * 1024 * 1024;
+  private static final int DEFAULT_SHARD_COUNT = 8;
+
+  // Layouts built for the same text under different constraints, e.g. AT_MOST then EXACTLY.
+  private static final int MAX_LAYOUTS_PER_ENTRY = 4;
+
+  // Rough costs used to estimate retained memory. They don't need to be exact, only proportional.
+  private static final int ENTRY_OVERHEAD_BYTES = 256;
+  private static final int BYTES_PER_CHAR = 4; // The text is held by both the key and the Spannable
+  private static final int BYTES_PER_SPAN = 64;
+  private static final int LAYOUT_OVERHEAD_BYTES = 128;
+  private static final int BYTES_PER_LAYOUT_LINE = 48;
+  private static final int BYTES_PER_PRECOMPUTED_CHAR = 8;
+
+  private static final TextLayoutCache sInstance =
+      new TextLayoutCache(DEFAULT_MAX_SIZE_BYTES, DEFAULT_SHARD_COUNT);
+
+  public static TextLayoutCache getInstance() {
+    return sInstance;
+  }
+
+  private final Shard[] mShards;
+  private final ConcurrentHashMap<Integer, Spannable> mTagToSpannable = new ConcurrentHashMap<>();
+
+  private final AtomicLong mSpannableHitCount = new AtomicLong();
+  private final AtomicLong mSpannableMissCount = new AtomicLong();
+  private final AtomicLong mLayoutHitCount = new AtomicLong();
+  private final AtomicLong mLayoutMissCount = new AtomicLong();
+  private final AtomicLong mEvictionCount = new AtomicLong();
+
+  /* package */ TextLayoutCache(long maxSizeBytes, int shardCount) {
+    mShards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      mShards[i] = new Shard(maxSizeBytes / shardCount);
+    }
+  }
+
+  private Shard shardFor(int contentHash) {
+    // Spread the hash, as the shard count is small and C++ hashes may have weak low bits.
+    int h = contentHash * 0x9E3779B9;
+    return mShards[(h >>> 16) % mShards.length];
+  }
+
+  /**
+   * Returns the cached entry for {@code attributedString}, or null if there is none.
+   *
+   * @param contentHash the hash of the attributed string computed in C++
+   * @param attributedString the attributed string, used to confirm hash matches with {@code equals}
+   */
+  public @Nullable Entry get(int contentHash, @NonNull Object attributedString) {
+    Entry entry = shardFor(contentHash).get(new Key(contentHash, attributedString));
+    if (entry != null) {
+      mSpannableHitCount.incrementAndGet();
+    } else {
+      mSpannableMissCount.incrementAndGet();
+    }
+    return entry;
+  }
+
+  /** Same as {@link #get}, but without counting a hit or a miss. */
+  /* package */ @Nullable Entry peek(int contentHash, @NonNull Object attributedString) {
+    return shardFor(contentHash).get(new Key(contentHash, attributedString));
+  }
+
+  /**
+   * Caches {@code spannable} for {@code attributedString}, and returns the resulting entry. If
+   * another thread cached the same attributed string in the meantime, its entry is returned
+   * instead.
+   */
+  public Entry put(int contentHash, @NonNull Object attributedString, Spannable spannable) {
+    Shard shard = shardFor(contentHash);
+    return shard.putIfAbsent(new Key(contentHash, attributedString), new Entry(shard, spannable));
+  }
+
+  /**
+   * Registers the Spannable currently displayed by a text input, so that it can be measured by
+   * tag instead of being rebuilt from its attributed string.
+   */
+  public void setSpannableForTag(int reactTag, @NonNull Spannable spannable) {
+    mTagToSpannable.put(reactTag, spannable);
+  }
+
+  public @Nullable Spannable getSpannableForTag(int reactTag) {
+    return mTagToSpannable.get(reactTag);
+  }
+
+  public void deleteSpannableForTag(int reactTag) {
+    mTagToSpannable.remove(reactTag);
+  }
+
+  /** Evicts every entry. Spannables registered by tag are kept, since they are still on screen. */
+  public void clear() {
+    for (Shard shard : mShards) {
+      shard.clear();
+    }
+  }
+
+  public long getSpannableHitCount() {
+    return mSpannableHitCount.get();
+  }
+
+  public long getSpannableMissCount() {
+    return mSpannableMissCount.get();
+  }
+
+  public long getLayoutHitCount() {
+    return mLayoutHitCount.get();
+  }
+
+  public long getLayoutMissCount() {
+    return mLayoutMissCount.get();
+  }
+
+  public long getEvictionCount() {
+    return mEvictionCount.get();
+  }
+
+  /** Estimated number of bytes retained by the cache. */
+  public long getSizeBytes() {
+    long size = 0;
+    for (Shard shard : mShards) {
+      size += shard.getSizeBytes();
+    }
+    return size;
+  }
+
+  private static final class Key {
+    private final int mContentHash;
+    private final Object mAttributedString;
+
+    Key(int contentHash, Object attributedString) {
+      mContentHash = contentHash;
+      mAttributedString = attributedString;
+    }
+
+    @Override
+    public int hashCode() {
+      return mContentHash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return mContentHash == other.mContentHash
+          && mAttributedString.equals(other.mAttributedString);
+    }
+  }
+
+  private final class Shard {
+    private final long mMaxSizeBytes;
+    private final LinkedHashMap<Key, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long mSizeBytes = 0;
+
+    Shard(long maxSizeBytes) {
+      mMaxSizeBytes = maxSizeBytes;
+    }
+
+    synchronized @Nullable Entry get(Key key) {
+      return mEntries.get(key);
+    }
+
+    synchronized Entry putIfAbsent(Key key, Entry entry) {
+      Entry existing = mEntries.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      mEntries.put(key, entry);
+      entry.mInCache = true;
+      mSizeBytes += entry.mSizeBytes;
+      trimToSize();
+      return entry;
+    }
+
+    synchronized void onEntryResized(Entry entry, long deltaBytes) {
+      entry.mSizeBytes += deltaBytes;
+      if (entry.mInCache) {
+        mSizeBytes += deltaBytes;
+        trimToSize();
+      }
+    }
+
+    synchronized void clear() {
+      for (Entry entry : mEntries.values()) {
+        entry.mInCache = false;
+      }
+      mEvictionCount.addAndGet(mEntries.size());
+      mEntries.clear();
+      mSizeBytes = 0;
+    }
+
+    synchronized long getSizeBytes() {
+      return mSizeBytes;
+    }
+
+    private void trimToSize() {
+      Iterator<Map.Entry<Key, Entry>> iterator = mEntries.entrySet().iterator();
+      // Always keep the most recently used entry, even if it is larger than the whole shard.
+      while (mSizeBytes > mMaxSizeBytes && mEntries.size() > 1 && iterator.hasNext()) {
+        Entry eldest = iterator.next().getValue();
+        iterator.remove();
+        eldest.mInCache = false;
+        mSizeBytes -= eldest.mSizeBytes;
+        mEvictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * A cached Spannable, along with its boring metrics and the Layouts built for it. All methods are
+   * thread safe. Layouts only stay valid while measured with the same {@link TextPaint}.
+   */
+  public final class Entry {
+    private final Shard mShard;
+    private final Spannable mSpannable;
+    private final float[] mLayoutWidths = new float[MAX_LAYOUTS_PER_ENTRY];
+    private final int[] mLayoutFlags = new int[MAX_LAYOUTS_PER_ENTRY];
+    private final Layout[] mLayouts = new Layout[MAX_LAYOUTS_PER_ENTRY];
+    private int mNextLayoutIndex = 0;
+    private @Nullable BoringLayout.Metrics mBoringMetrics;
+    private boolean mBoringMetricsComputed = false;
+    private volatile @Nullable Spannable mPrecomputedText;
+    private boolean mPrecomputeScheduled = false;
+
+    // Guarded by mShard
+    private long mSizeBytes;
+    private boolean mInCache = false;
+
+    private Entry(Shard shard, Spannable spannable) {
+      mShard = shard;
+      mSpannable = spannable;
+      int spanCount = spannable.getSpans(0, spannable.length(), Object.class).length;
+      mSizeBytes =
+          ENTRY_OVERHEAD_BYTES
+              + (long) spannable.length() * BYTES_PER_CHAR
+              + (long) spanCount * BYTES_PER_SPAN;
+    }
+
+    public Spannable getSpannable() {
+      return mSpannable;
+    }
+
+    /** Same as {@link BoringLayout#isBoring(CharSequence, TextPaint)}, computed once per entry. */
+    public synchronized @Nullable BoringLayout.Metrics getBoringMetrics(TextPaint paint) {
+      if (!mBoringMetricsComputed) {
+        mBoringMetrics = BoringLayout.isBoring(mSpannable, paint);
+        mBoringMetricsComputed = true;
+      }
+      return mBoringMetrics;
+    }
+
+    /** Returns a Layout previously built for these constraints, or null if there is none. */
+    public @Nullable Layout getLayout(
+        float width,
+        YogaMeasureMode widthMeasureMode,
+        boolean includeFontPadding,
+        int textBreakStrategy,
+        int hyphenationFrequency) {
+      float normalizedWidth = normalizeWidth(width, widthMeasureMode);
+      int flags =
+          packFlags(widthMeasureMode, includeFontPadding, textBreakStrategy, hyphenationFrequency);
+      Layout layout = null;
+      synchronized (this) {
+        for (int i = 0; i < MAX_LAYOUTS_PER_ENTRY; i++) {
+          if (mLayouts[i] != null
+              && mLayoutFlags[i] == flags
+              && Float.compare(mLayoutWidths[i], normalizedWidth) == 0) {
+            layout = mLayouts[i];
+            break;
+          }
+        }
+      }
+      if (layout != null) {
+        mLayoutHitCount.incrementAndGet();
+      } else {
+        mLayoutMissCount.incrementAndGet();
+      }
+      return layout;
+    }
+
+    /** Caches {@code layout}, replacing the oldest Layout if this entry already holds too many. */
+    public void putLayout(
+        float width,
+        YogaMeasureMode widthMeasureMode,
+        boolean includeFontPadding,
+        int textBreakStrategy,
+        int hyphenationFrequency,
+        Layout layout) {
+      long deltaBytes;
+      synchronized (this) {
+        int index = mNextLayoutIndex;
+        mNextLayoutIndex = (index + 1) % MAX_LAYOUTS_PER_ENTRY;
+        deltaBytes = estimateSizeBytes(layout) - estimateSizeBytes(mLayouts[index]);
+        mLayoutWidths[index] = normalizeWidth(width, widthMeasureMode);
+        mLayoutFlags[index] =
+            packFlags(
+                widthMeasureMode, includeFontPadding, textBreakStrategy, hyphenationFrequency);
+        mLayouts[index] = layout;
+      }
+      mShard.onEntryResized(this, deltaBytes);
+    }
+
+    /**
+     * Returns a copy of the Spannable with its text measurements precomputed for display (a {@link
+     * android.text.PrecomputedText}), or null if it isn't ready. See {@link TextPrecomputer}.
+     */
+    public @Nullable Spannable getPrecomputedText() {
+      return mPrecomputedText;
+    }
+
+    /** @return true if the caller should precompute the text, false if it was already scheduled */
+    /* package */ synchronized boolean schedulePrecompute() {
+      if (mPrecomputeScheduled) {
+        return false;
+      }
+      mPrecomputeScheduled = true;
+      return true;
+    }
+
+    /* package */ void setPrecomputedText(Spannable precomputedText) {
+      mPrecomputedText = precomputedText;
+      mShard.onEntryResized(this, (long) precomputedText.length() * BYTES_PER_PRECOMPUTED_CHAR);
+    }
+  }
+
+  private static float normalizeWidth(float width, YogaMeasureMode widthMeasureMode) {
+    // The width is ignored when building layouts for an unconstrained width.
+    return widthMeasureMode == YogaMeasureMode.UNDEFINED || width < 0 ? -1 : width;
+  }
+
+  private static int packFlags(
+      YogaMeasureMode widthMeasureMode,
+      boolean includeFontPadding,
+      int textBreakStrategy,
+      int hyphenationFrequency) {
+    return widthMeasureMode.intValue()
+        | (includeFontPadding ? 1 << 2 : 0)
+        | (textBreakStrategy & 0xFF) << 3
+        | (hyphenationFrequency & 0xFF) << 11;
+  }
+
+  private static long estimateSizeBytes(@Nullable Layout layout) {
+    return layout == null
+        ? 0
+        : LAYOUT_OVERHEAD_BYTES + (long) layout.getLineCount() * BYTES_PER_LAYOUT_LINE;
+  }
+}
@@ -7,6 +7,8 @@
 
 package com.facebook.react.views.text;
 
+import static com.facebook.react.config.ReactFeatureFlags.enableTextPrecompute;
+import static com.facebook.react.config.ReactFeatureFlags.enableTextSpannableCache;
 import static com.facebook.react.views.text.TextAttributeProps.UNSET;
 
 import android.content.Context;
@@ -20,7 +22,6 @@ import android.text.Spanned;
 import android.text.StaticLayout;
 import android.text.TextPaint;
 import android.util.LayoutDirection;
-import android.util.LruCache;
 import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -29,7 +30,6 @@ import com.facebook.react.bridge.ReactNoCrashSoftException;
 import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableNativeMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.build.ReactBuildConfig;
 import com.facebook.react.uimanager.PixelUtil;
@@ -42,7 +42,6 @@ import com.facebook.yoga.YogaMeasureMode;
 import com.facebook.yoga.YogaMeasureOutput;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 /** Class responsible of creating {@link Spanned} object for the JS representation of Text */
 public class TextLayoutManager {
@@ -57,21 +56,14 @@ public class TextLayoutManager {
   // The bug is that unicode emoticons aren't measured properly which causes text to be clipped.
   private static final TextPaint sTextPaintInstance = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
 
-  // Specifies the amount of spannable that are stored into the {@link sSpannableCache}.
-  private static final int spannableCacheSize = 100;
-
   private static final String INLINE_VIEW_PLACEHOLDER = "0";
 
-  private static final Object sSpannableCacheLock = new Object();
   private static final boolean DEFAULT_INCLUDE_FONT_PADDING = true;
   private static final String INCLUDE_FONT_PADDING_KEY = "includeFontPadding";
   private static final String TEXT_BREAK_STRATEGY_KEY = "textBreakStrategy";
   private static final String HYPHENATION_FREQUENCY_KEY = "android_hyphenationFrequency";
   private static final String MAXIMUM_NUMBER_OF_LINES_KEY = "maximumNumberOfLines";
-  private static final LruCache<ReadableNativeMap, Spannable> sSpannableCache =
-      new LruCache<>(spannableCacheSize);
-  private static final ConcurrentHashMap<Integer, Spannable> sTagToSpannableCache =
-      new ConcurrentHashMap<>();
+  private static final String HASH_KEY = "hash";
 
   public static boolean isRTL(ReadableMap attributedString) {
     ReadableArray fragments = attributedString.getArray("fragments");
@@ -89,14 +81,14 @@ public class TextLayoutManager {
     if (ENABLE_MEASURE_LOGGING) {
       FLog.e(TAG, "Set cached spannable for tag[" + reactTag + "]: " + sp.toString());
     }
-    sTagToSpannableCache.put(reactTag, sp);
+    TextLayoutCache.getInstance().setSpannableForTag(reactTag, sp);
   }
 
   public static void deleteCachedSpannableForTag(int reactTag) {
     if (ENABLE_MEASURE_LOGGING) {
       FLog.e(TAG, "Delete cached spannable for tag[" + reactTag + "]");
     }
-    sTagToSpannableCache.remove(reactTag);
+    TextLayoutCache.getInstance().deleteSpannableForTag(reactTag);
   }
 
   private static void buildSpannableFromFragment(
@@ -202,11 +194,37 @@ public class TextLayoutManager {
       Context context,
       ReadableMap attributedString,
       @Nullable ReactTextViewManagerCallback reactTextViewManagerCallback) {
-
+    TextLayoutCache.Entry cacheEntry =
+        getOrCreateCacheEntry(context, attributedString, reactTextViewManagerCallback);
+    if (cacheEntry != null) {
+      return cacheEntry.getSpannable();
+    }
     return createSpannableFromAttributedString(
         context, attributedString, reactTextViewManagerCallback);
   }
 
+  private static @Nullable TextLayoutCache.Entry getOrCreateCacheEntry(
+      Context context,
+      ReadableMap attributedString,
+      @Nullable ReactTextViewManagerCallback reactTextViewManagerCallback) {
+    if (!enableTextSpannableCache || !attributedString.hasKey(HASH_KEY)) {
+      return null;
+    }
+    int contentHash = getContentHash(attributedString);
+
+    TextLayoutCache cache = TextLayoutCache.getInstance();
+    TextLayoutCache.Entry cacheEntry = cache.get(contentHash, attributedString);
+    if (cacheEntry == null) {
+      cacheEntry =
+          cache.put(
+              contentHash,
+              attributedString,
+              createSpannableFromAttributedString(
+                  context, attributedString, reactTextViewManagerCallback));
+    }
+    return cacheEntry;
+  }
+
   private static Spannable createSpannableFromAttributedString(
       Context context,
       ReadableMap attributedString,
@@ -330,6 +348,75 @@ public class TextLayoutManager {
     return layout;
   }
 
+  private static int getContentHash(ReadableMap attributedString) {
+    // The hash is a size_t in C++, which reaches Java as a double.
+    long hashBits = Double.doubleToLongBits(attributedString.getDouble(HASH_KEY));
+    return (int) (hashBits ^ (hashBits >>> 32));
+  }
+
+  /**
+   * Returns the text precomputed in the background for {@code attributedString} when it was
+   * measured, or null if it isn't ready. See {@link TextPrecomputer}.
+   */
+  /* package */ static @Nullable Spannable getPrecomputedText(ReadableMap attributedString) {
+    if (!enableTextSpannableCache
+        || !enableTextPrecompute
+        || !attributedString.hasKey(HASH_KEY)) {
+      return null;
+    }
+    TextLayoutCache.Entry cacheEntry =
+        TextLayoutCache.getInstance().peek(getContentHash(attributedString), attributedString);
+    return cacheEntry != null ? cacheEntry.getPrecomputedText() : null;
+  }
+
+  private static Layout getOrCreateLayout(
+      Spannable text,
+      @Nullable TextLayoutCache.Entry cacheEntry,
+      float width,
+      YogaMeasureMode widthYogaMeasureMode,
+      boolean includeFontPadding,
+      int textBreakStrategy,
+      int hyphenationFrequency) {
+    if (cacheEntry == null) {
+      BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
+      return createLayout(
+          text,
+          boring,
+          width,
+          widthYogaMeasureMode,
+          includeFontPadding,
+          textBreakStrategy,
+          hyphenationFrequency);
+    }
+
+    Layout layout =
+        cacheEntry.getLayout(
+            width,
+            widthYogaMeasureMode,
+            includeFontPadding,
+            textBreakStrategy,
+            hyphenationFrequency);
+    if (layout == null) {
+      layout =
+          createLayout(
+              text,
+              cacheEntry.getBoringMetrics(sTextPaintInstance),
+              width,
+              widthYogaMeasureMode,
+              includeFontPadding,
+              textBreakStrategy,
+              hyphenationFrequency);
+      cacheEntry.putLayout(
+          width,
+          widthYogaMeasureMode,
+          includeFontPadding,
+          textBreakStrategy,
+          hyphenationFrequency,
+          layout);
+    }
+    return layout;
+  }
+
   public static long measureText(
       Context context,
       ReadableMap attributedString,
@@ -343,13 +430,14 @@ public class TextLayoutManager {
 
     // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
     Spannable text;
+    TextLayoutCache.Entry cacheEntry = null;
     if (attributedString.hasKey("cacheId")) {
       int cacheId = attributedString.getInt("cacheId");
       if (ENABLE_MEASURE_LOGGING) {
         FLog.e(TAG, "Get cached spannable for cacheId[" + cacheId + "]");
       }
-      if (sTagToSpannableCache.containsKey(cacheId)) {
-        text = sTagToSpannableCache.get(cacheId);
+      text = TextLayoutCache.getInstance().getSpannableForTag(cacheId);
+      if (text != null) {
         if (ENABLE_MEASURE_LOGGING) {
           FLog.e(TAG, "Text for spannable found for cacheId[" + cacheId + "]: " + text);
         }
@@ -360,7 +448,12 @@ public class TextLayoutManager {
         return 0;
       }
     } else {
-      text = getOrCreateSpannableForText(context, attributedString, reactTextViewManagerCallback);
+      cacheEntry = getOrCreateCacheEntry(context, attributedString, reactTextViewManagerCallback);
+      text =
+          cacheEntry != null
+              ? cacheEntry.getSpannable()
+              : createSpannableFromAttributedString(
+                  context, attributedString, reactTextViewManagerCallback);
     }
 
     int textBreakStrategy =
@@ -378,18 +471,22 @@ public class TextLayoutManager {
       throw new IllegalStateException("Spannable element has not been prepared in onBeforeLayout");
     }
 
-    BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
-
     Layout layout =
-        createLayout(
+        getOrCreateLayout(
             text,
-            boring,
+            cacheEntry,
             width,
             widthYogaMeasureMode,
             includeFontPadding,
             textBreakStrategy,
             hyphenationFrequency);
 
+    if (cacheEntry != null
+        && enableTextPrecompute
+        && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+      TextPrecomputer.precomputeAsync(cacheEntry, textBreakStrategy, hyphenationFrequency);
+    }
+
     int maximumNumberOfLines =
         paragraphAttributes.hasKey(MAXIMUM_NUMBER_OF_LINES_KEY)
             ? paragraphAttributes.getInt(MAXIMUM_NUMBER_OF_LINES_KEY)
@@ -542,8 +639,11 @@ public class TextLayoutManager {
       ReadableMap attributedString,
       ReadableMap paragraphAttributes,
       float width) {
-    Spannable text = getOrCreateSpannableForText(context, attributedString, null);
-    BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
+    TextLayoutCache.Entry cacheEntry = getOrCreateCacheEntry(context, attributedString, null);
+    Spannable text =
+        cacheEntry != null
+            ? cacheEntry.getSpannable()
+            : createSpannableFromAttributedString(context, attributedString, null);
 
     int textBreakStrategy =
         TextAttributeProps.getTextBreakStrategy(
@@ -557,9 +657,9 @@ public class TextLayoutManager {
             paragraphAttributes.getString(HYPHENATION_FREQUENCY_KEY));
 
     Layout layout =
-        createLayout(
+        getOrCreateLayout(
             text,
-            boring,
+            cacheEntry,
             width,
             YogaMeasureMode.EXACTLY,
             includeFontPadding,
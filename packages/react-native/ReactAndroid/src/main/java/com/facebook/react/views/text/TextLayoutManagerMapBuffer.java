@@ -7,6 +7,7 @@
 
 package com.facebook.react.views.text;
 
+import static com.facebook.react.config.ReactFeatureFlags.enableTextPrecompute;
 import static com.facebook.react.config.ReactFeatureFlags.enableTextSpannableCache;
 import static com.facebook.react.views.text.TextAttributeProps.UNSET;
 
@@ -21,7 +22,6 @@ import android.text.Spanned;
 import android.text.StaticLayout;
 import android.text.TextPaint;
 import android.util.LayoutDirection;
-import android.util.LruCache;
 import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -40,7 +40,6 @@ import com.facebook.yoga.YogaMeasureMode;
 import com.facebook.yoga.YogaMeasureOutput;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 /** Class responsible of creating {@link Spanned} object for the JS representation of Text */
 public class TextLayoutManagerMapBuffer {
@@ -76,33 +75,22 @@ public class TextLayoutManagerMapBuffer {
   // The bug is that unicode emoticons aren't measured properly which causes text to be clipped.
   private static final TextPaint sTextPaintInstance = new TextPaint(TextPaint.ANTI_ALIAS_FLAG);
 
-  // Specifies the amount of spannable that are stored into the {@link sSpannableCache}.
-  private static final short spannableCacheSize = 10000;
-
   private static final String INLINE_VIEW_PLACEHOLDER = "0";
 
   private static final boolean DEFAULT_INCLUDE_FONT_PADDING = true;
 
-  private static final Object sCacheLock = new Object();
-
-  private static final ConcurrentHashMap<Integer, Spannable> sTagToSpannableCache =
-      new ConcurrentHashMap<>();
-
-  private static final LruCache<ReadableMapBuffer, Spannable> sSpannableCache =
-      new LruCache<>(spannableCacheSize);
-
   public static void setCachedSpannabledForTag(int reactTag, @NonNull Spannable sp) {
     if (ENABLE_MEASURE_LOGGING) {
       FLog.e(TAG, "Set cached spannable for tag[" + reactTag + "]: " + sp.toString());
     }
-    sTagToSpannableCache.put(reactTag, sp);
+    TextLayoutCache.getInstance().setSpannableForTag(reactTag, sp);
   }
 
   public static void deleteCachedSpannableForTag(int reactTag) {
     if (ENABLE_MEASURE_LOGGING) {
       FLog.e(TAG, "Delete cached spannable for tag[" + reactTag + "]");
     }
-    sTagToSpannableCache.remove(reactTag);
+    TextLayoutCache.getInstance().deleteSpannableForTag(reactTag);
   }
 
   public static boolean isRTL(MapBuffer attributedString) {
@@ -222,30 +210,39 @@ public class TextLayoutManagerMapBuffer {
       Context context,
       MapBuffer attributedString,
       @Nullable ReactTextViewManagerCallback reactTextViewManagerCallback) {
-    Spannable text = null;
     if (attributedString.contains(AS_KEY_CACHE_ID)) {
-      Integer cacheId = attributedString.getInt(AS_KEY_CACHE_ID);
-      text = sTagToSpannableCache.get(cacheId);
-    } else {
-      if (enableTextSpannableCache && attributedString instanceof ReadableMapBuffer) {
-        ReadableMapBuffer mapBuffer = (ReadableMapBuffer) attributedString;
-        synchronized (sCacheLock) {
-          text = sSpannableCache.get(mapBuffer);
-          if (text == null) {
-            text =
-                createSpannableFromAttributedString(
-                    context, attributedString, reactTextViewManagerCallback);
-            sSpannableCache.put(mapBuffer, text);
-          }
-        }
-      } else {
-        text =
-            createSpannableFromAttributedString(
-                context, attributedString, reactTextViewManagerCallback);
-      }
+      int cacheId = attributedString.getInt(AS_KEY_CACHE_ID);
+      return TextLayoutCache.getInstance().getSpannableForTag(cacheId);
     }
+    TextLayoutCache.Entry cacheEntry =
+        getOrCreateCacheEntry(context, attributedString, reactTextViewManagerCallback);
+    if (cacheEntry != null) {
+      return cacheEntry.getSpannable();
+    }
+    return createSpannableFromAttributedString(
+        context, attributedString, reactTextViewManagerCallback);
+  }
 
-    return text;
+  private static @Nullable TextLayoutCache.Entry getOrCreateCacheEntry(
+      Context context,
+      MapBuffer attributedString,
+      @Nullable ReactTextViewManagerCallback reactTextViewManagerCallback) {
+    if (!isCacheable(attributedString)) {
+      return null;
+    }
+    int contentHash = attributedString.getInt(AS_KEY_HASH);
+
+    TextLayoutCache cache = TextLayoutCache.getInstance();
+    TextLayoutCache.Entry cacheEntry = cache.get(contentHash, attributedString);
+    if (cacheEntry == null) {
+      cacheEntry =
+          cache.put(
+              contentHash,
+              attributedString,
+              createSpannableFromAttributedString(
+                  context, attributedString, reactTextViewManagerCallback));
+    }
+    return cacheEntry;
   }
 
   private static Spannable createSpannableFromAttributedString(
@@ -371,6 +368,74 @@ public class TextLayoutManagerMapBuffer {
     return layout;
   }
 
+  private static Layout getOrCreateLayout(
+      Spannable text,
+      @Nullable TextLayoutCache.Entry cacheEntry,
+      float width,
+      YogaMeasureMode widthYogaMeasureMode,
+      boolean includeFontPadding,
+      int textBreakStrategy,
+      int hyphenationFrequency) {
+    if (cacheEntry == null) {
+      BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
+      return createLayout(
+          text,
+          boring,
+          width,
+          widthYogaMeasureMode,
+          includeFontPadding,
+          textBreakStrategy,
+          hyphenationFrequency);
+    }
+
+    Layout layout =
+        cacheEntry.getLayout(
+            width,
+            widthYogaMeasureMode,
+            includeFontPadding,
+            textBreakStrategy,
+            hyphenationFrequency);
+    if (layout == null) {
+      layout =
+          createLayout(
+              text,
+              cacheEntry.getBoringMetrics(sTextPaintInstance),
+              width,
+              widthYogaMeasureMode,
+              includeFontPadding,
+              textBreakStrategy,
+              hyphenationFrequency);
+      cacheEntry.putLayout(
+          width,
+          widthYogaMeasureMode,
+          includeFontPadding,
+          textBreakStrategy,
+          hyphenationFrequency,
+          layout);
+    }
+    return layout;
+  }
+
+  private static boolean isCacheable(MapBuffer attributedString) {
+    return enableTextSpannableCache
+        && !attributedString.contains(AS_KEY_CACHE_ID)
+        && attributedString.contains(AS_KEY_HASH)
+        && attributedString instanceof ReadableMapBuffer;
+  }
+
+  /**
+   * Returns the text precomputed in the background for {@code attributedString} when it was
+   * measured, or null if it isn't ready. See {@link TextPrecomputer}.
+   */
+  /* package */ static @Nullable Spannable getPrecomputedText(MapBuffer attributedString) {
+    if (!enableTextPrecompute || !isCacheable(attributedString)) {
+      return null;
+    }
+    TextLayoutCache.Entry cacheEntry =
+        TextLayoutCache.getInstance().peek(attributedString.getInt(AS_KEY_HASH), attributedString);
+    return cacheEntry != null ? cacheEntry.getPrecomputedText() : null;
+  }
+
   public static long measureText(
       Context context,
       MapBuffer attributedString,
@@ -383,8 +448,12 @@ public class TextLayoutManagerMapBuffer {
       @Nullable float[] attachmentsPositions) {
 
     // TODO(5578671): Handle text direction (see View#getTextDirectionHeuristic)
+    TextLayoutCache.Entry cacheEntry =
+        getOrCreateCacheEntry(context, attributedString, reactTextViewManagerCallback);
     Spannable text =
-        getOrCreateSpannableForText(context, attributedString, reactTextViewManagerCallback);
+        cacheEntry != null
+            ? cacheEntry.getSpannable()
+            : getOrCreateSpannableForText(context, attributedString, reactTextViewManagerCallback);
 
     if (text == null) {
       return 0;
@@ -401,17 +470,22 @@ public class TextLayoutManagerMapBuffer {
         TextAttributeProps.getHyphenationFrequency(
             paragraphAttributes.getString(PA_KEY_HYPHENATION_FREQUENCY));
 
-    BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
     Layout layout =
-        createLayout(
+        getOrCreateLayout(
             text,
-            boring,
+            cacheEntry,
             width,
             widthYogaMeasureMode,
             includeFontPadding,
             textBreakStrategy,
             hyphenationFrequency);
 
+    if (cacheEntry != null
+        && enableTextPrecompute
+        && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+      TextPrecomputer.precomputeAsync(cacheEntry, textBreakStrategy, hyphenationFrequency);
+    }
+
     int maximumNumberOfLines =
         paragraphAttributes.contains(PA_KEY_MAX_NUMBER_OF_LINES)
             ? paragraphAttributes.getInt(PA_KEY_MAX_NUMBER_OF_LINES)
@@ -569,8 +643,11 @@ public class TextLayoutManagerMapBuffer {
       MapBuffer paragraphAttributes,
       float width) {
 
-    Spannable text = getOrCreateSpannableForText(context, attributedString, null);
-    BoringLayout.Metrics boring = BoringLayout.isBoring(text, sTextPaintInstance);
+    TextLayoutCache.Entry cacheEntry = getOrCreateCacheEntry(context, attributedString, null);
+    Spannable text =
+        cacheEntry != null
+            ? cacheEntry.getSpannable()
+            : getOrCreateSpannableForText(context, attributedString, null);
 
     int textBreakStrategy =
         TextAttributeProps.getTextBreakStrategy(
@@ -584,9 +661,9 @@ public class TextLayoutManagerMapBuffer {
             paragraphAttributes.getString(PA_KEY_HYPHENATION_FREQUENCY));
 
     Layout layout =
-        createLayout(
+        getOrCreateLayout(
             text,
-            boring,
+            cacheEntry,
             width,
             YogaMeasureMode.EXACTLY,
             includeFontPadding,
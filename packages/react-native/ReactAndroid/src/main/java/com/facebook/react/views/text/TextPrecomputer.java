@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.os.Build;
+import android.os.Process;
+import android.text.PrecomputedText;
+import android.text.Spannable;
+import android.text.SpannableString;
+import android.text.TextPaint;
+import android.widget.TextView;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.UiThread;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputes text measurements on a small pool of background threads, so that {@link
+ * ReactTextView} doesn't have to measure text again on the UI thread once it has been measured by
+ * Fabric.
+ *
+ * <p>Text measured during a commit is handed to {@link #precomputeAsync}, which builds a {@link
+ * PrecomputedText} for it in parallel with the rest of the commit. When the text is mounted, the
+ * precomputed text is passed to the view instead of the plain Spannable if it is ready.
+ *
+ * <p>{@link PrecomputedText} can only be displayed by a TextView with the exact same text metrics
+ * parameters, which depend on the view's paint. They are captured from the first ReactTextView
+ * updated on the UI thread, and checked again by {@link ReactTextView} before using the result.
+ */
+@RequiresApi(Build.VERSION_CODES.P)
+/* package */ final class TextPrecomputer {
+
+  private static final int THREAD_COUNT = 2;
+
+  private static volatile @Nullable PrecomputedText.Params sTemplateParams;
+  private static @Nullable ExecutorService sExecutor;
+
+  private TextPrecomputer() {}
+
+  /** Captures the text metrics parameters used by ReactTextViews, if not done already. */
+  @UiThread
+  static void maybeCaptureParams(TextView view) {
+    if (sTemplateParams == null) {
+      PrecomputedText.Params params = view.getTextMetricsParams();
+      // Copy the paint, since the view's own paint may change later.
+      sTemplateParams =
+          new PrecomputedText.Params.Builder(new TextPaint(params.getTextPaint()))
+              .setBreakStrategy(params.getBreakStrategy())
+              .setHyphenationFrequency(params.getHyphenationFrequency())
+              .setTextDirection(params.getTextDirection())
+              .build();
+    }
+  }
+
+  /**
+   * Schedules the precomputation of {@code cacheEntry}'s text, unless it was already scheduled or
+   * no ReactTextView has been updated yet.
+   */
+  static void precomputeAsync(
+      final TextLayoutCache.Entry cacheEntry, int textBreakStrategy, int hyphenationFrequency) {
+    PrecomputedText.Params template = sTemplateParams;
+    if (template == null || !cacheEntry.schedulePrecompute()) {
+      return;
+    }
+    final PrecomputedText.Params params =
+        new PrecomputedText.Params.Builder(template.getTextPaint())
+            .setBreakStrategy(textBreakStrategy)
+            .setHyphenationFrequency(hyphenationFrequency)
+            .setTextDirection(template.getTextDirection())
+            .build();
+    // The cached Spannable is handed to views on the UI thread, so the background thread works on
+    // a snapshot taken before it's scheduled.
+    final Spannable text = new SpannableString(cacheEntry.getSpannable());
+    getExecutor()
+        .execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  cacheEntry.setPrecomputedText(
+                      PrecomputedText.create(text, params));
+                } catch (RuntimeException e) {
+                  // The view falls back to the plain Spannable, so this is not fatal.
+                  FLog.w(ReactConstants.TAG, "Failed to precompute text", e);
+                }
+              }
+            });
+  }
+
+  private static synchronized ExecutorService getExecutor() {
+    if (sExecutor == null) {
+      sExecutor =
+          Executors.newFixedThreadPool(
+              THREAD_COUNT,
+              new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                  Thread thread =
+                      new Thread(
+                          new Runnable() {
+                            @Override
+                            public void run() {
+                              Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                              runnable.run();
+                            }
+                          },
+                          "text_precompute_" + mCount.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+    }
+    return sExecutor;
+  }
+}
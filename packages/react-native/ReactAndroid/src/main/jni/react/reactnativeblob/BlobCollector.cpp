@@ -55,6 +55,51 @@ void BlobCollector::nativeInstall(
                 std::make_shared<BlobCollector>(blobModuleRef, blobId);
             return jsi::Object::createFromHostObject(rt, blobCollector);
           }));
+  runtime.global().setProperty(
+      runtime,
+      "__blobArrayBufferProvider",
+      jsi::Function::createFromHostFunction(
+          runtime,
+          jsi::PropNameID::forAscii(runtime, "__blobArrayBufferProvider"),
+          3,
+          [blobModuleRef](
+              jsi::Runtime& rt,
+              const jsi::Value& thisVal,
+              const jsi::Value* args,
+              size_t count) -> jsi::Value {
+            return takeArrayBuffer(
+                rt,
+                blobModuleRef,
+                args[0].asString(rt).utf8(rt),
+                static_cast<jint>(args[1].asNumber()),
+                static_cast<jint>(args[2].asNumber()));
+          }));
+}
+
+jsi::Value BlobCollector::takeArrayBuffer(
+    jsi::Runtime& runtime,
+    const jni::global_ref<jobject>& blobModule,
+    const std::string& blobId,
+    jint offset,
+    jint size) {
+  static auto takeBytesMethod =
+      jni::findClassStatic(kBlobModuleJavaDescriptor)
+          ->getMethod<jni::JArrayByte(jstring, jint, jint)>("takeBytes");
+  auto bytes =
+      takeBytesMethod(blobModule, jni::make_jstring(blobId).get(), offset, size);
+  if (!bytes) {
+    return jsi::Value::null();
+  }
+  auto length = bytes->size();
+  auto arrayBuffer = runtime.global()
+                         .getPropertyAsFunction(runtime, "ArrayBuffer")
+                         .callAsConstructor(runtime, static_cast<double>(length))
+                         .getObject(runtime)
+                         .getArrayBuffer(runtime);
+  // Copies the bytes straight into the ArrayBuffer's storage
+  bytes->getRegion(
+      0, length, reinterpret_cast<jbyte*>(arrayBuffer.data(runtime)));
+  return std::move(arrayBuffer);
 }
 
 void BlobCollector::registerNatives() {
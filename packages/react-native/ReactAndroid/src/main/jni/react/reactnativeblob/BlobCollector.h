@@ -31,6 +31,15 @@ class BlobCollector : public jni::HybridClass<BlobCollector>,
   static void registerNatives();
 
  private:
+  // Reads a range of a blob into a new ArrayBuffer and removes the blob, or
+  // returns null if there is no such blob.
+  static jsi::Value takeArrayBuffer(
+      jsi::Runtime& runtime,
+      const jni::global_ref<jobject>& blobModule,
+      const std::string& blobId,
+      jint offset,
+      jint size);
+
   friend HybridBase;
 
   jni::global_ref<jobject> blobModule_;
@@ -58,6 +58,24 @@ void UIConstantsProviderManager::installJSIBindings() {
 
     LegacyUIManagerConstantsProviderBinding::install(
         runtime, std::move(uiConstantsProvider));
+
+    auto viewManagerConstantsProvider =
+        [thizz, &runtime](const std::string& viewManagerName) -> jsi::Value {
+      static auto getConstantsForViewManager =
+          jni::findClassStatic(
+              UIConstantsProviderManager::UIConstantsProviderJavaDescriptor)
+              ->getMethod<jni::alias_ref<NativeMap::jhybridobject>(
+                  std::string)>("getConstantsForViewManager");
+      auto constants = getConstantsForViewManager(
+          thizz->uiConstantsProvider_.get(), viewManagerName);
+      if (!constants) {
+        return jsi::Value::undefined();
+      }
+      return jsi::valueFromDynamic(runtime, constants->cthis()->consume());
+    };
+
+    LegacyUIManagerConstantsProviderBinding::installForViewManager(
+        runtime, std::move(viewManagerConstantsProvider));
   });
 }
 
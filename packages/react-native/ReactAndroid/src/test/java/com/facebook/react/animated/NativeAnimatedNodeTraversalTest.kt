@@ -9,6 +9,7 @@
 package com.facebook.react.animated
 
 import android.annotation.SuppressLint
+import android.view.View
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.Callback
 import com.facebook.react.bridge.CatalystInstance
@@ -20,6 +21,7 @@ import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.bridge.WritableArray
 import com.facebook.react.bridge.WritableMap
 import com.facebook.react.common.MapBuilder
+import com.facebook.react.config.ReactFeatureFlags
 import com.facebook.react.uimanager.UIManagerModule
 import com.facebook.react.uimanager.events.Event
 import com.facebook.react.uimanager.events.EventDispatcher
@@ -45,6 +47,7 @@ import org.mockito.Mockito.verify
 import org.mockito.Mockito.verifyNoMoreInteractions
 import org.mockito.Mockito.`when` as whenever
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
 
 /** Tests the animated nodes graph traversal algorithm from {@link NativeAnimatedNodesManager}. */
 @RunWith(RobolectricTestRunner::class)
@@ -165,6 +168,31 @@ class NativeAnimatedNodeTraversalTest {
     verifyNoMoreInteractions(uiManagerMock)
   }
 
+  @Test
+  fun testFramesAnimationWithDirectViewUpdates() {
+    ReactFeatureFlags.enableNativeAnimatedDirectViewUpdates = true
+    try {
+      val view = View(RuntimeEnvironment.getApplication())
+      whenever(uiManagerMock.resolveView(1000)).thenReturn(view)
+      createSimpleAnimatedViewWithOpacity()
+
+      val frames: JavaOnlyArray = JavaOnlyArray.of(0.0, 0.5, 1.0)
+      nativeAnimatedNodesManager.startAnimatingNode(
+          1,
+          1,
+          JavaOnlyMap.of("type", "frames", "frames", frames, "toValue", 1.0),
+          mock(Callback::class.java))
+
+      for (i in 0 until frames.size()) {
+        nativeAnimatedNodesManager.runUpdates(nextFrameTime())
+        assertThat(view.alpha).isEqualTo(frames.getDouble(i).toFloat())
+      }
+      verify(uiManagerMock, times(0)).synchronouslyUpdateViewOnUIThread(anyInt(), any())
+    } finally {
+      ReactFeatureFlags.enableNativeAnimatedDirectViewUpdates = false
+    }
+  }
+
   @Test
   fun testFramesAnimationLoopsFiveTimes() {
     createSimpleAnimatedViewWithOpacity()
@@ -620,6 +648,63 @@ class NativeAnimatedNodeTraversalTest {
     verifyNoMoreInteractions(uiManagerMock)
   }
 
+  /**
+   * Verifies that a long chain of addition nodes, created and connected in reverse order, is
+   * updated in topological order within a single frame, and that graph changes are picked up.
+   *
+   * <p>Nodes are connected as follows: Value(1) -> Add(1001) -> Add(1002) -> ... -> Add(1000 + n)
+   * -> Style(3) -> Props(4) -> View(50), with Value(2, 1.0) as the second input of each addition.
+   */
+  @Test
+  fun testLongAdditionChain() {
+    val chainLength = 500
+    nativeAnimatedNodesManager.createAnimatedNode(
+        1, JavaOnlyMap.of("type", "value", "value", 0.0, "offset", 0.0))
+    nativeAnimatedNodesManager.createAnimatedNode(
+        2, JavaOnlyMap.of("type", "value", "value", 1.0, "offset", 0.0))
+    for (i in chainLength downTo 1) {
+      val previous = if (i == 1) 1 else 1000 + i - 1
+      nativeAnimatedNodesManager.createAnimatedNode(
+          1000 + i, JavaOnlyMap.of("type", "addition", "input", JavaOnlyArray.of(previous, 2)))
+    }
+    nativeAnimatedNodesManager.createAnimatedNode(
+        3,
+        JavaOnlyMap.of("type", "style", "style", JavaOnlyMap.of("translateX", 1000 + chainLength)))
+    nativeAnimatedNodesManager.createAnimatedNode(
+        4, JavaOnlyMap.of("type", "props", "props", JavaOnlyMap.of("style", 3)))
+    nativeAnimatedNodesManager.connectAnimatedNodes(3, 4)
+    nativeAnimatedNodesManager.connectAnimatedNodes(1000 + chainLength, 3)
+    for (i in chainLength downTo 1) {
+      val previous = if (i == 1) 1 else 1000 + i - 1
+      nativeAnimatedNodesManager.connectAnimatedNodes(previous, 1000 + i)
+      nativeAnimatedNodesManager.connectAnimatedNodes(2, 1000 + i)
+    }
+    nativeAnimatedNodesManager.connectAnimatedNodeToView(4, 50)
+
+    val stylesCaptor: ArgumentCaptor<ReadableMap> = ArgumentCaptor.forClass(ReadableMap::class.java)
+
+    reset(uiManagerMock)
+    nativeAnimatedNodesManager.setAnimatedNodeValue(1, 10.0)
+    nativeAnimatedNodesManager.runUpdates(nextFrameTime())
+    verify(uiManagerMock).synchronouslyUpdateViewOnUIThread(eq(50), stylesCaptor.capture())
+    assertThat(stylesCaptor.value.getDouble("translateX")).isEqualTo(10.0 + chainLength)
+
+    // Once the chain is cut, updates to the value don't reach the view anymore.
+    val middle = 1000 + chainLength / 2
+    nativeAnimatedNodesManager.disconnectAnimatedNodes(middle, middle + 1)
+    nativeAnimatedNodesManager.runUpdates(nextFrameTime())
+
+    reset(uiManagerMock)
+    nativeAnimatedNodesManager.setAnimatedNodeValue(1, 20.0)
+    nativeAnimatedNodesManager.runUpdates(nextFrameTime())
+    verifyNoMoreInteractions(uiManagerMock)
+
+    nativeAnimatedNodesManager.connectAnimatedNodes(middle, middle + 1)
+    nativeAnimatedNodesManager.runUpdates(nextFrameTime())
+    verify(uiManagerMock).synchronouslyUpdateViewOnUIThread(eq(50), stylesCaptor.capture())
+    assertThat(stylesCaptor.value.getDouble("translateX")).isEqualTo(20.0 + chainLength)
+  }
+
   /**
    * Verifies that {@link NativeAnimatedNodesManager#runUpdates} updates the view correctly in case
    * when one of the addition input nodes has started animating while the other one has not.
@@ -9,6 +9,7 @@ package com.facebook.react.bridge
 
 import com.facebook.react.turbomodule.core.interfaces.TurboModule
 import com.facebook.testutils.shadows.ShadowSoLoader
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -25,6 +26,9 @@ class BaseJavaModuleTest {
   private lateinit var moduleWrapper: JavaModuleWrapper
   private lateinit var generatedMethods: List<JavaModuleWrapper.MethodDescriptor>
   private lateinit var generatedModuleWrapper: JavaModuleWrapper
+  private lateinit var tableModule: TableMethodsModule
+  private lateinit var tableMethods: List<JavaModuleWrapper.MethodDescriptor>
+  private lateinit var tableModuleWrapper: JavaModuleWrapper
   private lateinit var arguments: ReadableNativeArray
 
   @Before
@@ -35,6 +39,9 @@ class BaseJavaModuleTest {
     val generatedModuleHolder = ModuleHolder(GeneratedMethodsModule())
     generatedModuleWrapper = JavaModuleWrapper(null, generatedModuleHolder)
     generatedMethods = generatedModuleWrapper.methodDescriptors
+    tableModule = TableMethodsModule()
+    tableModuleWrapper = JavaModuleWrapper(null, ModuleHolder(tableModule))
+    tableMethods = tableModuleWrapper.methodDescriptors
     arguments = mock(ReadableNativeArray::class.java)
   }
 
@@ -77,6 +84,61 @@ class BaseJavaModuleTest {
     generatedModuleWrapper.invoke(methodId, arguments)
   }
 
+  @Test
+  fun testCallTableMethod() {
+    val methodId = findMethod("tableMethod", tableMethods)
+    whenever(arguments.size()).thenReturn(2)
+    whenever(arguments.getString(0)).thenReturn("a")
+    whenever(arguments.getDouble(1)).thenReturn(1.0)
+    tableModuleWrapper.invoke(methodId, arguments)
+    assertThat(tableModule.calls).containsExactly("a1")
+  }
+
+  @Test(expected = NativeArgumentsParseException::class)
+  fun testCallTableMethodWithoutEnoughArgs() {
+    val methodId = findMethod("tableMethod", tableMethods)
+    whenever(arguments.size()).thenReturn(1)
+    tableModuleWrapper.invoke(methodId, arguments)
+  }
+
+  @Test
+  fun testTableSyncMethodHasReflectedMethod() {
+    val syncMethod = tableMethods[findMethod("syncTableMethod", tableMethods)]
+    assertThat(syncMethod.type).isEqualTo(BaseJavaModule.METHOD_TYPE_SYNC)
+    assertThat(syncMethod.signature).isEqualTo("i.i")
+    assertThat(syncMethod.method.name).isEqualTo("syncTableMethod")
+  }
+
+  @Test
+  fun testMethodsComeFromMethodTable() {
+    // The table lists a method that isn't annotated, so reflection wouldn't find it
+    val module = UnannotatedTableMethodsModule()
+    val wrapper = JavaModuleWrapper(null, ModuleHolder(module))
+    val descriptors = wrapper.methodDescriptors
+    whenever(arguments.size()).thenReturn(1)
+    whenever(arguments.getString(0)).thenReturn("a")
+
+    wrapper.invoke(findMethod("unannotatedMethod", descriptors), arguments)
+
+    assertThat(descriptors.map { it.name }).containsExactly("unannotatedMethod")
+    assertThat(module.calls).containsExactly("a")
+  }
+
+  @Test
+  fun testMethodTableIsReusedForModulesOfTheSameClass() {
+    val first = UnannotatedTableMethodsModule()
+    JavaModuleWrapper(null, ModuleHolder(first)).methodDescriptors
+    val second = UnannotatedTableMethodsModule()
+    val wrapper = JavaModuleWrapper(null, ModuleHolder(second))
+    whenever(arguments.size()).thenReturn(1)
+    whenever(arguments.getString(0)).thenReturn("b")
+
+    wrapper.invoke(findMethod("unannotatedMethod", wrapper.methodDescriptors), arguments)
+
+    assertThat(first.calls).isEmpty()
+    assertThat(second.calls).containsExactly("b")
+  }
+
   @Suppress("UNUSED_PARAMETER")
   private class MethodsModule : BaseJavaModule() {
     override fun getName(): String = "Methods"
@@ -98,3 +160,82 @@ class BaseJavaModuleTest {
     override fun generatedMethod(a: String?, b: Int?) {}
   }
 }
+
+class TableMethodsModule : BaseJavaModule() {
+  val calls = mutableListOf<String>()
+
+  override fun getName(): String = "TableMethods"
+
+  @ReactMethod
+  fun tableMethod(a: String?, b: Int?) {
+    calls.add("$a$b")
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true) fun syncTableMethod(a: Int): Int = a
+}
+
+class UnannotatedTableMethodsModule : BaseJavaModule() {
+  val calls = mutableListOf<String?>()
+
+  override fun getName(): String = "UnannotatedTableMethods"
+
+  fun unannotatedMethod(a: String?) {
+    calls.add(a)
+  }
+}
+
+class `UnannotatedTableMethodsModule$$MethodTable` :
+    JavaModuleMethodTable<UnannotatedTableMethodsModule>(
+        arrayOf("unannotatedMethod"),
+        arrayOf(BaseJavaModule.METHOD_TYPE_ASYNC),
+        arrayOf("v.S"),
+        intArrayOf(1)) {
+  override fun invokeMethod(
+      module: UnannotatedTableMethodsModule,
+      jsInstance: JSInstance?,
+      methodId: Int,
+      arguments: ReadableArray
+  ) {
+    module.unannotatedMethod(arguments.getString(0))
+  }
+
+  override fun getParameterTypes(methodId: Int): Array<Class<*>> = arrayOf(String::class.java)
+}
+
+/** Same as the method table ReactMethodProcessor generates for [TableMethodsModule]. */
+class `TableMethodsModule$$MethodTable` :
+    JavaModuleMethodTable<TableMethodsModule>(
+        arrayOf("tableMethod", "syncTableMethod"),
+        arrayOf(BaseJavaModule.METHOD_TYPE_ASYNC, BaseJavaModule.METHOD_TYPE_SYNC),
+        arrayOf("v.SI", "i.i"),
+        intArrayOf(2, 1)) {
+  override fun invokeMethod(
+      module: TableMethodsModule,
+      jsInstance: JSInstance?,
+      methodId: Int,
+      arguments: ReadableArray
+  ) {
+    when (methodId) {
+      0 -> {
+        val p0: String?
+        val p1: Int?
+        try {
+          p0 = arguments.getString(0)
+          p1 = arguments.getDouble(1).toInt()
+        } catch (e: UnexpectedNativeTypeException) {
+          throw createParseException(module, methodId, e)
+        }
+        module.tableMethod(p0, p1)
+      }
+      1 -> module.syncTableMethod(arguments.getDouble(0).toInt())
+      else -> throw IllegalArgumentException("Unknown method id $methodId")
+    }
+  }
+
+  override fun getParameterTypes(methodId: Int): Array<Class<*>> =
+      when (methodId) {
+        0 -> arrayOf(String::class.java, Int::class.javaObjectType)
+        1 -> arrayOf(Int::class.javaPrimitiveType!!)
+        else -> throw IllegalArgumentException("Unknown method id $methodId")
+      }
+}
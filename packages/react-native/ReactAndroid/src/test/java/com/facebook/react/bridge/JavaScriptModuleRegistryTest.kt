@@ -20,6 +20,26 @@ class JavaScriptModuleRegistryTest {
     fun doSomething()
   }
 
+  @Test
+  fun testCreateGeneratedModule() {
+    val functionCaller = JavaScriptModuleRegistry.FunctionCaller { _, _, _ -> }
+    val module =
+        JavaScriptModuleRegistry.createGeneratedModule(
+            StubbedJavaScriptModule::class.java, functionCaller)
+
+    Assert.assertTrue(module is `StubbedJavaScriptModule$$JavaScriptModuleStub`)
+    Assert.assertSame(
+        functionCaller, (module as `StubbedJavaScriptModule$$JavaScriptModuleStub`).functionCaller)
+  }
+
+  @Test
+  fun testCreateGeneratedModule_withoutStub() {
+    val functionCaller = JavaScriptModuleRegistry.FunctionCaller { _, _, _ -> }
+    Assert.assertNull(
+        JavaScriptModuleRegistry.createGeneratedModule(
+            TestJavaScriptModule::class.java, functionCaller))
+  }
+
   @Test
   fun testGetJSModuleName() {
     val name = JavaScriptModuleRegistry.getJSModuleName(TestJavaScriptModule::class.java)
@@ -32,3 +52,14 @@ class JavaScriptModuleRegistryTest {
     Assert.assertEquals("NestedInnerClass", name)
   }
 }
+
+interface StubbedJavaScriptModule : JavaScriptModule {
+  fun doSomething()
+}
+
+/** Stands for the stub JavaScriptModuleProcessor generates for [StubbedJavaScriptModule]. */
+class `StubbedJavaScriptModule$$JavaScriptModuleStub`(
+    val functionCaller: JavaScriptModuleRegistry.FunctionCaller
+) : StubbedJavaScriptModule {
+  override fun doSomething() = Unit
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common
+
+import java.util.Random
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+/** Tests for [ConcurrentIntObjectMap] */
+class ConcurrentIntObjectMapTest {
+  @Test
+  fun testMatchesHashMapUnderRandomOperations() {
+    val map = ConcurrentIntObjectMap<String>()
+    val reference = HashMap<Int, String>()
+    val random = Random(42)
+
+    for (i in 0 until 100_000) {
+      val key = random.nextInt(2_000) - 100
+      when (random.nextInt(3)) {
+        0 -> assertThat(map.put(key, "v$i")).isEqualTo(reference.put(key, "v$i"))
+        1 -> assertThat(map.remove(key)).isEqualTo(reference.remove(key))
+        else -> assertThat(map.get(key)).isEqualTo(reference[key])
+      }
+    }
+
+    assertThat(map.size()).isEqualTo(reference.size)
+    val visited = HashMap<Int, String>()
+    map.forEach { key, value -> visited[key] = value }
+    assertThat(visited).isEqualTo(reference)
+  }
+
+  @Test
+  fun testConcurrentWritersOnDisjointKeys() {
+    val map = ConcurrentIntObjectMap<Int>()
+    val threads =
+        (0 until 4).map { writer ->
+          Thread {
+                for (i in 0 until 10_000) {
+                  val key = i * 4 + writer
+                  map.put(key, key)
+                  if (i % 2 == 0) {
+                    map.remove(key)
+                  }
+                }
+              }
+              .apply { start() }
+        }
+    threads.forEach { it.join() }
+
+    assertThat(map.size()).isEqualTo(20_000)
+    assertThat(map.containsKey(1)).isFalse()
+    assertThat(map.get(5)).isEqualTo(5)
+  }
+}
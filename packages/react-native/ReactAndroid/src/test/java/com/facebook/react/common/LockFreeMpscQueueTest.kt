@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common
+
+import java.util.concurrent.CountDownLatch
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+/** Tests for [LockFreeMpscQueue] */
+class LockFreeMpscQueueTest {
+  @Test
+  fun testPollReturnsElementsInOrder() {
+    val queue = LockFreeMpscQueue<Int>(4)
+    queue.offer(1)
+    queue.offer(2)
+    queue.offer(3)
+
+    assertThat(queue.poll()).isEqualTo(1)
+    assertThat(queue.poll()).isEqualTo(2)
+    assertThat(queue.poll()).isEqualTo(3)
+    assertThat(queue.poll()).isNull()
+  }
+
+  @Test
+  fun testOverflowIsDrainedAfterRing() {
+    val queue = LockFreeMpscQueue<Int>(4)
+    for (i in 0 until 10) {
+      queue.offer(i)
+    }
+
+    val drained = mutableListOf<Int>()
+    while (true) {
+      drained.add(queue.poll() ?: break)
+    }
+
+    assertThat(drained).containsExactlyInAnyOrderElementsOf(0 until 10)
+    assertThat(queue.poll()).isNull()
+  }
+
+  @Test
+  fun testConcurrentProducersDeliverEveryElementOnce() {
+    val producers = 8
+    val elementsPerProducer = 20_000
+    val queue = LockFreeMpscQueue<Int>(64)
+    val start = CountDownLatch(1)
+    val threads =
+        (0 until producers).map { producer ->
+          Thread {
+                start.await()
+                for (i in 0 until elementsPerProducer) {
+                  queue.offer(producer * elementsPerProducer + i)
+                }
+              }
+              .apply { start() }
+        }
+    start.countDown()
+
+    val seen = BooleanArray(producers * elementsPerProducer)
+    var received = 0
+    while (received < seen.size) {
+      val element = queue.poll() ?: continue
+      assertThat(seen[element]).isFalse()
+      seen[element] = true
+      received++
+    }
+    threads.forEach { it.join() }
+
+    assertThat(queue.poll()).isNull()
+  }
+
+  @Test
+  fun testSizeCountsRingAndOverflow() {
+    val queue = LockFreeMpscQueue<Int>(4)
+    for (i in 0 until 6) {
+      queue.offer(i)
+    }
+    assertThat(queue.size()).isEqualTo(6)
+
+    queue.poll()
+    assertThat(queue.size()).isEqualTo(5)
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+/** Tests for [LongIntHashMap] */
+class LongIntHashMapTest {
+  @Test
+  fun testReuseAfterClear() {
+    val map = LongIntHashMap()
+    for (i in 0 until 100) {
+      map.put(i.toLong() shl 32, i)
+    }
+    assertThat(map.size()).isEqualTo(100)
+    assertThat(map.get(42L shl 32, -1)).isEqualTo(42)
+
+    map.clear()
+    assertThat(map.isEmpty).isTrue()
+    assertThat(map.get(42L shl 32, -1)).isEqualTo(-1)
+  }
+}
@@ -13,19 +13,33 @@ import com.facebook.react.bridge.JavaOnlyArray
 import com.facebook.react.bridge.JavaOnlyMap
 import com.facebook.react.bridge.ReactTestHelper
 import com.facebook.react.bridge.WritableMap
+import java.io.File
+import java.io.IOException
+import java.lang.management.ManagementFactory
 import java.nio.ByteBuffer
 import java.util.UUID
 import kotlin.random.Random
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okio.Buffer
 import org.junit.After
 import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.MockedStatic
 import org.mockito.Mockito.mockStatic
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
 import org.robolectric.annotation.Config
 
 @RunWith(RobolectricTestRunner::class)
@@ -85,6 +99,37 @@ class BlobModuleTest {
     assertArrayEquals(bytes, blobModule.resolve(blob))
   }
 
+  @Test
+  fun testReadByteString() {
+    assertArrayEquals(bytes, blobModule.readByteString(blobId, 0, -1)!!.toByteArray())
+    assertArrayEquals(
+        bytes.copyOfRange(30, 90), blobModule.readByteString(blobId, 30, 60)!!.toByteArray())
+    assertNull(blobModule.readByteString("unknown", 0, -1))
+  }
+
+  @Test
+  fun testBlobRequestBodyCanBeWrittenUntilClosed() {
+    val body = BlobModule.BlobRequestBody(null, blobModule.blobStore.acquire(blobId)!!, 30, 60)
+    blobModule.remove(blobId)
+
+    // OkHttp writes the body again on retries and redirects
+    repeat(2) {
+      val sink = Buffer()
+      body.writeTo(sink)
+      assertArrayEquals(bytes.copyOfRange(30, 90), sink.readByteArray())
+    }
+
+    body.close()
+    assertThrows(IOException::class.java) { body.writeTo(Buffer()) }
+  }
+
+  @Test
+  fun testTakeBytes() {
+    assertArrayEquals(bytes.copyOfRange(30, 90), blobModule.takeBytes(blobId, 30, 60))
+    assertNull(blobModule.resolve(blobId, 0, bytes.size))
+    assertNull(blobModule.takeBytes(blobId, 0, bytes.size))
+  }
+
   @Test
   fun testRemove() {
     assertNotNull(blobModule.resolve(blobId, 0, bytes.size))
@@ -147,4 +192,89 @@ class BlobModuleTest {
 
     assertNull(blobModule.resolve(blobId, 0, bytes.size))
   }
+
+  @Test
+  fun testStoreSmallResponseBody() {
+    val blob = blobModule.storeResponseBody(bytes.toResponseBody())
+    val id = blob.getString("blobId")!!
+
+    assertEquals(bytes.size, blob.getInt("size"))
+    assertArrayEquals(bytes, blobModule.resolve(id, 0, bytes.size))
+    assertNull(fileOf(id))
+    blobModule.remove(id)
+  }
+
+  @Test
+  fun testStoreLargeResponseBodyInFile() {
+    val largeBytes = ByteArray(1024 * 1024)
+    Random.Default.nextBytes(largeBytes)
+
+    val blob = blobModule.storeResponseBody(largeBytes.toResponseBody())
+    val id = blob.getString("blobId")!!
+    val file = fileOf(id)!!
+
+    assertEquals(largeBytes.size, blob.getInt("size"))
+    assertEquals(blobDirectory(), file.parentFile)
+    assertTrue(file.exists())
+    assertArrayEquals(largeBytes, blobModule.resolve(id, 0, largeBytes.size))
+    assertArrayEquals(largeBytes.copyOfRange(1000, 3000), blobModule.resolve(id, 1000, 2000))
+
+    blobModule.remove(id)
+
+    assertFalse(file.exists())
+    assertNull(blobModule.resolve(id, 0, largeBytes.size))
+  }
+
+  @Test
+  fun testStreamedResponseAllocatesFarLessThanItsSize() {
+    val chunk = ByteArray(64 * 1024)
+    Random.Default.nextBytes(chunk)
+    val body = Buffer()
+    repeat(256) { body.write(chunk) }
+    val bodySize = body.size
+
+    val server = MockWebServer()
+    server.enqueue(MockResponse().setBody("warm up"))
+    server.enqueue(MockResponse().setBody(body))
+    server.start()
+    val client = OkHttpClient()
+    try {
+      // Loads the classes used below, so that loading them isn't counted
+      download(client, server)
+
+      val threadBean = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+      val threadId = Thread.currentThread().id
+      val allocatedBefore = threadBean.getThreadAllocatedBytes(threadId)
+      val blob = download(client, server)
+      val allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore
+      val id = blob.getString("blobId")!!
+
+      // The body goes through a few reused buffers into a file, it's never copied into a byte[]
+      val allocatedBytesPerMb = allocatedBytes * 1024 * 1024 / bodySize
+      assertTrue("$allocatedBytesPerMb bytes allocated per MB", allocatedBytesPerMb < 256 * 1024)
+      assertEquals(bodySize, fileOf(id)!!.length())
+      assertArrayEquals(chunk, blobModule.resolve(id, bodySize.toInt() - chunk.size, chunk.size))
+      blobModule.remove(id)
+    } finally {
+      client.dispatcher.executorService.shutdown()
+      client.connectionPool.evictAll()
+      server.shutdown()
+    }
+  }
+
+  private fun download(client: OkHttpClient, server: MockWebServer): WritableMap =
+      client.newCall(Request.Builder().url(server.url("/")).build()).execute().use {
+        blobModule.storeResponseBody(it.body!!)
+      }
+
+  private fun fileOf(blobId: String): File? {
+    val data = blobModule.blobStore.acquire(blobId)!!
+    try {
+      return data.file
+    } finally {
+      data.release()
+    }
+  }
+
+  private fun blobDirectory(): File = File(RuntimeEnvironment.getApplication().cacheDir, "blobs")
 }
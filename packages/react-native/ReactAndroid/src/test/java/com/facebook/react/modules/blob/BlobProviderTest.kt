@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob
+
+import android.content.res.AssetFileDescriptor
+import java.io.File
+import java.io.PipedInputStream
+import java.io.PipedOutputStream
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+@RunWith(RobolectricTestRunner::class)
+@Config(manifest = Config.NONE)
+class BlobProviderTest {
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  @Test
+  fun testOpenFileBackedBlob() {
+    // Without a memory budget, all data is stored in files.
+    val store = DefaultBlobStore(File(temporaryFolder.root, "blobs"), 0)
+    val bytes = Random.Default.nextBytes(200 * 1024)
+    store.put("blob", store.create(bytes))
+    val data = store.acquire("blob")!!
+    val descriptor = BlobProvider.openBlob(data, 0, bytes.size.toLong(), false)!!
+
+    // The descriptor is still readable after the blob is released.
+    data.release()
+    store.remove("blob")
+
+    val result = descriptor.createInputStream().use { it.readBytes() }
+    assertArrayEquals(bytes, result)
+  }
+
+  @Test
+  fun testWholeFileIsOpenedWithoutDeclaredLength() {
+    val store = DefaultBlobStore(File(temporaryFolder.root, "blobs"), 0)
+    val bytes = Random.Default.nextBytes(200 * 1024)
+    store.put("blob", store.create(bytes))
+    val data = store.acquire("blob")!!
+
+    // ContentResolver.openFileDescriptor() only accepts descriptors without a declared length
+    val descriptor = BlobProvider.openBlob(data, 0, bytes.size.toLong(), true)!!
+    data.release()
+
+    assertEquals(0L, descriptor.startOffset)
+    assertEquals(AssetFileDescriptor.UNKNOWN_LENGTH, descriptor.declaredLength)
+    val result = descriptor.createInputStream().use { it.readBytes() }
+    assertArrayEquals(bytes, result)
+    store.remove("blob")
+  }
+
+  @Test
+  fun testOpenSliceOfFileBackedBlob() {
+    val store = DefaultBlobStore(File(temporaryFolder.root, "blobs"), 0)
+    val bytes = Random.Default.nextBytes(200 * 1024)
+    store.put("blob", store.create(bytes))
+    val data = store.acquire("blob")!!
+    store.put(
+        "slice", CompositeBlobData(listOf(CompositeBlobData.Part(data, 1000, 100 * 1024))))
+    data.release()
+    val slice = store.acquire("slice")!!
+
+    val descriptor = BlobProvider.openBlob(slice, 24, 50 * 1024, true)!!
+    slice.release()
+
+    assertEquals(1024L, descriptor.startOffset)
+    assertEquals(50L * 1024, descriptor.declaredLength)
+    val result = descriptor.createInputStream().use { it.readBytes() }
+    assertArrayEquals(bytes.copyOfRange(1024, 1024 + 50 * 1024), result)
+    store.remove("slice")
+    store.remove("blob")
+  }
+
+  @Test
+  fun testConcurrentReaders() {
+    val store = DefaultBlobStore(File(temporaryFolder.root, "blobs"), 64 * 1024 * 1024)
+    val readerCount = 32
+    val blobs = List(readerCount) { Random.Default.nextBytes(256 * 1024 + it) }
+    blobs.forEachIndexed { i, bytes -> store.put("blob$i", store.create(bytes)) }
+
+    val readers = Executors.newFixedThreadPool(readerCount)
+    try {
+      val results =
+          blobs.indices.map { i ->
+            val input = PipedInputStream(64 * 1024)
+            val output = PipedOutputStream(input)
+            // Offset the reads, so that ranges are exercised as well.
+            val data = store.acquire("blob$i")!!
+            BlobProvider.writeBlobAsync(data, 10, blobs[i].size.toLong() - 10, output)
+            data.release()
+            // Releasing the blob doesn't interrupt the transfer.
+            store.remove("blob$i")
+            readers.submit(Callable { input.use { it.readBytes() } })
+          }
+
+      results.forEachIndexed { i, result ->
+        assertArrayEquals(
+            blobs[i].copyOfRange(10, blobs[i].size), result.get(30, TimeUnit.SECONDS))
+      }
+    } finally {
+      readers.shutdownNow()
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.blob
+
+import java.io.File
+import java.nio.ByteBuffer
+import kotlin.random.Random
+import okio.Buffer
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class DefaultBlobStoreTest {
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  private lateinit var directory: File
+  private lateinit var store: DefaultBlobStore
+
+  @Before
+  fun setUp() {
+    directory = File(temporaryFolder.root, "blobs")
+    store = DefaultBlobStore(directory, 1024)
+  }
+
+  @Test
+  fun testSpillsToDiskPastMemoryBudget() {
+    val small = Random.Default.nextBytes(1000)
+    val large = Random.Default.nextBytes(1000)
+
+    store.put("small", store.create(small))
+    store.put("large", store.create(large))
+
+    assertNull(use("small") { it.file })
+    val file = use("large") { it.file }
+    assertNotNull(file)
+    assertEquals(1000L, store.memoryUsed)
+    assertArrayEquals(small, use("small") { read(it) })
+    assertArrayEquals(large, use("large") { read(it) })
+
+    store.remove("small")
+    store.remove("large")
+
+    assertEquals(0L, store.memoryUsed)
+    assertFalse(file!!.exists())
+  }
+
+  @Test
+  fun testSmallDataIsKeptWithinMemoryBudget() {
+    val bytes = Random.Default.nextBytes(4 * 1024)
+    val sourceBytes = Random.Default.nextBytes(4 * 1024)
+
+    store = DefaultBlobStore(directory, 16 * 1024)
+    store.put("bytes", store.create(bytes))
+    store.put("source", store.create(Buffer().write(sourceBytes)))
+
+    assertEquals(8L * 1024, store.memoryUsed)
+    assertNull(use("bytes") { it.file })
+    assertNull(use("source") { it.file })
+    assertArrayEquals(bytes, use("bytes") { read(it) })
+    assertArrayEquals(sourceBytes, use("source") { read(it) })
+    val range = ByteArray(100)
+    use("source") { it.read(4000, ByteBuffer.wrap(range)) }
+    assertArrayEquals(sourceBytes.copyOfRange(4000, 4096), range.copyOfRange(0, 96))
+
+    store.remove("bytes")
+    store.remove("source")
+
+    assertEquals(0L, store.memoryUsed)
+  }
+
+  @Test
+  fun testCompositeDataOutlivesParts() {
+    val first = Random.Default.nextBytes(600)
+    val second = Random.Default.nextBytes(600)
+    store.put("first", store.create(first))
+    store.put("second", store.create(second))
+    val secondFile = use("second") { it.file!! }
+
+    use("first") { firstData ->
+      use("second") { secondData ->
+        store.put(
+            "composite",
+            CompositeBlobData(
+                listOf(
+                    CompositeBlobData.Part(firstData, 100, 500),
+                    CompositeBlobData.Part(secondData, 0, 200))))
+      }
+    }
+    store.remove("first")
+    store.remove("second")
+
+    assertTrue(secondFile.exists())
+    val expected = first.copyOfRange(100, 600) + second.copyOfRange(0, 200)
+    assertArrayEquals(expected, use("composite") { read(it) })
+    val range = ByteArray(100)
+    use("composite") { it.read(450, ByteBuffer.wrap(range)) }
+    assertArrayEquals(expected.copyOfRange(450, 550), range)
+
+    store.remove("composite")
+
+    assertEquals(0L, store.memoryUsed)
+    assertFalse(secondFile.exists())
+  }
+
+  @Test
+  fun testAcquiredDataOutlivesRemovedBlob() {
+    val bytes = Random.Default.nextBytes(2000)
+    store.put("blob", store.create(bytes))
+    val data = store.acquire("blob")!!
+    val file = data.file!!
+
+    store.remove("blob")
+
+    assertNull(store.acquire("blob"))
+    assertArrayEquals(bytes, read(data))
+    data.release()
+    assertFalse(file.exists())
+  }
+
+  @Test
+  fun testStoresShareDirectory() {
+    val bytes = Random.Default.nextBytes(2000)
+    store.put("blob", store.create(bytes))
+    val otherStore = DefaultBlobStore(directory, 0)
+    otherStore.put("other", otherStore.create(bytes))
+
+    // The second store doesn't delete the files of the first one
+    assertArrayEquals(bytes, use("blob") { read(it) })
+    assertEquals(2, directory.listFiles()!!.size)
+
+    store.remove("blob")
+    otherStore.remove("other")
+  }
+
+  private fun <T> use(blobId: String, block: (BlobData) -> T): T {
+    val data = store.acquire(blobId)!!
+    try {
+      return block(data)
+    } finally {
+      data.release()
+    }
+  }
+
+  private fun read(data: BlobData): ByteArray {
+    val bytes = ByteArray(data.size.toInt())
+    data.read(0, ByteBuffer.wrap(bytes))
+    return bytes
+  }
+}
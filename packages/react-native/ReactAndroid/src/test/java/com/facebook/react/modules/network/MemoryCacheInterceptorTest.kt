@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class MemoryCacheInterceptorTest {
+  private lateinit var server: MockWebServer
+  private lateinit var interceptor: MemoryCacheInterceptor
+  private lateinit var client: OkHttpClient
+
+  @Before
+  fun setUp() {
+    server = MockWebServer()
+    server.start()
+    interceptor = MemoryCacheInterceptor()
+    val revalidationClient = OkHttpClient.Builder().build()
+    interceptor.setRevalidationClient(revalidationClient)
+    client = revalidationClient.newBuilder().addInterceptor(interceptor).build()
+  }
+
+  @After
+  fun tearDown() {
+    client.dispatcher.executorService.shutdown()
+    server.shutdown()
+  }
+
+  @Test
+  fun testFreshResponseIsServedFromMemory() {
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("hello"))
+
+    assertThat(get()).isEqualTo("hello")
+    assertThat(get()).isEqualTo("hello")
+
+    assertThat(server.requestCount).isEqualTo(1)
+    assertThat(interceptor.missCount).isEqualTo(1)
+    assertThat(interceptor.hitCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testNoCacheRequestBypassesMemory() {
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("first"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("second"))
+
+    assertThat(get()).isEqualTo("first")
+    assertThat(get("no-cache")).isEqualTo("second")
+
+    assertThat(server.requestCount).isEqualTo(2)
+    assertThat(interceptor.hitCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testConcurrentRequestsAreCoalesced() {
+    server.enqueue(
+        MockResponse()
+            .setHeader("Cache-Control", "max-age=60")
+            .setHeadersDelay(500, TimeUnit.MILLISECONDS)
+            .setBody("shared"))
+    val executor = Executors.newFixedThreadPool(4)
+    try {
+      val results = executor.invokeAll(List(4) { Callable { get() } })
+
+      assertThat(results.map { it.get() }).containsOnly("shared")
+      assertThat(server.requestCount).isEqualTo(1)
+      assertThat(interceptor.missCount).isEqualTo(1)
+      assertThat(interceptor.coalescedCount).isEqualTo(3)
+    } finally {
+      executor.shutdown()
+    }
+  }
+
+  @Test
+  fun testStaleResponseIsServedWhileRevalidating() {
+    val cacheControl = "max-age=0, stale-while-revalidate=60"
+    server.enqueue(MockResponse().setHeader("Cache-Control", cacheControl).setBody("v1"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", cacheControl).setBody("v2"))
+
+    assertThat(get()).isEqualTo("v1")
+    assertThat(get()).isEqualTo("v1")
+    server.takeRequest(1, TimeUnit.SECONDS)
+    assertThat(server.takeRequest(1, TimeUnit.SECONDS)).isNotNull
+    waitForIdleClient()
+
+    server.enqueue(MockResponse().setHeader("Cache-Control", cacheControl).setBody("v3"))
+    assertThat(get()).isEqualTo("v2")
+    assertThat(interceptor.hitCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testResponsesDependingOnCredentialsAreNotKept() {
+    server.enqueue(
+        MockResponse()
+            .setHeader("Cache-Control", "max-age=60")
+            .setHeader("Set-Cookie", "session=1")
+            .setBody("set-cookie"))
+    server.enqueue(
+        MockResponse()
+            .setHeader("Cache-Control", "max-age=60")
+            .setHeader("Vary", "Accept-Language")
+            .setBody("vary"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("private"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("public"))
+
+    assertThat(get()).isEqualTo("set-cookie")
+    assertThat(get()).isEqualTo("vary")
+    assertThat(get(authorization = "Bearer token")).isEqualTo("private")
+    assertThat(get(authorization = "Bearer token")).isEqualTo("public")
+
+    assertThat(server.requestCount).isEqualTo(4)
+    assertThat(interceptor.hitCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testUncacheableResponsesAreNotKept() {
+    server.enqueue(MockResponse().setHeader("Cache-Control", "no-store").setBody("no-store"))
+    server.enqueue(MockResponse().setBody("no-max-age"))
+    server.enqueue(
+        MockResponse().setHeader("Cache-Control", "max-age=60").setChunkedBody("chunked", 2))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("kept"))
+
+    assertThat(get()).isEqualTo("no-store")
+    assertThat(get()).isEqualTo("no-max-age")
+    assertThat(get()).isEqualTo("chunked")
+    assertThat(get()).isEqualTo("kept")
+
+    assertThat(server.requestCount).isEqualTo(4)
+    assertThat(interceptor.hitCount).isEqualTo(0)
+  }
+
+  @Test
+  fun testStreamedResponseIsNotBuffered() {
+    server.enqueue(
+        MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setChunkedBody("data: hello\n\n", 64)
+            .setBodyDelay(2, TimeUnit.SECONDS))
+
+    val start = System.nanoTime()
+    client.newCall(Request.Builder().url(server.url("/")).build()).execute().use {
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000)
+      assertThat(it.body!!.string()).isEqualTo("data: hello\n\n")
+    }
+  }
+
+  @Test
+  fun testEvictAll() {
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("first"))
+    server.enqueue(MockResponse().setHeader("Cache-Control", "max-age=60").setBody("second"))
+
+    assertThat(get()).isEqualTo("first")
+    interceptor.evictAll()
+    assertThat(get()).isEqualTo("second")
+  }
+
+  private fun get(cacheControl: String? = null, authorization: String? = null): String {
+    val request = Request.Builder().url(server.url("/"))
+    cacheControl?.let { request.header("Cache-Control", it) }
+    authorization?.let { request.header("Authorization", it) }
+    client.newCall(request.build()).execute().use {
+      return it.body!!.string()
+    }
+  }
+
+  private fun waitForIdleClient() {
+    val deadline = System.currentTimeMillis() + 1000
+    while (client.dispatcher.runningCallsCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10)
+    }
+    assertThat(client.dispatcher.runningCallsCount()).isEqualTo(0)
+  }
+}
@@ -24,7 +24,6 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.common.network.OkHttpCallUtil;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
@@ -303,10 +302,10 @@ public class NetworkingModuleTest {
   public void testMultipartPostRequestSimple() throws Exception {
     MockedStatic<RequestBodyUtil> requestBodyUtil = mockStatic(RequestBodyUtil.class);
     requestBodyUtil
-        .when(() -> RequestBodyUtil.getFileInputStream(any(ReactContext.class), any(String.class)))
-        .thenReturn(mock(InputStream.class));
-    requestBodyUtil
-        .when(() -> RequestBodyUtil.create(any(MediaType.class), any(InputStream.class)))
+        .when(
+            () ->
+                RequestBodyUtil.create(
+                    any(ReactContext.class), any(MediaType.class), any(String.class)))
         .thenReturn(mock(RequestBody.class));
     requestBodyUtil
         .when(
@@ -355,10 +354,10 @@ public class NetworkingModuleTest {
   public void testMultipartPostRequestHeaders() throws Exception {
     MockedStatic<RequestBodyUtil> requestBodyUtil = mockStatic(RequestBodyUtil.class);
     requestBodyUtil
-        .when(() -> RequestBodyUtil.getFileInputStream(any(ReactContext.class), any(String.class)))
-        .thenReturn(mock(InputStream.class));
-    requestBodyUtil
-        .when(() -> RequestBodyUtil.create(any(MediaType.class), any(InputStream.class)))
+        .when(
+            () ->
+                RequestBodyUtil.create(
+                    any(ReactContext.class), any(MediaType.class), any(String.class)))
         .thenReturn(mock(RequestBody.class));
     requestBodyUtil
         .when(
@@ -412,15 +411,13 @@ public class NetworkingModuleTest {
 
   @Test
   public void testMultipartPostRequestBody() throws Exception {
-    InputStream inputStream = mock(InputStream.class);
-
     MockedStatic<RequestBodyUtil> requestBodyUtil = mockStatic(RequestBodyUtil.class);
     requestBodyUtil
-        .when(() -> RequestBodyUtil.getFileInputStream(any(ReactContext.class), any(String.class)))
-        .thenReturn(mock(InputStream.class));
-    requestBodyUtil
-        .when(() -> RequestBodyUtil.create(any(MediaType.class), any(InputStream.class)))
-        .thenCallRealMethod();
+        .when(
+            () ->
+                RequestBodyUtil.create(
+                    any(ReactContext.class), any(MediaType.class), any(String.class)))
+        .thenReturn(mock(RequestBody.class));
     requestBodyUtil
         .when(
             () ->
@@ -500,10 +497,8 @@ public class NetworkingModuleTest {
 
     // TODO This should be migrated to requestBodyUtil.verify();
     //  PowerMockito.verifyStatic(RequestBodyUtil.class, times(1));
-    RequestBodyUtil.getFileInputStream(any(ReactContext.class), eq("imageUri"));
-    // TODO This should be migrated to requestBodyUtil.verify();
-    //  PowerMockito.verifyStatic(RequestBodyUtil.class, times(1));
-    RequestBodyUtil.create(MediaType.parse("image/jpg"), inputStream);
+    RequestBodyUtil.create(
+        any(ReactContext.class), eq(MediaType.parse("image/jpg")), eq("imageUri"));
 
     // verify body
     verify(multipartBuilder).build();
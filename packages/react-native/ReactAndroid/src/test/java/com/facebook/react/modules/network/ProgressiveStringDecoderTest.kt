@@ -122,6 +122,28 @@ class ProgressiveStringDecoderTest {
     chunkString(TEST_DATA_4_BYTES, Charset.forName("UTF-32"), 65)
   }
 
+  @Test
+  fun testAppendAccumulatesDecodedChunks() {
+    val data = TEST_DATA_3_BYTES.toByteArray(StandardCharsets.UTF_8)
+    val collector = ProgressiveStringDecoder(StandardCharsets.UTF_8)
+    val buffer = ByteArray(1)
+    for (byte in data) {
+      buffer[0] = byte
+      collector.append(buffer, 1)
+    }
+    Assert.assertEquals(TEST_DATA_3_BYTES.length, collector.decodedLength)
+    Assert.assertEquals(TEST_DATA_3_BYTES, collector.takeDecoded())
+    Assert.assertEquals(0, collector.decodedLength)
+    Assert.assertEquals("", collector.takeDecoded())
+  }
+
+  @Test
+  fun testMalformedInputIsReplaced() {
+    val collector = ProgressiveStringDecoder(StandardCharsets.UTF_8)
+    val data = byteArrayOf('a'.code.toByte(), 0xFF.toByte(), 'b'.code.toByte())
+    Assert.assertEquals("a\uFFFDb", collector.decodeNext(data, data.size))
+  }
+
   private fun chunkString(originalString: String, charset: Charset, chunkSize: Int) {
     val data = originalString.toByteArray(charset)
     val builder = StringBuilder()
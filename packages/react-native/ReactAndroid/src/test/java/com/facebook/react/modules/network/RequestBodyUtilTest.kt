@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import android.net.Uri
+import java.io.File
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.MultipartBody
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okio.Buffer
+import okio.GzipSource
+import okio.buffer
+import okio.sink
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+@RunWith(RobolectricTestRunner::class)
+class RequestBodyUtilTest {
+  companion object {
+    const val LARGE_FILE_SIZE = 32L * 1024 * 1024
+  }
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  private lateinit var server: MockWebServer
+  private val mediaType = "application/octet-stream".toMediaType()
+
+  @Before
+  fun setUp() {
+    server = MockWebServer()
+    // Only count the bytes received, instead of holding them in memory.
+    server.bodyLimit = 0
+    server.start()
+  }
+
+  @After
+  fun tearDown() {
+    server.shutdown()
+  }
+
+  @Test
+  fun testLargeFileIsStreamedWithExactLengthAndProgress() {
+    val file = createFile(LARGE_FILE_SIZE)
+    val progress = mutableListOf<Long>()
+    var done = false
+    val body =
+        ProgressRequestBody(createBody(file)) { bytesWritten, contentLength, isDone ->
+          assertThat(contentLength).isEqualTo(LARGE_FILE_SIZE)
+          progress.add(bytesWritten)
+          done = isDone
+        }
+
+    post(body)
+
+    val request = server.takeRequest()
+    assertThat(request.getHeader("Content-Length")).isEqualTo(LARGE_FILE_SIZE.toString())
+    assertThat(request.bodySize).isEqualTo(LARGE_FILE_SIZE)
+    assertThat(progress).isSorted
+    assertThat(progress.last()).isEqualTo(LARGE_FILE_SIZE)
+    assertThat(done).isTrue
+  }
+
+  @Test
+  fun testMultipartBodyHasExactLength() {
+    val part = createBody(createFile(1024 * 1024))
+    val body =
+        MultipartBody.Builder()
+            .setType(MultipartBody.FORM)
+            .addFormDataPart("file", "file", part)
+            .addFormDataPart("other", "file", createBody(createFile(1024)))
+            .build()
+
+    post(body)
+
+    val request = server.takeRequest()
+    assertThat(body.contentLength()).isGreaterThan(part.contentLength())
+    assertThat(request.bodySize).isEqualTo(body.contentLength())
+  }
+
+  @Test
+  fun testFileBodyCanBeWrittenAgain() {
+    val body = createBody(createFile(100))
+    val first = Buffer()
+    val second = Buffer()
+
+    body.writeTo(first)
+    body.writeTo(second)
+
+    assertThat(body.isOneShot()).isFalse
+    assertThat(first.size).isEqualTo(100)
+    assertThat(second.readByteString()).isEqualTo(first.readByteString())
+  }
+
+  @Test
+  fun testGzipStringBodyHasExactLength() {
+    val text = "hello ".repeat(1000)
+    val body = RequestBodyUtil.createGzip("text/plain".toMediaType(), text)!!
+    val compressed = Buffer()
+
+    body.writeTo(compressed)
+
+    assertThat(body.contentLength()).isEqualTo(compressed.size)
+    assertThat(GzipSource(compressed).buffer().readUtf8()).isEqualTo(text)
+  }
+
+  @Test
+  fun testMissingFileReturnsNull() {
+    val file = File(temporaryFolder.root, "missing")
+
+    assertThat(
+            RequestBodyUtil.create(
+                RuntimeEnvironment.getApplication(), mediaType, Uri.fromFile(file).toString()))
+        .isNull()
+  }
+
+  private fun createBody(file: File): RequestBody =
+      RequestBodyUtil.create(
+          RuntimeEnvironment.getApplication(), mediaType, Uri.fromFile(file).toString())!!
+
+  /** Writes a file of the given size with a repeating pattern, using a fixed-size buffer. */
+  private fun createFile(size: Long): File {
+    val file = File(temporaryFolder.root, "file-$size")
+    if (!file.exists()) {
+      val chunk = ByteArray(64 * 1024) { it.toByte() }
+      file.sink().buffer().use { sink ->
+        var remaining = size
+        while (remaining > 0) {
+          val count = minOf(remaining, chunk.size.toLong()).toInt()
+          sink.write(chunk, 0, count)
+          remaining -= count
+        }
+      }
+    }
+    return file
+  }
+
+  private fun post(body: RequestBody) {
+    server.enqueue(MockResponse())
+    val client = OkHttpClient()
+    client.newCall(Request.Builder().url(server.url("/")).post(body).build()).execute().close()
+  }
+}
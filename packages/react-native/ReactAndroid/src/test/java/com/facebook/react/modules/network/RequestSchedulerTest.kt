@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network
+
+import com.facebook.react.modules.network.RequestScheduler.Priority
+import java.io.IOException
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.Dispatcher
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+class RequestSchedulerTest {
+  private val releaseBlockedRequest = CountDownLatch(1)
+  private val completedPaths = Collections.synchronizedList(mutableListOf<String>())
+  private val failures = Collections.synchronizedList(mutableListOf<IOException>())
+
+  private lateinit var server: MockWebServer
+  private lateinit var scheduler: RequestScheduler
+
+  @Before
+  fun setUp() {
+    server = MockWebServer()
+    server.dispatcher =
+        object : okhttp3.mockwebserver.Dispatcher() {
+          override fun dispatch(request: RecordedRequest): MockResponse {
+            if (request.path == "/blocked") {
+              releaseBlockedRequest.await(5, TimeUnit.SECONDS)
+            }
+            if (request.path!!.startsWith("/low")) {
+              return MockResponse().setHeadersDelay(200, TimeUnit.MILLISECONDS)
+            }
+            return MockResponse()
+          }
+        }
+    server.start()
+    scheduler = RequestScheduler()
+  }
+
+  @After
+  fun tearDown() {
+    releaseBlockedRequest.countDown()
+    server.shutdown()
+  }
+
+  @Test
+  fun testRequestsAreHandedOverByPriority() {
+    val client = createClient(maxRequestsPerHost = 1)
+    val done = CountDownLatch(5)
+    enqueue(client, "/blocked", Priority.NORMAL, done)
+    enqueue(client, "/background", Priority.BACKGROUND, done)
+    enqueue(client, "/low", Priority.LOW, done)
+    enqueue(client, "/normal", Priority.NORMAL, done)
+    enqueue(client, "/high", Priority.HIGH, done)
+
+    releaseBlockedRequest.countDown()
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue
+    assertThat(receivedPaths(5))
+        .containsExactly("/blocked", "/high", "/normal", "/low", "/background")
+  }
+
+  @Test
+  fun testWaitingRequestsAge() {
+    scheduler.setAgingIntervalMs(50)
+    val client = createClient(maxRequestsPerHost = 1)
+    val done = CountDownLatch(3)
+    enqueue(client, "/blocked", Priority.NORMAL, done)
+    enqueue(client, "/background", Priority.BACKGROUND, done)
+    Thread.sleep(200)
+    enqueue(client, "/high", Priority.HIGH, done)
+
+    releaseBlockedRequest.countDown()
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue
+    assertThat(receivedPaths(3)).containsExactly("/blocked", "/background", "/high")
+  }
+
+  @Test
+  fun testHighPriorityRequestIsNotDelayedByLowPriorityBacklog() {
+    val client = createClient(maxRequestsPerHost = 5)
+    val lowDone = CountDownLatch(40)
+    repeat(40) { enqueue(client, "/low$it", Priority.LOW, lowDone) }
+    Thread.sleep(50)
+
+    val highDone = CountDownLatch(1)
+    val start = System.nanoTime()
+    enqueue(client, "/high", Priority.HIGH, highDone)
+    assertThat(highDone.await(5, TimeUnit.SECONDS)).isTrue
+    val highLatencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+    // In FIFO order, it would wait for the 40 low priority requests, i.e. 10 rounds of 200ms.
+    assertThat(highLatencyMs).isLessThan(200)
+    assertThat(scheduler.pendingRequestCount).isGreaterThan(0)
+    assertThat(lowDone.await(10, TimeUnit.SECONDS)).isTrue
+    assertThat(completedPaths.indexOf("/high")).isLessThan(10)
+  }
+
+  @Test
+  fun testCancelTagFailsWaitingRequest() {
+    val client = createClient(maxRequestsPerHost = 1)
+    val blockedDone = CountDownLatch(1)
+    val canceledDone = CountDownLatch(1)
+    enqueue(client, "/blocked", Priority.NORMAL, blockedDone)
+    enqueue(client, "/canceled", Priority.NORMAL, canceledDone, tag = 42)
+
+    scheduler.cancelTag(42)
+
+    assertThat(canceledDone.await(1, TimeUnit.SECONDS)).isTrue
+    assertThat(failures).hasSize(1)
+    assertThat(scheduler.pendingRequestCount).isEqualTo(0)
+    releaseBlockedRequest.countDown()
+    assertThat(blockedDone.await(5, TimeUnit.SECONDS)).isTrue
+    assertThat(server.requestCount).isEqualTo(1)
+  }
+
+  private fun createClient(maxRequestsPerHost: Int): OkHttpClient =
+      OkHttpClient.Builder()
+          .dispatcher(Dispatcher().apply { this.maxRequestsPerHost = maxRequestsPerHost })
+          .build()
+
+  private fun enqueue(
+      client: OkHttpClient,
+      path: String,
+      priority: Priority,
+      done: CountDownLatch,
+      tag: Any? = null
+  ) {
+    val request = Request.Builder().url(server.url(path)).tag(tag).build()
+    scheduler.enqueue(
+        client,
+        request,
+        priority,
+        object : Callback {
+          override fun onFailure(call: Call, e: IOException) {
+            failures.add(e)
+            done.countDown()
+          }
+
+          override fun onResponse(call: Call, response: Response) {
+            response.close()
+            completedPaths.add(path)
+            done.countDown()
+          }
+        })
+  }
+
+  private fun receivedPaths(count: Int): List<String?> =
+      List(count) { server.takeRequest(1, TimeUnit.SECONDS)?.path }
+}
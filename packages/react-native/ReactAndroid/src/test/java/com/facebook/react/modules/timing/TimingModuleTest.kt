@@ -7,35 +7,41 @@
 
 package com.facebook.react.modules.timing
 
+import android.os.Looper
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.CatalystInstance
 import com.facebook.react.bridge.JavaOnlyArray
 import com.facebook.react.bridge.ReactApplicationContext
 import com.facebook.react.bridge.WritableArray
 import com.facebook.react.common.SystemClock
+import com.facebook.react.config.ReactFeatureFlags
 import com.facebook.react.devsupport.interfaces.DevSupportManager
 import com.facebook.react.modules.core.ChoreographerCompat.FrameCallback
 import com.facebook.react.modules.core.JSTimers
 import com.facebook.react.modules.core.ReactChoreographer
 import com.facebook.react.modules.core.ReactChoreographer.CallbackType
 import com.facebook.react.modules.core.TimingModule
+import java.time.Duration
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
 import org.mockito.ArgumentMatchers.any
 import org.mockito.ArgumentMatchers.eq
 import org.mockito.MockedStatic
 import org.mockito.Mockito.mock
 import org.mockito.Mockito.mockStatic
 import org.mockito.Mockito.reset
+import org.mockito.Mockito.times
 import org.mockito.Mockito.verify
 import org.mockito.Mockito.verifyNoMoreInteractions
 import org.mockito.Mockito.`when` as whenever
 import org.mockito.invocation.InvocationOnMock
 import org.mockito.stubbing.Answer
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
 
 @RunWith(RobolectricTestRunner::class)
 class TimingModuleTest {
@@ -247,6 +253,33 @@ class TimingModuleTest {
     assertThat(timingModule.hasActiveTimersInRange(200)).isTrue // In range
   }
 
+  @Test
+  fun testOnDemandTimerFramesSleepUntilNextTimer() {
+    ReactFeatureFlags.enableOnDemandTimerFrames = true
+    try {
+      timingModule.onHostResume()
+      for (i in 0 until 1000) {
+        timingModule.createTimer(i.toDouble(), 60000.0, 0.0, false)
+      }
+      stepChoreographerFrame()
+      verifyNoMoreInteractions(jSTimersMock)
+
+      // Frames are only requested again once the timers are about to fire.
+      currentTimeNs = 60000L * 1000 * 1000
+      shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(60))
+      stepChoreographerFrame()
+      // All the expired timers are called at once.
+      val timersToCall = ArgumentCaptor.forClass(WritableArray::class.java)
+      verify(jSTimersMock).callTimers(timersToCall.capture())
+      assertThat(timersToCall.value.toArrayList()).containsExactlyInAnyOrderElementsOf(
+          List(1000) { it.toDouble() })
+      verify(reactChoreographerMock, times(2))
+          .postFrameCallback(eq(CallbackType.TIMERS_EVENTS), any(FrameCallback::class.java))
+    } finally {
+      ReactFeatureFlags.enableOnDemandTimerFrames = false
+    }
+  }
+
   @Test
   fun testIdleCallback() {
     timingModule.setSendIdleEvents(true)
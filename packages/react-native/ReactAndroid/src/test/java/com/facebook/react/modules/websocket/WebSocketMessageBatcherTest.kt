@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.websocket
+
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.WritableMap
+import java.util.concurrent.Executor
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+
+class WebSocketMessageBatcherTest {
+  private val scheduledFlushes = mutableListOf<Runnable>()
+  private val batches = mutableListOf<List<WritableMap>>()
+  private var queuedMessageCount = 0L
+  private var droppedMessageCount = 0L
+
+  private lateinit var batcher: WebSocketMessageBatcher
+
+  @Before
+  fun setUp() {
+    batcher =
+        WebSocketMessageBatcher(
+            2,
+            3,
+            Executor { scheduledFlushes.add(it) },
+            WebSocketMessageBatcher.Sender { messages, queued, dropped ->
+              batches.add(messages)
+              queuedMessageCount = queued
+              droppedMessageCount = dropped
+            })
+  }
+
+  @Test
+  fun testFlushSendsQueuedMessagesInBatches() {
+    val messages = List(3) { message(it) }
+    messages.forEach { batcher.enqueue(it) }
+
+    assertThat(scheduledFlushes).hasSize(1)
+    assertThat(batches).isEmpty()
+
+    scheduledFlushes.removeAt(0).run()
+
+    assertThat(batches).containsExactly(messages.subList(0, 2), messages.subList(2, 3))
+    assertThat(queuedMessageCount).isEqualTo(3)
+    assertThat(droppedMessageCount).isEqualTo(0)
+
+    batcher.enqueue(message(3))
+
+    assertThat(scheduledFlushes).hasSize(1)
+  }
+
+  @Test
+  fun testEnqueueBlocksWhileQueueIsFull() {
+    repeat(3) { batcher.enqueue(message(it)) }
+    val reader = Thread { batcher.enqueue(message(3)) }
+    reader.start()
+    reader.join(100)
+
+    assertThat(reader.isAlive).isTrue()
+
+    batcher.flush()
+    reader.join(1000)
+
+    assertThat(reader.isAlive).isFalse()
+    batcher.flush()
+    assertThat(batches.flatten().map { it.getInt("index") }).containsExactly(0, 1, 2, 3)
+  }
+
+  @Test
+  fun testCloseDropsMessagesAndUnblocksReader() {
+    repeat(3) { batcher.enqueue(message(it)) }
+    val reader = Thread { batcher.enqueue(message(3)) }
+    reader.start()
+
+    batcher.close()
+    reader.join(1000)
+    batcher.enqueue(message(4))
+    batcher.flush()
+
+    assertThat(reader.isAlive).isFalse()
+    assertThat(batches).isEmpty()
+    // The 3 queued messages, the blocked one and the one queued after closing
+    assertThat(batcher.close()).isEqualTo(5)
+  }
+
+  @Test
+  fun testInterruptedReaderDropsMessage() {
+    repeat(3) { batcher.enqueue(message(it)) }
+    val reader = Thread { batcher.enqueue(message(3)) }
+    reader.start()
+    reader.interrupt()
+    reader.join(1000)
+
+    assertThat(reader.isAlive).isFalse()
+    scheduledFlushes.removeAt(0).run()
+    assertThat(batches.flatten().map { it.getInt("index") }).containsExactly(0, 1, 2)
+    assertThat(droppedMessageCount).isEqualTo(1)
+  }
+
+  private fun message(index: Int): WritableMap = JavaOnlyMap().apply { putInt("index", index) }
+}
@@ -13,6 +13,7 @@ import static org.mockito.Mockito.doReturn;
 import android.app.Activity;
 import android.content.Context;
 import com.facebook.react.bridge.JSIModuleType;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 import com.facebook.react.uimanager.UIManagerModule;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,6 +51,15 @@ public class BridgelessReactContextTest {
     assertThat(uiManagerModule).isEqualTo(mUiManagerModule);
   }
 
+  @Test
+  public void getJSModule_returnsSameModuleForInterface() {
+    RCTDeviceEventEmitter eventEmitter =
+        mBridgelessReactContext.getJSModule(RCTDeviceEventEmitter.class);
+
+    assertThat(mBridgelessReactContext.getJSModule(RCTDeviceEventEmitter.class))
+        .isSameAs(eventEmitter);
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void getJSIModule_throwsException() {
     mBridgelessReactContext.getJSIModule(JSIModuleType.TurboModuleManager);
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.runtime
+
+import android.view.View
+import com.facebook.react.ReactPackage
+import com.facebook.react.ReflectiveViewManagersReactPackage
+import com.facebook.react.bridge.NativeModule
+import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.uimanager.SimpleViewManager
+import com.facebook.react.uimanager.ThemedReactContext
+import com.facebook.react.uimanager.ViewManager
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+@RunWith(RobolectricTestRunner::class)
+class ViewManagerIndexTest {
+
+  class NoArgsViewManager : SimpleViewManager<View>() {
+    override fun getName(): String = "NoArgs"
+
+    override fun createViewInstance(reactContext: ThemedReactContext): View = View(reactContext)
+  }
+
+  class ContextViewManager(@Suppress("UNUSED_PARAMETER") context: ReactApplicationContext) :
+      SimpleViewManager<View>() {
+    override fun getName(): String = "Context"
+
+    override fun createViewInstance(reactContext: ThemedReactContext): View = View(reactContext)
+  }
+
+  class ConfiguredViewManager(private val viewName: String) : SimpleViewManager<View>() {
+    override fun getName(): String = viewName
+
+    override fun createViewInstance(reactContext: ThemedReactContext): View = View(reactContext)
+  }
+
+  private open class EagerPackage : ReactPackage {
+    var createViewManagersCount = 0
+
+    override fun createNativeModules(
+        reactContext: ReactApplicationContext
+    ): MutableList<NativeModule> = mutableListOf()
+
+    override fun createViewManagers(
+        reactContext: ReactApplicationContext
+    ): MutableList<ViewManager<*, *>> {
+      createViewManagersCount++
+      return mutableListOf(
+          NoArgsViewManager(), ContextViewManager(reactContext), ConfiguredViewManager("Configured"))
+    }
+  }
+
+  private class ReflectivePackage : EagerPackage(), ReflectiveViewManagersReactPackage
+
+  private lateinit var reactContext: ReactApplicationContext
+
+  @Before
+  fun setUp() {
+    reactContext = ReactApplicationContext(RuntimeEnvironment.getApplication())
+  }
+
+  @Test
+  fun testFirstLaunchBuildsIndexFromPackages() {
+    val reactPackage = EagerPackage()
+    val index = ViewManagerIndex(reactContext, listOf(reactPackage))
+
+    assertThat(index.viewManagerNames).containsExactly("NoArgs", "Context", "Configured")
+    assertThat(index.createViewManager("NoArgs")).isInstanceOf(NoArgsViewManager::class.java)
+    assertThat(index.createViewManager("Configured"))
+        .isInstanceOf(ConfiguredViewManager::class.java)
+    assertThat(index.createViewManager("Unknown")).isNull()
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testNextLaunchCreatesViewManagersFromPersistedIndex() {
+    ViewManagerIndex(reactContext, listOf(ReflectivePackage())).viewManagerNames
+
+    val reactPackage = ReflectivePackage()
+    val index = ViewManagerIndex(reactContext, listOf(reactPackage))
+
+    assertThat(index.createViewManager("NoArgs")).isInstanceOf(NoArgsViewManager::class.java)
+    assertThat(index.createViewManager("Context")).isInstanceOf(ContextViewManager::class.java)
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(0)
+
+    // Its constructor needs more than a context, so it comes from its package
+    assertThat(index.createViewManager("Configured"))
+        .isInstanceOf(ConfiguredViewManager::class.java)
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testNextLaunchCreatesViewManagersOfOtherPackagesFromTheirPackage() {
+    ViewManagerIndex(reactContext, listOf(EagerPackage())).viewManagerNames
+
+    val reactPackage = EagerPackage()
+    val index = ViewManagerIndex(reactContext, listOf(reactPackage))
+
+    assertThat(index.createViewManager("NoArgs")).isInstanceOf(NoArgsViewManager::class.java)
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(1)
+    assertThat(index.createViewManager("Context")).isInstanceOf(ContextViewManager::class.java)
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testIndexIsRebuiltWhenPackagesChange() {
+    ViewManagerIndex(reactContext, listOf(EagerPackage())).viewManagerNames
+
+    val reactPackage = EagerPackage()
+    val index = ViewManagerIndex(reactContext, listOf(reactPackage, EagerPackage()))
+
+    assertThat(index.viewManagerNames).containsExactly("NoArgs", "Context", "Configured")
+    assertThat(reactPackage.createViewManagersCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testGetConstructor() {
+    assertThat(ViewManagerIndex.getConstructor(NoArgsViewManager::class.java))
+        .isEqualTo(ViewManagerIndex.CONSTRUCTOR_NO_ARGS)
+    assertThat(ViewManagerIndex.getConstructor(ContextViewManager::class.java))
+        .isEqualTo(ViewManagerIndex.CONSTRUCTOR_CONTEXT)
+    assertThat(ViewManagerIndex.getConstructor(ConfiguredViewManager::class.java))
+        .isEqualTo(ViewManagerIndex.CONSTRUCTOR_NONE)
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.turbomodule.core
+
+import com.facebook.react.bridge.ReactSoftExceptionLogger
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class EagerModuleInitializerTest {
+  private val createdModules = Collections.synchronizedList(mutableListOf<String>())
+
+  @Test
+  fun testModulesAreCreatedAfterTheirDependencies() {
+    val initializer = EagerModuleInitializer({ it.run() }) { createdModules.add(it) }
+
+    initializer.start(
+        listOf("C", "B", "A", "D"),
+        mapOf("C" to listOf("B", "A"), "B" to listOf("A"), "D" to listOf("NotEager")))
+
+    assertThat(createdModules).containsExactlyInAnyOrder("A", "B", "C", "D")
+    assertThat(createdModules.indexOf("A")).isLessThan(createdModules.indexOf("B"))
+    assertThat(createdModules.indexOf("B")).isLessThan(createdModules.indexOf("C"))
+  }
+
+  @Test
+  fun testIndependentModulesAreCreatedInParallel() {
+    val executor = Executors.newFixedThreadPool(2)
+    val bothStarted = CountDownLatch(2)
+    val done = CountDownLatch(3)
+    val initializer =
+        EagerModuleInitializer(executor) {
+          if (it != "C") {
+            bothStarted.countDown()
+            // Only returns if the other module is being created at the same time
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue
+          }
+          createdModules.add(it)
+          done.countDown()
+        }
+
+    initializer.start(listOf("A", "B", "C"), mapOf("C" to listOf("A", "B")))
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue
+    assertThat(createdModules.last()).isEqualTo("C")
+    executor.shutdown()
+  }
+
+  @Test
+  fun testModulesInDependencyCycleAreStillCreated() {
+    val initializer = EagerModuleInitializer({ it.run() }) { createdModules.add(it) }
+
+    initializer.start(
+        listOf("A", "B", "C"), mapOf("A" to listOf("B"), "B" to listOf("A"), "C" to listOf("B")))
+
+    assertThat(createdModules).containsExactlyInAnyOrder("A", "B", "C")
+  }
+
+  @Test
+  fun testFailedModuleIsReportedAndDoesNotBlockDependents() {
+    val reportedExceptions = mutableListOf<Throwable>()
+    val listener =
+        ReactSoftExceptionLogger.ReactSoftExceptionListener { _, cause ->
+          reportedExceptions.add(cause)
+        }
+    ReactSoftExceptionLogger.addListener(listener)
+    val failure = IllegalStateException("Failed to create A")
+    try {
+      val initializer =
+          EagerModuleInitializer({ it.run() }) {
+            if (it == "A") {
+              throw failure
+            }
+            createdModules.add(it)
+          }
+
+      initializer.start(listOf("A", "B"), mapOf("B" to listOf("A")))
+    } finally {
+      ReactSoftExceptionLogger.removeListener(listener)
+    }
+
+    assertThat(createdModules).containsExactly("B")
+    assertThat(reportedExceptions).hasSize(1)
+    assertThat(reportedExceptions[0]).hasCause(failure)
+  }
+}
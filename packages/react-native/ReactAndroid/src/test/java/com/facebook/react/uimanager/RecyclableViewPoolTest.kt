@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager
+
+import android.content.ComponentCallbacks2
+import android.view.View
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+@RunWith(RobolectricTestRunner::class)
+class RecyclableViewPoolTest {
+  private val surfaceId = 11
+
+  private fun createView() = View(RuntimeEnvironment.getApplication())
+
+  @Test
+  fun testAcquireReturnsReleasedViewAndCountsHits() {
+    val pool = RecyclableViewPool<View>(4)
+    val view = createView()
+
+    assertThat(pool.acquire(surfaceId)).isNull()
+    pool.release(surfaceId, view)
+
+    assertThat(pool.acquire(surfaceId)).isSameAs(view)
+    assertThat(pool.acquire(surfaceId + 1)).isNull()
+    assertThat(pool.hitCount).isEqualTo(1)
+    assertThat(pool.missCount).isEqualTo(2)
+    assertThat(pool.hitRate).isEqualTo(1.0 / 3)
+  }
+
+  @Test
+  fun testReleaseIsBoundedPerSurface() {
+    val pool = RecyclableViewPool<View>(2)
+
+    assertThat(pool.release(surfaceId, createView())).isTrue()
+    assertThat(pool.release(surfaceId, createView())).isTrue()
+    assertThat(pool.release(surfaceId, createView())).isFalse()
+    assertThat(pool.release(surfaceId + 1, createView())).isTrue()
+    assertThat(pool.evictionCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testTrimMemoryKeepsHalfWhileRunningAndEvictsAllOtherwise() {
+    val pool = RecyclableViewPool<View>(4)
+    repeat(4) { pool.release(surfaceId, createView()) }
+
+    pool.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+    assertThat(pool.evictionCount).isEqualTo(2)
+
+    // The same trim delivered twice doesn't evict more
+    pool.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+    assertThat(pool.evictionCount).isEqualTo(2)
+
+    pool.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN)
+    assertThat(pool.evictionCount).isEqualTo(4)
+    assertThat(pool.acquire(surfaceId)).isNull()
+  }
+
+  @Test
+  fun testEstimatedCreationTimeSaved() {
+    val pool = RecyclableViewPool<View>(4)
+    pool.acquire(surfaceId)
+    pool.recordCreationTime(1_000)
+    pool.release(surfaceId, createView())
+    pool.acquire(surfaceId)
+
+    assertThat(pool.estimatedCreationTimeSavedNs).isEqualTo(1_000)
+  }
+}
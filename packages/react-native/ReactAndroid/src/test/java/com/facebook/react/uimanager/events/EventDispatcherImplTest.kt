@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.uimanager.events
+
+import android.os.Looper
+import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.modules.core.ChoreographerCompat.FrameCallback
+import com.facebook.react.modules.core.ReactChoreographer
+import com.facebook.react.modules.core.ReactChoreographer.CallbackType
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.eq
+import org.mockito.MockedStatic
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.mockStatic
+import org.mockito.Mockito.`when` as whenever
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class EventDispatcherImplTest {
+  private class TestEvent(viewTag: Int, private val received: IntArray) :
+      Event<TestEvent>(viewTag) {
+    override fun getEventName(): String = "topTest"
+
+    override fun canCoalesce(): Boolean = false
+
+    override fun dispatchModern(rctEventEmitter: RCTModernEventEmitter) {
+      received[viewTag]++
+    }
+  }
+
+  private lateinit var reactChoreographer: MockedStatic<ReactChoreographer>
+  private lateinit var frameCallback: FrameCallback
+  private lateinit var eventDispatcher: EventDispatcherImpl
+
+  @Before
+  fun setUp() {
+    val reactChoreographerMock = mock(ReactChoreographer::class.java)
+    reactChoreographer = mockStatic(ReactChoreographer::class.java)
+    reactChoreographer
+        .`when`<ReactChoreographer> { ReactChoreographer.getInstance() }
+        .thenReturn(reactChoreographerMock)
+    doAnswer {
+          frameCallback = it.getArgument(1)
+          null
+        }
+        .`when`(reactChoreographerMock)
+        .postFrameCallback(eq(CallbackType.TIMERS_EVENTS), any(FrameCallback::class.java))
+
+    val reactContext = mock(ReactApplicationContext::class.java)
+    whenever(reactContext.isOnUiQueueThread).thenAnswer {
+      Looper.myLooper() == Looper.getMainLooper()
+    }
+    // Runs the JS dispatch right away, on the UI thread that drives the frames
+    doAnswer {
+          it.getArgument<Runnable>(0).run()
+          true
+        }
+        .`when`(reactContext)
+        .runOnJSQueueThread(any(Runnable::class.java))
+
+    eventDispatcher = EventDispatcherImpl(reactContext)
+    eventDispatcher.onHostResume()
+  }
+
+  @After
+  fun tearDown() {
+    reactChoreographer.close()
+  }
+
+  @Test
+  fun testConcurrentProducersDeliverEveryEventOnce() {
+    val producers = 8
+    val eventsPerProducer = 5_000
+    val received = IntArray(producers * eventsPerProducer)
+    val start = CountDownLatch(1)
+    val done = CountDownLatch(producers)
+    val threads =
+        (0 until producers).map { producer ->
+          Thread {
+                start.await()
+                for (i in 0 until eventsPerProducer) {
+                  eventDispatcher.dispatchEvent(
+                      TestEvent(producer * eventsPerProducer + i, received))
+                }
+                done.countDown()
+              }
+              .apply { start() }
+        }
+    start.countDown()
+
+    // Each frame returns while producers keep dispatching, and eventually delivers everything
+    var frames = 0
+    while (done.count > 0 || received.any { it == 0 }) {
+      frameCallback.doFrame(0)
+      frames++
+      assertThat(frames).isLessThan(1_000_000)
+    }
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue
+    threads.forEach { it.join() }
+    frameCallback.doFrame(0)
+
+    assertThat(received).containsOnly(1)
+  }
+
+  @Test
+  fun testFrameOnlyMovesEventsStagedBeforeIt() {
+    val received = IntArray(3)
+    eventDispatcher.dispatchEvent(TestEvent(0, received))
+    eventDispatcher.dispatchEvent(TestEvent(1, received))
+
+    frameCallback.doFrame(0)
+    assertThat(received).containsExactly(1, 1, 0)
+
+    eventDispatcher.dispatchEvent(TestEvent(2, received))
+    frameCallback.doFrame(0)
+    assertThat(received).containsExactly(1, 1, 1)
+  }
+}
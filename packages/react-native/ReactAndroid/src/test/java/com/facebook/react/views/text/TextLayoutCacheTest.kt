@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text
+
+import android.text.Layout
+import android.text.SpannableString
+import android.text.StaticLayout
+import android.text.TextPaint
+import com.facebook.yoga.YogaMeasureMode
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/** Tests for [TextLayoutCache] */
+@RunWith(RobolectricTestRunner::class)
+class TextLayoutCacheTest {
+
+  @Test
+  fun testReturnsCachedSpannable() {
+    val cache = TextLayoutCache(1024 * 1024, 4)
+    val spannable = SpannableString("hello")
+
+    assertThat(cache.get(1, "hello")).isNull()
+    cache.put(1, "hello", spannable)
+
+    assertThat(cache.get(1, "hello")!!.spannable).isSameAs(spannable)
+    assertThat(cache.spannableHitCount).isEqualTo(1)
+    assertThat(cache.spannableMissCount).isEqualTo(1)
+  }
+
+  @Test
+  fun testConfirmsHashMatchesWithEquals() {
+    val cache = TextLayoutCache(1024 * 1024, 4)
+    cache.put(1, "hello", SpannableString("hello"))
+
+    assertThat(cache.get(1, "world")).isNull()
+  }
+
+  @Test
+  fun testPutKeepsExistingEntry() {
+    val cache = TextLayoutCache(1024 * 1024, 4)
+    val first = cache.put(1, "hello", SpannableString("hello"))
+    val second = cache.put(1, "hello", SpannableString("hello"))
+
+    assertThat(second).isSameAs(first)
+  }
+
+  @Test
+  fun testEvictsLeastRecentlyUsedEntriesOverBudget() {
+    // A single shard, with room for about three short strings.
+    val cache = TextLayoutCache(1000, 1)
+    cache.put(1, "a", SpannableString("a"))
+    cache.put(2, "b", SpannableString("b"))
+    cache.put(3, "c", SpannableString("c"))
+    cache.get(1, "a")
+    cache.put(4, "d", SpannableString("d"))
+
+    assertThat(cache.get(2, "b")).isNull()
+    assertThat(cache.get(1, "a")).isNotNull()
+    assertThat(cache.get(4, "d")).isNotNull()
+    assertThat(cache.evictionCount).isEqualTo(1)
+    assertThat(cache.sizeBytes).isLessThanOrEqualTo(1000)
+  }
+
+  @Test
+  fun testCachesLayoutsPerConstraints() {
+    val cache = TextLayoutCache(1024 * 1024, 4)
+    val spannable = SpannableString("hello")
+    val entry = cache.put(1, "hello", spannable)
+    val layout =
+        StaticLayout(spannable, TextPaint(), 100, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true)
+
+    entry.putLayout(100f, YogaMeasureMode.EXACTLY, true, 0, 0, layout)
+
+    assertThat(entry.getLayout(100f, YogaMeasureMode.EXACTLY, true, 0, 0)).isSameAs(layout)
+    assertThat(entry.getLayout(100f, YogaMeasureMode.AT_MOST, true, 0, 0)).isNull()
+    assertThat(entry.getLayout(200f, YogaMeasureMode.EXACTLY, true, 0, 0)).isNull()
+    assertThat(cache.layoutHitCount).isEqualTo(1)
+    assertThat(cache.layoutMissCount).isEqualTo(2)
+  }
+
+  @Test
+  fun testSpannableForTag() {
+    val cache = TextLayoutCache(1024 * 1024, 4)
+    val spannable = SpannableString("hello")
+
+    cache.setSpannableForTag(7, spannable)
+    assertThat(cache.getSpannableForTag(7)).isSameAs(spannable)
+
+    cache.deleteSpannableForTag(7)
+    assertThat(cache.getSpannableForTag(7)).isNull()
+  }
+}
@@ -27,4 +27,25 @@ void install(jsi::Runtime& runtime, ProviderType&& provider) {
 
   runtime.global().setProperty(runtime, name, jsiFunction);
 }
+
+void installForViewManager(
+    jsi::Runtime& runtime,
+    ViewManagerProviderType&& provider) {
+  auto name = "RN$LegacyInterop_UIManager_getConstantsForViewManager";
+  auto hostFunction = [provider = std::move(provider)](
+                          jsi::Runtime& runtime,
+                          const jsi::Value& /*thisValue*/,
+                          const jsi::Value* arguments,
+                          size_t count) -> jsi::Value {
+    if (count != 1 || !arguments[0].isString()) {
+      throw jsi::JSError(runtime, "1 string argument expected.");
+    }
+    return provider(arguments[0].getString(runtime).utf8(runtime));
+  };
+
+  auto jsiFunction = jsi::Function::createFromHostFunction(
+      runtime, jsi::PropNameID::forAscii(runtime, name), 1, hostFunction);
+
+  runtime.global().setProperty(runtime, name, jsiFunction);
+}
 } // namespace facebook::react::LegacyUIManagerConstantsProviderBinding
@@ -7,16 +7,30 @@
 
 #pragma once
 
+#include <string>
+
 #include <jsi/jsi.h>
 
 namespace facebook::react::LegacyUIManagerConstantsProviderBinding {
 
 using ProviderType = std::function<jsi::Value()>;
 
+using ViewManagerProviderType =
+    std::function<jsi::Value(const std::string& viewManagerName)>;
+
 /*
  * Installs RN$LegacyInterop_UIManager_getConstants binding into JavaScript
  * runtime. It is supposed to be used as a substitute to UIManager.getConstants
  * in bridgeless mode.
  */
 void install(jsi::Runtime& runtime, ProviderType&& provider);
+
+/*
+ * Installs RN$LegacyInterop_UIManager_getConstantsForViewManager binding into
+ * JavaScript runtime. It returns the constants of a single view manager, so
+ * that they can be computed when the view manager is first used.
+ */
+void installForViewManager(
+    jsi::Runtime& runtime,
+    ViewManagerProviderType&& provider);
 } // namespace facebook::react::LegacyUIManagerConstantsProviderBinding